@@ -2,18 +2,24 @@
 package co.edu.uniquindio.GestionRiesgos;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,15 +27,29 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.MotorRutas;
 import co.edu.uniquindio.GestionRiesgos.Enums.NivelUrgencia;
 import co.edu.uniquindio.GestionRiesgos.Enums.TipoRecurso;
 import co.edu.uniquindio.GestionRiesgos.Enums.TipoRuta;
+import co.edu.uniquindio.GestionRiesgos.Estructuras.Camino;
+import co.edu.uniquindio.GestionRiesgos.Estructuras.ConsultaRuta;
+import co.edu.uniquindio.GestionRiesgos.Estructuras.HorarioEvacuacion;
+import co.edu.uniquindio.GestionRiesgos.Estructuras.InstalacionCercana;
+import co.edu.uniquindio.GestionRiesgos.Estructuras.Isocrona;
 import co.edu.uniquindio.GestionRiesgos.Estructuras.MapaRecursos;
+import co.edu.uniquindio.GestionRiesgos.Estructuras.MatrizCostos;
 import co.edu.uniquindio.GestionRiesgos.Estructuras.Nodo;
+import co.edu.uniquindio.GestionRiesgos.Estructuras.PlanEvacuacion;
+import co.edu.uniquindio.GestionRiesgos.Estructuras.ResultadoCentralidad;
+import co.edu.uniquindio.GestionRiesgos.Estructuras.ResultadoFlujo;
+import co.edu.uniquindio.GestionRiesgos.Estructuras.ResultadoVulnerabilidad;
 import co.edu.uniquindio.GestionRiesgos.Estructuras.Ruta;
 import co.edu.uniquindio.GestionRiesgos.Model.Administrador;
 import co.edu.uniquindio.GestionRiesgos.Model.EquipoRescate;
@@ -39,17 +59,29 @@ import co.edu.uniquindio.GestionRiesgos.Model.Recurso;
 import co.edu.uniquindio.GestionRiesgos.Model.SistemaGestionDesastres;
 import co.edu.uniquindio.GestionRiesgos.Model.Usuario;
 import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+import co.edu.uniquindio.GestionRiesgos.Servicios.ServicioRutas;
 
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = "*")
 public class DisasterRestController {
 
-    private static SistemaGestionDesastres sistema;
+    /** Sistema compartido, definido como bean en {@link GestionRiesgosApplication} */
+    private final SistemaGestionDesastres sistema;
 
-    static {
-        sistema = new SistemaGestionDesastres();
-        sistema.inicializarSistema();
+    /** Máximo de consultas aceptadas en un lote de rutas */
+    private static final int MAXIMO_CONSULTAS_LOTE = 10000;
+
+    /** Rutas óptimas entre dos zonas, calculadas en un pool propio */
+    private final ServicioRutas servicioRutas;
+
+    /** Serializador JSON configurado por Spring, para las respuestas en flujo */
+    private final ObjectMapper json;
+
+    public DisasterRestController(SistemaGestionDesastres sistema, ServicioRutas servicioRutas, ObjectMapper json) {
+        this.sistema = sistema;
+        this.servicioRutas = servicioRutas;
+        this.json = json;
         inicializarDatosPrueba();
     }
 
@@ -846,6 +878,673 @@ public class DisasterRestController {
         return ResponseEntity.ok(data);
     }
 
+    // Grafo: caminos alternativos de menor costo, paginados con "desde" y "k"
+    @GetMapping("/grafo/rutas-alternativas")
+    public ResponseEntity<Map<String, Object>> obtenerRutasAlternativas(
+            @RequestParam String origen,
+            @RequestParam String destino,
+            @RequestParam(defaultValue = "5") int k,
+            @RequestParam(defaultValue = "0") int desde,
+            @RequestParam(defaultValue = "DISTANCIA") String criterio) {
+        try {
+            CriterioRuta criterioRuta = CriterioRuta.valueOf(criterio.toUpperCase());
+            List<Camino> caminos = sistema.calcularRutasAlternativas(origen, destino, desde, k, criterioRuta);
+
+            List<Map<String, Object>> data = caminos.stream().map(camino -> {
+                Map<String, Object> m = new HashMap<>();
+                m.put("id", camino.getId());
+                m.put("zonas", camino.getZonas().stream().map(Zona::getId).collect(Collectors.toList()));
+                m.put("rutas", camino.getTramos().stream().map(Ruta::getId).collect(Collectors.toList()));
+                m.put("distancia", camino.getDistancia());
+                m.put("tiempoEstimado", camino.getTiempoEstimado());
+                m.put("riesgoAcumulado", camino.getRiesgoAcumulado());
+                m.put("nivelRiesgo", camino.getNivelRiesgo());
+                m.put("capacidadMaxima", camino.getCapacidadMaxima());
+                return m;
+            }).collect(Collectors.toList());
+
+            Map<String, Object> respuesta = new HashMap<>();
+            respuesta.put("success", true);
+            respuesta.put("criterio", criterioRuta.name());
+            respuesta.put("desde", desde);
+            respuesta.put("rutas", data);
+            return ResponseEntity.ok(respuesta);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    // Grafo: matriz de costos mínimos entre varias zonas origen y varias zonas destino
+    @PostMapping("/grafo/matriz-costos")
+    public ResponseEntity<Map<String, Object>> calcularMatrizCostos(@RequestBody Map<String, Object> datos) {
+        try {
+            List<String> origenes = idsDeCuerpo(datos.get("origenes"));
+            List<String> destinos = idsDeCuerpo(datos.get("destinos"));
+            String criterio = datos.get("criterio") != null ? datos.get("criterio").toString() : "DISTANCIA";
+            CriterioRuta criterioRuta = CriterioRuta.valueOf(criterio.toUpperCase());
+
+            MatrizCostos matriz = sistema.calcularMatrizCostos(origenes, destinos, criterioRuta);
+
+            // Los pares sin camino se reportan como null (JSON no admite infinito)
+            List<List<Double>> costos = new ArrayList<>(matriz.getFilas());
+            for (int i = 0; i < matriz.getFilas(); i++) {
+                List<Double> fila = new ArrayList<>(matriz.getColumnas());
+                for (int j = 0; j < matriz.getColumnas(); j++) {
+                    double costo = matriz.costo(i, j);
+                    fila.add(Double.isInfinite(costo) ? null : costo);
+                }
+                costos.add(fila);
+            }
+
+            Map<String, Object> respuesta = new HashMap<>();
+            respuesta.put("success", true);
+            respuesta.put("criterio", criterioRuta.name());
+            respuesta.put("origenes", matriz.getIdsOrigen());
+            respuesta.put("destinos", matriz.getIdsDestino());
+            respuesta.put("costos", costos);
+            return ResponseEntity.ok(respuesta);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    // Grafo: flujo máximo de evacuación desde zonas afectadas hacia refugios, con cuellos de botella
+    @PostMapping("/grafo/flujo-maximo")
+    public ResponseEntity<Map<String, Object>> calcularFlujoMaximo(@RequestBody Map<String, Object> datos) {
+        try {
+            List<String> origenes = idsDeCuerpo(datos.get("origenes"));
+            List<String> destinos = idsDeCuerpo(datos.get("destinos"));
+            boolean soloDisponible = Boolean.parseBoolean(String.valueOf(datos.getOrDefault("soloCapacidadDisponible", "false")));
+
+            ResultadoFlujo resultado = sistema.calcularFlujoEvacuacion(origenes, destinos, soloDisponible);
+
+            List<Map<String, Object>> flujos = resultado.getFlujosPorRuta().entrySet().stream().map(entrada -> {
+                Map<String, Object> m = new HashMap<>();
+                m.put("ruta", entrada.getKey().getId());
+                m.put("origen", entrada.getKey().getOrigen().getId());
+                m.put("destino", entrada.getKey().getDestino().getId());
+                m.put("flujo", entrada.getValue());
+                return m;
+            }).collect(Collectors.toList());
+
+            Map<String, Object> respuesta = new HashMap<>();
+            respuesta.put("success", true);
+            respuesta.put("flujoMaximo", resultado.getFlujoMaximo());
+            respuesta.put("corteMinimo", resultado.getCorteMinimo().stream().map(Ruta::getId).collect(Collectors.toList()));
+            respuesta.put("flujos", flujos);
+            return ResponseEntity.ok(respuesta);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    // Grafo: plan en lote de las evacuaciones pendientes, repartidas por rutas con capacidad
+    @GetMapping("/grafo/plan-evacuaciones")
+    public ResponseEntity<Map<String, Object>> planificarEvacuacionesEnLote(
+            @RequestParam(required = false) Double pesoRiesgo) {
+        try {
+            List<PlanEvacuacion> planes = sistema.planificarEvacuacionesPendientes(pesoRiesgo);
+
+            List<Map<String, Object>> data = planes.stream().map(plan -> {
+                List<Map<String, Object>> asignaciones = plan.getAsignaciones().stream().map(asignacion -> {
+                    Map<String, Object> a = new HashMap<>();
+                    a.put("personas", asignacion.getPersonas());
+                    a.put("zonas", asignacion.getCamino().getZonas().stream().map(Zona::getId).collect(Collectors.toList()));
+                    a.put("rutas", asignacion.getCamino().getTramos().stream().map(Ruta::getId).collect(Collectors.toList()));
+                    a.put("tiempoEstimado", asignacion.getCamino().getTiempoEstimado());
+                    return a;
+                }).collect(Collectors.toList());
+
+                Map<String, Object> m = new HashMap<>();
+                m.put("evacuacion", plan.getEvacuacion().getId());
+                m.put("personasAsignadas", plan.getPersonasAsignadas());
+                m.put("personasSinAsignar", plan.getPersonasSinAsignar());
+                m.put("costoTotal", plan.getCostoTotal());
+                m.put("asignaciones", asignaciones);
+                return m;
+            }).collect(Collectors.toList());
+
+            Map<String, Object> respuesta = new HashMap<>();
+            respuesta.put("success", true);
+            respuesta.put("planes", data);
+            return ResponseEntity.ok(respuesta);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    // Grafo: horario de salidas escalonadas de las evacuaciones pendientes (despeje más rápido sin congestión)
+    @GetMapping("/grafo/horario-salidas")
+    public ResponseEntity<Map<String, Object>> obtenerHorarioSalidas(
+            @RequestParam(required = false) Integer minutosPorPaso,
+            @RequestParam(required = false) Integer horasHorizonte) {
+        try {
+            List<HorarioEvacuacion> horarios = sistema.programarSalidasEvacuaciones(minutosPorPaso, horasHorizonte);
+
+            List<Map<String, Object>> data = horarios.stream().map(horario -> {
+                List<Map<String, Object>> olas = horario.getOlas().stream().map(ola -> {
+                    Map<String, Object> o = new HashMap<>();
+                    o.put("rutas", ola.getCamino().getTramos().stream().map(Ruta::getId).collect(Collectors.toList()));
+                    o.put("minutoInicial", 0);
+                    o.put("minutoFinal", ola.getMinutoFinal());
+                    o.put("minutosRecorrido", ola.getPasosRecorrido() * horario.getMinutosPorPaso());
+                    o.put("personasPorSalida", ola.getPersonasPorPaso());
+                    o.put("personasUltimaSalida", ola.getPersonasUltimoPaso());
+                    o.put("totalPersonas", ola.getTotalPersonas());
+                    return o;
+                }).collect(Collectors.toList());
+
+                Map<String, Object> m = new HashMap<>();
+                m.put("evacuacion", horario.getEvacuacion().getId());
+                m.put("minutosDespeje", horario.getMinutosDespeje());
+                m.put("personasProgramadas", horario.getPersonasProgramadas());
+                m.put("personasSinProgramar", horario.getPersonasSinProgramar());
+                m.put("olas", olas);
+                return m;
+            }).collect(Collectors.toList());
+
+            Map<String, Object> respuesta = new HashMap<>();
+            respuesta.put("success", true);
+            respuesta.put("horarios", data);
+            return ResponseEntity.ok(respuesta);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    private static List<String> idsDeCuerpo(Object valor) {
+        if (!(valor instanceof List<?> lista)) {
+            throw new IllegalArgumentException("Se esperaba una lista de IDs de zona");
+        }
+        return lista.stream().map(String::valueOf).collect(Collectors.toList());
+    }
+
+    // Grafo: lote de consultas de rutas (origen, destino, criterio); responde una línea JSON por consulta
+    // (NDJSON) a medida que se resuelven, agrupadas por origen y resueltas en paralelo. Una consulta con
+    // origen igual al destino se responde encontrada, sin rutas y con costo 0, si la zona existe
+    @PostMapping(value = "/grafo/rutas/lote", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> calcularRutasEnLote(@RequestBody Map<String, Object> datos) {
+        List<ConsultaRuta> consultas;
+        try {
+            consultas = consultasDeCuerpo(datos.get("consultas"));
+        } catch (IllegalArgumentException e) {
+            // El error también es una línea NDJSON, acorde con el tipo de contenido declarado
+            Map<String, Object> error = Map.of("success", false, "message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(salida -> {
+                    salida.write(json.writeValueAsBytes(error));
+                    salida.write('\n');
+                });
+        }
+
+        StreamingResponseBody cuerpo = salida -> {
+            // Los grupos entregan desde hilos virtuales: un ReentrantLock no los fija a su hilo de plataforma
+            ReentrantLock escritura = new ReentrantLock();
+            try {
+                sistema.resolverConsultasEnLote(consultas, (consulta, camino) -> {
+                    try {
+                        boolean trivial = consulta.esTrivial() && sistema.buscarZona(consulta.getOrigen()) != null;
+                        byte[] linea = json.writeValueAsBytes(resultadoConsultaMap(consulta, camino, trivial));
+                        escritura.lock();
+                        try {
+                            salida.write(linea);
+                            salida.write('\n');
+                            salida.flush();
+                        } finally {
+                            escritura.unlock();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok(cuerpo);
+    }
+
+    private static List<ConsultaRuta> consultasDeCuerpo(Object valor) {
+        if (!(valor instanceof List<?> lista) || lista.isEmpty()) {
+            throw new IllegalArgumentException("Se esperaba una lista de consultas con origen, destino y criterio");
+        }
+        if (lista.size() > MAXIMO_CONSULTAS_LOTE) {
+            throw new IllegalArgumentException("El lote admite hasta " + MAXIMO_CONSULTAS_LOTE + " consultas");
+        }
+        List<ConsultaRuta> consultas = new ArrayList<>(lista.size());
+        for (int i = 0; i < lista.size(); i++) {
+            if (!(lista.get(i) instanceof Map<?, ?> consulta)) {
+                throw new IllegalArgumentException("La consulta " + i + " no es un objeto");
+            }
+            Object origen = consulta.get("origen");
+            Object destino = consulta.get("destino");
+            String criterio = consulta.get("criterio") != null ? consulta.get("criterio").toString() : "DISTANCIA";
+            consultas.add(new ConsultaRuta(i,
+                    origen != null ? origen.toString() : null,
+                    destino != null ? destino.toString() : null,
+                    CriterioRuta.valueOf(criterio.toUpperCase())));
+        }
+        return consultas;
+    }
+
+    private static Map<String, Object> resultadoConsultaMap(ConsultaRuta consulta, Camino camino, boolean trivial) {
+        Map<String, Object> m = new HashMap<>();
+        m.put("indice", consulta.getIndice());
+        m.put("origen", consulta.getOrigen());
+        m.put("destino", consulta.getDestino());
+        m.put("criterio", consulta.getCriterio().name());
+        m.put("encontrado", camino != null || trivial);
+        if (trivial) {
+            m.put("zonas", List.of(consulta.getOrigen()));
+            m.put("rutas", List.of());
+            m.put("distancia", 0.0);
+            m.put("tiempoEstimado", 0.0);
+            m.put("riesgoAcumulado", 0.0);
+            m.put("nivelRiesgo", 0.0);
+        } else if (camino != null) {
+            m.put("zonas", camino.getZonas().stream().map(Zona::getId).collect(Collectors.toList()));
+            m.put("rutas", camino.getTramos().stream().map(Ruta::getId).collect(Collectors.toList()));
+            m.put("distancia", camino.getDistancia());
+            m.put("tiempoEstimado", camino.getTiempoEstimado());
+            m.put("riesgoAcumulado", camino.getRiesgoAcumulado());
+            m.put("nivelRiesgo", camino.getNivelRiesgo());
+        }
+        return m;
+    }
+
+    // Grafo: frente de Pareto (distancia, tiempo y riesgo) entre dos zonas
+    @GetMapping("/grafo/rutas-pareto")
+    public ResponseEntity<Map<String, Object>> obtenerRutasPareto(
+            @RequestParam String origen,
+            @RequestParam String destino) {
+        List<Camino> caminos = sistema.calcularRutasPareto(origen, destino);
+
+        List<Map<String, Object>> data = caminos.stream().map(camino -> {
+            Map<String, Object> m = new HashMap<>();
+            m.put("id", camino.getId());
+            m.put("zonas", camino.getZonas().stream().map(Zona::getId).collect(Collectors.toList()));
+            m.put("rutas", camino.getTramos().stream().map(Ruta::getId).collect(Collectors.toList()));
+            m.put("distancia", camino.getDistancia());
+            m.put("tiempoEstimado", camino.getTiempoEstimado());
+            m.put("riesgoAcumulado", camino.getRiesgoAcumulado());
+            m.put("nivelRiesgo", camino.getNivelRiesgo());
+            return m;
+        }).collect(Collectors.toList());
+
+        Map<String, Object> respuesta = new HashMap<>();
+        respuesta.put("success", true);
+        respuesta.put("rutas", data);
+        return ResponseEntity.ok(respuesta);
+    }
+
+    // Grafo: ruta más rápida según la ocupación actual de las vías (y la hora de salida, si se indica)
+    @GetMapping("/grafo/ruta-trafico")
+    public ResponseEntity<Map<String, Object>> obtenerRutaConTrafico(
+            @RequestParam String origen,
+            @RequestParam String destino,
+            @RequestParam(required = false) Double horaSalida) {
+        Camino camino = sistema.calcularRutaMasRapidaConTrafico(origen, destino, horaSalida);
+
+        Map<String, Object> respuesta = new HashMap<>();
+        respuesta.put("success", camino != null);
+        if (camino == null) {
+            respuesta.put("message", "No existe ruta entre las zonas indicadas");
+            return ResponseEntity.ok(respuesta);
+        }
+        respuesta.put("zonas", camino.getZonas().stream().map(Zona::getId).collect(Collectors.toList()));
+        respuesta.put("rutas", camino.getTramos().stream().map(Ruta::getId).collect(Collectors.toList()));
+        respuesta.put("distancia", camino.getDistancia());
+        respuesta.put("tiempoEstimado", camino.getTiempoEstimado());
+        respuesta.put("tiempoConTrafico", camino.calcularTiempoConTrafico());
+        return ResponseEntity.ok(respuesta);
+    }
+
+    // Grafo: ruta más corta (por distancia) entre dos zonas
+    @GetMapping("/grafo/ruta-mas-corta")
+    public ResponseEntity<Map<String, Object>> obtenerRutaMasCorta(
+            @RequestParam String origen,
+            @RequestParam String destino) {
+        return rutaOptima(origen, destino, CriterioRuta.DISTANCIA);
+    }
+
+    // Grafo: ruta más rápida (por tiempo estimado) entre dos zonas
+    @GetMapping("/grafo/ruta-mas-rapida")
+    public ResponseEntity<Map<String, Object>> obtenerRutaMasRapida(
+            @RequestParam String origen,
+            @RequestParam String destino) {
+        return rutaOptima(origen, destino, CriterioRuta.TIEMPO);
+    }
+
+    // Grafo: ruta más segura (menor riesgo acumulado) entre dos zonas
+    @GetMapping("/grafo/ruta-mas-segura")
+    public ResponseEntity<Map<String, Object>> obtenerRutaMasSegura(
+            @RequestParam String origen,
+            @RequestParam String destino) {
+        return rutaOptima(origen, destino, CriterioRuta.RIESGO);
+    }
+
+    // Grafo: motor con el que se calculan las rutas óptimas (GRAFO o PARALELO)
+    @GetMapping("/grafo/motor-rutas")
+    public ResponseEntity<Map<String, Object>> obtenerMotorRutas() {
+        MotorRutas motor = sistema.getMotorRutas();
+        return ResponseEntity.ok(Map.of("success", true, "motor", motor.name(), "descripcion", motor.getDescripcion()));
+    }
+
+    @PostMapping("/grafo/motor-rutas")
+    public ResponseEntity<Map<String, Object>> configurarMotorRutas(@RequestParam String motor) {
+        try {
+            MotorRutas seleccionado = MotorRutas.valueOf(motor.toUpperCase());
+            sistema.configurarMotorRutas(seleccionado);
+            return ResponseEntity.ok(Map.of("success", true, "motor", seleccionado.name(),
+                "descripcion", seleccionado.getDescripcion()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("success", false, "message", "El motor debe ser GRAFO o PARALELO"));
+        }
+    }
+
+    // Grafo: costo mínimo desde una zona hasta todas las demás (p. ej. tiempo desde el epicentro), con delta-stepping paralelo
+    @GetMapping("/grafo/costos-desde")
+    public ResponseEntity<Map<String, Object>> obtenerCostosDesde(
+            @RequestParam String origen,
+            @RequestParam(defaultValue = "TIEMPO") String criterio) {
+        CriterioRuta criterioRuta;
+        try {
+            criterioRuta = CriterioRuta.valueOf(criterio.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("success", false, "message", "Criterio desconocido: " + criterio));
+        }
+        if (sistema.obtenerNodoGrafo(origen) == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("success", false, "message", "La zona no pertenece al grafo"));
+        }
+
+        Map<String, Double> costos = sistema.calcularCostosDesde(origen, criterioRuta);
+        Map<String, Object> respuesta = new HashMap<>();
+        respuesta.put("success", true);
+        respuesta.put("origen", origen);
+        respuesta.put("criterio", criterioRuta.name());
+        respuesta.put("total", costos.size());
+        respuesta.put("costos", costos);
+        return ResponseEntity.ok(respuesta);
+    }
+
+    // Grafo: estado del pool, caché y latencia por criterio del servicio de rutas óptimas
+    @GetMapping("/grafo/rutas/servicio/estadisticas")
+    public ResponseEntity<Map<String, Object>> obtenerEstadisticasServicioRutas() {
+        Map<String, Object> respuesta = new HashMap<>(servicioRutas.obtenerEstadisticas());
+        respuesta.put("success", true);
+        return ResponseEntity.ok(respuesta);
+    }
+
+    /** Responde una ruta óptima; 404 si no existe, 503 si el servicio está saturado y 504 si vence el plazo */
+    private ResponseEntity<Map<String, Object>> rutaOptima(String origen, String destino, CriterioRuta criterio) {
+        Camino camino;
+        try {
+            camino = servicioRutas.calcularRuta(origen, destino, criterio);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("success", false, "message", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("success", false, "message", "El servicio de rutas está saturado, intente de nuevo"));
+        } catch (TimeoutException e) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(Map.of("success", false, "message", "El cálculo de la ruta superó el tiempo máximo"));
+        }
+        if (camino == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("success", false, "message", "No existe ruta entre las zonas indicadas"));
+        }
+
+        Map<String, Object> respuesta = new HashMap<>();
+        respuesta.put("success", true);
+        respuesta.put("criterio", criterio.name());
+        respuesta.put("zonas", camino.getZonas().stream().map(Zona::getId).collect(Collectors.toList()));
+        respuesta.put("rutas", camino.getTramos().stream().map(Ruta::getId).collect(Collectors.toList()));
+        respuesta.put("distancia", camino.getDistancia());
+        respuesta.put("tiempoEstimado", camino.getTiempoEstimado());
+        respuesta.put("riesgoAcumulado", camino.getRiesgoAcumulado());
+        respuesta.put("nivelRiesgo", camino.getNivelRiesgo());
+        return ResponseEntity.ok(respuesta);
+    }
+
+    // Grafo: rutas y zonas críticas por centralidad de intermediación (resultado en caché, se recalcula en segundo plano)
+    @GetMapping("/grafo/centralidad")
+    public ResponseEntity<Map<String, Object>> obtenerCentralidad(@RequestParam(defaultValue = "10") int k) {
+        if (k <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("success", false, "message", "k debe ser mayor que cero"));
+        }
+        ResultadoCentralidad resultado = sistema.obtenerCentralidad();
+        Map<String, Object> respuesta = new HashMap<>();
+        respuesta.put("success", true);
+        respuesta.put("disponible", resultado != null);
+        if (resultado == null) {
+            respuesta.put("message", "La centralidad se está calculando en segundo plano");
+            return ResponseEntity.ok(respuesta);
+        }
+
+        List<Map<String, Object>> rutas = resultado.getRutasCriticas(k).stream().map(critica -> {
+            Map<String, Object> m = new HashMap<>();
+            m.put("ruta", critica.getRuta().getId());
+            m.put("origen", critica.getRuta().getOrigen().getId());
+            m.put("destino", critica.getRuta().getDestino().getId());
+            m.put("centralidad", critica.getCentralidad());
+            return m;
+        }).collect(Collectors.toList());
+        List<Map<String, Object>> zonas = resultado.getZonasCriticas(k).stream().map(critica -> {
+            Map<String, Object> m = new HashMap<>();
+            m.put("zona", critica.getNodo().getId());
+            m.put("nombre", critica.getNodo().getNombre());
+            m.put("centralidad", critica.getCentralidad());
+            return m;
+        }).collect(Collectors.toList());
+
+        respuesta.put("criterio", resultado.getCriterio().name());
+        respuesta.put("exacto", resultado.esExacto());
+        respuesta.put("fuentes", resultado.getFuentes());
+        respuesta.put("version", resultado.getVersion());
+        respuesta.put("actualizado", resultado.getVersion() == sistema.getGrafoDirigido().obtenerGrafoCompacto().getVersion());
+        respuesta.put("rutas", rutas);
+        respuesta.put("zonas", zonas);
+        return ResponseEntity.ok(respuesta);
+    }
+
+    // Grafo: rutas y zonas cuyo cierre deja zonas aisladas (puntos únicos de falla); con ?ruta=, el efecto de cerrar esa ruta
+    @GetMapping("/grafo/vulnerabilidad")
+    public ResponseEntity<Map<String, Object>> obtenerVulnerabilidad(
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(required = false) String ruta) {
+        if (k <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("success", false, "message", "k debe ser mayor que cero"));
+        }
+        ResultadoVulnerabilidad resultado = sistema.analizarVulnerabilidad();
+        if (resultado == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("success", false, "message", "No hay grafo de rutas"));
+        }
+
+        Map<String, Object> respuesta = new HashMap<>();
+        respuesta.put("success", true);
+        respuesta.put("version", resultado.getVersion());
+        if (ruta != null) {
+            ResultadoVulnerabilidad.PuenteCritico puente = resultado.getPuente(ruta);
+            respuesta.put("ruta", ruta);
+            respuesta.put("critica", puente != null);
+            respuesta.put("zonasSinAcceso", puente != null ? puente.getZonasSinAcceso() : List.of());
+            respuesta.put("zonasSinSalida", puente != null ? puente.getZonasSinSalida() : List.of());
+            return ResponseEntity.ok(respuesta);
+        }
+
+        List<Map<String, Object>> puentes = resultado.getPuentes().stream().limit(k).map(puente -> {
+            Map<String, Object> m = new HashMap<>();
+            m.put("ruta", puente.getRuta().getId());
+            m.put("origen", puente.getRuta().getOrigen().getId());
+            m.put("destino", puente.getRuta().getDestino().getId());
+            m.put("zonaReferencia", puente.getZonaReferencia());
+            m.put("zonasSinAcceso", puente.getZonasSinAcceso());
+            m.put("zonasSinSalida", puente.getZonasSinSalida());
+            return m;
+        }).collect(Collectors.toList());
+
+        respuesta.put("componentes", resultado.getNumeroComponentes());
+        respuesta.put("totalPuentes", resultado.getPuentes().size());
+        respuesta.put("puentes", puentes);
+        respuesta.put("puntosArticulacion", resultado.getPuntosArticulacion());
+        return ResponseEntity.ok(respuesta);
+    }
+
+    // Grafo: isócrona, zonas alcanzables desde una zona en un tiempo dado (minutos), con su tiempo de llegada
+    @GetMapping("/grafo/isocrona")
+    public ResponseEntity<Map<String, Object>> obtenerIsocrona(
+            @RequestParam String origen,
+            @RequestParam(defaultValue = "30") double minutos,
+            @RequestParam(defaultValue = "false") boolean trafico) {
+        try {
+            Isocrona isocrona = sistema.calcularIsocrona(origen, minutos / 60.0, trafico);
+            if (isocrona == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("success", false, "message", "La zona no pertenece al grafo"));
+            }
+            Map<String, Object> respuesta = isocronaMap(isocrona);
+            respuesta.put("success", true);
+            return ResponseEntity.ok(respuesta);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    // Grafo: isócronas de todas las bases de operaciones, calculadas en paralelo
+    @GetMapping("/grafo/isocronas/bases")
+    public ResponseEntity<Map<String, Object>> obtenerIsocronasBases(
+            @RequestParam(defaultValue = "30") double minutos,
+            @RequestParam(defaultValue = "false") boolean trafico) {
+        try {
+            Map<String, Isocrona> isocronas = sistema.calcularIsocronasBases(minutos / 60.0, trafico);
+            List<Map<String, Object>> bases = isocronas.values().stream()
+                .map(DisasterRestController::isocronaMap)
+                .collect(Collectors.toList());
+            Map<String, Object> respuesta = new HashMap<>();
+            respuesta.put("success", true);
+            respuesta.put("minutos", minutos);
+            respuesta.put("total", bases.size());
+            respuesta.put("bases", bases);
+            return ResponseEntity.ok(respuesta);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    private static Map<String, Object> isocronaMap(Isocrona isocrona) {
+        List<Map<String, Object>> zonas = isocrona.getTiemposLlegada().entrySet().stream().map(llegada -> {
+            Map<String, Object> m = new HashMap<>();
+            m.put("zona", llegada.getKey());
+            m.put("minutos", llegada.getValue() * 60.0);
+            return m;
+        }).collect(Collectors.toList());
+        Map<String, Object> m = new HashMap<>();
+        m.put("origen", isocrona.getOrigen());
+        m.put("criterio", isocrona.getCriterio().name());
+        m.put("minutos", isocrona.getPresupuesto() * 60.0);
+        m.put("version", isocrona.getVersion());
+        m.put("total", isocrona.getCantidad());
+        m.put("zonas", zonas);
+        return m;
+    }
+
+    // Grafo: contadores de la caché de caminos mínimos
+    @GetMapping("/grafo/cache/estadisticas")
+    public ResponseEntity<Map<String, Object>> obtenerEstadisticasCacheRutas() {
+        return ResponseEntity.ok(sistema.obtenerEstadisticasCacheRutas());
+    }
+
+    // Grafo: contadores de la caché de isócronas
+    @GetMapping("/grafo/isocronas/cache/estadisticas")
+    public ResponseEntity<Map<String, Object>> obtenerEstadisticasCacheIsocronas() {
+        return ResponseEntity.ok(sistema.obtenerEstadisticasCacheIsocronas());
+    }
+
+    // Grafo: instalación más cercana por carretera (hospital, refugio, etc.) a una zona
+    @GetMapping("/grafo/instalacion-cercana")
+    public ResponseEntity<Map<String, Object>> obtenerInstalacionCercana(
+            @RequestParam String zona,
+            @RequestParam String tipo,
+            @RequestParam(defaultValue = "DISTANCIA") String criterio) {
+        try {
+            Nodo.TipoNodo tipoNodo = Nodo.TipoNodo.valueOf(tipo.toUpperCase());
+            CriterioRuta criterioRuta = CriterioRuta.valueOf(criterio.toUpperCase());
+            InstalacionCercana cercana = sistema.buscarInstalacionMasCercana(zona, tipoNodo, criterioRuta);
+
+            Map<String, Object> respuesta = new HashMap<>();
+            respuesta.put("success", cercana != null);
+            if (cercana == null) {
+                respuesta.put("message", "La zona no alcanza ninguna instalación de tipo " + tipoNodo.getDescripcion());
+                return ResponseEntity.ok(respuesta);
+            }
+            respuesta.put("instalacion", cercana.getInstalacion().getId());
+            respuesta.put("nombre", cercana.getInstalacion().getNombre());
+            respuesta.put("costo", cercana.getCosto());
+            respuesta.put("criterio", criterioRuta.name());
+            respuesta.put("primerTramo", cercana.getPrimerTramo() != null ? cercana.getPrimerTramo().getId() : null);
+            return ResponseEntity.ok(respuesta);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    // Grafo: zonas sin camino desde (o hacia) una zona, para alertas de aislamiento
+    @GetMapping("/grafo/zonas-inalcanzables")
+    public ResponseEntity<Map<String, Object>> obtenerZonasInalcanzables(
+            @RequestParam String zona,
+            @RequestParam(defaultValue = "DESDE") String sentido) {
+        boolean haciaLaZona;
+        if (sentido.equalsIgnoreCase("DESDE")) {
+            haciaLaZona = false;
+        } else if (sentido.equalsIgnoreCase("HACIA")) {
+            haciaLaZona = true;
+        } else {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("success", false, "message", "El sentido debe ser DESDE o HACIA"));
+        }
+        if (sistema.obtenerNodoGrafo(zona) == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("success", false, "message", "La zona no pertenece al grafo"));
+        }
+
+        List<String> inalcanzables = sistema.obtenerZonasInalcanzables(zona, haciaLaZona);
+        Map<String, Object> respuesta = new HashMap<>();
+        respuesta.put("success", true);
+        respuesta.put("zona", zona);
+        respuesta.put("sentido", sentido.toUpperCase());
+        respuesta.put("total", inalcanzables.size());
+        respuesta.put("zonas", inalcanzables);
+        return ResponseEntity.ok(respuesta);
+    }
+
+    // Grafo: existe algún camino (no solo una ruta directa) entre dos zonas
+    @GetMapping("/grafo/alcanzable")
+    public ResponseEntity<Map<String, Object>> esAlcanzable(
+            @RequestParam String origen,
+            @RequestParam String destino) {
+        Map<String, Object> respuesta = new HashMap<>();
+        respuesta.put("origen", origen);
+        respuesta.put("destino", destino);
+        respuesta.put("alcanzable", sistema.esAlcanzableEnGrafo(origen, destino));
+        return ResponseEntity.ok(respuesta);
+    }
+
     // Grafo: obtener nodo por id (retorna representación mínima)
     @GetMapping("/grafo/nodo/{id}")
     public ResponseEntity<Map<String, Object>> obtenerNodoGrafo(@PathVariable String id) {
@@ -1141,27 +1840,31 @@ public ResponseEntity<Map<String, Object>> obtenerEstadisticas() {
                 }
             }
             
-            // Cargar rutas
+            // Cargar rutas (en un solo lote: el grafo publica una única versión nueva)
             if (datos.containsKey("rutas") && datos.get("rutas") instanceof List) {
                 @SuppressWarnings("unchecked")
                 List<Map<String, Object>> rutas = (List<Map<String, Object>>) datos.get("rutas");
-                for (Map<String, Object> r : rutas) {
-                    try {
-                        Ruta ruta = sistema.conectarZonas(
-                            (String) r.get("id"),
-                            (String) r.get("origenId"),
-                            (String) r.get("destinoId"),
-                            ((Number) r.get("distancia")).doubleValue(),
-                            ((Number) r.get("tiempoEstimado")).doubleValue(),
-                            TipoRuta.valueOf(((String) r.get("tipo")).toUpperCase())
-                        );
-                        if (ruta != null) {
-                            rutasCreadas++;
+                int[] creadas = {0};
+                sistema.ejecutarEnLote(() -> {
+                    for (Map<String, Object> r : rutas) {
+                        try {
+                            Ruta ruta = sistema.conectarZonas(
+                                (String) r.get("id"),
+                                (String) r.get("origenId"),
+                                (String) r.get("destinoId"),
+                                ((Number) r.get("distancia")).doubleValue(),
+                                ((Number) r.get("tiempoEstimado")).doubleValue(),
+                                TipoRuta.valueOf(((String) r.get("tipo")).toUpperCase())
+                            );
+                            if (ruta != null) {
+                                creadas[0]++;
+                            }
+                        } catch (Exception e) {
+                            System.err.println("Error creando ruta: " + e.getMessage());
                         }
-                    } catch (Exception e) {
-                        System.err.println("Error creando ruta: " + e.getMessage());
                     }
-                }
+                });
+                rutasCreadas = creadas[0];
             }
             
             // Cargar recursos (después de cargar rutas para que se puedan asignar automáticamente)
@@ -1415,7 +2118,7 @@ public ResponseEntity<Map<String, Object>> obtenerEstadisticas() {
 
     // ============ INICIALIZACIÓN DE DATOS DE PRUEBA ============
 
-    private static void inicializarDatosPrueba() {
+    private void inicializarDatosPrueba() {
         // Crear zonas
         Zona zona1 = new Zona("Z001", "Ciudad Central", NivelUrgencia.ALTA);
         zona1.setCoordenadaX(4.5389);
@@ -0,0 +1,56 @@
+package co.edu.uniquindio.GestionRiesgos.Enums;
+
+/**
+ * Representa los algoritmos disponibles para calcular el camino mínimo entre
+ * dos zonas del grafo.
+ * 
+ * Todos los algoritmos devuelven un camino de costo mínimo; difieren en la
+ * cantidad de nodos que exploran para encontrarlo.
+ * 
+ * Algoritmos definidos:
+ * - DIJKSTRA   → Búsqueda uniforme desde el origen.
+ * - A_ESTRELLA → Búsqueda dirigida con una cota geográfica basada en las
+ *                coordenadas de las zonas.
+ * - BIDIRECCIONAL → Dijkstra simultáneo desde el origen y desde el destino.
+ * - CONTRACCION   → Consulta sobre una jerarquía de contracción precalculada.
+ * - LANDMARKS     → A* con cotas de la desigualdad triangular respecto a un
+ *                   conjunto de zonas de referencia (ALT).
+ */
+public enum AlgoritmoRuta {
+
+    /** Algoritmo de Dijkstra clásico. */
+    DIJKSTRA("Dijkstra"),
+
+    /** A* con heurística de distancia de gran círculo. */
+    A_ESTRELLA("A*"),
+
+    /** Dijkstra bidireccional (origen y destino a la vez). */
+    BIDIRECCIONAL("Dijkstra bidireccional"),
+
+    /** Búsqueda ascendente sobre la jerarquía de contracción del criterio. */
+    CONTRACCION("Jerarquía de contracción"),
+
+    /** A* con cotas de puntos de referencia (landmarks), válido para cualquier criterio. */
+    LANDMARKS("A* con puntos de referencia");
+
+    /** Descripción textual del algoritmo. */
+    private final String descripcion;
+
+    /**
+     * Constructor del enum AlgoritmoRuta.
+     *
+     * @param descripcion texto descriptivo del algoritmo.
+     */
+    AlgoritmoRuta(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    /**
+     * Obtiene la descripción legible del algoritmo.
+     *
+     * @return descripción del algoritmo.
+     */
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
@@ -0,0 +1,51 @@
+package co.edu.uniquindio.GestionRiesgos.Enums;
+
+/**
+ * Representa el criterio (métrica) que se optimiza al calcular rutas en el
+ * grafo de zonas.
+ * 
+ * Cada criterio indica qué atributo de la ruta se utiliza como peso de la
+ * arista durante la búsqueda de caminos mínimos.
+ * 
+ * Criterios definidos:
+ * - DISTANCIA → Distancia de la ruta (camino más corto).
+ * - TIEMPO    → Tiempo estimado de recorrido (camino más rápido).
+ * - RIESGO    → Nivel de riesgo de la ruta (camino más seguro).
+ * - TIEMPO_TRAFICO → Tiempo ajustado por la ocupación y el riesgo actuales
+ *                    de la ruta (camino más rápido según el estado de la vía).
+ */
+public enum CriterioRuta {
+
+    /** Minimiza la distancia total recorrida. */
+    DISTANCIA("Distancia"),
+
+    /** Minimiza el tiempo estimado total de recorrido. */
+    TIEMPO("Tiempo estimado"),
+
+    /** Minimiza el nivel de riesgo acumulado. */
+    RIESGO("Nivel de riesgo"),
+
+    /** Minimiza el tiempo de recorrido ajustado por congestión y riesgo. */
+    TIEMPO_TRAFICO("Tiempo con tráfico");
+
+    /** Descripción textual del criterio. */
+    private final String descripcion;
+
+    /**
+     * Constructor del enum CriterioRuta.
+     *
+     * @param descripcion texto descriptivo del criterio.
+     */
+    CriterioRuta(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    /**
+     * Obtiene la descripción legible del criterio.
+     *
+     * @return descripción del criterio.
+     */
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
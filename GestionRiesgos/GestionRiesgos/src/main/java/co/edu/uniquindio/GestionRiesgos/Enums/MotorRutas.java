@@ -0,0 +1,44 @@
+package co.edu.uniquindio.GestionRiesgos.Enums;
+
+/**
+ * Representa el motor con el que el sistema calcula las rutas óptimas entre
+ * dos zonas.
+ *
+ * Ambos motores devuelven un camino de costo mínimo; difieren en cómo
+ * reparten el trabajo.
+ *
+ * Motores definidos:
+ * - GRAFO    → El propio grafo, con jerarquías de contracción (consultas
+ *              rápidas en un solo hilo).
+ * - PARALELO → Delta-stepping sobre el pool común de ForkJoin, pensado para
+ *              grafos muy grandes.
+ */
+public enum MotorRutas {
+
+    /** Búsquedas del grafo sobre jerarquías de contracción. */
+    GRAFO("Jerarquías de contracción"),
+
+    /** Delta-stepping paralelo. */
+    PARALELO("Delta-stepping paralelo");
+
+    /** Descripción textual del motor. */
+    private final String descripcion;
+
+    /**
+     * Constructor del enum MotorRutas.
+     *
+     * @param descripcion texto descriptivo del motor.
+     */
+    MotorRutas(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    /**
+     * Obtiene la descripción legible del motor.
+     *
+     * @return descripción del motor.
+     */
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
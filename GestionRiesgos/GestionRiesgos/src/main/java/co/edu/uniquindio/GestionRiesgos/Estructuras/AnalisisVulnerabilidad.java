@@ -0,0 +1,570 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detección de puentes y puntos de articulación fuertes de la red vial: las
+ * rutas y zonas cuyo cierre hace que un grupo de zonas mutuamente
+ * alcanzables (componente fuertemente conexa) deje de serlo.
+ *
+ * Como las rutas son dirigidas, se usa la caracterización de Italiano,
+ * Laura y Santaroni: en cada componente se elige una zona de referencia r y
+ * se calculan los árboles de dominadores (Lengauer-Tarjan) desde r en el
+ * grafo y en el grafo invertido. Una ruta (x, y) es puente fuerte si es la
+ * única forma de entrar a y desde fuera del subárbol de y en alguno de los
+ * dos árboles; al cerrarla, ese subárbol queda sin acceso desde r (o sin
+ * salida hacia r). Una zona distinta de r es punto de articulación si
+ * domina a otra en alguno de los dos árboles; r lo es si la componente sin
+ * r deja de ser fuertemente conexa. Todo el análisis es lineal (salvo el
+ * factor logarítmico de la compresión de caminos) en rutas activas.
+ *
+ * El resultado guarda, por componente, lo necesario para reutilizarlo: si
+ * la versión siguiente solo agrega rutas, las componentes cuyo conjunto de
+ * zonas no cambió y que no recibieron rutas internas nuevas conservan sus
+ * puentes, y solo se recalculan las componentes tocadas.
+ */
+final class AnalisisVulnerabilidad {
+
+    /** Resultado de una componente no trivial, reutilizable mientras no cambie. */
+    static final class Componente {
+        final int tamano;
+        final List<ResultadoVulnerabilidad.PuenteCritico> puentes;
+        final List<String> puntosArticulacion;
+
+        Componente(int tamano, List<ResultadoVulnerabilidad.PuenteCritico> puentes, List<String> puntosArticulacion) {
+            this.tamano = tamano;
+            this.puentes = puentes;
+            this.puntosArticulacion = puntosArticulacion;
+        }
+    }
+
+    /**
+     * Estado de un análisis, para actualizar el de la versión siguiente. Solo
+     * guarda la identidad y los extremos de cada arista, no la instantánea
+     * analizada con sus pesos.
+     */
+    static final class Estado {
+        /** Versión de la estructura analizada */
+        final long versionEstructura;
+        final int numeroNodos;
+        /** Cantidad de rutas del grafo, incluidas las inactivas */
+        final int numeroRutas;
+        /** Ruta de cada arista activa */
+        final Ruta[] aristas;
+        final int[] origenes;
+        final int[] destinos;
+        /** Componente fuertemente conexa de cada nodo */
+        final int[] componente;
+        /** Resultado de cada componente, o null si es de una sola zona */
+        final Componente[] componentes;
+
+        Estado(GrafoCompacto grafo, int[] destinos, int[] componente, Componente[] componentes) {
+            int m = grafo.getNumeroAristas();
+            this.versionEstructura = grafo.getVersionEstructura();
+            this.numeroNodos = grafo.getNumeroNodos();
+            this.numeroRutas = grafo.getRutas().size();
+            this.aristas = new Ruta[m];
+            this.origenes = new int[m];
+            for (int e = 0; e < m; e++) {
+                aristas[e] = grafo.ruta(e);
+                origenes[e] = grafo.origen(e);
+            }
+            this.destinos = destinos;
+            this.componente = componente;
+            this.componentes = componentes;
+        }
+    }
+
+    /** Grafo de una componente con índices locales, en ambos sentidos. */
+    private static final class Subgrafo {
+        final int[] nodos;
+        final int[] inicioSalientes;
+        final int[] salientes;
+        final int[] aristasSalientes;
+        final int[] inicioEntrantes;
+        final int[] entrantes;
+        final int[] aristasEntrantes;
+
+        Subgrafo(int[] nodos, int[] inicioSalientes, int[] salientes, int[] aristasSalientes,
+                 int[] inicioEntrantes, int[] entrantes, int[] aristasEntrantes) {
+            this.nodos = nodos;
+            this.inicioSalientes = inicioSalientes;
+            this.salientes = salientes;
+            this.aristasSalientes = aristasSalientes;
+            this.inicioEntrantes = inicioEntrantes;
+            this.entrantes = entrantes;
+            this.aristasEntrantes = aristasEntrantes;
+        }
+    }
+
+    /** Árbol de dominadores con su preorden, para consultar subárboles como intervalos. */
+    private static final class ArbolDominadores {
+        final int[] dominador;
+        final int[] preorden;
+        final int[] entrada;
+        final int[] salida;
+
+        ArbolDominadores(int[] dominador, int[] preorden, int[] entrada, int[] salida) {
+            this.dominador = dominador;
+            this.preorden = preorden;
+            this.entrada = entrada;
+            this.salida = salida;
+        }
+
+        /** @return true si {@code v} está en el subárbol de {@code raiz}. */
+        boolean domina(int raiz, int v) {
+            return entrada[raiz] <= entrada[v] && entrada[v] < salida[raiz];
+        }
+    }
+
+    private AnalisisVulnerabilidad() {
+    }
+
+    /**
+     * Analiza una versión del grafo.
+     *
+     * @param grafo Grafo compacto.
+     * @param anterior Análisis de una versión anterior del mismo grafo, o null.
+     * @return Puentes y puntos de articulación fuertes de la versión.
+     */
+    static ResultadoVulnerabilidad calcular(GrafoCompacto grafo, ResultadoVulnerabilidad anterior) {
+        int n = grafo.getNumeroNodos();
+        int m = grafo.getNumeroAristas();
+        int[] inicio = new int[n + 1];
+        int[] destinos = new int[m];
+        for (int u = 0; u < n; u++) inicio[u] = grafo.inicioAristas(u);
+        inicio[n] = m;
+        for (int e = 0; e < m; e++) destinos[e] = grafo.destino(e);
+
+        int[] componente = new int[n];
+        int cantidad = componentesFuertes(n, inicio, destinos, -1, componente);
+
+        int[] tamanos = new int[cantidad];
+        for (int v = 0; v < n; v++) tamanos[componente[v]]++;
+        int[][] miembros = new int[cantidad][];
+        for (int c = 0; c < cantidad; c++) miembros[c] = new int[tamanos[c]];
+        int[] llenos = new int[cantidad];
+        for (int v = 0; v < n; v++) miembros[componente[v]][llenos[componente[v]]++] = v;
+
+        Estado previo = anterior != null && anterior.getEstado().versionEstructura < grafo.getVersionEstructura()
+                ? anterior.getEstado() : null;
+        boolean[] tocadas = previo != null ? componentesTocadas(grafo, previo, componente, cantidad) : null;
+
+        Componente[] componentes = new Componente[cantidad];
+        int[] local = new int[n];
+        int[] posicionPuente = new int[m];
+        Arrays.fill(posicionPuente, -1);
+        for (int c = 0; c < cantidad; c++) {
+            if (tamanos[c] < 2) continue;
+            Componente reutilizable = tocadas != null && !tocadas[c] ? reutilizable(previo, miembros[c]) : null;
+            componentes[c] = reutilizable != null
+                    ? reutilizable
+                    : analizarComponente(grafo, subgrafo(grafo, miembros[c], componente, local), posicionPuente);
+        }
+
+        List<ResultadoVulnerabilidad.PuenteCritico> puentes = new ArrayList<>();
+        List<String> puntosArticulacion = new ArrayList<>();
+        for (Componente resultado : componentes) {
+            if (resultado == null) continue;
+            puentes.addAll(resultado.puentes);
+            puntosArticulacion.addAll(resultado.puntosArticulacion);
+        }
+        return new ResultadoVulnerabilidad(grafo.getVersion(), cantidad, puentes, puntosArticulacion,
+                new Estado(grafo, destinos, componente, componentes));
+    }
+
+    /**
+     * Determina qué componentes pueden haber cambiado respecto del análisis
+     * anterior: las que recibieron una ruta interna nueva.
+     *
+     * @return Componentes tocadas, o null si la versión no se obtiene de la
+     *         anterior solo agregando rutas (se recalcula todo).
+     */
+    private static boolean[] componentesTocadas(GrafoCompacto grafo, Estado previo, int[] componente, int cantidad) {
+        List<Ruta> rutasNuevas = grafo.getRutas();
+        if (rutasNuevas.size() < previo.numeroRutas || previo.numeroNodos > grafo.getNumeroNodos()) return null;
+
+        Map<Ruta, Integer> aristasViejas = new IdentityHashMap<>(previo.aristas.length * 2);
+        for (int e = 0; e < previo.aristas.length; e++) aristasViejas.put(previo.aristas[e], e);
+        Map<Ruta, Boolean> agregadas = new IdentityHashMap<>();
+        for (Ruta ruta : rutasNuevas.subList(previo.numeroRutas, rutasNuevas.size())) agregadas.put(ruta, Boolean.TRUE);
+
+        boolean[] tocadas = new boolean[cantidad];
+        int conservadas = 0;
+        for (int e = 0; e < grafo.getNumeroAristas(); e++) {
+            int u = grafo.origen(e);
+            int v = grafo.destino(e);
+            Integer vieja = aristasViejas.get(grafo.ruta(e));
+            if (vieja != null) {
+                if (previo.origenes[vieja] != u || previo.destinos[vieja] != v) return null;
+                conservadas++;
+            } else if (agregadas.containsKey(grafo.ruta(e))) {
+                if (componente[u] == componente[v]) tocadas[componente[u]] = true;
+            } else {
+                // Una ruta que ya existía se reactivó
+                return null;
+            }
+        }
+        return conservadas == previo.aristas.length ? tocadas : null;
+    }
+
+    /**
+     * @return Resultado anterior de la componente si tenía exactamente las
+     *         mismas zonas, o null si cambió.
+     */
+    private static Componente reutilizable(Estado previo, int[] miembros) {
+        int[] componenteVieja = previo.componente;
+        if (miembros[0] >= componenteVieja.length) return null;
+        int c = componenteVieja[miembros[0]];
+        Componente vieja = previo.componentes[c];
+        if (vieja == null || vieja.tamano != miembros.length) return null;
+        for (int v : miembros) {
+            if (v >= componenteVieja.length || componenteVieja[v] != c) return null;
+        }
+        return vieja;
+    }
+
+    /** Extrae las aristas internas de una componente con índices locales. */
+    private static Subgrafo subgrafo(GrafoCompacto grafo, int[] nodos, int[] componente, int[] local) {
+        int k = nodos.length;
+        int c = componente[nodos[0]];
+        for (int i = 0; i < k; i++) local[nodos[i]] = i;
+
+        int[] inicioSalientes = new int[k + 1];
+        int[] inicioEntrantes = new int[k + 1];
+        for (int i = 0; i < k; i++) {
+            int u = nodos[i];
+            for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+                int v = grafo.destino(e);
+                if (componente[v] != c) continue;
+                inicioSalientes[i + 1]++;
+                inicioEntrantes[local[v] + 1]++;
+            }
+        }
+        for (int i = 0; i < k; i++) {
+            inicioSalientes[i + 1] += inicioSalientes[i];
+            inicioEntrantes[i + 1] += inicioEntrantes[i];
+        }
+
+        int total = inicioSalientes[k];
+        int[] salientes = new int[total];
+        int[] aristasSalientes = new int[total];
+        int[] entrantes = new int[total];
+        int[] aristasEntrantes = new int[total];
+        int[] posicion = Arrays.copyOf(inicioEntrantes, k);
+        int p = 0;
+        for (int i = 0; i < k; i++) {
+            int u = nodos[i];
+            for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+                int v = grafo.destino(e);
+                if (componente[v] != c) continue;
+                int j = local[v];
+                salientes[p] = j;
+                aristasSalientes[p++] = e;
+                entrantes[posicion[j]] = i;
+                aristasEntrantes[posicion[j]++] = e;
+            }
+        }
+        return new Subgrafo(nodos, inicioSalientes, salientes, aristasSalientes,
+                inicioEntrantes, entrantes, aristasEntrantes);
+    }
+
+    /** Calcula los puentes y puntos de articulación fuertes de una componente. */
+    private static Componente analizarComponente(GrafoCompacto grafo, Subgrafo sub, int[] posicionPuente) {
+        int k = sub.nodos.length;
+        int raiz = 0;
+        for (int i = 1; i < k; i++) {
+            if (grado(sub, i) > grado(sub, raiz)) raiz = i;
+        }
+
+        ArbolDominadores directo = arbolDominadores(k, sub.inicioSalientes, sub.salientes,
+                sub.inicioEntrantes, sub.entrantes, raiz);
+        ArbolDominadores inverso = arbolDominadores(k, sub.inicioEntrantes, sub.entrantes,
+                sub.inicioSalientes, sub.salientes, raiz);
+
+        String[] preordenDirecto = new String[k];
+        String[] preordenInverso = new String[k];
+        for (int i = 0; i < k; i++) {
+            preordenDirecto[i] = grafo.id(sub.nodos[directo.preorden[i]]);
+            preordenInverso[i] = grafo.id(sub.nodos[inverso.preorden[i]]);
+        }
+
+        // Puentes de la componente: arista global y {inicio, fin} del subárbol aislado en cada árbol.
+        // posicionPuente (compartido entre componentes) ubica cada arista en la lista, y se limpia al final.
+        List<Integer> aristas = new ArrayList<>();
+        List<int[]> rangos = new ArrayList<>();
+        for (int y = 0; y < k; y++) {
+            if (y == raiz) continue;
+            int e = unicaArista(directo, y, sub.inicioEntrantes, sub.entrantes, sub.aristasEntrantes);
+            if (e >= 0) {
+                int[] rango = rangoPuente(e, aristas, rangos, posicionPuente);
+                rango[0] = directo.entrada[y];
+                rango[1] = directo.salida[y];
+            }
+            e = unicaArista(inverso, y, sub.inicioSalientes, sub.salientes, sub.aristasSalientes);
+            if (e >= 0) {
+                int[] rango = rangoPuente(e, aristas, rangos, posicionPuente);
+                rango[2] = inverso.entrada[y];
+                rango[3] = inverso.salida[y];
+            }
+        }
+
+        String referencia = grafo.id(sub.nodos[raiz]);
+        List<ResultadoVulnerabilidad.PuenteCritico> criticos = new ArrayList<>(aristas.size());
+        for (int i = 0; i < aristas.size(); i++) {
+            int e = aristas.get(i);
+            int[] r = rangos.get(i);
+            posicionPuente[e] = -1;
+            criticos.add(new ResultadoVulnerabilidad.PuenteCritico(
+                    grafo.ruta(e), referencia, preordenDirecto, r[0], r[1], preordenInverso, r[2], r[3]));
+        }
+
+        boolean[] articulacion = new boolean[k];
+        for (int y = 0; y < k; y++) {
+            if (y == raiz) continue;
+            if (directo.dominador[y] != raiz) articulacion[directo.dominador[y]] = true;
+            if (inverso.dominador[y] != raiz) articulacion[inverso.dominador[y]] = true;
+        }
+        int[] componenteSinRaiz = new int[k];
+        articulacion[raiz] = componentesFuertes(k, sub.inicioSalientes, sub.salientes, raiz, componenteSinRaiz) > 1;
+        List<String> puntosArticulacion = new ArrayList<>();
+        for (int i = 0; i < k; i++) {
+            if (articulacion[i]) puntosArticulacion.add(grafo.id(sub.nodos[i]));
+        }
+
+        return new Componente(k, Collections.unmodifiableList(criticos), Collections.unmodifiableList(puntosArticulacion));
+    }
+
+    /** @return Rangos del puente de la arista, agregándolo a la lista si es nuevo. */
+    private static int[] rangoPuente(int arista, List<Integer> aristas, List<int[]> rangos, int[] posicionPuente) {
+        if (posicionPuente[arista] < 0) {
+            posicionPuente[arista] = aristas.size();
+            aristas.add(arista);
+            rangos.add(new int[4]);
+        }
+        return rangos.get(posicionPuente[arista]);
+    }
+
+    private static int grado(Subgrafo sub, int v) {
+        return sub.inicioSalientes[v + 1] - sub.inicioSalientes[v] + sub.inicioEntrantes[v + 1] - sub.inicioEntrantes[v];
+    }
+
+    /**
+     * Determina si la arista desde el dominador inmediato de {@code y} es la
+     * única forma de llegar a {@code y}: debe haber una sola arista desde su
+     * dominador y todas las demás deben venir de zonas que {@code y} domina.
+     *
+     * @param predecesores Adyacencia de predecesores en el sentido del árbol.
+     * @return Índice global de la arista puente, o -1 si no hay.
+     */
+    private static int unicaArista(ArbolDominadores arbol, int y, int[] inicioPredecesores,
+                                   int[] predecesores, int[] aristas) {
+        int x = arbol.dominador[y];
+        int puente = -1;
+        for (int p = inicioPredecesores[y]; p < inicioPredecesores[y + 1]; p++) {
+            int w = predecesores[p];
+            if (w == x) {
+                if (puente >= 0) return -1;
+                puente = aristas[p];
+            } else if (!arbol.domina(y, w)) {
+                return -1;
+            }
+        }
+        return puente;
+    }
+
+    /**
+     * Árbol de dominadores desde la raíz con el algoritmo de Lengauer y
+     * Tarjan (versión simple, con compresión de caminos). Supone que todos
+     * los nodos son alcanzables desde la raíz.
+     */
+    private static ArbolDominadores arbolDominadores(int k, int[] inicioSucesores, int[] sucesores,
+                                                     int[] inicioPredecesores, int[] predecesores, int raiz) {
+        int[] numero = new int[k];
+        Arrays.fill(numero, -1);
+        int[] vertice = new int[k];
+        int[] padre = new int[k];
+        int[] semi = new int[k];
+        int[] ancestro = new int[k];
+        int[] etiqueta = new int[k];
+        int[] dominador = new int[k];
+        int[] cubeta = new int[k];
+        int[] siguienteEnCubeta = new int[k];
+        Arrays.fill(cubeta, -1);
+        Arrays.fill(ancestro, -1);
+
+        // Búsqueda en profundidad iterativa numerando en preorden
+        int[] pila = new int[k];
+        int[] posicion = new int[k];
+        int tope = 0;
+        int contador = 0;
+        pila[tope++] = raiz;
+        numero[raiz] = contador;
+        vertice[contador++] = raiz;
+        posicion[raiz] = inicioSucesores[raiz];
+        padre[raiz] = -1;
+        while (tope > 0) {
+            int u = pila[tope - 1];
+            if (posicion[u] == inicioSucesores[u + 1]) {
+                tope--;
+                continue;
+            }
+            int v = sucesores[posicion[u]++];
+            if (numero[v] >= 0) continue;
+            numero[v] = contador;
+            vertice[contador++] = v;
+            padre[v] = u;
+            posicion[v] = inicioSucesores[v];
+            pila[tope++] = v;
+        }
+        for (int v = 0; v < k; v++) {
+            semi[v] = numero[v];
+            etiqueta[v] = v;
+        }
+
+        int[] camino = new int[k];
+        for (int i = contador - 1; i > 0; i--) {
+            int w = vertice[i];
+            for (int p = inicioPredecesores[w]; p < inicioPredecesores[w + 1]; p++) {
+                int v = predecesores[p];
+                if (numero[v] < 0) continue;
+                int u = evaluar(v, ancestro, etiqueta, semi, camino);
+                if (semi[u] < semi[w]) semi[w] = semi[u];
+            }
+            int s = vertice[semi[w]];
+            siguienteEnCubeta[w] = cubeta[s];
+            cubeta[s] = w;
+            int p = padre[w];
+            ancestro[w] = p;
+            for (int v = cubeta[p]; v >= 0; v = siguienteEnCubeta[v]) {
+                int u = evaluar(v, ancestro, etiqueta, semi, camino);
+                dominador[v] = semi[u] < semi[v] ? u : p;
+            }
+            cubeta[p] = -1;
+        }
+        for (int i = 1; i < contador; i++) {
+            int w = vertice[i];
+            if (dominador[w] != vertice[semi[w]]) dominador[w] = dominador[dominador[w]];
+        }
+        dominador[raiz] = raiz;
+
+        // Preorden del árbol: cada subárbol ocupa el intervalo [entrada, salida)
+        int[] inicioHijos = new int[k + 1];
+        for (int v = 0; v < k; v++) {
+            if (v != raiz) inicioHijos[dominador[v] + 1]++;
+        }
+        for (int v = 0; v < k; v++) inicioHijos[v + 1] += inicioHijos[v];
+        int[] hijos = new int[Math.max(0, k - 1)];
+        int[] llenos = Arrays.copyOf(inicioHijos, k);
+        for (int v = 0; v < k; v++) {
+            if (v != raiz) hijos[llenos[dominador[v]]++] = v;
+        }
+        int[] preorden = new int[k];
+        int[] entrada = new int[k];
+        int[] salida = new int[k];
+        int visitados = 0;
+        tope = 0;
+        pila[tope++] = raiz;
+        entrada[raiz] = visitados;
+        preorden[visitados++] = raiz;
+        posicion[raiz] = inicioHijos[raiz];
+        while (tope > 0) {
+            int u = pila[tope - 1];
+            if (posicion[u] == inicioHijos[u + 1]) {
+                salida[u] = visitados;
+                tope--;
+                continue;
+            }
+            int v = hijos[posicion[u]++];
+            entrada[v] = visitados;
+            preorden[visitados++] = v;
+            posicion[v] = inicioHijos[v];
+            pila[tope++] = v;
+        }
+        return new ArbolDominadores(dominador, preorden, entrada, salida);
+    }
+
+    /** EVAL de Lengauer-Tarjan: nodo de semidominador mínimo en el camino comprimido hacia la raíz. */
+    private static int evaluar(int v, int[] ancestro, int[] etiqueta, int[] semi, int[] camino) {
+        if (ancestro[v] < 0) return v;
+        // Compresión iterativa: primero los más cercanos a la raíz
+        int largo = 0;
+        for (int x = v; ancestro[ancestro[x]] >= 0; x = ancestro[x]) camino[largo++] = x;
+        for (int i = largo - 1; i >= 0; i--) {
+            int x = camino[i];
+            int a = ancestro[x];
+            if (semi[etiqueta[a]] < semi[etiqueta[x]]) etiqueta[x] = etiqueta[a];
+            ancestro[x] = ancestro[a];
+        }
+        return etiqueta[v];
+    }
+
+    /**
+     * Componentes fuertemente conexas con el algoritmo de Tarjan, iterativo.
+     *
+     * @param excluido Nodo a ignorar (recibe componente -1), o -1.
+     * @param componente Salida: componente de cada nodo.
+     * @return Cantidad de componentes.
+     */
+    private static int componentesFuertes(int n, int[] inicio, int[] destinos, int excluido, int[] componente) {
+        int[] indice = new int[n];
+        int[] bajo = new int[n];
+        int[] posicion = new int[n];
+        int[] pila = new int[n];
+        int[] llamadas = new int[n];
+        boolean[] enPila = new boolean[n];
+        Arrays.fill(indice, -1);
+        Arrays.fill(componente, -1);
+        int contador = 0;
+        int tope = 0;
+        int cantidad = 0;
+
+        for (int s = 0; s < n; s++) {
+            if (s == excluido || indice[s] >= 0) continue;
+            int profundidad = 0;
+            llamadas[profundidad++] = s;
+            indice[s] = bajo[s] = contador++;
+            posicion[s] = inicio[s];
+            pila[tope++] = s;
+            enPila[s] = true;
+
+            while (profundidad > 0) {
+                int u = llamadas[profundidad - 1];
+                if (posicion[u] < inicio[u + 1]) {
+                    int v = destinos[posicion[u]++];
+                    if (v == excluido) continue;
+                    if (indice[v] < 0) {
+                        indice[v] = bajo[v] = contador++;
+                        posicion[v] = inicio[v];
+                        pila[tope++] = v;
+                        enPila[v] = true;
+                        llamadas[profundidad++] = v;
+                    } else if (enPila[v] && indice[v] < bajo[u]) {
+                        bajo[u] = indice[v];
+                    }
+                    continue;
+                }
+                profundidad--;
+                if (bajo[u] == indice[u]) {
+                    int v;
+                    do {
+                        v = pila[--tope];
+                        enPila[v] = false;
+                        componente[v] = cantidad;
+                    } while (v != u);
+                    cantidad++;
+                }
+                if (profundidad > 0) {
+                    int padre = llamadas[profundidad - 1];
+                    if (bajo[u] < bajo[padre]) bajo[padre] = bajo[u];
+                }
+            }
+        }
+        return cantidad;
+    }
+}
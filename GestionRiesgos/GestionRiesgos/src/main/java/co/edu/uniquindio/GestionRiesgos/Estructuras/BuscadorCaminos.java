@@ -0,0 +1,482 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Núcleo de búsqueda de caminos mínimos sobre un {@link GrafoCompacto}.
+ *
+ * Implementa Dijkstra con un {@link MonticuloIndexado} (decrease-key) y
+ * arreglos primitivos tomados de un {@link EspacioBusqueda} reutilizable, por
+ * lo que una consulta no reserva memoria salvo para el camino resultante.
+ *
+ * Además de Dijkstra ofrece A*, que ordena la exploración por el costo
+ * acumulado más una cota inferior ({@link CotaInferior}) del costo restante
+ * hasta el destino, y Dijkstra bidireccional, que avanza simultáneamente desde
+ * el origen y (sobre la adyacencia inversa) desde el destino.
+ */
+final class BuscadorCaminos {
+
+    private BuscadorCaminos() {
+    }
+
+    /**
+     * Ejecuta Dijkstra desde el origen. Si se indica un destino, la búsqueda
+     * se detiene en cuanto queda asentado; con destino -1 recorre todo el grafo.
+     * El resultado queda en el espacio de trabajo.
+     *
+     * @param grafo Grafo compacto.
+     * @param pesos Peso de cada arista.
+     * @param origen Índice del nodo origen.
+     * @param destino Índice del nodo destino o -1.
+     * @param espacio Espacio de trabajo (se reinicia).
+     * @return true si el destino fue alcanzado (o si destino es -1).
+     */
+    static boolean dijkstra(GrafoCompacto grafo, double[] pesos, int origen, int destino, EspacioBusqueda espacio) {
+        espacio.reiniciar(grafo.getNumeroNodos());
+        MonticuloIndexado monticulo = espacio.monticulo();
+
+        espacio.actualizar(origen, 0.0, -1);
+        monticulo.insertarODisminuir(origen, 0.0);
+
+        while (!monticulo.estaVacio()) {
+            int u = monticulo.extraerMinimo();
+            espacio.asentar(u);
+            if (u == destino) return true;
+
+            double distanciaU = espacio.distancia(u);
+            for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+                int v = grafo.destino(e);
+                if (espacio.estaAsentado(v)) continue;
+
+                double nuevaDistancia = distanciaU + pesos[e];
+                if (nuevaDistancia < espacio.distancia(v)) {
+                    espacio.actualizar(v, nuevaDistancia, e);
+                    monticulo.insertarODisminuir(v, nuevaDistancia);
+                }
+            }
+        }
+        return destino < 0;
+    }
+
+    /**
+     * Ejecuta Dijkstra desde el origen sin pasar del límite de costo: las
+     * aristas que lo superarían no se relajan, así que solo se explora la
+     * región alcanzable (una isócrona, si los pesos son tiempos) y no todo
+     * el grafo. Las distancias de los nodos devueltos quedan en el espacio
+     * de trabajo.
+     *
+     * @param grafo Grafo compacto.
+     * @param pesos Peso de cada arista.
+     * @param origen Índice del nodo origen.
+     * @param limite Costo máximo desde el origen.
+     * @param espacio Espacio de trabajo (se reinicia).
+     * @return Nodos con costo no mayor que el límite, en orden de costo creciente.
+     */
+    static int[] dijkstraAcotado(GrafoCompacto grafo, double[] pesos, int origen, double limite, EspacioBusqueda espacio) {
+        espacio.reiniciar(grafo.getNumeroNodos());
+        MonticuloIndexado monticulo = espacio.monticulo();
+
+        espacio.actualizar(origen, 0.0, -1);
+        monticulo.insertarODisminuir(origen, 0.0);
+        int[] asentados = new int[16];
+        int cantidad = 0;
+
+        while (!monticulo.estaVacio()) {
+            int u = monticulo.extraerMinimo();
+            espacio.asentar(u);
+            if (cantidad == asentados.length) asentados = Arrays.copyOf(asentados, cantidad * 2);
+            asentados[cantidad++] = u;
+
+            double distanciaU = espacio.distancia(u);
+            for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+                int v = grafo.destino(e);
+                if (espacio.estaAsentado(v)) continue;
+
+                double nuevaDistancia = distanciaU + pesos[e];
+                if (nuevaDistancia <= limite && nuevaDistancia < espacio.distancia(v)) {
+                    espacio.actualizar(v, nuevaDistancia, e);
+                    monticulo.insertarODisminuir(v, nuevaDistancia);
+                }
+            }
+        }
+        return Arrays.copyOf(asentados, cantidad);
+    }
+
+    /**
+     * Ejecuta Dijkstra dependiente del tiempo: el costo de cada arista depende
+     * del instante en que se empieza a recorrer, según el perfil de
+     * congestión. La distancia de cada nodo es el tiempo transcurrido desde
+     * la salida hasta la llegada a él. Como el perfil cumple la propiedad
+     * FIFO, el orden por instante de llegada da el camino más rápido.
+     *
+     * @param grafo Grafo compacto.
+     * @param pesos Tiempo base de recorrido de cada arista.
+     * @param perfil Perfil de congestión por franja horaria.
+     * @param salida Instante de salida desde el origen.
+     * @param origen Índice del nodo origen.
+     * @param destino Índice del nodo destino.
+     * @param espacio Espacio de trabajo (se reinicia).
+     * @return true si el destino fue alcanzado.
+     */
+    static boolean dijkstraDependienteTiempo(GrafoCompacto grafo, double[] pesos, PerfilCongestion perfil,
+                                             double salida, int origen, int destino, EspacioBusqueda espacio) {
+        espacio.reiniciar(grafo.getNumeroNodos());
+        MonticuloIndexado monticulo = espacio.monticulo();
+
+        espacio.actualizar(origen, 0.0, -1);
+        monticulo.insertarODisminuir(origen, 0.0);
+
+        while (!monticulo.estaVacio()) {
+            int u = monticulo.extraerMinimo();
+            espacio.asentar(u);
+            if (u == destino) return true;
+
+            double llegadaU = salida + espacio.distancia(u);
+            for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+                int v = grafo.destino(e);
+                if (espacio.estaAsentado(v)) continue;
+
+                double nuevaDistancia = perfil.tiempoLlegada(llegadaU, pesos[e]) - salida;
+                if (nuevaDistancia < espacio.distancia(v)) {
+                    espacio.actualizar(v, nuevaDistancia, e);
+                    monticulo.insertarODisminuir(v, nuevaDistancia);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ejecuta Dijkstra desde el origen hasta el destino sin atravesar los
+     * nodos ni las aristas bloqueados. Lo usa el cálculo de caminos
+     * alternativos para generar desvíos.
+     *
+     * @param grafo Grafo compacto.
+     * @param pesos Peso de cada arista.
+     * @param origen Índice del nodo origen.
+     * @param destino Índice del nodo destino.
+     * @param nodosBloqueados Nodos que no pueden visitarse, por índice.
+     * @param aristasBloqueadas Aristas que no pueden usarse, por índice.
+     * @param espacio Espacio de trabajo (se reinicia).
+     * @return true si el destino fue alcanzado.
+     */
+    static boolean dijkstraRestringido(GrafoCompacto grafo, double[] pesos, int origen, int destino,
+                                       boolean[] nodosBloqueados, boolean[] aristasBloqueadas,
+                                       EspacioBusqueda espacio) {
+        espacio.reiniciar(grafo.getNumeroNodos());
+        MonticuloIndexado monticulo = espacio.monticulo();
+
+        espacio.actualizar(origen, 0.0, -1);
+        monticulo.insertarODisminuir(origen, 0.0);
+
+        while (!monticulo.estaVacio()) {
+            int u = monticulo.extraerMinimo();
+            espacio.asentar(u);
+            if (u == destino) return true;
+
+            double distanciaU = espacio.distancia(u);
+            for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+                int v = grafo.destino(e);
+                if (aristasBloqueadas[e] || nodosBloqueados[v] || espacio.estaAsentado(v)) continue;
+
+                double nuevaDistancia = distanciaU + pesos[e];
+                if (nuevaDistancia < espacio.distancia(v)) {
+                    espacio.actualizar(v, nuevaDistancia, e);
+                    monticulo.insertarODisminuir(v, nuevaDistancia);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cota inferior del costo restante desde un nodo hasta el destino, usada
+     * como heurística de A*. Debe ser admisible y consistente.
+     */
+    @FunctionalInterface
+    interface CotaInferior {
+
+        /**
+         * @param nodo Nodo desde el que se estima.
+         * @param destino Nodo destino de la búsqueda.
+         * @return Cota inferior (no negativa) del costo de nodo a destino.
+         */
+        double estimar(int nodo, int destino);
+    }
+
+    /**
+     * Ejecuta A* desde el origen hasta el destino con la cota inferior dada.
+     * Como la cota es consistente, cada nodo se asienta una sola vez con su
+     * distancia definitiva. Los nodos con cota infinita no pueden llegar al
+     * destino y se descartan.
+     *
+     * @param grafo Grafo compacto.
+     * @param pesos Peso de cada arista.
+     * @param cota Heurística admisible y consistente.
+     * @param origen Índice del nodo origen.
+     * @param destino Índice del nodo destino.
+     * @param espacio Espacio de trabajo (se reinicia).
+     * @return true si el destino fue alcanzado.
+     */
+    static boolean aEstrella(GrafoCompacto grafo, double[] pesos, CotaInferior cota, int origen, int destino,
+                             EspacioBusqueda espacio) {
+        espacio.reiniciar(grafo.getNumeroNodos());
+        MonticuloIndexado monticulo = espacio.monticulo();
+
+        espacio.actualizar(origen, 0.0, -1);
+        monticulo.insertarODisminuir(origen, cota.estimar(origen, destino));
+
+        while (!monticulo.estaVacio()) {
+            int u = monticulo.extraerMinimo();
+            espacio.asentar(u);
+            if (u == destino) return true;
+
+            double distanciaU = espacio.distancia(u);
+            for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+                int v = grafo.destino(e);
+                if (espacio.estaAsentado(v)) continue;
+
+                double nuevaDistancia = distanciaU + pesos[e];
+                if (nuevaDistancia < espacio.distancia(v)) {
+                    double estimacion = cota.estimar(v, destino);
+                    if (estimacion == Double.POSITIVE_INFINITY) continue;
+                    espacio.actualizar(v, nuevaDistancia, e);
+                    monticulo.insertarODisminuir(v, nuevaDistancia + estimacion);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ejecuta Dijkstra hacia atrás sobre la adyacencia inversa, calculando la
+     * distancia de cada nodo hasta el destino. Recorre todo el grafo.
+     *
+     * @param grafo Grafo compacto.
+     * @param pesos Peso de cada arista.
+     * @param destino Índice del nodo destino.
+     * @param espacio Espacio de trabajo (se reinicia).
+     */
+    static void dijkstraInverso(GrafoCompacto grafo, double[] pesos, int destino, EspacioBusqueda espacio) {
+        dijkstraInverso(grafo, pesos, destino, null, 0, espacio);
+    }
+
+    /**
+     * Ejecuta Dijkstra hacia atrás desde el destino y se detiene en cuanto
+     * quedan asentados todos los nodos objetivo (los nodos de partida cuya
+     * distancia al destino interesa). Los objetivos no alcanzables quedan
+     * con distancia infinita.
+     *
+     * @param grafo Grafo compacto.
+     * @param pesos Peso de cada arista.
+     * @param destino Índice del nodo destino.
+     * @param esObjetivo Marca de los nodos objetivo por índice, o null para recorrer todo el grafo.
+     * @param cantidadObjetivos Cantidad de nodos marcados como objetivo.
+     * @param espacio Espacio de trabajo (se reinicia).
+     */
+    static void dijkstraInverso(GrafoCompacto grafo, double[] pesos, int destino, boolean[] esObjetivo,
+                                int cantidadObjetivos, EspacioBusqueda espacio) {
+        espacio.reiniciar(grafo.getNumeroNodos());
+        MonticuloIndexado monticulo = espacio.monticulo();
+
+        espacio.actualizar(destino, 0.0, -1);
+        monticulo.insertarODisminuir(destino, 0.0);
+
+        int pendientes = cantidadObjetivos;
+        while (!monticulo.estaVacio()) {
+            int u = monticulo.extraerMinimo();
+            espacio.asentar(u);
+            if (esObjetivo != null && esObjetivo[u] && --pendientes == 0) return;
+
+            double distanciaU = espacio.distancia(u);
+            for (int p = grafo.inicioEntrantes(u), fin = grafo.finEntrantes(u); p < fin; p++) {
+                int e = grafo.aristaEntrante(p);
+                int v = grafo.origen(e);
+                if (espacio.estaAsentado(v)) continue;
+
+                double nuevaDistancia = distanciaU + pesos[e];
+                if (nuevaDistancia < espacio.distancia(v)) {
+                    espacio.actualizar(v, nuevaDistancia, e);
+                    monticulo.insertarODisminuir(v, nuevaDistancia);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ejecuta Dijkstra desde el origen y se detiene en cuanto quedan
+     * asentados todos los nodos objetivo (búsqueda de uno a varios). Los
+     * objetivos no alcanzables quedan con distancia infinita.
+     *
+     * @param grafo Grafo compacto.
+     * @param pesos Peso de cada arista.
+     * @param origen Índice del nodo origen.
+     * @param esObjetivo Marca de los nodos objetivo por índice.
+     * @param cantidadObjetivos Cantidad de nodos marcados como objetivo.
+     * @param espacio Espacio de trabajo (se reinicia).
+     */
+    static void dijkstraVariosDestinos(GrafoCompacto grafo, double[] pesos, int origen, boolean[] esObjetivo,
+                                       int cantidadObjetivos, EspacioBusqueda espacio) {
+        espacio.reiniciar(grafo.getNumeroNodos());
+        MonticuloIndexado monticulo = espacio.monticulo();
+
+        espacio.actualizar(origen, 0.0, -1);
+        monticulo.insertarODisminuir(origen, 0.0);
+
+        int pendientes = cantidadObjetivos;
+        while (!monticulo.estaVacio()) {
+            int u = monticulo.extraerMinimo();
+            espacio.asentar(u);
+            if (esObjetivo[u] && --pendientes == 0) return;
+
+            double distanciaU = espacio.distancia(u);
+            for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+                int v = grafo.destino(e);
+                if (espacio.estaAsentado(v)) continue;
+
+                double nuevaDistancia = distanciaU + pesos[e];
+                if (nuevaDistancia < espacio.distancia(v)) {
+                    espacio.actualizar(v, nuevaDistancia, e);
+                    monticulo.insertarODisminuir(v, nuevaDistancia);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ejecuta Dijkstra bidireccional: una búsqueda hacia adelante desde el
+     * origen y otra hacia atrás desde el destino sobre la adyacencia inversa,
+     * expandiendo en cada paso el lado cuya cola tiene la menor clave.
+     *
+     * Se mantiene {@code mejor}, el costo del mejor camino que une ambas
+     * búsquedas, y se detiene cuando la suma de las claves mínimas de las dos
+     * colas alcanza ese valor (criterio de encuentro estándar), momento en el
+     * que ningún camino sin descubrir puede ser más corto.
+     *
+     * @param grafo Grafo compacto.
+     * @param pesos Peso de cada arista.
+     * @param origen Índice del nodo origen.
+     * @param destino Índice del nodo destino.
+     * @param adelante Espacio de trabajo de la búsqueda hacia adelante (se reinicia).
+     * @param atras Espacio de trabajo de la búsqueda hacia atrás (se reinicia).
+     * @return Nodo de encuentro del camino mínimo, o -1 si el destino no es alcanzable.
+     */
+    static int bidireccional(GrafoCompacto grafo, double[] pesos, int origen, int destino,
+                             EspacioBusqueda adelante, EspacioBusqueda atras) {
+        int n = grafo.getNumeroNodos();
+        adelante.reiniciar(n);
+        atras.reiniciar(n);
+        MonticuloIndexado colaAdelante = adelante.monticulo();
+        MonticuloIndexado colaAtras = atras.monticulo();
+
+        adelante.actualizar(origen, 0.0, -1);
+        colaAdelante.insertarODisminuir(origen, 0.0);
+        atras.actualizar(destino, 0.0, -1);
+        colaAtras.insertarODisminuir(destino, 0.0);
+
+        double mejor = Double.POSITIVE_INFINITY;
+        int encuentro = -1;
+
+        while (!colaAdelante.estaVacio() && !colaAtras.estaVacio()) {
+            if (colaAdelante.claveMinima() + colaAtras.claveMinima() >= mejor) break;
+
+            if (colaAdelante.claveMinima() <= colaAtras.claveMinima()) {
+                int u = colaAdelante.extraerMinimo();
+                adelante.asentar(u);
+                double distanciaU = adelante.distancia(u);
+
+                for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+                    int v = grafo.destino(e);
+                    double nuevaDistancia = distanciaU + pesos[e];
+                    if (!adelante.estaAsentado(v) && nuevaDistancia < adelante.distancia(v)) {
+                        adelante.actualizar(v, nuevaDistancia, e);
+                        colaAdelante.insertarODisminuir(v, nuevaDistancia);
+                    }
+                    double total = nuevaDistancia + atras.distancia(v);
+                    if (total < mejor) {
+                        mejor = total;
+                        encuentro = v;
+                    }
+                }
+            } else {
+                int u = colaAtras.extraerMinimo();
+                atras.asentar(u);
+                double distanciaU = atras.distancia(u);
+
+                for (int p = grafo.inicioEntrantes(u), fin = grafo.finEntrantes(u); p < fin; p++) {
+                    int e = grafo.aristaEntrante(p);
+                    int v = grafo.origen(e);
+                    double nuevaDistancia = distanciaU + pesos[e];
+                    if (!atras.estaAsentado(v) && nuevaDistancia < atras.distancia(v)) {
+                        atras.actualizar(v, nuevaDistancia, e);
+                        colaAtras.insertarODisminuir(v, nuevaDistancia);
+                    }
+                    double total = nuevaDistancia + adelante.distancia(v);
+                    if (total < mejor) {
+                        mejor = total;
+                        encuentro = v;
+                    }
+                }
+            }
+        }
+        return encuentro;
+    }
+
+    /**
+     * Reconstruye el camino de una búsqueda bidireccional uniendo la parte
+     * hacia adelante (origen → encuentro) con la parte hacia atrás
+     * (encuentro → destino).
+     *
+     * @param grafo Grafo compacto usado en la búsqueda.
+     * @param adelante Espacio de trabajo de la búsqueda hacia adelante.
+     * @param atras Espacio de trabajo de la búsqueda hacia atrás.
+     * @param origen Índice del nodo origen.
+     * @param encuentro Nodo de encuentro devuelto por {@link #bidireccional}.
+     * @param destino Índice del nodo destino.
+     * @return Camino encontrado, o null si no hay nodo de encuentro.
+     */
+    static Camino reconstruirBidireccional(GrafoCompacto grafo, EspacioBusqueda adelante, EspacioBusqueda atras,
+                                           int origen, int encuentro, int destino) {
+        if (encuentro < 0 || origen == destino) return null;
+
+        List<Ruta> tramos = new ArrayList<>();
+        for (int v = encuentro; v != origen; ) {
+            int e = adelante.aristaPredecesora(v);
+            tramos.add(grafo.ruta(e));
+            v = grafo.origen(e);
+        }
+        Collections.reverse(tramos);
+        for (int v = encuentro; v != destino; ) {
+            int e = atras.aristaPredecesora(v);
+            tramos.add(grafo.ruta(e));
+            v = grafo.destino(e);
+        }
+        return new Camino(tramos);
+    }
+
+    /**
+     * Reconstruye el camino hasta el destino a partir de las aristas
+     * predecesoras registradas en el espacio de trabajo.
+     *
+     * @param grafo Grafo compacto usado en la búsqueda.
+     * @param espacio Espacio de trabajo con el resultado de la búsqueda.
+     * @param origen Índice del nodo origen.
+     * @param destino Índice del nodo destino.
+     * @return Camino encontrado, o null si el destino no fue alcanzado o coincide con el origen.
+     */
+    static Camino reconstruir(GrafoCompacto grafo, EspacioBusqueda espacio, int origen, int destino) {
+        if (origen == destino || espacio.aristaPredecesora(destino) < 0) return null;
+
+        List<Ruta> tramos = new ArrayList<>();
+        for (int v = destino; v != origen; ) {
+            int e = espacio.aristaPredecesora(v);
+            tramos.add(grafo.ruta(e));
+            v = grafo.origen(e);
+        }
+        Collections.reverse(tramos);
+        return new Camino(tramos);
+    }
+}
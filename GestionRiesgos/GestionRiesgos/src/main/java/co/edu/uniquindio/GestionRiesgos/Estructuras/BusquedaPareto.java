@@ -0,0 +1,231 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Búsqueda multiobjetivo por etiquetas (label-setting) que obtiene el frente
+ * de Pareto de caminos entre dos nodos: los caminos para los que ningún otro
+ * es igual o mejor en todos los criterios a la vez.
+ *
+ * Cada etiqueta representa un camino parcial hasta un nodo con su vector de
+ * costos (uno por criterio). Las etiquetas se procesan en orden lexicográfico
+ * de costos, de modo que una etiqueta extraída nunca es dominada por otra
+ * creada después y queda fija. Al crear una etiqueta:
+ * - se descarta si alguna etiqueta del nodo, o algún camino ya encontrado
+ *   hasta el destino, la domina (o tiene los mismos costos);
+ * - elimina las etiquetas pendientes del nodo a las que domina.
+ *
+ * Para acotar el trabajo en grafos grandes, cada nodo conserva a lo sumo
+ * {@code limiteEtiquetas} etiquetas; al alcanzar el límite las nuevas se
+ * descartan, con lo que el frente devuelto puede quedar incompleto (pero
+ * todos sus caminos son válidos y no dominados entre sí).
+ *
+ * Cada instancia atiende una sola consulta.
+ */
+final class BusquedaPareto {
+
+    /** Etiquetas por nodo por defecto */
+    static final int LIMITE_ETIQUETAS_POR_DEFECTO = 64;
+
+    private final GrafoCompacto grafo;
+
+    /** Pesos de las aristas, uno por criterio */
+    private final double[][] pesos;
+
+    /** Cantidad de criterios */
+    private final int dimension;
+
+    private final int limiteEtiquetas;
+
+    /** Costos de cada etiqueta, {@code dimension} valores consecutivos por etiqueta */
+    private double[] costos = new double[64];
+
+    /** Nodo de cada etiqueta */
+    private int[] nodoEtiqueta = new int[16];
+
+    /** Etiqueta predecesora (-1 para la inicial) */
+    private int[] etiquetaPredecesora = new int[16];
+
+    /** Arista por la que se llegó a cada etiqueta */
+    private int[] aristaEtiqueta = new int[16];
+
+    /** Marca las etiquetas eliminadas por dominancia mientras estaban pendientes */
+    private boolean[] eliminada = new boolean[16];
+
+    private int numeroEtiquetas;
+
+    /** Etiquetas vigentes (fijas o pendientes) de cada nodo */
+    private final int[][] etiquetasPorNodo;
+    private final int[] cantidadPorNodo;
+
+    /**
+     * @param grafo Grafo compacto.
+     * @param criterios Criterios a optimizar simultáneamente.
+     * @param limiteEtiquetas Máximo de etiquetas por nodo.
+     */
+    BusquedaPareto(GrafoCompacto grafo, CriterioRuta[] criterios, int limiteEtiquetas) {
+        this.grafo = grafo;
+        this.dimension = criterios.length;
+        this.pesos = new double[dimension][];
+        for (int c = 0; c < dimension; c++) {
+            pesos[c] = grafo.pesos(criterios[c]);
+        }
+        this.limiteEtiquetas = limiteEtiquetas;
+        this.etiquetasPorNodo = new int[grafo.getNumeroNodos()][];
+        this.cantidadPorNodo = new int[grafo.getNumeroNodos()];
+    }
+
+    /**
+     * Calcula el frente de Pareto entre dos nodos.
+     *
+     * @param origen Índice del nodo origen.
+     * @param destino Índice del nodo destino.
+     * @return Caminos no dominados, en orden lexicográfico de costos; vacía si no hay camino.
+     */
+    List<Camino> calcular(int origen, int destino) {
+        PriorityQueue<Integer> pendientes = new PriorityQueue<>(this::compararLexicografico);
+        List<Integer> frente = new ArrayList<>();
+
+        int inicial = crearEtiqueta(origen, -1, -1);
+        agregarEnNodo(origen, new double[dimension]);
+        etiquetasPorNodo[origen][cantidadPorNodo[origen]++] = inicial;
+        pendientes.add(inicial);
+
+        double[] candidato = new double[dimension];
+        while (!pendientes.isEmpty()) {
+            int etiqueta = pendientes.poll();
+            if (eliminada[etiqueta]) continue;
+
+            int u = nodoEtiqueta[etiqueta];
+            if (u == destino) {
+                frente.add(etiqueta);
+                continue;
+            }
+
+            for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+                int v = grafo.destino(e);
+                int base = etiqueta * dimension;
+                for (int c = 0; c < dimension; c++) {
+                    candidato[c] = costos[base + c] + pesos[c][e];
+                }
+
+                if (dominadoPorAlguna(candidato, frente)) continue;
+                if (!agregarEnNodo(v, candidato)) continue;
+
+                int nueva = crearEtiqueta(v, etiqueta, e);
+                System.arraycopy(candidato, 0, costos, nueva * dimension, dimension);
+                etiquetasPorNodo[v][cantidadPorNodo[v]++] = nueva;
+                pendientes.add(nueva);
+            }
+        }
+
+        List<Camino> caminos = new ArrayList<>(frente.size());
+        for (int etiqueta : frente) {
+            caminos.add(reconstruir(etiqueta));
+        }
+        return caminos;
+    }
+
+    /**
+     * Verifica que el vector de costos no esté dominado por las etiquetas del
+     * nodo y elimina las etiquetas pendientes a las que domina.
+     *
+     * @return true si la nueva etiqueta debe agregarse al nodo.
+     */
+    private boolean agregarEnNodo(int v, double[] candidato) {
+        int[] lista = etiquetasPorNodo[v];
+        if (lista == null) {
+            etiquetasPorNodo[v] = new int[Math.min(4, limiteEtiquetas)];
+            return true;
+        }
+
+        int cantidad = cantidadPorNodo[v];
+        for (int i = 0; i < cantidad; i++) {
+            if (domina(lista[i], candidato)) return false;
+        }
+        for (int i = 0; i < cantidad; ) {
+            if (esDominada(lista[i], candidato)) {
+                eliminada[lista[i]] = true;
+                lista[i] = lista[--cantidad];
+            } else {
+                i++;
+            }
+        }
+        cantidadPorNodo[v] = cantidad;
+
+        if (cantidad >= limiteEtiquetas) return false;
+        if (cantidad == lista.length) {
+            etiquetasPorNodo[v] = Arrays.copyOf(lista, Math.min(limiteEtiquetas, lista.length * 2));
+        }
+        return true;
+    }
+
+    private boolean dominadoPorAlguna(double[] candidato, List<Integer> etiquetas) {
+        for (int etiqueta : etiquetas) {
+            if (domina(etiqueta, candidato)) return true;
+        }
+        return false;
+    }
+
+    /** @return true si la etiqueta es igual o mejor que el candidato en todos los criterios. */
+    private boolean domina(int etiqueta, double[] candidato) {
+        int base = etiqueta * dimension;
+        for (int c = 0; c < dimension; c++) {
+            if (costos[base + c] > candidato[c]) return false;
+        }
+        return true;
+    }
+
+    /** @return true si el candidato es igual o mejor que la etiqueta en todos los criterios. */
+    private boolean esDominada(int etiqueta, double[] candidato) {
+        int base = etiqueta * dimension;
+        for (int c = 0; c < dimension; c++) {
+            if (candidato[c] > costos[base + c]) return false;
+        }
+        return true;
+    }
+
+    private int compararLexicografico(int a, int b) {
+        int baseA = a * dimension;
+        int baseB = b * dimension;
+        for (int c = 0; c < dimension; c++) {
+            int comparacion = Double.compare(costos[baseA + c], costos[baseB + c]);
+            if (comparacion != 0) return comparacion;
+        }
+        return Integer.compare(a, b);
+    }
+
+    /** Reserva una etiqueta nueva (con costos en cero) y devuelve su índice. */
+    private int crearEtiqueta(int nodo, int predecesora, int arista) {
+        int etiqueta = numeroEtiquetas++;
+        if (etiqueta == nodoEtiqueta.length) {
+            int capacidad = etiqueta * 2;
+            nodoEtiqueta = Arrays.copyOf(nodoEtiqueta, capacidad);
+            etiquetaPredecesora = Arrays.copyOf(etiquetaPredecesora, capacidad);
+            aristaEtiqueta = Arrays.copyOf(aristaEtiqueta, capacidad);
+            eliminada = Arrays.copyOf(eliminada, capacidad);
+        }
+        if ((etiqueta + 1) * dimension > costos.length) {
+            costos = Arrays.copyOf(costos, Math.max(costos.length * 2, (etiqueta + 1) * dimension));
+        }
+        nodoEtiqueta[etiqueta] = nodo;
+        etiquetaPredecesora[etiqueta] = predecesora;
+        aristaEtiqueta[etiqueta] = arista;
+        return etiqueta;
+    }
+
+    private Camino reconstruir(int etiqueta) {
+        List<Ruta> tramos = new ArrayList<>();
+        for (int l = etiqueta; etiquetaPredecesora[l] >= 0; l = etiquetaPredecesora[l]) {
+            tramos.add(grafo.ruta(aristaEtiqueta[l]));
+        }
+        Collections.reverse(tramos);
+        return new Camino(tramos);
+    }
+}
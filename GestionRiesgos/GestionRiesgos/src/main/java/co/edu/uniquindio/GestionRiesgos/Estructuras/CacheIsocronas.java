@@ -0,0 +1,193 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Caché acotada de isócronas, indexada por (origen, criterio, cubeta de
+ * presupuesto).
+ *
+ * Los presupuestos se agrupan en cubetas de ancho fijo y cada entrada guarda
+ * la isócrona del límite superior de su cubeta; una consulta con un
+ * presupuesto menor dentro de la misma cubeta la recorta sin volver a
+ * buscar. Así, "30 minutos" y "28 minutos" comparten una entrada.
+ *
+ * Como {@link CacheRutas}, usa una política LRU y las entradas de cada
+ * criterio pertenecen a una versión de sus pesos: al consultar con una
+ * versión más reciente se descartan las de ese criterio.
+ */
+public class CacheIsocronas {
+
+    /** Capacidad por defecto (cantidad de pares origen/criterio/cubeta) */
+    public static final int CAPACIDAD_POR_DEFECTO = 256;
+
+    /** Ancho de cubeta por defecto: 5 minutos, con tiempos de ruta en horas */
+    public static final double ANCHO_CUBETA_POR_DEFECTO = 5.0 / 60.0;
+
+    /** Cantidad máxima de entradas */
+    private final int capacidad;
+
+    /** Ancho de las cubetas de presupuesto */
+    private final double anchoCubeta;
+
+    /** Entradas en orden de acceso (la primera es la menos reciente) */
+    private final LinkedHashMap<Clave, Isocrona> entradas;
+
+    /** Versión de los pesos a la que pertenecen las entradas, por criterio */
+    private final long[] versiones = new long[CriterioRuta.values().length];
+
+    private long aciertos;
+    private long fallos;
+    private long desalojos;
+    private long invalidaciones;
+
+    /**
+     * Crea una caché con la capacidad y el ancho de cubeta indicados.
+     *
+     * @param capacidad Cantidad máxima de isócronas almacenadas (mayor que cero).
+     * @param anchoCubeta Ancho de las cubetas de presupuesto (mayor que cero).
+     */
+    public CacheIsocronas(int capacidad, double anchoCubeta) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la caché debe ser mayor que cero");
+        }
+        if (!(anchoCubeta > 0.0) || Double.isInfinite(anchoCubeta)) {
+            throw new IllegalArgumentException("El ancho de cubeta debe ser mayor que cero");
+        }
+        this.capacidad = capacidad;
+        this.anchoCubeta = anchoCubeta;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Clave, Isocrona> eldest) {
+                if (size() > CacheIsocronas.this.capacidad) {
+                    desalojos++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @param presupuesto Presupuesto consultado.
+     * @return Presupuesto con el que se calcula la entrada de su cubeta (el límite superior).
+     */
+    public double limiteCubeta(double presupuesto) {
+        return cubeta(presupuesto) * anchoCubeta;
+    }
+
+    /**
+     * Busca la isócrona almacenada para la versión actual de los pesos del criterio.
+     *
+     * @param origen ID de la zona origen.
+     * @param criterio Criterio de tiempo.
+     * @param presupuesto Presupuesto consultado.
+     * @param versionPesos Versión de los pesos del criterio sobre la que se
+     *                     consulta; si es anterior a la de las entradas, la
+     *                     consulta falla sin descartarlas.
+     * @return Isócrona recortada al presupuesto, o null si no hay entrada vigente.
+     */
+    public synchronized Isocrona obtener(String origen, CriterioRuta criterio, double presupuesto, long versionPesos) {
+        sincronizarVersion(criterio, versionPesos);
+        Isocrona entrada = versionPesos == versiones[criterio.ordinal()]
+                ? entradas.get(new Clave(origen, criterio, cubeta(presupuesto))) : null;
+        if (entrada == null) {
+            fallos++;
+            return null;
+        }
+        aciertos++;
+        return entrada.recortar(presupuesto);
+    }
+
+    /**
+     * Almacena la isócrona del límite de una cubeta. Si los pesos del
+     * criterio cambiaron mientras se calculaba, se descarta.
+     *
+     * @param isocrona Isócrona calculada con el presupuesto {@link #limiteCubeta(double)}.
+     */
+    public synchronized void guardar(Isocrona isocrona) {
+        if (isocrona.getVersion() < versiones[isocrona.getCriterio().ordinal()]) return;
+        sincronizarVersion(isocrona.getCriterio(), isocrona.getVersion());
+        entradas.put(new Clave(isocrona.getOrigen(), isocrona.getCriterio(), cubeta(isocrona.getPresupuesto())), isocrona);
+    }
+
+    /** Cubeta del presupuesto; la tolerancia evita que un límite exacto (30 min) caiga en la siguiente por redondeo */
+    private long cubeta(double presupuesto) {
+        return (long) Math.ceil(presupuesto / anchoCubeta - 1e-9);
+    }
+
+    /**
+     * Descarta las entradas del criterio si sus pesos avanzaron a una versión
+     * más reciente; una consulta rezagada no borra las de la vigente.
+     */
+    private void sincronizarVersion(CriterioRuta criterio, long versionPesos) {
+        if (versionPesos > versiones[criterio.ordinal()]) {
+            if (entradas.keySet().removeIf(clave -> clave.criterio == criterio)) {
+                invalidaciones++;
+            }
+            versiones[criterio.ordinal()] = versionPesos;
+        }
+    }
+
+    /** Elimina todas las entradas sin modificar los contadores. */
+    public synchronized void limpiar() {
+        entradas.clear();
+    }
+
+    /**
+     * Obtiene los contadores de la caché.
+     *
+     * @return Mapa con tamaño, capacidad, ancho de cubeta, aciertos, fallos,
+     *         desalojos, invalidaciones y tasa de aciertos.
+     */
+    public synchronized Map<String, Object> obtenerEstadisticas() {
+        Map<String, Object> estadisticas = new HashMap<>();
+        long consultas = aciertos + fallos;
+        estadisticas.put("tamano", entradas.size());
+        estadisticas.put("capacidad", capacidad);
+        estadisticas.put("anchoCubeta", anchoCubeta);
+        estadisticas.put("aciertos", aciertos);
+        estadisticas.put("fallos", fallos);
+        estadisticas.put("desalojos", desalojos);
+        estadisticas.put("invalidaciones", invalidaciones);
+        estadisticas.put("tasaAciertos", consultas == 0 ? 0.0 : (double) aciertos / consultas);
+        return estadisticas;
+    }
+
+    public synchronized long getAciertos() { return aciertos; }
+    public synchronized long getFallos() { return fallos; }
+    public synchronized int getTamano() { return entradas.size(); }
+    public int getCapacidad() { return capacidad; }
+    public double getAnchoCubeta() { return anchoCubeta; }
+
+    /**
+     * Clave de la caché: origen, criterio y cubeta de presupuesto.
+     */
+    private static final class Clave {
+        private final String origen;
+        private final CriterioRuta criterio;
+        private final long cubeta;
+
+        private Clave(String origen, CriterioRuta criterio, long cubeta) {
+            this.origen = origen;
+            this.criterio = criterio;
+            this.cubeta = cubeta;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Clave otra)) return false;
+            return criterio == otra.criterio && cubeta == otra.cubeta && origen.equals(otra.origen);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(origen, criterio, cubeta);
+        }
+    }
+}
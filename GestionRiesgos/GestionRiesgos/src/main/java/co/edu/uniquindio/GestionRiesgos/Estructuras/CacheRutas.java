@@ -0,0 +1,200 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Caché acotada de caminos mínimos, indexada por (origen, destino, criterio).
+ *
+ * Usa una política LRU: al superar la capacidad se desaloja la entrada usada
+ * hace más tiempo. Las entradas de cada criterio pertenecen a una versión de
+ * sus pesos ({@link GrafoCompacto#getVersionPesos(CriterioRuta)}); cuando se
+ * consulta con una versión más reciente, se descartan las entradas de ese
+ * criterio, de modo que nunca se devuelve un camino calculado con pesos que
+ * cambiaron. Un cambio de ocupación, por ejemplo, solo descarta los caminos
+ * con tráfico.
+ * También se guardan los resultados negativos (destino inalcanzable).
+ *
+ * Las entradas guardan solo la lista inmutable de tramos: cada consulta
+ * recibe un {@link Camino} nuevo, así que lo que un llamador haga con el
+ * camino devuelto no afecta a los demás.
+ *
+ * Lleva contadores de aciertos, fallos, desalojos e invalidaciones.
+ */
+public class CacheRutas {
+
+    /** Capacidad por defecto (cantidad de pares origen/destino/criterio) */
+    public static final int CAPACIDAD_POR_DEFECTO = 1024;
+
+    /** Cantidad máxima de entradas */
+    private final int capacidad;
+
+    /** Entradas en orden de acceso (la primera es la menos reciente) */
+    private final LinkedHashMap<Clave, Entrada> entradas;
+
+    /** Versión de los pesos a la que pertenecen las entradas, por criterio */
+    private final long[] versiones = new long[CriterioRuta.values().length];
+
+    private long aciertos;
+    private long fallos;
+    private long desalojos;
+    private long invalidaciones;
+
+    /**
+     * Crea una caché con la capacidad indicada.
+     *
+     * @param capacidad Cantidad máxima de caminos almacenados (mayor que cero).
+     */
+    public CacheRutas(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la caché debe ser mayor que cero");
+        }
+        this.capacidad = capacidad;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Clave, Entrada> eldest) {
+                if (size() > CacheRutas.this.capacidad) {
+                    desalojos++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Busca un camino almacenado para la versión actual de los pesos del criterio.
+     *
+     * @param origen ID de la zona origen.
+     * @param destino ID de la zona destino.
+     * @param criterio Criterio optimizado.
+     * @param versionPesos Versión de los pesos del criterio sobre la que se
+     *                     consulta; si es anterior a la de las entradas, la
+     *                     consulta falla sin descartarlas.
+     * @return Entrada encontrada (su camino puede ser null si el destino es
+     *         inalcanzable), o null si no hay entrada vigente.
+     */
+    public synchronized Entrada obtener(String origen, String destino, CriterioRuta criterio, long versionPesos) {
+        sincronizarVersion(criterio, versionPesos);
+        Entrada entrada = versionPesos == versiones[criterio.ordinal()]
+                ? entradas.get(new Clave(origen, destino, criterio)) : null;
+        if (entrada == null) {
+            fallos++;
+        } else {
+            aciertos++;
+        }
+        return entrada;
+    }
+
+    /**
+     * Almacena el resultado de una consulta. Si los pesos del criterio
+     * cambiaron mientras se calculaba (la versión ya no es la vigente), el
+     * resultado se descarta.
+     * Se copia la lista de tramos, no el camino recibido.
+     *
+     * @param origen ID de la zona origen.
+     * @param destino ID de la zona destino.
+     * @param criterio Criterio optimizado.
+     * @param versionPesos Versión de los pesos del criterio sobre la que se calculó.
+     * @param camino Camino encontrado o null si no existe.
+     */
+    public synchronized void guardar(String origen, String destino, CriterioRuta criterio, long versionPesos,
+                                     Camino camino) {
+        if (versionPesos < versiones[criterio.ordinal()]) return;
+        sincronizarVersion(criterio, versionPesos);
+        entradas.put(new Clave(origen, destino, criterio), new Entrada(camino));
+    }
+
+    /**
+     * Descarta las entradas del criterio si sus pesos avanzaron a una versión
+     * más reciente. La versión solo avanza: una consulta rezagada sobre una
+     * instantánea anterior no borra las entradas de la vigente.
+     */
+    private void sincronizarVersion(CriterioRuta criterio, long versionPesos) {
+        if (versionPesos > versiones[criterio.ordinal()]) {
+            if (entradas.keySet().removeIf(clave -> clave.criterio == criterio)) {
+                invalidaciones++;
+            }
+            versiones[criterio.ordinal()] = versionPesos;
+        }
+    }
+
+    /** Elimina todas las entradas sin modificar los contadores. */
+    public synchronized void limpiar() {
+        entradas.clear();
+    }
+
+    /**
+     * Obtiene los contadores de la caché.
+     *
+     * @return Mapa con tamaño, capacidad, aciertos, fallos, desalojos,
+     *         invalidaciones y tasa de aciertos.
+     */
+    public synchronized Map<String, Object> obtenerEstadisticas() {
+        Map<String, Object> estadisticas = new HashMap<>();
+        long consultas = aciertos + fallos;
+        estadisticas.put("tamano", entradas.size());
+        estadisticas.put("capacidad", capacidad);
+        estadisticas.put("aciertos", aciertos);
+        estadisticas.put("fallos", fallos);
+        estadisticas.put("desalojos", desalojos);
+        estadisticas.put("invalidaciones", invalidaciones);
+        estadisticas.put("tasaAciertos", consultas == 0 ? 0.0 : (double) aciertos / consultas);
+        return estadisticas;
+    }
+
+    public synchronized long getAciertos() { return aciertos; }
+    public synchronized long getFallos() { return fallos; }
+    public synchronized long getDesalojos() { return desalojos; }
+    public synchronized long getInvalidaciones() { return invalidaciones; }
+    public synchronized int getTamano() { return entradas.size(); }
+    public int getCapacidad() { return capacidad; }
+
+    /**
+     * Resultado almacenado de una consulta.
+     */
+    public static final class Entrada {
+
+        /** Tramos del camino encontrado (inmutables), o null si el destino es inalcanzable */
+        private final List<Ruta> tramos;
+
+        private Entrada(Camino camino) {
+            this.tramos = camino != null ? List.copyOf(camino.getTramos()) : null;
+        }
+
+        /** @return Camino nuevo con los tramos almacenados, o null si el destino es inalcanzable. */
+        public Camino getCamino() { return tramos != null ? new Camino(tramos) : null; }
+    }
+
+    /**
+     * Clave de la caché: par origen/destino y criterio.
+     */
+    private static final class Clave {
+        private final String origen;
+        private final String destino;
+        private final CriterioRuta criterio;
+
+        private Clave(String origen, String destino, CriterioRuta criterio) {
+            this.origen = origen;
+            this.destino = destino;
+            this.criterio = criterio;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Clave otra)) return false;
+            return criterio == otra.criterio && origen.equals(otra.origen) && destino.equals(otra.destino);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(origen, destino, criterio);
+        }
+    }
+}
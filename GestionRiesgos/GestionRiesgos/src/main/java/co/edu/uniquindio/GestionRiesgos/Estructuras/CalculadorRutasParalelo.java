@@ -0,0 +1,188 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.AlgoritmoRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Interfaces.ICalcularRuta;
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Motor alternativo de cálculo de rutas para grafos muy grandes (del orden
+ * de millones de rutas), basado en delta-stepping paralelo
+ * ({@link DeltaStepping}) sobre el pool común de ForkJoin.
+ *
+ * Está pensado sobre todo para consultas de uno a todos, como el tiempo
+ * desde el epicentro hasta cada zona ({@link #calcularCostosDesde}), en las
+ * que un Dijkstra secuencial no aprovecha los núcleos disponibles. Las
+ * consultas punto a punto también usan delta-stepping, deteniéndose al fijar
+ * la distancia del destino, con arreglos reutilizables por hilo que solo se
+ * restauran en los nodos explorados; los caminos alternativos y la
+ * existencia de rutas directas se delegan en el grafo.
+ *
+ * Trabaja sobre la instantánea publicada del {@link GrafoDirigido}, por lo
+ * que puede usarse desde varios hilos a la vez.
+ */
+public class CalculadorRutasParalelo implements ICalcularRuta {
+
+    /** Ancho de cubeta que indica calcularlo a partir de los pesos de cada criterio */
+    public static final double ANCHO_AUTOMATICO = 0.0;
+
+    private final GrafoDirigido grafo;
+
+    /** Ancho Δ de las cubetas, o {@link #ANCHO_AUTOMATICO} */
+    private final double anchoCubeta;
+
+    /** Último ancho automático, para no recorrer los pesos en cada consulta */
+    private volatile AnchoAutomatico anchoAutomatico;
+
+    /**
+     * Crea el motor con el ancho de cubeta automático (peso promedio de las
+     * rutas del criterio consultado).
+     *
+     * @param grafo Grafo sobre el que se calculan las rutas.
+     */
+    public CalculadorRutasParalelo(GrafoDirigido grafo) {
+        this(grafo, ANCHO_AUTOMATICO);
+    }
+
+    /**
+     * Crea el motor con un ancho de cubeta fijo. Un ancho menor repite menos
+     * relajaciones pero reparte menos trabajo por ronda; uno mayor, lo
+     * contrario. Se expresa en las unidades del criterio consultado.
+     *
+     * @param grafo Grafo sobre el que se calculan las rutas.
+     * @param anchoCubeta Ancho Δ de las cubetas (positivo), o {@link #ANCHO_AUTOMATICO}.
+     */
+    public CalculadorRutasParalelo(GrafoDirigido grafo, double anchoCubeta) {
+        if (grafo == null) {
+            throw new IllegalArgumentException("Se requiere el grafo");
+        }
+        if (!(anchoCubeta >= 0.0) || Double.isInfinite(anchoCubeta)) {
+            throw new IllegalArgumentException("El ancho de cubeta no puede ser negativo");
+        }
+        this.grafo = grafo;
+        this.anchoCubeta = anchoCubeta;
+    }
+
+    /**
+     * Calcula el costo mínimo desde una zona hasta todas las demás según el
+     * criterio, por ejemplo, el tiempo desde el epicentro hasta cada zona.
+     *
+     * @param origen Zona de origen.
+     * @param criterio Criterio a minimizar.
+     * @return Costo hasta cada zona alcanzable, por ID (incluye el origen con costo 0);
+     *         vacío si el origen no está en el grafo.
+     */
+    public Map<String, Double> calcularCostosDesde(Zona origen, CriterioRuta criterio) {
+        if (origen == null || criterio == null) {
+            throw new IllegalArgumentException("Se requieren el origen y el criterio");
+        }
+        GrafoCompacto compacto = grafo.obtenerGrafoCompacto();
+        int indiceOrigen = compacto.indice(origen.getId());
+        Map<String, Double> costos = new HashMap<>();
+        if (indiceOrigen < 0) return costos;
+
+        double[] pesos = compacto.pesos(criterio);
+        double[] distancias = DeltaStepping.calcular(compacto, pesos, indiceOrigen, -1, ancho(pesos));
+        for (int v = 0; v < distancias.length; v++) {
+            if (distancias[v] != Double.POSITIVE_INFINITY) costos.put(compacto.id(v), distancias[v]);
+        }
+        return costos;
+    }
+
+    /** @return Ancho de cubeta configurado en el constructor, o {@link #ANCHO_AUTOMATICO}. */
+    public double getAnchoCubeta() {
+        return anchoCubeta;
+    }
+
+    /**
+     * Calcula el camino de costo mínimo con delta-stepping. El algoritmo
+     * indicado se ignora: todos devuelven un camino de costo mínimo.
+     *
+     * Comparte la {@link CacheRutas} del grafo con el motor de contracción:
+     * el resultado se guarda con la versión de pesos de la instantánea que
+     * se buscó.
+     */
+    @Override
+    public Camino calcularRuta(Zona origen, Zona destino, CriterioRuta criterio, AlgoritmoRuta algoritmo) {
+        if (origen == null || destino == null || criterio == null) return null;
+
+        GrafoCompacto compacto = grafo.obtenerGrafoCompacto();
+        int indiceOrigen = compacto.indice(origen.getId());
+        int indiceDestino = compacto.indice(destino.getId());
+        if (indiceOrigen < 0 || indiceDestino < 0 || indiceOrigen == indiceDestino) return null;
+
+        CacheRutas cache = grafo.getCacheRutas();
+        long versionPesos = compacto.getVersionPesos(criterio);
+        if (cache != null) {
+            CacheRutas.Entrada entrada = cache.obtener(origen.getId(), destino.getId(), criterio, versionPesos);
+            if (entrada != null) return entrada.getCamino();
+        }
+
+        double[] pesos = compacto.pesos(criterio);
+        Camino camino = DeltaStepping.calcularCamino(compacto, pesos, indiceOrigen, indiceDestino, ancho(pesos),
+                DeltaStepping.Espacio.delHilo());
+        if (cache != null) cache.guardar(origen.getId(), destino.getId(), criterio, versionPesos, camino);
+        return camino;
+    }
+
+    @Override
+    public List<Zona> calcularRutaMasCorta(Zona origen, Zona destino) {
+        if (origen == null || destino == null) return new ArrayList<>();
+        if (origen.getId().equals(destino.getId())) return new ArrayList<>(List.of(destino));
+
+        Camino camino = calcularRuta(origen, destino, CriterioRuta.DISTANCIA, AlgoritmoRuta.DIJKSTRA);
+        return camino != null ? camino.getZonas() : new ArrayList<>();
+    }
+
+    @Override
+    public Camino calcularRutaMasRapida(Zona origen, Zona destino) {
+        return calcularRuta(origen, destino, CriterioRuta.TIEMPO, AlgoritmoRuta.DIJKSTRA);
+    }
+
+    @Override
+    public Camino calcularRutaMasSegura(Zona origen, Zona destino) {
+        return calcularRuta(origen, destino, CriterioRuta.RIESGO, AlgoritmoRuta.DIJKSTRA);
+    }
+
+    @Override
+    public List<Ruta> calcularTodasLasRutas(Zona origen, Zona destino) {
+        return grafo.calcularTodasLasRutas(origen, destino);
+    }
+
+    @Override
+    public Stream<Camino> calcularRutasAlternativas(Zona origen, Zona destino, int k, CriterioRuta criterio) {
+        return grafo.calcularRutasAlternativas(origen, destino, k, criterio);
+    }
+
+    @Override
+    public boolean existeRuta(Zona origen, Zona destino) {
+        return grafo.existeRuta(origen, destino);
+    }
+
+    /** Ancho de cubeta para los pesos; el automático se recalcula solo si cambió el arreglo de pesos. */
+    private double ancho(double[] pesos) {
+        if (anchoCubeta > 0.0) return anchoCubeta;
+        AnchoAutomatico ultimo = anchoAutomatico;
+        if (ultimo != null && ultimo.pesos == pesos) return ultimo.ancho;
+        double ancho = DeltaStepping.anchoPorDefecto(pesos);
+        anchoAutomatico = new AnchoAutomatico(pesos, ancho);
+        return ancho;
+    }
+
+    /** Ancho automático calculado para un arreglo de pesos. */
+    private static final class AnchoAutomatico {
+        private final double[] pesos;
+        private final double ancho;
+
+        private AnchoAutomatico(double[] pesos, double ancho) {
+            this.pesos = pesos;
+            this.ancho = ancho;
+        }
+    }
+}
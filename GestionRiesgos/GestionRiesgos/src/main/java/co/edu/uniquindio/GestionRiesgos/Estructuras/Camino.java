@@ -0,0 +1,135 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Representa un camino de varios tramos dentro del grafo dirigido.
+ *
+ * Un camino es una secuencia de rutas consecutivas donde el destino de cada
+ * tramo coincide con el origen del siguiente. Se modela como una {@link Ruta}
+ * compuesta para que pueda utilizarse en cualquier lugar donde el sistema
+ * espera una ruta (por ejemplo, al planificar una evacuación).
+ *
+ * Los atributos agregados se calculan a partir de los tramos:
+ * - Distancia y tiempo estimado: suma de los tramos.
+ * - Nivel de riesgo: el mayor riesgo entre los tramos.
+ * - Capacidad: la menor capacidad entre los tramos (cuello de botella).
+ * - Activa: solo si todos los tramos están activos.
+ */
+public class Camino extends Ruta {
+
+    /** Rutas que conforman el camino, en orden de recorrido */
+    private final List<Ruta> tramos;
+
+    /**
+     * Construye un camino a partir de sus tramos ordenados.
+     *
+     * @param tramos Rutas consecutivas desde el origen hasta el destino (no vacía).
+     */
+    public Camino(List<Ruta> tramos) {
+        super(resumir(tramos));
+        this.tramos = new ArrayList<>(tramos);
+    }
+
+    /**
+     * Calcula los atributos agregados de los tramos en una ruta auxiliar, que
+     * el constructor copia sin invocar métodos sobrescribibles.
+     */
+    private static Ruta resumir(List<Ruta> tramos) {
+        if (tramos == null || tramos.isEmpty()) {
+            throw new IllegalArgumentException("Un camino requiere al menos un tramo");
+        }
+        Ruta primero = tramos.get(0);
+        Ruta ultimo = tramos.get(tramos.size() - 1);
+
+        double distancia = 0.0;
+        double tiempo = 0.0;
+        double riesgo = 0.0;
+        int capacidadMaxima = Integer.MAX_VALUE;
+        int capacidadActual = 0;
+        boolean activa = true;
+
+        for (Ruta tramo : tramos) {
+            distancia += tramo.getDistancia();
+            tiempo += tramo.getTiempoEstimado();
+            riesgo = Math.max(riesgo, tramo.getNivelRiesgo());
+            capacidadMaxima = Math.min(capacidadMaxima, tramo.getCapacidadMaxima());
+            capacidadActual = Math.max(capacidadActual, tramo.getCapacidadActual());
+            activa &= tramo.isActiva();
+        }
+
+        Ruta resumen = new Ruta("CAM-" + primero.getOrigen().getId() + "-" + ultimo.getDestino().getId(),
+                primero.getOrigen(), ultimo.getDestino(), distancia, tiempo, primero.getTipo());
+        resumen.setNivelRiesgo(riesgo);
+        resumen.setCapacidadMaxima(capacidadMaxima);
+        resumen.setCapacidadActual(capacidadActual);
+        resumen.setActiva(activa);
+        resumen.setDescripcion(tramos.size() + " tramo(s)");
+        return resumen;
+    }
+
+    /**
+     * Obtiene la secuencia de zonas recorridas, incluyendo origen y destino.
+     *
+     * @return Lista de zonas del camino.
+     */
+    public List<Zona> getZonas() {
+        List<Zona> zonas = new ArrayList<>(tramos.size() + 1);
+        zonas.add(tramos.get(0).getOrigen());
+        for (Ruta tramo : tramos) {
+            zonas.add(tramo.getDestino());
+        }
+        return zonas;
+    }
+
+    /** @return Rutas que conforman el camino (solo lectura). */
+    public List<Ruta> getTramos() {
+        return Collections.unmodifiableList(tramos);
+    }
+
+    /**
+     * Obtiene el riesgo acumulado del camino: la suma del nivel de riesgo de
+     * sus tramos, que es el costo que minimiza el criterio de riesgo.
+     *
+     * @return Suma de los niveles de riesgo de los tramos.
+     */
+    public double getRiesgoAcumulado() {
+        double riesgo = 0.0;
+        for (Ruta tramo : tramos) {
+            riesgo += tramo.getNivelRiesgo();
+        }
+        return riesgo;
+    }
+
+    /**
+     * Calcula el tiempo de recorrido con tráfico como la suma del tiempo
+     * ajustado de cada tramo, ya que la congestión y el riesgo de cada uno
+     * afectan solo a su propio recorrido.
+     *
+     * @return Tiempo estimado ajustado del camino.
+     */
+    @Override
+    public double calcularTiempoConTrafico() {
+        double tiempo = 0.0;
+        for (Ruta tramo : tramos) {
+            tiempo += tramo.calcularTiempoConTrafico();
+        }
+        return tiempo;
+    }
+
+    /** @return Número de tramos del camino. */
+    public int getNumeroTramos() {
+        return tramos.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Camino{origen=%s, destino=%s, tramos=%d, distancia=%.2f, tiempo=%.2f, riesgo=%.2f}",
+                getOrigen().getNombre(), getDestino().getNombre(), tramos.size(),
+                getDistancia(), getTiempoEstimado(), getNivelRiesgo());
+    }
+}
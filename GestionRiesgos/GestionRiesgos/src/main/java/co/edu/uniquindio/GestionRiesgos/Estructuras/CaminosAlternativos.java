@@ -0,0 +1,197 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Iterador perezoso de los k caminos simples (sin ciclos) de menor costo
+ * entre dos nodos, según el algoritmo de Yen.
+ *
+ * Cada camino se calcula solo cuando se solicita: el camino i + 1 se obtiene
+ * desviando el camino i en cada uno de sus nodos (nodo de desvío), con una
+ * búsqueda de Dijkstra que prohíbe los nodos de la raíz común y las aristas
+ * que ya usaron los caminos anteriores con esa misma raíz. Los desvíos
+ * generados se acumulan como candidatos y se extrae el de menor costo.
+ *
+ * Trabaja sobre una instantánea inmutable del grafo ({@link GrafoCompacto}),
+ * por lo que puede consumirse más tarde, o desde otro hilo, aunque el grafo
+ * haya cambiado. Las rutas paralelas entre el mismo par de zonas producen
+ * caminos distintos.
+ */
+final class CaminosAlternativos implements Iterator<Camino> {
+
+    private static final Comparator<Candidato> POR_COSTO =
+            Comparator.comparingDouble((Candidato c) -> c.costo).thenComparingInt(c -> c.aristas.length);
+
+    private final GrafoCompacto grafo;
+    private final double[] pesos;
+    private final int origen;
+    private final int destino;
+
+    /** Cantidad máxima de caminos a entregar */
+    private final int k;
+
+    /** Caminos ya entregados, en orden de costo */
+    private final List<Candidato> encontrados = new ArrayList<>();
+
+    /** Desvíos pendientes, ordenados por costo */
+    private final PriorityQueue<Candidato> candidatos = new PriorityQueue<>(POR_COSTO);
+
+    /** Todos los caminos vistos (entregados o pendientes), para no repetirlos */
+    private final Set<Candidato> vistos = new HashSet<>();
+
+    private final boolean[] nodosBloqueados;
+    private final boolean[] aristasBloqueadas;
+
+    /** Siguiente camino a entregar, o null si aún no se calculó */
+    private Candidato siguiente;
+
+    /** Indica que no quedan más caminos */
+    private boolean agotado;
+
+    /**
+     * @param grafo Instantánea del grafo.
+     * @param pesos Peso de cada arista según el criterio.
+     * @param origen Índice del nodo origen.
+     * @param destino Índice del nodo destino (distinto del origen).
+     * @param k Cantidad máxima de caminos.
+     */
+    CaminosAlternativos(GrafoCompacto grafo, double[] pesos, int origen, int destino, int k) {
+        this.grafo = grafo;
+        this.pesos = pesos;
+        this.origen = origen;
+        this.destino = destino;
+        this.k = k;
+        this.nodosBloqueados = new boolean[grafo.getNumeroNodos()];
+        this.aristasBloqueadas = new boolean[grafo.getNumeroAristas()];
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (siguiente == null && !agotado) {
+            siguiente = calcularSiguiente();
+            agotado = siguiente == null;
+        }
+        return siguiente != null;
+    }
+
+    @Override
+    public Camino next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        Candidato camino = siguiente;
+        siguiente = null;
+        encontrados.add(camino);
+
+        List<Ruta> tramos = new ArrayList<>(camino.aristas.length);
+        for (int e : camino.aristas) {
+            tramos.add(grafo.ruta(e));
+        }
+        return new Camino(tramos);
+    }
+
+    /** Obtiene el siguiente camino de menor costo, o null si no hay más. */
+    private Candidato calcularSiguiente() {
+        if (encontrados.size() >= k) return null;
+
+        if (encontrados.isEmpty()) {
+            Candidato primero = buscarDesvio(origen, null, 0, 0.0);
+            if (primero != null) vistos.add(primero);
+            return primero;
+        }
+
+        generarDesvios(encontrados.get(encontrados.size() - 1));
+        return candidatos.poll();
+    }
+
+    /** Agrega como candidatos los desvíos del camino en cada uno de sus nodos. */
+    private void generarDesvios(Candidato anterior) {
+        int[] aristas = anterior.aristas;
+        double costoRaiz = 0.0;
+
+        for (int i = 0; i < aristas.length; i++) {
+            int nodoDesvio = grafo.origen(aristas[i]);
+
+            // Se prohíbe la arista siguiente de todo camino que comparta esta raíz
+            for (Candidato camino : encontrados) {
+                if (camino.aristas.length > i && mismaRaiz(camino.aristas, aristas, i)) {
+                    aristasBloqueadas[camino.aristas[i]] = true;
+                }
+            }
+            // Los nodos de la raíz no pueden repetirse (caminos simples)
+            for (int j = 0; j < i; j++) {
+                nodosBloqueados[grafo.origen(aristas[j])] = true;
+            }
+
+            Candidato desvio = buscarDesvio(nodoDesvio, aristas, i, costoRaiz);
+            if (desvio != null && vistos.add(desvio)) {
+                candidatos.add(desvio);
+            }
+
+            for (Candidato camino : encontrados) {
+                if (camino.aristas.length > i) aristasBloqueadas[camino.aristas[i]] = false;
+            }
+            for (int j = 0; j < i; j++) {
+                nodosBloqueados[grafo.origen(aristas[j])] = false;
+            }
+            costoRaiz += pesos[aristas[i]];
+        }
+    }
+
+    /**
+     * Busca el camino mínimo desde el nodo de desvío hasta el destino
+     * respetando los bloqueos, y lo concatena con la raíz.
+     */
+    private Candidato buscarDesvio(int nodoDesvio, int[] raiz, int largoRaiz, double costoRaiz) {
+        EspacioBusqueda espacio = EspacioBusqueda.delHilo();
+        if (!BuscadorCaminos.dijkstraRestringido(grafo, pesos, nodoDesvio, destino,
+                nodosBloqueados, aristasBloqueadas, espacio)) {
+            return null;
+        }
+
+        int largoDesvio = 0;
+        for (int v = destino; v != nodoDesvio; v = grafo.origen(espacio.aristaPredecesora(v))) {
+            largoDesvio++;
+        }
+        int[] aristas = new int[largoRaiz + largoDesvio];
+        if (largoRaiz > 0) System.arraycopy(raiz, 0, aristas, 0, largoRaiz);
+        int pos = aristas.length;
+        for (int v = destino; v != nodoDesvio; ) {
+            int e = espacio.aristaPredecesora(v);
+            aristas[--pos] = e;
+            v = grafo.origen(e);
+        }
+        return new Candidato(aristas, costoRaiz + espacio.distancia(destino));
+    }
+
+    private static boolean mismaRaiz(int[] a, int[] b, int largo) {
+        return Arrays.equals(a, 0, largo, b, 0, largo);
+    }
+
+    /** Camino expresado como secuencia de aristas del grafo compacto. */
+    private static final class Candidato {
+        private final int[] aristas;
+        private final double costo;
+
+        private Candidato(int[] aristas, double costo) {
+            this.aristas = aristas;
+            this.costo = costo;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Candidato otro && Arrays.equals(aristas, otro.aristas);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(aristas);
+        }
+    }
+}
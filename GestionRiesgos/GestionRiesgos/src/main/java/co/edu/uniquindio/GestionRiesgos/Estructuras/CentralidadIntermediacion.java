@@ -0,0 +1,197 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+/**
+ * Centralidad de intermediación (betweenness) de rutas y zonas con el
+ * algoritmo de Brandes para grafos ponderados.
+ *
+ * Desde cada fuente se ejecuta un Dijkstra que cuenta los caminos mínimos
+ * (σ) hasta cada nodo y, recorriendo los nodos en orden inverso de
+ * asentamiento, se acumula la dependencia de la fuente sobre cada nodo y
+ * cada arista. La centralidad de una ruta es la suma, sobre todos los pares
+ * (s, t), de la fracción de caminos mínimos de s a t que la usan.
+ *
+ * Las fuentes se reparten entre los hilos del pool de ForkJoin en el que se
+ * ejecuta el cálculo (el común si se invoca desde fuera de uno); cada
+ * tarea acumula en sus propios arreglos y al final se suman. En grafos con
+ * más nodos que el límite de muestras, se usan fuentes elegidas al azar (con
+ * semilla fija, para que el ranking sea estable entre versiones) y el
+ * resultado se escala por {@code n / muestras}, lo que da un estimador
+ * insesgado de la centralidad exacta.
+ */
+final class CentralidadIntermediacion {
+
+    /** Fuentes usadas por defecto antes de pasar a la aproximación por muestreo */
+    static final int MUESTRAS_POR_DEFECTO = 256;
+
+    private static final long SEMILLA = 0x5EED_CE27L;
+
+    private static final double INFINITO = Double.POSITIVE_INFINITY;
+
+    /** Arreglos de una tarea: acumuladores y espacio de trabajo de cada fuente. */
+    private static final class Tarea {
+        final double[] porNodo;
+        final double[] porArista;
+
+        final double[] distancia;
+        final double[] caminos;
+        final double[] dependencia;
+        final int[] orden;
+        final int[] posicion;
+        final MonticuloIndexado monticulo;
+
+        Tarea(int n, int m) {
+            porNodo = new double[n];
+            porArista = new double[m];
+            distancia = new double[n];
+            caminos = new double[n];
+            dependencia = new double[n];
+            orden = new int[n];
+            posicion = new int[n];
+            Arrays.fill(distancia, INFINITO);
+            monticulo = new MonticuloIndexado(n);
+        }
+    }
+
+    private CentralidadIntermediacion() {
+    }
+
+    /**
+     * Calcula la centralidad de intermediación sobre una versión del grafo.
+     *
+     * @param grafo Grafo compacto.
+     * @param criterio Criterio que define los caminos mínimos.
+     * @param muestras Máximo de fuentes; si el grafo tiene más nodos se aproxima.
+     * @return Rutas y zonas ordenadas de mayor a menor centralidad.
+     */
+    static ResultadoCentralidad calcular(GrafoCompacto grafo, CriterioRuta criterio, int muestras) {
+        int n = grafo.getNumeroNodos();
+        int m = grafo.getNumeroAristas();
+        double[] pesos = grafo.pesos(criterio);
+        int[] fuentes = elegirFuentes(n, muestras);
+        double escala = fuentes.length > 0 ? (double) n / fuentes.length : 0.0;
+
+        int paralelismo = ForkJoinTask.inForkJoinPool()
+                ? ForkJoinTask.getPool().getParallelism()
+                : ForkJoinPool.getCommonPoolParallelism();
+        int cantidadTareas = Math.max(1, Math.min(fuentes.length, paralelismo));
+        List<Tarea> tareas = IntStream.range(0, cantidadTareas).parallel().mapToObj(t -> {
+            Tarea tarea = new Tarea(n, m);
+            for (int i = t; i < fuentes.length; i += cantidadTareas) {
+                acumular(grafo, pesos, fuentes[i], tarea);
+            }
+            return tarea;
+        }).toList();
+
+        double[] porNodo = new double[n];
+        double[] porArista = new double[m];
+        IntStream.range(0, n).parallel().forEach(v -> {
+            double suma = 0.0;
+            for (Tarea tarea : tareas) suma += tarea.porNodo[v];
+            porNodo[v] = suma * escala;
+        });
+        IntStream.range(0, m).parallel().forEach(e -> {
+            double suma = 0.0;
+            for (Tarea tarea : tareas) suma += tarea.porArista[e];
+            porArista[e] = suma * escala;
+        });
+
+        List<ResultadoCentralidad.RutaCritica> rutas = new ArrayList<>();
+        for (int e = 0; e < m; e++) {
+            if (porArista[e] > 0.0) rutas.add(new ResultadoCentralidad.RutaCritica(grafo.ruta(e), porArista[e]));
+        }
+        List<ResultadoCentralidad.ZonaCritica> zonas = new ArrayList<>();
+        for (int v = 0; v < n; v++) {
+            if (porNodo[v] > 0.0) zonas.add(new ResultadoCentralidad.ZonaCritica(grafo.getNodos().get(v), porNodo[v]));
+        }
+        return new ResultadoCentralidad(criterio, grafo.getVersion(), fuentes.length, fuentes.length == n, rutas, zonas);
+    }
+
+    /**
+     * Dijkstra desde la fuente contando caminos mínimos, y acumulación de
+     * dependencias en orden inverso. Un nodo solo suma los caminos de los
+     * predecesores asentados antes que él, así que las aristas de peso cero
+     * no generan ciclos.
+     */
+    private static void acumular(GrafoCompacto grafo, double[] pesos, int fuente, Tarea tarea) {
+        double[] distancia = tarea.distancia;
+        double[] caminos = tarea.caminos;
+        double[] dependencia = tarea.dependencia;
+        int[] orden = tarea.orden;
+        int[] posicion = tarea.posicion;
+        MonticuloIndexado monticulo = tarea.monticulo;
+
+        monticulo.reiniciar(distancia.length);
+        distancia[fuente] = 0.0;
+        caminos[fuente] = 1.0;
+        monticulo.insertarODisminuir(fuente, 0.0);
+        int asentados = 0;
+
+        while (!monticulo.estaVacio()) {
+            int u = monticulo.extraerMinimo();
+            posicion[u] = asentados;
+            orden[asentados++] = u;
+            for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+                int v = grafo.destino(e);
+                double nueva = distancia[u] + pesos[e];
+                if (nueva < distancia[v]) {
+                    distancia[v] = nueva;
+                    caminos[v] = caminos[u];
+                    monticulo.insertarODisminuir(v, nueva);
+                } else if (nueva == distancia[v] && !asentadoAntes(v, asentados, posicion, orden)) {
+                    caminos[v] += caminos[u];
+                }
+            }
+        }
+
+        for (int i = asentados - 1; i > 0; i--) {
+            int w = orden[i];
+            double factor = (1.0 + dependencia[w]) / caminos[w];
+            for (int p = grafo.inicioEntrantes(w), fin = grafo.finEntrantes(w); p < fin; p++) {
+                int e = grafo.aristaEntrante(p);
+                int u = grafo.origen(e);
+                if (distancia[u] == INFINITO || posicion[u] >= i || distancia[u] + pesos[e] != distancia[w]) continue;
+                double aporte = caminos[u] * factor;
+                dependencia[u] += aporte;
+                tarea.porArista[e] += aporte;
+            }
+            tarea.porNodo[w] += dependencia[w];
+        }
+
+        for (int i = 0; i < asentados; i++) {
+            int v = orden[i];
+            distancia[v] = INFINITO;
+            caminos[v] = 0.0;
+            dependencia[v] = 0.0;
+        }
+    }
+
+    /** @return true si {@code v} ya fue asentado en la búsqueda en curso. */
+    private static boolean asentadoAntes(int v, int asentados, int[] posicion, int[] orden) {
+        int p = posicion[v];
+        return p < asentados && orden[p] == v;
+    }
+
+    /** @return Todos los nodos si caben en las muestras; si no, una muestra al azar sin repetición. */
+    private static int[] elegirFuentes(int n, int muestras) {
+        int[] nodos = IntStream.range(0, n).toArray();
+        if (n <= muestras) return nodos;
+        Random azar = new Random(SEMILLA);
+        for (int i = 0; i < muestras; i++) {
+            int j = i + azar.nextInt(n - i);
+            int aux = nodos[i];
+            nodos[i] = nodos[j];
+            nodos[j] = aux;
+        }
+        return Arrays.copyOf(nodos, muestras);
+    }
+}
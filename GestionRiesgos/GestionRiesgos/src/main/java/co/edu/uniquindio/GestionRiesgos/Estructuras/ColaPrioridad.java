@@ -23,6 +23,12 @@ import java.util.PriorityQueue;
  */
 public class ColaPrioridad {
 
+    /** Prioridad descendente y, en empate, fecha de inicio ascendente */
+    private static final Comparator<Evacuacion> ORDEN_PRIORIDAD = Comparator
+        .comparingInt(Evacuacion::calcularPrioridad)
+        .reversed()
+        .thenComparing(Evacuacion::getFechaInicio);
+
     /** Cola de prioridad que almacena evacuaciones activas */
     private PriorityQueue<Evacuacion> colaEvacuaciones;
 
@@ -35,10 +41,7 @@ public class ColaPrioridad {
      */
     public ColaPrioridad() {
         // Ordenar por prioridad descendente (mayor prioridad primero)
-        this.colaEvacuaciones = new PriorityQueue<>(Comparator
-            .comparingInt(Evacuacion::calcularPrioridad)
-            .reversed()
-            .thenComparing(Evacuacion::getFechaInicio));
+        this.colaEvacuaciones = new PriorityQueue<>(ORDEN_PRIORIDAD);
         
         this.historialEvacuaciones = new ArrayList<>();
     }
@@ -104,6 +107,18 @@ public class ColaPrioridad {
         return new ArrayList<>(colaEvacuaciones);
     }
 
+    /**
+     * Obtiene las evacuaciones activas ordenadas de mayor a menor prioridad,
+     * sin removerlas (el recorrido de la cola no sigue ese orden).
+     *
+     * @return Lista ordenada de evacuaciones activas.
+     */
+    public List<Evacuacion> obtenerEvacuacionesEnOrden() {
+        List<Evacuacion> evacuaciones = new ArrayList<>(colaEvacuaciones);
+        evacuaciones.sort(ORDEN_PRIORIDAD);
+        return evacuaciones;
+    }
+
     /**
      * Obtiene el historial completo de evacuaciones procesadas.
      *
@@ -121,10 +136,7 @@ public class ColaPrioridad {
         List<Evacuacion> evacuaciones = new ArrayList<>(colaEvacuaciones);
         colaEvacuaciones.clear();
 
-        evacuaciones.sort(Comparator
-            .comparingInt(Evacuacion::calcularPrioridad)
-            .reversed()
-            .thenComparing(Evacuacion::getFechaInicio));
+        evacuaciones.sort(ORDEN_PRIORIDAD);
 
         for (Evacuacion evacuacion : evacuaciones) {
             colaEvacuaciones.offer(evacuacion);
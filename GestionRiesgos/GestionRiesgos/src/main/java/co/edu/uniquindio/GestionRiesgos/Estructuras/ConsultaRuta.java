@@ -0,0 +1,61 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+
+/**
+ * Consulta de un lote de rutas: par origen/destino y criterio, con su
+ * posición en el lote para identificar la respuesta, que puede llegar en
+ * otro orden.
+ */
+public final class ConsultaRuta {
+
+    private final int indice;
+    private final String origen;
+    private final String destino;
+    private final CriterioRuta criterio;
+
+    /**
+     * @param indice Posición de la consulta en el lote.
+     * @param origen ID de la zona origen.
+     * @param destino ID de la zona destino.
+     * @param criterio Criterio a minimizar.
+     */
+    public ConsultaRuta(int indice, String origen, String destino, CriterioRuta criterio) {
+        if (origen == null || destino == null || criterio == null) {
+            throw new IllegalArgumentException("Cada consulta requiere origen, destino y criterio");
+        }
+        this.indice = indice;
+        this.origen = origen;
+        this.destino = destino;
+        this.criterio = criterio;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public String getOrigen() {
+        return origen;
+    }
+
+    public String getDestino() {
+        return destino;
+    }
+
+    public CriterioRuta getCriterio() {
+        return criterio;
+    }
+
+    /**
+     * @return true si el origen es la misma zona que el destino: el camino
+     *         es trivial (sin tramos y de costo 0) y no se busca.
+     */
+    public boolean esTrivial() {
+        return origen.equals(destino);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConsultaRuta{indice=%d, origen=%s, destino=%s, criterio=%s}", indice, origen, destino, criterio);
+    }
+}
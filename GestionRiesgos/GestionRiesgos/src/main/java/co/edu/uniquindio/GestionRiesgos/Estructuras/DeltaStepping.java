@@ -0,0 +1,434 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Caminos mínimos desde un origen con delta-stepping paralelo (Meyer y
+ * Sanders) sobre un {@link GrafoCompacto}.
+ *
+ * Los nodos se agrupan en cubetas de ancho Δ según su distancia tentativa y
+ * las cubetas se vacían en orden. Todos los nodos de la cubeta actual se
+ * relajan a la vez, repartidos en el pool común de ForkJoin; los que mejoran
+ * se agregan a la cubeta de su nueva distancia (la actual, si la arista es
+ * liviana, en cuyo caso se repite la ronda). Con Δ pequeño se parece a
+ * Dijkstra (poco trabajo repetido, pocas tareas por ronda); con Δ grande, a
+ * Bellman-Ford (más paralelismo, más relajaciones repetidas).
+ *
+ * Las distancias se guardan como bits de {@code double} en un
+ * {@link AtomicLongArray}: para valores no negativos el orden de los bits
+ * coincide con el de los números, así que disminuir una distancia es un
+ * compare-and-set sobre un {@code long}. Las aristas predecesoras no se
+ * registran durante la búsqueda; el camino se reconstruye después por las
+ * aristas ajustadas ({@code d(u) + w = d(v)}).
+ *
+ * Es seguro para uso concurrente: cada búsqueda usa sus propios arreglos.
+ * Las consultas punto a punto ({@link #calcularCamino}) los toman de un
+ * {@link Espacio} por hilo, que solo restaura los nodos que tocó, así que en
+ * estado estable no reservan memoria proporcional al grafo ni recorren
+ * todos sus nodos.
+ */
+final class DeltaStepping {
+
+    private static final double INFINITO = Double.POSITIVE_INFINITY;
+
+    private static final long BITS_INFINITO = Double.doubleToRawLongBits(INFINITO);
+
+    /** Frentes de menos nodos se relajan en el hilo actual */
+    private static final int UMBRAL_PARALELO = 4096;
+
+    /** Nodos por tarea al repartir un frente grande */
+    private static final int NODOS_POR_TAREA = 1024;
+
+    /** Lista creciente de enteros, sin objetos envueltos. */
+    private static final class ListaEnteros {
+        private int[] valores = new int[16];
+        private int tamano;
+
+        void agregar(int valor) {
+            if (tamano == valores.length) valores = Arrays.copyOf(valores, tamano * 2);
+            valores[tamano++] = valor;
+        }
+
+        void agregarTodos(ListaEnteros otra) {
+            for (int i = 0; i < otra.tamano; i++) agregar(otra.valores[i]);
+        }
+    }
+
+    /**
+     * Arreglos reutilizables de las consultas punto a punto. En reposo todas
+     * las distancias son infinitas: cada búsqueda anota los nodos que mejora
+     * y al terminar solo restaura esos. Las rondas y las visitas de la
+     * reconstrucción usan marcas de generación, como {@link EspacioBusqueda}.
+     */
+    static final class Espacio {
+
+        private static final ThreadLocal<Espacio> POR_HILO = ThreadLocal.withInitial(Espacio::new);
+
+        private AtomicLongArray distancias = new AtomicLongArray(0);
+        private int[] ronda = new int[0];
+        private int numeroRonda;
+
+        /** Arista por la que cada nodo avanza hacia el destino, válida si su visita es la generación actual */
+        private int[] siguiente = new int[0];
+        private int[] visita = new int[0];
+        private int[] cola = new int[0];
+        private int generacion;
+
+        /** Nodos cuya distancia bajó en la búsqueda en curso (puede haber repetidos) */
+        private final ListaEnteros tocados = new ListaEnteros();
+
+        private Espacio() {
+        }
+
+        /** @return Espacio exclusivo del hilo actual. */
+        static Espacio delHilo() {
+            return POR_HILO.get();
+        }
+
+        /** Prepara el espacio para una búsqueda sobre {@code n} nodos; solo reserva si el grafo creció. */
+        private void preparar(int n) {
+            if (n > ronda.length) {
+                int capacidad = Math.max(n, ronda.length * 2);
+                distancias = new AtomicLongArray(capacidad);
+                for (int v = 0; v < capacidad; v++) distancias.set(v, BITS_INFINITO);
+                ronda = new int[capacidad];
+                siguiente = new int[capacidad];
+                visita = new int[capacidad];
+                cola = new int[capacidad];
+                numeroRonda = 0;
+                generacion = 0;
+            }
+            // Cada ronda avanza la marca; se reinician mucho antes de desbordar
+            if (numeroRonda > Integer.MAX_VALUE / 2) {
+                Arrays.fill(ronda, 0);
+                numeroRonda = 0;
+            }
+            if (++generacion == Integer.MAX_VALUE) {
+                Arrays.fill(visita, 0);
+                generacion = 1;
+            }
+            tocados.tamano = 0;
+        }
+
+        /** Libera los arreglos; la siguiente búsqueda los vuelve a reservar en reposo. */
+        private void descartar() {
+            ronda = new int[0];
+            tocados.tamano = 0;
+        }
+
+        /** Devuelve a infinito las distancias que bajó la última búsqueda. */
+        private void restaurar() {
+            for (int i = 0; i < tocados.tamano; i++) {
+                distancias.set(tocados.valores[i], BITS_INFINITO);
+            }
+            tocados.tamano = 0;
+        }
+    }
+
+    /**
+     * Nodos mejorados durante una ronda por una tarea, por cubeta. Las
+     * cubetas cercanas a la actual se indexan por desplazamiento; las
+     * lejanas (aristas mucho más pesadas que Δ), en un mapa.
+     */
+    private static final class CubetasLocales {
+        private static final int CERCANAS = 64;
+
+        private final ListaEnteros[] cercanas = new ListaEnteros[CERCANAS];
+        private final Map<Long, ListaEnteros> lejanas = new HashMap<>();
+
+        void agregar(long desplazamiento, int nodo) {
+            ListaEnteros lista;
+            if (desplazamiento < CERCANAS) {
+                lista = cercanas[(int) desplazamiento];
+                if (lista == null) lista = cercanas[(int) desplazamiento] = new ListaEnteros();
+            } else {
+                lista = lejanas.computeIfAbsent(desplazamiento, d -> new ListaEnteros());
+            }
+            lista.agregar(nodo);
+        }
+
+        /** Agrega los nodos de todas las cubetas a la lista. */
+        void copiarEn(ListaEnteros destino) {
+            for (ListaEnteros lista : cercanas) {
+                if (lista != null) destino.agregarTodos(lista);
+            }
+            lejanas.values().forEach(destino::agregarTodos);
+        }
+
+        /** Agrega los nodos a las cubetas pendientes, con índices absolutos. */
+        void volcarEn(TreeMap<Long, List<int[]>> cubetas, long actual) {
+            for (int d = 0; d < CERCANAS; d++) {
+                if (cercanas[d] != null) volcar(cubetas, actual + d, cercanas[d]);
+            }
+            lejanas.forEach((d, lista) -> volcar(cubetas, actual + d, lista));
+        }
+
+        private static void volcar(TreeMap<Long, List<int[]>> cubetas, long indice, ListaEnteros lista) {
+            cubetas.computeIfAbsent(indice, c -> new ArrayList<>()).add(Arrays.copyOf(lista.valores, lista.tamano));
+        }
+    }
+
+    private DeltaStepping() {
+    }
+
+    /**
+     * Calcula las distancias mínimas desde el origen. Si se indica un
+     * destino, se detiene cuando su cubeta queda vacía (su distancia ya es
+     * definitiva) y descarta las relajaciones que no pueden mejorarlo, así
+     * que solo la distancia del destino es exacta.
+     *
+     * @param grafo Grafo compacto.
+     * @param pesos Peso no negativo de cada arista.
+     * @param origen Índice del nodo origen.
+     * @param destino Índice del nodo destino, o -1 para calcular todas.
+     * @param ancho Ancho Δ de las cubetas (positivo).
+     * @return Distancia de cada nodo; infinito si no es alcanzable.
+     */
+    static double[] calcular(GrafoCompacto grafo, double[] pesos, int origen, int destino, double ancho) {
+        int n = grafo.getNumeroNodos();
+        AtomicLongArray distancias = new AtomicLongArray(n);
+        IntStream.range(0, n).parallel().forEach(v -> distancias.set(v, BITS_INFINITO));
+        buscar(grafo, pesos, origen, destino, ancho, distancias, new int[n], 0, null);
+
+        double[] resultado = new double[n];
+        IntStream.range(0, n).parallel().forEach(v -> resultado[v] = distancia(distancias, v));
+        return resultado;
+    }
+
+    /**
+     * Calcula un camino mínimo entre dos nodos con los arreglos del espacio,
+     * deteniéndose al fijar la distancia del destino, y deja el espacio en
+     * reposo. El costo depende de la región explorada y no del tamaño del
+     * grafo.
+     *
+     * @param grafo Grafo compacto.
+     * @param pesos Peso no negativo de cada arista.
+     * @param origen Índice del nodo origen.
+     * @param destino Índice del nodo destino.
+     * @param ancho Ancho Δ de las cubetas (positivo).
+     * @param espacio Espacio de trabajo (ver {@link Espacio#delHilo()}).
+     * @return Camino encontrado, o null si el destino no es alcanzable o coincide con el origen.
+     */
+    static Camino calcularCamino(GrafoCompacto grafo, double[] pesos, int origen, int destino, double ancho,
+                                 Espacio espacio) {
+        if (origen == destino) return null;
+        espacio.preparar(grafo.getNumeroNodos());
+        boolean completa = false;
+        try {
+            espacio.numeroRonda = buscar(grafo, pesos, origen, destino, ancho,
+                    espacio.distancias, espacio.ronda, espacio.numeroRonda, espacio.tocados);
+            completa = true;
+            return reconstruir(grafo, pesos, espacio, origen, destino);
+        } finally {
+            // Una búsqueda interrumpida pudo no anotar todos sus nodos: el espacio se descarta
+            if (completa) espacio.restaurar(); else espacio.descartar();
+        }
+    }
+
+    /**
+     * Ejecuta delta-stepping sobre distancias que deben estar en infinito.
+     *
+     * @param ronda Ronda en la que se relajó cada nodo, con valores menores o iguales a {@code primeraRonda}.
+     * @param tocados Si no es null, recibe los nodos cuya distancia bajó.
+     * @return Última ronda usada.
+     */
+    private static int buscar(GrafoCompacto grafo, double[] pesos, int origen, int destino, double ancho,
+                              AtomicLongArray distancias, int[] ronda, int primeraRonda, ListaEnteros tocados) {
+        distancias.set(origen, Double.doubleToRawLongBits(0.0));
+        if (tocados != null) tocados.agregar(origen);
+
+        // Cubetas pendientes: índice → bloques de nodos (puede haber repetidos u obsoletos)
+        TreeMap<Long, List<int[]>> cubetas = new TreeMap<>();
+        cubetas.put(0L, new ArrayList<>(List.of(new int[]{origen})));
+        // La ronda de cada nodo evita relajarlo dos veces dentro de una misma ronda
+        int numeroRonda = primeraRonda;
+
+        while (!cubetas.isEmpty()) {
+            Map.Entry<Long, List<int[]>> entrada = cubetas.pollFirstEntry();
+            long actual = entrada.getKey();
+            if (destino >= 0 && actual > cubeta(distancia(distancias, destino), ancho)) break;
+
+            int[] frente = concatenar(entrada.getValue());
+            int marca = ++numeroRonda;
+            List<CubetasLocales> resultados;
+            if (frente.length < UMBRAL_PARALELO) {
+                resultados = List.of(relajar(grafo, pesos, distancias, frente, 0, frente.length,
+                        actual, ancho, destino, ronda, marca));
+            } else {
+                int tareas = (frente.length + NODOS_POR_TAREA - 1) / NODOS_POR_TAREA;
+                resultados = IntStream.range(0, tareas).parallel()
+                        .mapToObj(t -> relajar(grafo, pesos, distancias, frente, t * NODOS_POR_TAREA,
+                                Math.min(frente.length, (t + 1) * NODOS_POR_TAREA), actual, ancho, destino, ronda, marca))
+                        .toList();
+            }
+
+            for (CubetasLocales locales : resultados) {
+                locales.volcarEn(cubetas, actual);
+                if (tocados != null) locales.copiarEn(tocados);
+            }
+        }
+        return numeroRonda;
+    }
+
+    /**
+     * Relaja las aristas salientes de los nodos del frente en {@code [desde, hasta)}
+     * que siguen perteneciendo a la cubeta actual.
+     *
+     * @return Nodos mejorados, agrupados por la cubeta de su nueva distancia.
+     */
+    private static CubetasLocales relajar(GrafoCompacto grafo, double[] pesos, AtomicLongArray distancias,
+                                          int[] frente, int desde, int hasta, long actual, double ancho,
+                                          int destino, int[] ronda, int marca) {
+        CubetasLocales locales = new CubetasLocales();
+        for (int i = desde; i < hasta; i++) {
+            int u = frente[i];
+            // Las carreras sobre la marca solo pueden repetir una relajación, lo que es inocuo
+            if (ronda[u] == marca) continue;
+            double distanciaU = distancia(distancias, u);
+            if (cubeta(distanciaU, ancho) != actual) continue;
+            ronda[u] = marca;
+
+            for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+                double nueva = distanciaU + pesos[e];
+                if (destino >= 0 && nueva >= distancia(distancias, destino)) continue;
+                int v = grafo.destino(e);
+                if (disminuir(distancias, v, nueva)) {
+                    locales.agregar(cubeta(nueva, ancho) - actual, v);
+                }
+            }
+        }
+        return locales;
+    }
+
+    /**
+     * Reconstruye un camino mínimo hasta el destino recorriendo hacia atrás,
+     * en anchura, las aristas ajustadas. La búsqueda en anchura evita los
+     * ciclos que podrían formar las aristas de peso cero.
+     *
+     * @param grafo Grafo compacto usado en la búsqueda.
+     * @param pesos Pesos usados en la búsqueda.
+     * @param distancias Distancias calculadas por {@link #calcular}.
+     * @param origen Índice del nodo origen.
+     * @param destino Índice del nodo destino.
+     * @return Camino encontrado, o null si el destino no es alcanzable o coincide con el origen.
+     */
+    static Camino reconstruir(GrafoCompacto grafo, double[] pesos, double[] distancias, int origen, int destino) {
+        if (origen == destino || distancias[destino] == INFINITO) return null;
+
+        // Arista por la que cada nodo avanza hacia el destino
+        int[] siguiente = new int[grafo.getNumeroNodos()];
+        Arrays.fill(siguiente, -1);
+        ArrayDeque<Integer> cola = new ArrayDeque<>();
+        cola.add(destino);
+        while (!cola.isEmpty() && siguiente[origen] < 0) {
+            int v = cola.poll();
+            for (int p = grafo.inicioEntrantes(v), fin = grafo.finEntrantes(v); p < fin; p++) {
+                int e = grafo.aristaEntrante(p);
+                int u = grafo.origen(e);
+                if (u == destino || siguiente[u] >= 0 || distancias[u] + pesos[e] != distancias[v]) continue;
+                siguiente[u] = e;
+                cola.add(u);
+            }
+        }
+        if (siguiente[origen] < 0) return null;
+
+        List<Ruta> tramos = new ArrayList<>();
+        for (int u = origen; u != destino; u = grafo.destino(siguiente[u])) {
+            tramos.add(grafo.ruta(siguiente[u]));
+        }
+        return new Camino(tramos);
+    }
+
+    /**
+     * Igual que {@link #reconstruir(GrafoCompacto, double[], double[], int, int)},
+     * pero sobre las distancias y marcas del espacio, sin reservar arreglos.
+     */
+    private static Camino reconstruir(GrafoCompacto grafo, double[] pesos, Espacio espacio, int origen, int destino) {
+        AtomicLongArray distancias = espacio.distancias;
+        if (distancia(distancias, destino) == INFINITO) return null;
+
+        int generacion = espacio.generacion;
+        int[] siguiente = espacio.siguiente;
+        int[] visita = espacio.visita;
+        int[] cola = espacio.cola;
+        int inicio = 0;
+        int fin = 0;
+        cola[fin++] = destino;
+        visita[destino] = generacion;
+        while (inicio < fin && visita[origen] != generacion) {
+            int v = cola[inicio++];
+            double distanciaV = distancia(distancias, v);
+            for (int p = grafo.inicioEntrantes(v), ultima = grafo.finEntrantes(v); p < ultima; p++) {
+                int e = grafo.aristaEntrante(p);
+                int u = grafo.origen(e);
+                if (visita[u] == generacion || distancia(distancias, u) + pesos[e] != distanciaV) continue;
+                visita[u] = generacion;
+                siguiente[u] = e;
+                cola[fin++] = u;
+            }
+        }
+        if (visita[origen] != generacion) return null;
+
+        List<Ruta> tramos = new ArrayList<>();
+        for (int u = origen; u != destino; u = grafo.destino(siguiente[u])) {
+            tramos.add(grafo.ruta(siguiente[u]));
+        }
+        return new Camino(tramos);
+    }
+
+    /**
+     * Ancho de cubeta por defecto para un criterio: el peso promedio de las
+     * aristas, de modo que cada cubeta avance del orden de un tramo.
+     */
+    static double anchoPorDefecto(double[] pesos) {
+        double suma = 0.0;
+        int positivos = 0;
+        for (double peso : pesos) {
+            if (peso > 0.0 && peso < INFINITO) {
+                suma += peso;
+                positivos++;
+            }
+        }
+        return positivos > 0 ? suma / positivos : 1.0;
+    }
+
+    private static double distancia(AtomicLongArray distancias, int v) {
+        return Double.longBitsToDouble(distancias.get(v));
+    }
+
+    /** Baja la distancia de {@code v} si la nueva es menor, con compare-and-set. */
+    private static boolean disminuir(AtomicLongArray distancias, int v, double nueva) {
+        long bits = Double.doubleToRawLongBits(nueva);
+        long actual = distancias.get(v);
+        while (bits < actual) {
+            if (distancias.compareAndSet(v, actual, bits)) return true;
+            actual = distancias.get(v);
+        }
+        return false;
+    }
+
+    private static long cubeta(double distancia, double ancho) {
+        return distancia == INFINITO ? Long.MAX_VALUE : (long) (distancia / ancho);
+    }
+
+    private static int[] concatenar(List<int[]> bloques) {
+        if (bloques.size() == 1) return bloques.get(0);
+        int total = 0;
+        for (int[] bloque : bloques) total += bloque.length;
+        int[] resultado = new int[total];
+        int posicion = 0;
+        for (int[] bloque : bloques) {
+            System.arraycopy(bloque, 0, resultado, posicion, bloque.length);
+            posicion += bloque.length;
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,148 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import java.util.Arrays;
+
+/**
+ * Espacio de trabajo reutilizable para las búsquedas de caminos mínimos.
+ *
+ * Contiene los arreglos primitivos de distancias, aristas predecesoras y nodos
+ * asentados, junto con el {@link MonticuloIndexado} de la búsqueda. Cada hilo
+ * obtiene su propia instancia mediante {@link #delHilo()} (y una segunda,
+ * {@link #delHiloInverso()}, para el lado inverso de las búsquedas
+ * bidireccionales), de modo que una consulta en estado estable no reserva
+ * memoria salvo para su resultado.
+ *
+ * Los arreglos no se limpian entre búsquedas: cada valor se acompaña de una
+ * marca de generación y solo es válido si la marca coincide con la generación
+ * actual. {@link #reiniciar(int)} invalida todo el estado en O(1).
+ */
+final class EspacioBusqueda {
+
+    /** Espacio de trabajo de cada hilo */
+    private static final ThreadLocal<EspacioBusqueda> POR_HILO =
+            ThreadLocal.withInitial(() -> new EspacioBusqueda(16));
+
+    /** Espacio de trabajo de cada hilo para la búsqueda hacia atrás */
+    private static final ThreadLocal<EspacioBusqueda> INVERSO_POR_HILO =
+            ThreadLocal.withInitial(() -> new EspacioBusqueda(16));
+
+    /** Distancia tentativa de cada nodo */
+    private double[] distancias;
+
+    /**
+     * Arista por la que se llegó a cada nodo (-1 para el origen). En una
+     * búsqueda hacia atrás es la arista por la que se sale hacia el destino.
+     */
+    private int[] aristaPredecesora;
+
+    /** Generación en la que se asignó la distancia de cada nodo */
+    private int[] marcas;
+
+    /** Generación en la que cada nodo quedó asentado */
+    private int[] asentados;
+
+    /** Generación actual */
+    private int generacion;
+
+    /** Cola de prioridad de la búsqueda */
+    private final MonticuloIndexado monticulo;
+
+    private EspacioBusqueda(int capacidad) {
+        this.distancias = new double[capacidad];
+        this.aristaPredecesora = new int[capacidad];
+        this.marcas = new int[capacidad];
+        this.asentados = new int[capacidad];
+        this.monticulo = new MonticuloIndexado(capacidad);
+    }
+
+    /**
+     * Obtiene el espacio de trabajo del hilo actual.
+     *
+     * @return Instancia exclusiva del hilo.
+     */
+    static EspacioBusqueda delHilo() {
+        return POR_HILO.get();
+    }
+
+    /**
+     * Obtiene el segundo espacio de trabajo del hilo actual, usado por la
+     * búsqueda hacia atrás en los algoritmos bidireccionales.
+     *
+     * @return Instancia exclusiva del hilo, distinta de {@link #delHilo()}.
+     */
+    static EspacioBusqueda delHiloInverso() {
+        return INVERSO_POR_HILO.get();
+    }
+
+    /**
+     * Crea un espacio de trabajo no asociado a ningún hilo, para repartir
+     * entre tareas de corta vida (como hilos virtuales, que no conviene que
+     * reserven uno propio cada uno).
+     *
+     * @return Instancia nueva.
+     */
+    static EspacioBusqueda crear() {
+        return new EspacioBusqueda(16);
+    }
+
+    /**
+     * Prepara el espacio para una nueva búsqueda sobre {@code n} nodos.
+     * Solo reserva memoria si el grafo creció más allá de la capacidad actual.
+     *
+     * @param n Cantidad de nodos del grafo.
+     */
+    void reiniciar(int n) {
+        if (n > marcas.length) {
+            int capacidad = Math.max(n, marcas.length * 2);
+            distancias = new double[capacidad];
+            aristaPredecesora = new int[capacidad];
+            marcas = new int[capacidad];
+            asentados = new int[capacidad];
+            generacion = 0;
+        }
+        if (++generacion == Integer.MAX_VALUE) {
+            Arrays.fill(marcas, 0);
+            Arrays.fill(asentados, 0);
+            generacion = 1;
+        }
+        monticulo.reiniciar(n);
+    }
+
+    /** @return Distancia tentativa del nodo, o infinito si no fue alcanzado. */
+    double distancia(int nodo) {
+        return marcas[nodo] == generacion ? distancias[nodo] : Double.POSITIVE_INFINITY;
+    }
+
+    /** @return Arista predecesora del nodo, o -1 si no tiene. */
+    int aristaPredecesora(int nodo) {
+        return marcas[nodo] == generacion ? aristaPredecesora[nodo] : -1;
+    }
+
+    /**
+     * Registra una distancia tentativa para el nodo.
+     *
+     * @param nodo Índice del nodo.
+     * @param distancia Nueva distancia.
+     * @param arista Arista por la que se alcanzó (-1 para el origen).
+     */
+    void actualizar(int nodo, double distancia, int arista) {
+        marcas[nodo] = generacion;
+        distancias[nodo] = distancia;
+        aristaPredecesora[nodo] = arista;
+    }
+
+    /** @return true si el nodo ya fue asentado en la búsqueda actual. */
+    boolean estaAsentado(int nodo) {
+        return asentados[nodo] == generacion;
+    }
+
+    /** Marca el nodo como asentado en la búsqueda actual. */
+    void asentar(int nodo) {
+        asentados[nodo] = generacion;
+    }
+
+    /** @return Cola de prioridad de la búsqueda. */
+    MonticuloIndexado monticulo() {
+        return monticulo;
+    }
+}
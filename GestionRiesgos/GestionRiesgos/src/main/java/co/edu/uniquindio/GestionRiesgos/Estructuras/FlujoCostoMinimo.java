@@ -0,0 +1,280 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Flujo de costo mínimo por caminos más cortos sucesivos, para enviar varias
+ * demandas (origen, destino, cantidad) una tras otra sobre capacidades
+ * compartidas.
+ *
+ * Cada demanda se resuelve de forma exacta sobre la capacidad que dejaron
+ * las anteriores: se aumenta repetidamente por el camino de menor costo
+ * reducido de la red residual (Dijkstra con potenciales de Johnson), y la
+ * red residual solo contiene los arcos reversos del flujo de la propia
+ * demanda, de modo que nunca se desvía el flujo ya asignado a otra. Al
+ * terminar, el flujo se descompone en caminos y se descuenta de la capacidad
+ * compartida.
+ *
+ * El Dijkstra se detiene al extraer el destino; los nodos no asentados
+ * reciben como potencial la distancia del destino, lo que mantiene no
+ * negativos los costos reducidos. Cada búsqueda solo reinicia y actualiza
+ * los nodos que visitó.
+ *
+ * Cada instancia trabaja sobre una versión del {@link GrafoCompacto} y no es
+ * segura para uso concurrente.
+ */
+final class FlujoCostoMinimo {
+
+    private static final double INFINITO = Double.POSITIVE_INFINITY;
+
+    /** Camino de la descomposición del flujo de una demanda. */
+    static final class Envio {
+        /** Aristas del grafo compacto, en orden */
+        final int[] aristas;
+        /** Unidades enviadas por el camino */
+        final long cantidad;
+
+        Envio(int[] aristas, long cantidad) {
+            this.aristas = aristas;
+            this.cantidad = cantidad;
+        }
+    }
+
+    private final GrafoCompacto grafo;
+
+    /** Capacidad aún disponible de cada arista, compartida entre demandas */
+    private final long[] disponible;
+
+    /** Costo por unidad de cada arista (no negativo) */
+    private final double[] costos;
+
+    /** Flujo de la demanda en curso por arista */
+    private final long[] flujo;
+
+    private final double[] potencial;
+    private final double[] distancia;
+    private final boolean[] asentado;
+
+    /** Arco por el que se llegó a cada nodo: 2e arista directa, 2e + 1 su reverso */
+    private final int[] arcoPrevio;
+
+    /** Nodos con distancia asignada en la última búsqueda, para reiniciar solo esos */
+    private final int[] visitados;
+    private int cantidadVisitados;
+
+    private final MonticuloIndexado monticulo;
+
+    /** Aristas que tuvieron flujo en la demanda en curso, sin repetir */
+    private final List<Integer> aristasUsadas = new ArrayList<>();
+    private final boolean[] usada;
+
+    /**
+     * @param grafo Grafo compacto.
+     * @param disponible Capacidad de cada arista; se descuenta lo que envía cada demanda.
+     * @param costos Costo por unidad de cada arista.
+     */
+    FlujoCostoMinimo(GrafoCompacto grafo, long[] disponible, double[] costos) {
+        this.grafo = grafo;
+        this.disponible = disponible;
+        this.costos = costos;
+        int n = grafo.getNumeroNodos();
+        this.flujo = new long[grafo.getNumeroAristas()];
+        this.usada = new boolean[grafo.getNumeroAristas()];
+        this.potencial = new double[n];
+        this.distancia = new double[n];
+        this.asentado = new boolean[n];
+        this.arcoPrevio = new int[n];
+        this.visitados = new int[n];
+        Arrays.fill(distancia, INFINITO);
+        this.monticulo = new MonticuloIndexado(n);
+    }
+
+    /**
+     * Envía hasta {@code demanda} unidades de origen a destino con costo
+     * mínimo sobre la capacidad disponible, y la descuenta.
+     *
+     * @return Caminos usados con la cantidad de cada uno (vacío si no hay capacidad).
+     */
+    List<Envio> enviar(int origen, int destino, long demanda) {
+        if (origen == destino || demanda <= 0) return new ArrayList<>();
+        iniciar();
+        long restante = demanda;
+        while (restante > 0 && buscarCamino(origen, destino) < INFINITO) {
+            restante -= aumentar(origen, destino, restante);
+        }
+        return confirmar(origen, destino);
+    }
+
+    /**
+     * Comienza una demanda nueva. Junto con {@link #buscarCamino(int, int)},
+     * {@link #aumentar(int, int, long)} y {@link #confirmar(int, int)} permite
+     * decidir tras cada camino si conviene seguir aumentando.
+     */
+    void iniciar() {
+        Arrays.fill(potencial, 0.0);
+    }
+
+    /**
+     * Busca el camino de menor costo en la red residual de la demanda en curso.
+     *
+     * @return Costo real por unidad del camino, o infinito si el destino no es alcanzable.
+     */
+    double buscarCamino(int origen, int destino) {
+        for (int i = 0; i < cantidadVisitados; i++) {
+            distancia[visitados[i]] = INFINITO;
+            asentado[visitados[i]] = false;
+        }
+        cantidadVisitados = 0;
+        monticulo.reiniciar(distancia.length);
+        marcarVisitado(origen, 0.0);
+        monticulo.insertarODisminuir(origen, 0.0);
+
+        while (!monticulo.estaVacio()) {
+            int u = monticulo.extraerMinimo();
+            asentado[u] = true;
+            if (u == destino) break;
+            // Arcos directos con capacidad restante
+            for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+                if (disponible[e] - flujo[e] > 0) relajar(u, grafo.destino(e), 2 * e, costos[e]);
+            }
+            // Reversos del flujo propio: deshacerlo devuelve su costo
+            for (int p = grafo.inicioEntrantes(u), fin = grafo.finEntrantes(u); p < fin; p++) {
+                int e = grafo.aristaEntrante(p);
+                if (flujo[e] > 0) relajar(u, grafo.origen(e), 2 * e + 1, -costos[e]);
+            }
+        }
+        if (!asentado[destino]) return INFINITO;
+
+        // Sumar la distancia del destino a todos los potenciales no altera los
+        // costos reducidos, así que solo se corrigen los nodos asentados
+        double distanciaDestino = distancia[destino];
+        for (int i = 0; i < cantidadVisitados; i++) {
+            int v = visitados[i];
+            if (asentado[v]) potencial[v] += distancia[v] - distanciaDestino;
+        }
+        // Con potenciales exactos, su diferencia es el costo real del camino
+        return potencial[destino] - potencial[origen];
+    }
+
+    /**
+     * Aumenta el flujo por el último camino encontrado.
+     *
+     * @return Unidades enviadas (a lo sumo {@code limite}).
+     */
+    long aumentar(int origen, int destino, long limite) {
+        long aumento = limite;
+        for (int v = destino; v != origen; v = extremoPrevio(v)) {
+            aumento = Math.min(aumento, residual(arcoPrevio[v]));
+        }
+        for (int v = destino; v != origen; v = extremoPrevio(v)) {
+            int arco = arcoPrevio[v];
+            int e = arco >>> 1;
+            if (!usada[e]) {
+                usada[e] = true;
+                aristasUsadas.add(e);
+            }
+            flujo[e] += (arco & 1) == 0 ? aumento : -aumento;
+        }
+        return aumento;
+    }
+
+    /**
+     * Descuenta de la capacidad compartida el flujo de la demanda en curso.
+     *
+     * @return Caminos usados con la cantidad de cada uno.
+     */
+    List<Envio> confirmar(int origen, int destino) {
+        for (int e : aristasUsadas) {
+            disponible[e] -= flujo[e];
+        }
+        List<Envio> envios = descomponer(origen, destino);
+        for (int e : aristasUsadas) {
+            flujo[e] = 0;
+            usada[e] = false;
+        }
+        aristasUsadas.clear();
+        return envios;
+    }
+
+    private void marcarVisitado(int v, double valor) {
+        if (distancia[v] == INFINITO) visitados[cantidadVisitados++] = v;
+        distancia[v] = valor;
+    }
+
+    private void relajar(int u, int v, int arco, double costo) {
+        if (asentado[v]) return;
+        // El redondeo puede dar costos reducidos apenas negativos
+        double candidato = distancia[u] + Math.max(0.0, costo + potencial[u] - potencial[v]);
+        if (candidato < distancia[v]) {
+            marcarVisitado(v, candidato);
+            arcoPrevio[v] = arco;
+            monticulo.insertarODisminuir(v, candidato);
+        }
+    }
+
+    private long residual(int arco) {
+        int e = arco >>> 1;
+        return (arco & 1) == 0 ? disponible[e] - flujo[e] : flujo[e];
+    }
+
+    /** Nodo desde el que se llegó a {@code v} por su arco previo. */
+    private int extremoPrevio(int v) {
+        int arco = arcoPrevio[v];
+        int e = arco >>> 1;
+        return (arco & 1) == 0 ? grafo.origen(e) : grafo.destino(e);
+    }
+
+    /**
+     * Descompone el flujo de la demanda en caminos de origen a destino,
+     * cancelando los ciclos (de costo cero) que aparezcan.
+     */
+    private List<Envio> descomponer(int origen, int destino) {
+        List<Envio> envios = new ArrayList<>();
+        int[] posicion = new int[grafo.getNumeroNodos()];
+        Arrays.fill(posicion, -1);
+        int[] camino = new int[grafo.getNumeroNodos()];
+        int[] nodos = new int[grafo.getNumeroNodos() + 1];
+
+        while (true) {
+            int largo = 0;
+            int u = origen;
+            nodos[0] = origen;
+            posicion[origen] = 0;
+            while (u != destino) {
+                int e = aristaConFlujo(u);
+                if (e < 0) break;
+                int v = grafo.destino(e);
+                camino[largo++] = e;
+                if (posicion[v] >= 0) {
+                    // Ciclo: se cancela y se retoma desde v
+                    int inicio = posicion[v];
+                    long minimo = Long.MAX_VALUE;
+                    for (int i = inicio; i < largo; i++) minimo = Math.min(minimo, flujo[camino[i]]);
+                    for (int i = inicio; i < largo; i++) flujo[camino[i]] -= minimo;
+                    for (int i = inicio + 1; i < largo; i++) posicion[nodos[i]] = -1;
+                    largo = inicio;
+                } else {
+                    posicion[v] = largo;
+                    nodos[largo] = v;
+                }
+                u = v;
+            }
+            for (int i = 0; i <= largo; i++) posicion[nodos[i]] = -1;
+            if (u != destino) return envios;
+
+            long cantidad = Long.MAX_VALUE;
+            for (int i = 0; i < largo; i++) cantidad = Math.min(cantidad, flujo[camino[i]]);
+            for (int i = 0; i < largo; i++) flujo[camino[i]] -= cantidad;
+            envios.add(new Envio(Arrays.copyOf(camino, largo), cantidad));
+        }
+    }
+
+    private int aristaConFlujo(int u) {
+        for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+            if (flujo[e] > 0) return e;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,221 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flujo máximo entre un conjunto de nodos origen y un conjunto de nodos
+ * destino con el algoritmo de Dinic.
+ *
+ * La red residual se guarda en arreglos primitivos (lista de arcos en
+ * estrella): el arco 2k es el k-ésimo arco directo y 2k + 1 su reverso. Las
+ * primeras 2m posiciones corresponden, en orden, a las aristas del
+ * {@link GrafoCompacto}. Se agregan una superfuente unida a cada origen y un
+ * supersumidero al que llega cada destino, con capacidad ilimitada.
+ *
+ * Cada fase calcula niveles con BFS desde la superfuente y satura un flujo
+ * de bloqueo con un DFS iterativo (sin recursión) que avanza por arcos de
+ * nivel creciente y retrocede al primer arco saturado tras cada aumento.
+ *
+ * Cada instancia atiende un solo cálculo.
+ */
+final class FlujoMaximo {
+
+    /** Capacidad de los arcos de la superfuente y el supersumidero */
+    private static final long ILIMITADA = Long.MAX_VALUE / 4;
+
+    private final GrafoCompacto grafo;
+
+    private final int fuente;
+    private final int sumidero;
+
+    /** Primer arco de cada nodo (-1 si no tiene) */
+    private final int[] primerArco;
+
+    /** Siguiente arco del mismo nodo */
+    private int[] siguienteArco;
+
+    /** Nodo al que llega cada arco */
+    private int[] destinoArco;
+
+    /** Capacidad residual de cada arco */
+    private long[] residual;
+
+    /** Capacidad original de cada arco directo */
+    private long[] capacidad;
+
+    private int numeroArcos;
+
+    private final int[] nivel;
+    private final int[] arcoActual;
+
+    /**
+     * @param grafo Grafo compacto.
+     * @param capacidades Capacidad de cada arista del grafo compacto.
+     * @param origenes Índices de los nodos origen.
+     * @param destinos Índices de los nodos destino.
+     */
+    FlujoMaximo(GrafoCompacto grafo, int[] capacidades, int[] origenes, int[] destinos) {
+        this.grafo = grafo;
+        int n = grafo.getNumeroNodos();
+        this.fuente = n;
+        this.sumidero = n + 1;
+
+        int arcos = 2 * (grafo.getNumeroAristas() + origenes.length + destinos.length);
+        this.primerArco = new int[n + 2];
+        Arrays.fill(primerArco, -1);
+        this.siguienteArco = new int[arcos];
+        this.destinoArco = new int[arcos];
+        this.residual = new long[arcos];
+        this.capacidad = new long[arcos];
+        this.nivel = new int[n + 2];
+        this.arcoActual = new int[n + 2];
+
+        for (int e = 0; e < grafo.getNumeroAristas(); e++) {
+            agregarArco(grafo.origen(e), grafo.destino(e), capacidades[e]);
+        }
+        for (int origen : origenes) {
+            agregarArco(fuente, origen, ILIMITADA);
+        }
+        for (int destino : destinos) {
+            agregarArco(destino, sumidero, ILIMITADA);
+        }
+    }
+
+    /**
+     * Calcula el flujo máximo.
+     *
+     * @return Valor del flujo (personas por unidad de tiempo).
+     */
+    long calcular() {
+        long total = 0;
+        while (calcularNiveles()) {
+            System.arraycopy(primerArco, 0, arcoActual, 0, primerArco.length);
+            total += flujoDeBloqueo();
+        }
+        return total;
+    }
+
+    /**
+     * @return Flujo por cada arista del grafo compacto con flujo positivo.
+     */
+    Map<Ruta, Long> flujosPorRuta() {
+        Map<Ruta, Long> flujos = new LinkedHashMap<>();
+        for (int e = 0; e < grafo.getNumeroAristas(); e++) {
+            long flujo = capacidad[2 * e] - residual[2 * e];
+            if (flujo > 0) flujos.put(grafo.ruta(e), flujo);
+        }
+        return flujos;
+    }
+
+    /**
+     * Obtiene el corte mínimo tras {@link #calcular()}: las aristas que van de
+     * un nodo alcanzable desde la superfuente en la red residual a uno no
+     * alcanzable. Todas están saturadas y su capacidad suma el flujo máximo.
+     *
+     * @return Rutas del corte mínimo (cuellos de botella).
+     */
+    List<Ruta> corteMinimo() {
+        calcularNiveles();
+        List<Ruta> corte = new ArrayList<>();
+        for (int e = 0; e < grafo.getNumeroAristas(); e++) {
+            if (nivel[grafo.origen(e)] >= 0 && nivel[grafo.destino(e)] < 0) {
+                corte.add(grafo.ruta(e));
+            }
+        }
+        return corte;
+    }
+
+    private void agregarArco(int desde, int hacia, long cap) {
+        int directo = numeroArcos++;
+        destinoArco[directo] = hacia;
+        residual[directo] = cap;
+        capacidad[directo] = cap;
+        siguienteArco[directo] = primerArco[desde];
+        primerArco[desde] = directo;
+
+        int reverso = numeroArcos++;
+        destinoArco[reverso] = desde;
+        siguienteArco[reverso] = primerArco[hacia];
+        primerArco[hacia] = reverso;
+    }
+
+    /** BFS de niveles en la red residual; @return true si el sumidero es alcanzable. */
+    private boolean calcularNiveles() {
+        Arrays.fill(nivel, -1);
+        int[] cola = new int[nivel.length];
+        int cabeza = 0;
+        int fin = 0;
+        cola[fin++] = fuente;
+        nivel[fuente] = 0;
+        while (cabeza < fin) {
+            int u = cola[cabeza++];
+            for (int a = primerArco[u]; a >= 0; a = siguienteArco[a]) {
+                int v = destinoArco[a];
+                if (residual[a] > 0 && nivel[v] < 0) {
+                    nivel[v] = nivel[u] + 1;
+                    cola[fin++] = v;
+                }
+            }
+        }
+        return nivel[sumidero] >= 0;
+    }
+
+    /** Satura un flujo de bloqueo sobre el grafo de niveles. */
+    private long flujoDeBloqueo() {
+        long total = 0;
+        int nivelSumidero = nivel[sumidero];
+        int[] camino = new int[nivelSumidero];
+        int largo = 0;
+        int u = fuente;
+
+        while (true) {
+            if (u == sumidero) {
+                long aumento = Long.MAX_VALUE;
+                for (int i = 0; i < largo; i++) {
+                    aumento = Math.min(aumento, residual[camino[i]]);
+                }
+                int retroceso = largo;
+                for (int i = largo - 1; i >= 0; i--) {
+                    int a = camino[i];
+                    residual[a] -= aumento;
+                    residual[a ^ 1] += aumento;
+                    if (residual[a] == 0) retroceso = i;
+                }
+                total += aumento;
+                // Se retoma desde el origen del primer arco saturado
+                largo = retroceso;
+                u = largo == 0 ? fuente : destinoArco[camino[largo - 1]];
+                continue;
+            }
+
+            // Solo se avanza a nodos del nivel siguiente que aún pueden llevar al sumidero
+            int a = arcoActual[u];
+            while (a >= 0 && !admisible(a, nivel[u] + 1, nivelSumidero)) {
+                a = siguienteArco[a];
+            }
+            arcoActual[u] = a;
+
+            if (a >= 0) {
+                camino[largo++] = a;
+                u = destinoArco[a];
+            } else {
+                // Nodo sin salida en este nivel: se descarta y se retrocede
+                nivel[u] = -1;
+                if (largo == 0) return total;
+                int anterior = camino[--largo];
+                u = largo == 0 ? fuente : destinoArco[camino[largo - 1]];
+                arcoActual[u] = siguienteArco[anterior];
+            }
+        }
+    }
+
+    private boolean admisible(int arco, int nivelSiguiente, int nivelSumidero) {
+        int v = destinoArco[arco];
+        return residual[arco] > 0 && nivel[v] == nivelSiguiente
+                && (v == sumidero || nivelSiguiente < nivelSumidero);
+    }
+}
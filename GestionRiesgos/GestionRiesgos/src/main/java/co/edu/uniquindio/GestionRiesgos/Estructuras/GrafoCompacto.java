@@ -0,0 +1,533 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Representación compacta e inmutable del grafo dirigido en formato CSR
+ * (Compressed Sparse Row), utilizada como núcleo de los algoritmos de rutas.
+ *
+ * Cada zona se identifica con un índice entero denso y las aristas salientes
+ * de un nodo {@code u} ocupan el rango {@code [inicioAristas[u], inicioAristas[u + 1])}
+ * de los arreglos de aristas. Los pesos se guardan en arreglos primitivos
+ * {@code double[]}, uno por cada {@link CriterioRuta}, lo que evita el hashing
+ * de cadenas y el uso de objetos envueltos durante las búsquedas.
+ *
+ * Mantiene además la adyacencia inversa en el mismo formato: las aristas que
+ * llegan a {@code v} se listan en {@code [inicioEntrantes[v], inicioEntrantes[v + 1])}
+ * de {@code aristasEntrantes}, que guarda índices de arista del arreglo
+ * principal. Esto permite búsquedas hacia atrás desde el destino.
+ *
+ * También precalcula, para cada criterio, la menor relación peso/kilómetro
+ * entre todas las aristas, lo que permite obtener una cota inferior admisible
+ * del costo entre dos nodos a partir de su distancia de gran círculo (A*).
+ *
+ * Solo se incluyen las rutas activas en el momento de la construcción.
+ * La instancia no se modifica: cuando el grafo cambia se construye una nueva.
+ * Como también conserva los nodos, todas las rutas y el índice de cada ID,
+ * es una instantánea completa del grafo que puede consultarse desde
+ * cualquier hilo sin sincronización.
+ */
+public final class GrafoCompacto {
+
+    /** Radio medio de la Tierra en kilómetros */
+    private static final double RADIO_TIERRA_KM = 6371.0088;
+
+    /** Margen para absorber errores de redondeo y mantener la cota admisible */
+    private static final double FACTOR_SEGURIDAD = 0.999999;
+
+    /** Cantidad de nodos (índices 0 .. numeroNodos - 1) */
+    private final int numeroNodos;
+
+    /** Cantidad de aristas activas incluidas */
+    private final int numeroAristas;
+
+    /** ID de la zona correspondiente a cada índice */
+    private final String[] ids;
+
+    /** Zona asociada a cada índice (null si el nodo no aparece en ninguna ruta) */
+    private final Zona[] zonas;
+
+    /** Latitud de cada nodo en radianes (coordenada X) */
+    private final double[] latitud;
+
+    /** Longitud de cada nodo en radianes (coordenada Y) */
+    private final double[] longitud;
+
+    /** Coseno de la latitud de cada nodo */
+    private final double[] cosenoLatitud;
+
+    /** Indica si todos los nodos tienen coordenadas geográficas válidas */
+    private final boolean coordenadasCompletas;
+
+    /** Menor relación peso/kilómetro de las aristas, por criterio */
+    private final double[] costoMinimoPorKm;
+
+    /** Posición de inicio de las aristas salientes de cada nodo (tamaño n + 1) */
+    private final int[] inicioAristas;
+
+    /** Nodo origen de cada arista */
+    private final int[] origenArista;
+
+    /** Nodo destino de cada arista */
+    private final int[] destinoArista;
+
+    /** Posición de inicio de las aristas entrantes de cada nodo (tamaño n + 1) */
+    private final int[] inicioEntrantes;
+
+    /** Índices de arista ordenados por nodo destino */
+    private final int[] aristasEntrantes;
+
+    /** Ruta original de cada arista */
+    private final Ruta[] rutas;
+
+    /** Pesos de las aristas por criterio: [criterio.ordinal()][arista] */
+    private final double[][] pesos;
+
+    /** Versión del grafo a partir de la cual se construyó esta instancia */
+    private final long version;
+
+    /**
+     * Versión en la que se reconstruyeron por última vez los nodos y las
+     * aristas; las copias con pesos actualizados la conservan
+     */
+    private final long versionEstructura;
+
+    /**
+     * Versión en la que cambiaron por última vez la estructura o los pesos de
+     * cada criterio: [criterio.ordinal()]
+     */
+    private final long[] versionesPesos;
+
+    /** Índice de cada ID de nodo (no modificable) */
+    private final Map<String, Integer> indices;
+
+    /** Nodos en el orden de sus índices (no modificable) */
+    private final List<Nodo> nodos;
+
+    /** Todas las rutas del grafo, incluidas las inactivas, en orden de inserción (no modificable) */
+    private final List<Ruta> todasLasRutas;
+
+    /** Pares (origen, destino) con al menos una ruta directa, activa o no, codificados con sus índices */
+    private final Set<Long> paresConectados;
+
+    private GrafoCompacto(int numeroNodos, int numeroAristas, long version, Map<String, Integer> indices,
+                          List<Nodo> nodos, List<Ruta> todasLasRutas, boolean coordenadasCompletas) {
+        this.numeroNodos = numeroNodos;
+        this.coordenadasCompletas = coordenadasCompletas;
+        this.numeroAristas = numeroAristas;
+        this.version = version;
+        this.versionEstructura = version;
+        this.indices = indices;
+        this.nodos = nodos;
+        this.todasLasRutas = todasLasRutas;
+        this.paresConectados = new HashSet<>();
+        for (Ruta ruta : todasLasRutas) {
+            paresConectados.add(clavePar(indices.get(ruta.getOrigen().getId()), indices.get(ruta.getDestino().getId())));
+        }
+        this.ids = new String[numeroNodos];
+        this.zonas = new Zona[numeroNodos];
+        this.latitud = new double[numeroNodos];
+        this.longitud = new double[numeroNodos];
+        this.cosenoLatitud = new double[numeroNodos];
+        this.costoMinimoPorKm = new double[CriterioRuta.values().length];
+        this.inicioAristas = new int[numeroNodos + 1];
+        this.origenArista = new int[numeroAristas];
+        this.destinoArista = new int[numeroAristas];
+        this.inicioEntrantes = new int[numeroNodos + 1];
+        this.aristasEntrantes = new int[numeroAristas];
+        this.rutas = new Ruta[numeroAristas];
+        this.pesos = new double[CriterioRuta.values().length][numeroAristas];
+        this.versionesPesos = new long[CriterioRuta.values().length];
+        Arrays.fill(versionesPesos, version);
+    }
+
+    /** Copia que comparte todos los arreglos salvo los pesos y las cotas por kilómetro. */
+    private GrafoCompacto(GrafoCompacto base, double[][] pesos, long version, long[] versionesPesos) {
+        this.numeroNodos = base.numeroNodos;
+        this.numeroAristas = base.numeroAristas;
+        this.version = version;
+        this.versionEstructura = base.versionEstructura;
+        this.versionesPesos = versionesPesos;
+        this.ids = base.ids;
+        this.zonas = base.zonas;
+        this.latitud = base.latitud;
+        this.longitud = base.longitud;
+        this.cosenoLatitud = base.cosenoLatitud;
+        this.coordenadasCompletas = base.coordenadasCompletas;
+        this.costoMinimoPorKm = base.costoMinimoPorKm.clone();
+        this.inicioAristas = base.inicioAristas;
+        this.origenArista = base.origenArista;
+        this.destinoArista = base.destinoArista;
+        this.inicioEntrantes = base.inicioEntrantes;
+        this.aristasEntrantes = base.aristasEntrantes;
+        this.rutas = base.rutas;
+        this.pesos = pesos;
+        this.indices = base.indices;
+        this.nodos = base.nodos;
+        this.todasLasRutas = base.todasLasRutas;
+        this.paresConectados = base.paresConectados;
+    }
+
+    /**
+     * Construye la representación compacta a partir de las estructuras del grafo.
+     *
+     * @param nodos Nodos del grafo en el orden de sus índices.
+     * @param aristas Rutas del grafo.
+     * @param indices Índice asignado a cada ID.
+     * @param version Versión del grafo que se está representando.
+     * @return Nueva instancia inmutable.
+     */
+    static GrafoCompacto construir(List<Nodo> nodos, List<Ruta> aristas, Map<String, Integer> indices, long version) {
+        int n = nodos.size();
+        List<Ruta> todasLasRutas = List.copyOf(aristas);
+
+        int m = 0;
+        for (Ruta ruta : todasLasRutas) {
+            if (ruta.isActiva()) m++;
+        }
+
+        List<Nodo> copiaNodos = List.copyOf(nodos);
+        boolean coordenadasCompletas = copiaNodos.stream().allMatch(GrafoCompacto::tieneCoordenadas);
+        GrafoCompacto grafo = new GrafoCompacto(n, m, version, Map.copyOf(indices), copiaNodos, todasLasRutas,
+                coordenadasCompletas);
+
+        for (int i = 0; i < n; i++) {
+            Nodo nodo = grafo.nodos.get(i);
+            grafo.ids[i] = nodo.getId();
+            if (tieneCoordenadas(nodo)) {
+                grafo.latitud[i] = Math.toRadians(nodo.getCoordenadaX());
+                grafo.longitud[i] = Math.toRadians(nodo.getCoordenadaY());
+                grafo.cosenoLatitud[i] = Math.cos(grafo.latitud[i]);
+            }
+        }
+
+        // Conteo de grado de salida y suma prefija (ordenamiento por conteo)
+        for (Ruta ruta : todasLasRutas) {
+            if (!ruta.isActiva()) continue;
+            grafo.inicioAristas[grafo.indices.get(ruta.getOrigen().getId()) + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            grafo.inicioAristas[i + 1] += grafo.inicioAristas[i];
+        }
+
+        int[] siguiente = new int[n];
+        System.arraycopy(grafo.inicioAristas, 0, siguiente, 0, n);
+
+        CriterioRuta[] criterios = CriterioRuta.values();
+
+        for (Ruta ruta : todasLasRutas) {
+            if (!ruta.isActiva()) continue;
+            int u = grafo.indices.get(ruta.getOrigen().getId());
+            int v = grafo.indices.get(ruta.getDestino().getId());
+            int e = siguiente[u]++;
+
+            grafo.origenArista[e] = u;
+            grafo.destinoArista[e] = v;
+            grafo.rutas[e] = ruta;
+            for (CriterioRuta criterio : criterios) {
+                grafo.pesos[criterio.ordinal()][e] = peso(ruta, criterio);
+            }
+
+            if (grafo.zonas[u] == null) grafo.zonas[u] = ruta.getOrigen();
+            if (grafo.zonas[v] == null) grafo.zonas[v] = ruta.getDestino();
+        }
+
+        grafo.construirAdyacenciaInversa();
+        if (grafo.coordenadasCompletas) {
+            grafo.calcularCostoMinimoPorKm(criterios);
+        }
+        return grafo;
+    }
+
+    /**
+     * Crea una copia que comparte la estructura (nodos, aristas, adyacencias)
+     * con esta instancia y solo recalcula los pesos del criterio indicado a
+     * partir del estado actual de las rutas. Permite refrescar en bloque pesos
+     * que cambian con frecuencia, como el tiempo con tráfico, sin reconstruir
+     * la representación completa. Solo avanza la versión de pesos de ese
+     * criterio; los demás conservan la suya.
+     *
+     * @param criterio Criterio cuyos pesos se recalculan.
+     * @param nuevaVersion Versión del grafo que representa la copia.
+     * @return Nueva instancia inmutable.
+     */
+    GrafoCompacto conPesosActualizados(CriterioRuta criterio, long nuevaVersion) {
+        double[][] nuevosPesos = pesos.clone();
+        double[] fila = new double[numeroAristas];
+        for (int e = 0; e < numeroAristas; e++) {
+            fila[e] = peso(rutas[e], criterio);
+        }
+        nuevosPesos[criterio.ordinal()] = fila;
+        long[] nuevasVersiones = versionesPesos.clone();
+        nuevasVersiones[criterio.ordinal()] = nuevaVersion;
+
+        GrafoCompacto copia = new GrafoCompacto(this, nuevosPesos, nuevaVersion, nuevasVersiones);
+        if (copia.coordenadasCompletas) {
+            copia.calcularCostoMinimoPorKm(criterio);
+        }
+        return copia;
+    }
+
+    /**
+     * Obtiene el peso de una ruta según el criterio.
+     *
+     * @param ruta Ruta a evaluar.
+     * @param criterio Criterio a optimizar.
+     * @return Peso de la ruta.
+     */
+    static double peso(Ruta ruta, CriterioRuta criterio) {
+        return switch (criterio) {
+            case DISTANCIA -> ruta.getDistancia();
+            case TIEMPO -> ruta.getTiempoEstimado();
+            case RIESGO -> ruta.getNivelRiesgo();
+            case TIEMPO_TRAFICO -> ruta.calcularTiempoConTrafico();
+        };
+    }
+
+    /**
+     * Construye la adyacencia inversa (CSR por nodo destino) mediante
+     * ordenamiento por conteo sobre los destinos de las aristas.
+     */
+    private void construirAdyacenciaInversa() {
+        for (int e = 0; e < numeroAristas; e++) {
+            inicioEntrantes[destinoArista[e] + 1]++;
+        }
+        for (int i = 0; i < numeroNodos; i++) {
+            inicioEntrantes[i + 1] += inicioEntrantes[i];
+        }
+        int[] siguiente = new int[numeroNodos];
+        System.arraycopy(inicioEntrantes, 0, siguiente, 0, numeroNodos);
+        for (int e = 0; e < numeroAristas; e++) {
+            aristasEntrantes[siguiente[destinoArista[e]]++] = e;
+        }
+    }
+
+    /**
+     * Un nodo tiene coordenadas si son latitud/longitud válidas y no ambas cero
+     * (valor por defecto de las zonas sin ubicación).
+     */
+    private static boolean tieneCoordenadas(Nodo nodo) {
+        double x = nodo.getCoordenadaX();
+        double y = nodo.getCoordenadaY();
+        return !(x == 0.0 && y == 0.0) && Math.abs(x) <= 90.0 && Math.abs(y) <= 180.0;
+    }
+
+    /**
+     * Calcula, para los criterios indicados, la menor relación peso/kilómetro
+     * entre las aristas cuyos extremos no coinciden geográficamente. Como cada
+     * arista cuesta al menos esa relación por su longitud de gran círculo, y
+     * esta distancia cumple la desigualdad triangular, la cota resultante es
+     * admisible y consistente para A*.
+     */
+    private void calcularCostoMinimoPorKm(CriterioRuta... criterios) {
+        for (CriterioRuta criterio : criterios) {
+            costoMinimoPorKm[criterio.ordinal()] = Double.POSITIVE_INFINITY;
+        }
+
+        for (int e = 0; e < numeroAristas; e++) {
+            double km = distanciaGeografica(origenArista[e], destinoArista[e]);
+            if (km <= 0.0) continue;
+            for (CriterioRuta criterio : criterios) {
+                double relacion = pesos[criterio.ordinal()][e] / km;
+                if (relacion < costoMinimoPorKm[criterio.ordinal()]) {
+                    costoMinimoPorKm[criterio.ordinal()] = relacion;
+                }
+            }
+        }
+
+        for (CriterioRuta criterio : criterios) {
+            int c = criterio.ordinal();
+            costoMinimoPorKm[c] = Double.isInfinite(costoMinimoPorKm[c])
+                    ? 0.0 : costoMinimoPorKm[c] * FACTOR_SEGURIDAD;
+        }
+    }
+
+    /**
+     * Calcula la distancia de gran círculo (fórmula del haversine) entre dos nodos.
+     *
+     * @return Distancia en kilómetros.
+     */
+    double distanciaGeografica(int u, int v) {
+        double senoLat = Math.sin((latitud[v] - latitud[u]) * 0.5);
+        double senoLon = Math.sin((longitud[v] - longitud[u]) * 0.5);
+        double h = senoLat * senoLat + cosenoLatitud[u] * cosenoLatitud[v] * senoLon * senoLon;
+        return 2.0 * RADIO_TIERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(h)));
+    }
+
+    /**
+     * Cota inferior admisible del costo de ir de {@code u} a {@code v} según el
+     * criterio, derivada de las coordenadas. Solo es válida si
+     * {@link #admiteHeuristicaGeografica(CriterioRuta)} es verdadero.
+     *
+     * @return Cota inferior del costo.
+     */
+    double cotaGeografica(CriterioRuta criterio, int u, int v) {
+        return costoMinimoPorKm[criterio.ordinal()] * distanciaGeografica(u, v);
+    }
+
+    /**
+     * Indica si la heurística geográfica puede usarse: todos los nodos tienen
+     * coordenadas y la relación peso/kilómetro del criterio es positiva.
+     *
+     * @param criterio Criterio a optimizar.
+     * @return true si A* aporta información sobre Dijkstra.
+     */
+    boolean admiteHeuristicaGeografica(CriterioRuta criterio) {
+        return coordenadasCompletas && costoMinimoPorKm[criterio.ordinal()] > 0.0;
+    }
+
+    /**
+     * Obtiene el arreglo de pesos de las aristas para un criterio.
+     * El arreglo es compartido y no debe modificarse.
+     *
+     * @param criterio Criterio a optimizar.
+     * @return Pesos indexados por arista.
+     */
+    double[] pesos(CriterioRuta criterio) {
+        return pesos[criterio.ordinal()];
+    }
+
+    /** @return Primer índice de arista saliente del nodo. */
+    int inicioAristas(int nodo) {
+        return inicioAristas[nodo];
+    }
+
+    /** @return Índice siguiente a la última arista saliente del nodo. */
+    int finAristas(int nodo) {
+        return inicioAristas[nodo + 1];
+    }
+
+    /** @return Primera posición de las aristas entrantes del nodo en {@link #aristaEntrante(int)}. */
+    int inicioEntrantes(int nodo) {
+        return inicioEntrantes[nodo];
+    }
+
+    /** @return Posición siguiente a la última arista entrante del nodo. */
+    int finEntrantes(int nodo) {
+        return inicioEntrantes[nodo + 1];
+    }
+
+    /** @return Índice de la arista almacenada en la posición dada de la adyacencia inversa. */
+    int aristaEntrante(int posicion) {
+        return aristasEntrantes[posicion];
+    }
+
+    /** @return Nodo origen de la arista. */
+    int origen(int arista) {
+        return origenArista[arista];
+    }
+
+    /** @return Nodo destino de la arista. */
+    int destino(int arista) {
+        return destinoArista[arista];
+    }
+
+    /** @return Ruta original de la arista. */
+    Ruta ruta(int arista) {
+        return rutas[arista];
+    }
+
+    /** @return Zona asociada al nodo, o null si no aparece en ninguna ruta. */
+    Zona zona(int nodo) {
+        return zonas[nodo];
+    }
+
+    /** @return ID de la zona correspondiente al índice. */
+    public String id(int nodo) {
+        return ids[nodo];
+    }
+
+    /**
+     * Obtiene el índice de un nodo en esta versión del grafo.
+     *
+     * @param id ID del nodo.
+     * @return Índice del nodo, o -1 si no existía en esta versión.
+     */
+    public int indice(String id) {
+        Integer indice = id != null ? indices.get(id) : null;
+        return indice != null ? indice : -1;
+    }
+
+    /** @return Índice de cada ID de nodo en esta versión (no modificable). */
+    Map<String, Integer> getIndices() {
+        return indices;
+    }
+
+    /** @return Nodos de esta versión en el orden de sus índices (no modificable). */
+    public List<Nodo> getNodos() {
+        return nodos;
+    }
+
+    /** @return Todas las rutas de esta versión, incluidas las inactivas (no modificable). */
+    public List<Ruta> getRutas() {
+        return todasLasRutas;
+    }
+
+    /**
+     * @param origen Índice del nodo origen.
+     * @param destino Índice del nodo destino.
+     * @return true si hay al menos una ruta directa (activa o no) de origen a destino.
+     */
+    boolean existeRutaDirecta(int origen, int destino) {
+        return paresConectados.contains(clavePar(origen, destino));
+    }
+
+    /** Codifica un par de índices de nodo en una sola clave. */
+    private static long clavePar(int origen, int destino) {
+        return ((long) origen << 32) | (destino & 0xFFFFFFFFL);
+    }
+
+    /** @return Cantidad de nodos. */
+    public int getNumeroNodos() {
+        return numeroNodos;
+    }
+
+    /** @return Cantidad de aristas activas. */
+    public int getNumeroAristas() {
+        return numeroAristas;
+    }
+
+    /** @return Versión del grafo representada. */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Obtiene la versión en la que se reconstruyó por última vez la
+     * estructura (nodos y aristas activas). Dos instantáneas con la misma
+     * versión de estructura solo difieren en los pesos actualizados en bloque,
+     * como el tiempo con tráfico, así que los análisis que solo dependen de la
+     * conectividad siguen valiendo.
+     *
+     * @return Versión de la estructura, no mayor que {@link #getVersion()}.
+     */
+    public long getVersionEstructura() {
+        return versionEstructura;
+    }
+
+    /**
+     * Obtiene la versión en la que cambiaron por última vez la estructura o
+     * los pesos de un criterio. Dos instantáneas con la misma versión de
+     * pesos dan los mismos caminos con ese criterio, así que los resultados
+     * calculados con una siguen valiendo para la otra (por ejemplo, un cambio
+     * de ocupación no invalida los caminos por distancia).
+     *
+     * @param criterio Criterio de los pesos.
+     * @return Versión de los pesos del criterio, no mayor que {@link #getVersion()}.
+     */
+    public long getVersionPesos(CriterioRuta criterio) {
+        return versionesPesos[criterio.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GrafoCompacto{nodos=%d, aristas=%d, version=%d}", numeroNodos, numeroAristas, version);
+    }
+}
@@ -1,8 +1,38 @@
 package co.edu.uniquindio.GestionRiesgos.Estructuras;
 
+import co.edu.uniquindio.GestionRiesgos.Enums.AlgoritmoRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
 import co.edu.uniquindio.GestionRiesgos.Interfaces.ICalcularRuta;
+import co.edu.uniquindio.GestionRiesgos.Model.Evacuacion;
 import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Clase que implementa un grafo dirigido para representar las conexiones entre
@@ -15,17 +45,52 @@ import java.util.*;
  * - Una lista de nodos.
  * - Una lista de rutas (aristas dirigidas).
  * - Un mapa de nodos para acceso rápido por ID.
- * - Una lista de adyacencia para gestionar las conexiones.
+ * - Listas de adyacencia de salida y de entrada para gestionar las conexiones.
+ * - Un índice entero denso por zona y una representación compacta
+ *   ({@link GrafoCompacto}) sobre la que se ejecutan los algoritmos de rutas.
  *
  * Además, implementa la interfaz {@link ICalcularRuta}, permitiendo que el
  * grafo se utilice como motor de cálculo de rutas dentro del sistema.
+ *
+ * Es seguro para uso concurrente. Las modificaciones se serializan con el
+ * monitor del grafo y dejan pendiente la publicación de una nueva instantánea
+ * inmutable ({@link GrafoCompacto}), que se construye una sola vez en la
+ * siguiente consulta, por muchas modificaciones que se hayan acumulado. Las
+ * consultas toman la instantánea vigente sin bloquearse (salvo la primera
+ * tras un cambio, que la publica), así que no ven un estado a medio
+ * actualizar y pueden atenderse en paralelo. Para agrupar muchas
+ * modificaciones en una sola versión se usa {@link #ejecutarEnLote(Runnable)}.
  */
 public class GrafoDirigido implements ICalcularRuta {
 
-    /** Lista de nodos del grafo */
+    private static final Logger log = LoggerFactory.getLogger(GrafoDirigido.class);
+
+    /** Cantidad de caminos alternativos considerados por {@link #calcularTodasLasRutas} */
+    public static final int MAXIMO_RUTAS_ALTERNATIVAS = 10;
+
+    /** Intervalo mínimo por defecto entre reconstrucciones de la jerarquía con tráfico */
+    public static final long INTERVALO_JERARQUIA_TRAFICO_MS = 10_000;
+
+    /**
+     * Pool de las tareas de fondo (jerarquías de contracción y centralidad),
+     * compartido por todos los grafos y separado del pool común de ForkJoin
+     * para no competir con las consultas que lo usan (delta-stepping, matriz
+     * de costos, isócronas). Los flujos paralelos de esas tareas se reparten
+     * en este mismo pool. Usa la mitad de los procesadores.
+     */
+    private static final ForkJoinPool SEGUNDO_PLANO = new ForkJoinPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+            pool -> {
+                ForkJoinWorkerThread hilo = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                hilo.setName("grafo-segundo-plano-" + hilo.getPoolIndex());
+                return hilo;
+            },
+            null, false);
+
+    /** Lista de nodos del grafo, en el orden de sus índices (protegida por el monitor) */
     private List<Nodo> nodos;
 
-    /** Lista de aristas o rutas entre nodos */
+    /** Lista de aristas o rutas entre nodos (protegida por el monitor) */
     private List<Ruta> aristas;
 
     /** Mapa para acceso rápido a nodos por su ID */
@@ -34,8 +99,125 @@ public class GrafoDirigido implements ICalcularRuta {
     /** Lista de adyacencia: ID del nodo → rutas salientes */
     private Map<String, List<Ruta>> listaAdyacencia;
 
+    /** Lista de adyacencia inversa: ID del nodo → rutas entrantes */
+    private Map<String, List<Ruta>> listaAdyacenciaInversa;
+
+    /**
+     * Acciones que retiran los observadores que el grafo registró en sus
+     * nodos y rutas (protegida por el monitor); ver {@link #desconectar()}
+     */
+    private final List<Runnable> desconexiones = new ArrayList<>();
+
+    /**
+     * Espacios de trabajo de las búsquedas en lote, uno por procesador y
+     * compartidos por todos los lotes; cada uno crece al tamaño de la
+     * instantánea en su primera búsqueda y luego se reutiliza
+     */
+    private final BlockingQueue<EspacioBusqueda> espaciosLote;
+
+    /** Índice entero denso asignado a cada ID de nodo (solo crece) */
+    private Map<String, Integer> indices;
+
+    /** Versión estructural del grafo; se incrementa con cada modificación (protegida por el monitor) */
+    private long version;
+
+    /** Última instantánea publicada; las consultas la leen sin sincronización */
+    private volatile GrafoCompacto grafoCompacto;
+
+    /** Indica que hay modificaciones sin publicar; la siguiente consulta las publica */
+    private volatile boolean publicacionPendiente;
+
+    /** Instantánea de la versión en curso dentro de un lote, aún sin publicar */
+    private GrafoCompacto grafoEnLote;
+
+    /** Cantidad de lotes anidados en curso; se publica al cerrar el más externo */
+    private int profundidadLote;
+
+    /**
+     * Indica que cambió la estructura o el peso de alguna ruta desde la última
+     * representación compacta. Si solo cambió la ocupación, basta con
+     * refrescar los pesos con tráfico.
+     */
+    private boolean reconstruccionPendiente;
+
+    /** Perfil de congestión por hora de salida (null si no se usa) */
+    private volatile PerfilCongestion perfilCongestion;
+
+    /** Indica si se deben preparar jerarquías de contracción en segundo plano */
+    private volatile boolean jerarquiasHabilitadas;
+
+    /** Evita lanzar más de una construcción de jerarquías a la vez */
+    private final AtomicBoolean jerarquiasEnConstruccion = new AtomicBoolean();
+
+    /** Últimas jerarquías de contracción completadas, por criterio */
+    private volatile Map<CriterioRuta, JerarquiaContraccion> jerarquias = new EnumMap<>(CriterioRuta.class);
+
+    /** Intervalo mínimo entre reconstrucciones de la jerarquía con tráfico, en nanosegundos */
+    private volatile long intervaloJerarquiaTrafico = TimeUnit.MILLISECONDS.toNanos(INTERVALO_JERARQUIA_TRAFICO_MS);
+
+    /** Momento (System.nanoTime) en que se lanzó la última construcción de la jerarquía con tráfico */
+    private volatile long inicioJerarquiaTrafico;
+
+    /** Indica si la centralidad de intermediación se recalcula en segundo plano tras cada cambio */
+    private volatile boolean centralidadHabilitada;
+
+    /** Evita lanzar más de un cálculo de centralidad a la vez */
+    private final AtomicBoolean centralidadEnCalculo = new AtomicBoolean();
+
+    /** Criterio y límite de fuentes del cálculo de centralidad */
+    private volatile CriterioRuta criterioCentralidad = CriterioRuta.TIEMPO;
+    private volatile int muestrasCentralidad = CentralidadIntermediacion.MUESTRAS_POR_DEFECTO;
+
+    /** Último resultado de centralidad completado (null si aún no hay) */
+    private volatile ResultadoCentralidad centralidad;
+
+    /** Pesos con los que se calculó la última centralidad, para no repetirla si no cambiaron */
+    private volatile double[] pesosCentralidad;
+
+    /** Último análisis de puentes y puntos de articulación, base del de la versión siguiente */
+    private final AtomicReference<ResultadoVulnerabilidad> vulnerabilidad = new AtomicReference<>();
+
+    /** Cantidad de puntos de referencia usados por la heurística ALT */
+    private volatile int cantidadPuntosReferencia = PuntosReferencia.CANTIDAD_POR_DEFECTO;
+
+    /** Tablas de puntos de referencia más recientes, por criterio */
+    private final Map<CriterioRuta, PuntosReferencia> puntosReferencia = new ConcurrentHashMap<>();
+
+    /**
+     * Última versión, por criterio, en la que cambió el peso de una ruta
+     * existente; las tablas anteriores a ella no admiten actualización incremental.
+     */
+    private final AtomicLongArray versionInvalidacionPuntos = new AtomicLongArray(CriterioRuta.values().length);
+
+    /** Máximo de etiquetas por nodo en la búsqueda multiobjetivo */
+    private volatile int limiteEtiquetasPareto = BusquedaPareto.LIMITE_ETIQUETAS_POR_DEFECTO;
+
+    /** Índices de instalación más cercana, por tipo de instalación y criterio */
+    private final Map<Nodo.TipoNodo, Map<CriterioRuta, IndiceInstalaciones>> indicesInstalaciones =
+            new ConcurrentHashMap<>();
+
+    /** Último índice de alcanzabilidad calculado, base del de la versión siguiente */
+    private final AtomicReference<IndiceAlcanzabilidad> alcanzabilidad = new AtomicReference<>();
+
+    /**
+     * Última versión en la que una ruta se desactivó o se activó uniendo
+     * zonas que no se alcanzaban; los índices anteriores a ella no admiten
+     * actualización incremental.
+     */
+    private volatile long versionInvalidacionAlcanzabilidad;
+
+    /** Último plan en lote de evacuaciones, para replanificar de forma incremental */
+    private final PlanificadorEvacuaciones planificadorEvacuaciones = new PlanificadorEvacuaciones();
+
+    /** Caché de caminos mínimos por (origen, destino, criterio); null si está deshabilitada */
+    private volatile CacheRutas cacheRutas = new CacheRutas(CacheRutas.CAPACIDAD_POR_DEFECTO);
+
+    /** Caché de isócronas por origen, criterio y cubeta de presupuesto (null = deshabilitada) */
+    private volatile CacheIsocronas cacheIsocronas =
+            new CacheIsocronas(CacheIsocronas.CAPACIDAD_POR_DEFECTO, CacheIsocronas.ANCHO_CUBETA_POR_DEFECTO);
+
     /** Calculador alternativo de rutas (inyección opcional) */
-    private ICalcularRuta calculadorRutas;
+    private volatile ICalcularRuta calculadorRutas;
 
     /**
      * Constructor principal del grafo.
@@ -44,8 +226,14 @@ public class GrafoDirigido implements ICalcularRuta {
     public GrafoDirigido() {
         this.nodos = new ArrayList<>();
         this.aristas = new ArrayList<>();
-        this.mapaNodos = new HashMap<>();
-        this.listaAdyacencia = new HashMap<>();
+        this.mapaNodos = new ConcurrentHashMap<>();
+        this.listaAdyacencia = new ConcurrentHashMap<>();
+        this.listaAdyacenciaInversa = new ConcurrentHashMap<>();
+        this.indices = new ConcurrentHashMap<>();
+        int procesadores = Runtime.getRuntime().availableProcessors();
+        this.espaciosLote = new ArrayBlockingQueue<>(procesadores);
+        for (int i = 0; i < procesadores; i++) espaciosLote.add(EspacioBusqueda.crear());
+        this.grafoCompacto = GrafoCompacto.construir(nodos, aristas, indices, version);
     }
 
     /**
@@ -59,17 +247,76 @@ public class GrafoDirigido implements ICalcularRuta {
         this.calculadorRutas = calculadorRutas;
     }
 
+    /**
+     * Aplica un conjunto de modificaciones (nodos y rutas agregados, cambios
+     * en las rutas) como una sola versión del grafo: la instantánea se
+     * reconstruye una vez al terminar, en lugar de tras cada modificación.
+     * Mientras dura el lote, las consultas de otros hilos siguen viendo la
+     * versión anterior completa. Los lotes pueden anidarse; la versión queda
+     * lista para publicarse al terminar el más externo, incluso si el lote
+     * falla a mitad de camino. Antes de empezar se publica lo pendiente, para
+     * que las consultas no tengan que esperar a que termine el lote.
+     *
+     * @param cambios Modificaciones a aplicar.
+     */
+    public synchronized void ejecutarEnLote(Runnable cambios) {
+        if (profundidadLote == 0 && publicacionPendiente) grafoVigente();
+        profundidadLote++;
+        try {
+            cambios.run();
+        } finally {
+            profundidadLote--;
+            publicar();
+        }
+    }
+
+    /**
+     * Desliga el grafo de sus nodos y rutas cuando se descarta: retira los
+     * observadores que registró en ellos y detiene las tareas de fondo. Así
+     * los cambios posteriores en esas rutas no toman el monitor de este
+     * grafo ni lo mantienen alcanzable. Las consultas siguen respondiendo
+     * con la última instantánea publicada.
+     */
+    public synchronized void desconectar() {
+        jerarquiasHabilitadas = false;
+        centralidadHabilitada = false;
+        desconexiones.forEach(Runnable::run);
+        desconexiones.clear();
+    }
+
     /**
      * Agrega un nodo al grafo si no existe previamente.
      *
      * @param nodo Nodo a agregar.
      */
-    public void agregarNodo(Nodo nodo) {
+    public synchronized void agregarNodo(Nodo nodo) {
+        if (registrarNodo(nodo)) {
+            publicar();
+        }
+    }
+
+    /**
+     * Incorpora el nodo a las estructuras del grafo sin publicar una nueva
+     * versión.
+     *
+     * @return true si el nodo no existía y se agregó.
+     */
+    private boolean registrarNodo(Nodo nodo) {
         if (nodo != null && !mapaNodos.containsKey(nodo.getId())) {
+            indices.put(nodo.getId(), nodos.size());
             nodos.add(nodo);
+            listaAdyacencia.put(nodo.getId(), new CopyOnWriteArrayList<>());
+            listaAdyacenciaInversa.put(nodo.getId(), new CopyOnWriteArrayList<>());
             mapaNodos.put(nodo.getId(), nodo);
-            listaAdyacencia.put(nodo.getId(), new ArrayList<>());
+            Runnable observador = () -> nodoModificado(nodo);
+            nodo.agregarObservador(observador);
+            desconexiones.add(() -> nodo.quitarObservador(observador));
+            reconstruccionPendiente = true;
+            version++;
+            nodoModificado(nodo);
+            return true;
         }
+        return false;
     }
 
     /**
@@ -78,29 +325,180 @@ public class GrafoDirigido implements ICalcularRuta {
      *
      * @param ruta Ruta o arista a incluir en el grafo.
      */
-    public void agregarArista(Ruta ruta) {
+    public synchronized void agregarArista(Ruta ruta) {
         if (ruta != null && ruta.getOrigen() != null && ruta.getDestino() != null) {
 
-            // Clonar nodos para evitar referencias compartidas
-            Nodo nodoOrigen = new Nodo();
-            nodoOrigen.setId(ruta.getOrigen().getId());
-            nodoOrigen.setNombre(ruta.getOrigen().getNombre());
-            nodoOrigen.setCoordenadaX(ruta.getOrigen().getCoordenadaX());
-            nodoOrigen.setCoordenadaY(ruta.getOrigen().getCoordenadaY());
-            nodoOrigen.setTipo(Nodo.TipoNodo.CIUDAD);
-
-            Nodo nodoDestino = new Nodo();
-            nodoDestino.setId(ruta.getDestino().getId());
-            nodoDestino.setNombre(ruta.getDestino().getNombre());
-            nodoDestino.setCoordenadaX(ruta.getDestino().getCoordenadaX());
-            nodoDestino.setCoordenadaY(ruta.getDestino().getCoordenadaY());
-            nodoDestino.setTipo(Nodo.TipoNodo.CIUDAD);
-
-            agregarNodo(nodoOrigen);
-            agregarNodo(nodoDestino);
+            // Solo se crean nodos para las zonas que aún no están en el grafo
+            if (!mapaNodos.containsKey(ruta.getOrigen().getId())) {
+                registrarNodo(crearNodo(ruta.getOrigen()));
+            }
+            if (!mapaNodos.containsKey(ruta.getDestino().getId())) {
+                registrarNodo(crearNodo(ruta.getDestino()));
+            }
 
             aristas.add(ruta);
             listaAdyacencia.get(ruta.getOrigen().getId()).add(ruta);
+            listaAdyacenciaInversa.get(ruta.getDestino().getId()).add(ruta);
+            Runnable observador = () -> rutaModificada(ruta);
+            Runnable observadorOcupacion = () -> ocupacionModificada(ruta);
+            ruta.agregarObservador(observador);
+            ruta.agregarObservadorOcupacion(observadorOcupacion);
+            desconexiones.add(() -> {
+                ruta.quitarObservador(observador);
+                ruta.quitarObservador(observadorOcupacion);
+            });
+            reconstruccionPendiente = true;
+            version++;
+            notificarIndices(ruta);
+            publicar();
+        }
+    }
+
+    /**
+     * Se ejecuta cuando cambia el peso o el estado activo de una ruta del
+     * grafo. Incrementa la versión para que la representación compacta, las
+     * jerarquías y la caché se consideren obsoletas, y descarta las tablas de
+     * puntos de referencia, que solo admiten actualizaciones incrementales
+     * cuando se agregan rutas. El índice de alcanzabilidad solo se descarta
+     * si la ruta quedó inactiva o une zonas que aún no se alcanzaban. Los
+     * índices de instalaciones registran la ruta para actualizarse en la
+     * próxima consulta.
+     */
+    private synchronized void rutaModificada(Ruta ruta) {
+        reconstruccionPendiente = true;
+        version++;
+        for (CriterioRuta criterio : CriterioRuta.values()) {
+            versionInvalidacionPuntos.set(criterio.ordinal(), version);
+        }
+        if (!ruta.isActiva() || !alcanzabaAntes(ruta)) {
+            versionInvalidacionAlcanzabilidad = version;
+        }
+        notificarIndices(ruta);
+        publicar();
+    }
+
+    /** @return true si, según el último índice de alcanzabilidad, el origen de la ruta ya alcanzaba su destino. */
+    private boolean alcanzabaAntes(Ruta ruta) {
+        IndiceAlcanzabilidad indice = alcanzabilidad.get();
+        if (indice == null) return false;
+        int origen = indices.get(ruta.getOrigen().getId());
+        int destino = indices.get(ruta.getDestino().getId());
+        int n = indice.getNodos().size();
+        return origen < n && destino < n && indice.alcanza(origen, destino);
+    }
+
+    /** Registra una ruta nueva o modificada en los índices de instalaciones. */
+    private synchronized void notificarIndices(Ruta ruta) {
+        for (Map<CriterioRuta, IndiceInstalaciones> porCriterio : indicesInstalaciones.values()) {
+            porCriterio.values().forEach(indice -> indice.rutaModificada(ruta));
+        }
+    }
+
+    /**
+     * Se ejecuta cuando cambia la ocupación o la capacidad de una ruta del
+     * grafo. Solo afecta al criterio {@link CriterioRuta#TIEMPO_TRAFICO}: sus
+     * pesos se recalculan en bloque en la próxima consulta, sin reconstruir
+     * la representación compacta, y solo avanza su versión de pesos, así que
+     * los caminos, isócronas y jerarquías de los demás criterios siguen vigentes.
+     */
+    private synchronized void ocupacionModificada(Ruta ruta) {
+        version++;
+        versionInvalidacionPuntos.set(CriterioRuta.TIEMPO_TRAFICO.ordinal(), version);
+        for (Map<CriterioRuta, IndiceInstalaciones> porCriterio : indicesInstalaciones.values()) {
+            IndiceInstalaciones indice = porCriterio.get(CriterioRuta.TIEMPO_TRAFICO);
+            if (indice != null) indice.rutaModificada(ruta);
+        }
+        publicar();
+    }
+
+    /**
+     * Se ejecuta cuando se agrega un nodo o cambia su tipo o estado, para que
+     * los índices de instalaciones incorporen o retiren la instalación.
+     */
+    private synchronized void nodoModificado(Nodo nodo) {
+        int indice = indices.get(nodo.getId());
+        for (Map<CriterioRuta, IndiceInstalaciones> porCriterio : indicesInstalaciones.values()) {
+            porCriterio.values().forEach(indiceInstalaciones -> indiceInstalaciones.nodoModificado(indice, nodo));
+        }
+    }
+
+    /**
+     * Crea el nodo del grafo que representa a una zona.
+     */
+    private Nodo crearNodo(Zona zona) {
+        Nodo nodo = new Nodo();
+        nodo.setId(zona.getId());
+        nodo.setNombre(zona.getNombre());
+        nodo.setCoordenadaX(zona.getCoordenadaX());
+        nodo.setCoordenadaY(zona.getCoordenadaY());
+        nodo.setTipo(Nodo.TipoNodo.CIUDAD);
+        return nodo;
+    }
+
+    /**
+     * Obtiene la instantánea vigente del grafo en representación compacta
+     * (CSR). La instantánea es inmutable y se reemplaza de forma atómica; solo
+     * la primera consulta tras una modificación o lote toma el monitor para
+     * publicarla, y las demás no se bloquean.
+     *
+     * @return Grafo compacto inmutable.
+     */
+    public GrafoCompacto obtenerGrafoCompacto() {
+        if (publicacionPendiente) {
+            synchronized (this) {
+                if (publicacionPendiente && profundidadLote == 0) grafoVigente();
+            }
+        }
+        return grafoCompacto;
+    }
+
+    /**
+     * Obtiene la representación compacta de la versión actual, incluidas las
+     * modificaciones de un lote en curso. Se reconstruye solo si el grafo
+     * cambió; si solo cambió la ocupación de las rutas, se comparte la
+     * estructura y se refrescan en bloque los pesos con tráfico. Dentro de
+     * un lote queda como borrador; fuera de él se publica y, si cambió, se
+     * sincronizan los índices de instalaciones y se programan en segundo
+     * plano las jerarquías y la centralidad.
+     * Debe invocarse con el monitor del grafo tomado.
+     */
+    private GrafoCompacto grafoVigente() {
+        GrafoCompacto grafo = grafoEnLote != null ? grafoEnLote : grafoCompacto;
+        if (grafo.getVersion() != version) {
+            if (reconstruccionPendiente) {
+                reconstruccionPendiente = false;
+                grafo = GrafoCompacto.construir(nodos, aristas, indices, version);
+            } else {
+                grafo = grafo.conPesosActualizados(CriterioRuta.TIEMPO_TRAFICO, version);
+            }
+        }
+        if (profundidadLote > 0) {
+            grafoEnLote = grafo;
+        } else {
+            grafoEnLote = null;
+            publicacionPendiente = false;
+            if (grafo != grafoCompacto) {
+                grafoCompacto = grafo;
+                for (Map<CriterioRuta, IndiceInstalaciones> porCriterio : indicesInstalaciones.values()) {
+                    for (IndiceInstalaciones indice : porCriterio.values()) {
+                        indice.sincronizar(grafo);
+                    }
+                }
+                programarJerarquias(grafo);
+                programarCentralidad();
+            }
+        }
+        return grafo;
+    }
+
+    /**
+     * Deja la versión actual pendiente de publicación, salvo que haya un lote
+     * en curso (se marca al cerrarlo). Así una ráfaga de modificaciones
+     * sueltas produce una sola instantánea, en la consulta siguiente.
+     */
+    private void publicar() {
+        if (profundidadLote == 0) {
+            publicacionPendiente = true;
         }
     }
 
@@ -118,35 +516,151 @@ public class GrafoDirigido implements ICalcularRuta {
      * Obtiene todas las rutas que salen desde un nodo origen.
      *
      * @param idOrigen ID del nodo origen.
-     * @return Lista de rutas salientes.
+     * @return Lista (no modificable) de rutas salientes.
      */
     public List<Ruta> obtenerRutasDesde(String idOrigen) {
-        return listaAdyacencia.getOrDefault(idOrigen, new ArrayList<>());
+        List<Ruta> salientes = listaAdyacencia.get(idOrigen);
+        return salientes != null ? Collections.unmodifiableList(salientes) : List.of();
     }
 
     /**
-     * Obtiene todas las rutas que llegan a un nodo destino.
+     * Obtiene todas las rutas que llegan a un nodo destino. Usa la lista de
+     * adyacencia inversa, por lo que el costo es proporcional a la cantidad
+     * de rutas entrantes.
      *
      * @param idDestino ID del nodo destino.
-     * @return Lista de rutas entrantes.
+     * @return Lista (no modificable) de rutas entrantes.
      */
     public List<Ruta> obtenerRutasHacia(String idDestino) {
-        return aristas.stream()
-                .filter(ruta -> ruta.getDestino().getId().equals(idDestino))
-                .toList();
+        List<Ruta> entrantes = listaAdyacenciaInversa.get(idDestino);
+        return entrantes != null ? Collections.unmodifiableList(entrantes) : List.of();
     }
 
     /**
-     * Verifica si existe una ruta directa entre dos nodos.
+     * Verifica si existe una ruta directa entre dos nodos en tiempo constante,
+     * sobre la instantánea vigente.
      *
      * @param idOrigen ID del nodo origen.
      * @param idDestino ID del nodo destino.
      * @return true si existe, false en caso contrario.
      */
     public boolean existeRuta(String idOrigen, String idDestino) {
-        return listaAdyacencia.getOrDefault(idOrigen, new ArrayList<>())
-                .stream()
-                .anyMatch(ruta -> ruta.getDestino().getId().equals(idDestino));
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        int origen = grafo.indice(idOrigen);
+        int destino = grafo.indice(idDestino);
+        return origen >= 0 && destino >= 0 && grafo.existeRutaDirecta(origen, destino);
+    }
+
+    /**
+     * Verifica si existe algún camino (de una o más rutas activas) entre dos
+     * nodos. A diferencia de {@link #existeRuta(String, String)}, no se limita
+     * a rutas directas. Se responde en tiempo constante con la clausura
+     * transitiva del grafo de componentes fuertemente conexas, que se
+     * mantiene al agregar rutas, sin bloquear sobre la instantánea vigente.
+     *
+     * @param idOrigen ID del nodo origen.
+     * @param idDestino ID del nodo destino.
+     * @return true si el destino es alcanzable desde el origen.
+     */
+    public boolean esAlcanzable(String idOrigen, String idDestino) {
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        int origen = grafo.indice(idOrigen);
+        int destino = grafo.indice(idDestino);
+        if (origen < 0 || destino < 0) return false;
+        return indiceAlcanzabilidad(grafo).alcanza(origen, destino);
+    }
+
+    /**
+     * Verifica si la zona destino es alcanzable desde la zona origen.
+     */
+    public boolean esAlcanzable(Zona origen, Zona destino) {
+        if (origen == null || destino == null) return false;
+        return esAlcanzable(origen.getId(), destino.getId());
+    }
+
+    /**
+     * Obtiene los nodos a los que no se puede llegar desde el nodo indicado,
+     * por ejemplo, para alertar de zonas aisladas de una base de operaciones.
+     *
+     * @param idOrigen ID del nodo origen.
+     * @return IDs de los nodos inalcanzables (vacía si el origen no existe).
+     */
+    public List<String> obtenerInalcanzablesDesde(String idOrigen) {
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        int origen = grafo.indice(idOrigen);
+        if (origen < 0) return new ArrayList<>();
+        return idsNoMarcados(grafo, indiceAlcanzabilidad(grafo).alcanzablesDesde(origen));
+    }
+
+    /**
+     * Obtiene los nodos desde los que no se puede llegar al nodo indicado,
+     * por ejemplo, zonas que no tienen camino hacia un refugio.
+     *
+     * @param idDestino ID del nodo destino.
+     * @return IDs de los nodos que no lo alcanzan (vacía si el destino no existe).
+     */
+    public List<String> obtenerQueNoAlcanzan(String idDestino) {
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        int destino = grafo.indice(idDestino);
+        if (destino < 0) return new ArrayList<>();
+        return idsNoMarcados(grafo, indiceAlcanzabilidad(grafo).alcanzanA(destino));
+    }
+
+    /**
+     * @return Cantidad de componentes fuertemente conexas del grafo (grupos
+     *         de nodos mutuamente alcanzables por rutas activas).
+     */
+    public int contarComponentesFuertementeConexas() {
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        return indiceAlcanzabilidad(grafo).getNumeroComponentes();
+    }
+
+    /**
+     * Analiza los puntos únicos de falla de la red: las rutas y zonas cuyo
+     * cierre aísla zonas de su componente fuertemente conexa, y qué zonas
+     * quedan sin acceso o sin salida en cada caso. Se calcula sin bloquear
+     * sobre la versión publicada y queda en caché hasta el siguiente cambio
+     * de estructura (los cambios de ocupación no lo invalidan); si la
+     * versión nueva solo agregó rutas, se recalculan únicamente las
+     * componentes que recibieron rutas internas.
+     *
+     * @return Puentes y puntos de articulación fuertes de la estructura actual.
+     */
+    public ResultadoVulnerabilidad analizarVulnerabilidad() {
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        ResultadoVulnerabilidad anterior = vulnerabilidad.get();
+        if (anterior != null && anterior.getVersionEstructura() == grafo.getVersionEstructura()) return anterior;
+
+        ResultadoVulnerabilidad resultado = AnalisisVulnerabilidad.calcular(grafo, anterior);
+        vulnerabilidad.accumulateAndGet(resultado, (actual, nuevo) ->
+                actual == null || actual.getVersion() < nuevo.getVersion() ? nuevo : actual);
+        return resultado;
+    }
+
+    /**
+     * Obtiene el índice de alcanzabilidad de una instantánea sin bloquear. Si
+     * el último índice es de una versión anterior y desde entonces solo se
+     * agregaron rutas, se actualiza a partir de él; si no, se reconstruye.
+     */
+    private IndiceAlcanzabilidad indiceAlcanzabilidad(GrafoCompacto grafo) {
+        IndiceAlcanzabilidad anterior = alcanzabilidad.get();
+        if (anterior != null && anterior.getVersion() == grafo.getVersion()) return anterior;
+
+        IndiceAlcanzabilidad indice = anterior != null && anterior.getVersion() < grafo.getVersion()
+                && anterior.getVersion() >= versionInvalidacionAlcanzabilidad
+                ? anterior.actualizar(grafo)
+                : IndiceAlcanzabilidad.construir(grafo);
+        alcanzabilidad.accumulateAndGet(indice, (actual, nuevo) ->
+                actual == null || actual.getVersion() < nuevo.getVersion() ? nuevo : actual);
+        return indice;
+    }
+
+    private static List<String> idsNoMarcados(GrafoCompacto grafo, boolean[] marcados) {
+        List<String> resultado = new ArrayList<>();
+        for (int i = 0; i < marcados.length; i++) {
+            if (!marcados[i]) resultado.add(grafo.id(i));
+        }
+        return resultado;
     }
 
     /**
@@ -159,129 +673,1011 @@ public class GrafoDirigido implements ICalcularRuta {
     @Override
     public List<Zona> calcularRutaMasCorta(Zona origen, Zona destino) {
         if (origen == null || destino == null) return new ArrayList<>();
+        if (origen.getId().equals(destino.getId())) return new ArrayList<>(List.of(destino));
+
+        Camino camino = calcularRuta(origen, destino, CriterioRuta.DISTANCIA, AlgoritmoRuta.DIJKSTRA);
+        return camino != null ? camino.getZonas() : new ArrayList<>();
+    }
 
-        Map<String, Double> distancias = new HashMap<>();
-        Map<String, Zona> predecesores = new HashMap<>();
+    /**
+     * Habilita el preprocesamiento con jerarquías de contracción. La primera
+     * construcción se lanza de inmediato en segundo plano y, a partir de ese
+     * momento, cada versión publicada programa una nueva. Las jerarquías de
+     * los criterios se construyen en paralelo en el pool de tareas de fondo
+     * del grafo; si el grafo cambia mientras tanto, al terminar se lanza
+     * otra, de modo que una ráfaga de cambios produce a lo sumo dos
+     * construcciones.
+     */
+    public void habilitarJerarquiasContraccion() {
+        jerarquiasHabilitadas = true;
+        programarJerarquias(obtenerGrafoCompacto());
+    }
+
+    /**
+     * Lanza en segundo plano la construcción de las jerarquías de los
+     * criterios cuyos pesos cambiaron en la versión del grafo indicada, salvo
+     * que ya haya una construcción en curso. Las jerarquías de los demás
+     * criterios se conservan. Al terminar, las nuevas reemplazan a las
+     * anteriores.
+     *
+     * Si solo cambió la ocupación, la jerarquía del tiempo con tráfico se
+     * reconstruye a lo sumo una vez por intervalo (ver
+     * {@link #configurarIntervaloJerarquiaTrafico(long)}): mientras tanto,
+     * sus consultas usan la búsqueda bidireccional, que ya programa la
+     * reconstrucción pendiente cuando el intervalo vence.
+     */
+    private void programarJerarquias(GrafoCompacto grafo) {
+        if (!jerarquiasHabilitadas) return;
+        Map<CriterioRuta, JerarquiaContraccion> actuales = jerarquias;
+        List<CriterioRuta> pendientes = Arrays.stream(CriterioRuta.values())
+                .filter(criterio -> actuales.get(criterio) == null
+                        || actuales.get(criterio).getVersionPesos() != grafo.getVersionPesos(criterio))
+                .toList();
+        if (pendientes.equals(List.of(CriterioRuta.TIEMPO_TRAFICO)) && actuales.get(CriterioRuta.TIEMPO_TRAFICO) != null
+                && System.nanoTime() - inicioJerarquiaTrafico < intervaloJerarquiaTrafico) {
+            return;
+        }
+        if (pendientes.isEmpty() || !jerarquiasEnConstruccion.compareAndSet(false, true)) return;
+        if (pendientes.contains(CriterioRuta.TIEMPO_TRAFICO)) inicioJerarquiaTrafico = System.nanoTime();
 
-        PriorityQueue<Zona> colaPrioridad = new PriorityQueue<>(
-                Comparator.comparingDouble(z -> distancias.getOrDefault(z.getId(), Double.MAX_VALUE))
-        );
+        CompletableFuture
+                .supplyAsync(() -> pendientes.parallelStream()
+                        .collect(Collectors.toMap(
+                                criterio -> criterio,
+                                criterio -> JerarquiaContraccion.construir(grafo, criterio),
+                                (a, b) -> a,
+                                () -> new EnumMap<>(CriterioRuta.class))), SEGUNDO_PLANO)
+                .whenComplete((nuevas, error) -> {
+                    if (nuevas != null) {
+                        Map<CriterioRuta, JerarquiaContraccion> combinadas = new EnumMap<>(CriterioRuta.class);
+                        combinadas.putAll(jerarquias);
+                        combinadas.putAll(nuevas);
+                        jerarquias = combinadas;
+                    } else {
+                        log.error("Error construyendo jerarquías de contracción", causa(error));
+                    }
+                    jerarquiasEnConstruccion.set(false);
+                    if (nuevas != null) programarJerarquias(grafoCompacto);
+                });
+    }
 
-        for (Nodo nodo : nodos) {
-            distancias.put(nodo.getId(), Double.MAX_VALUE);
+    /**
+     * Define cada cuánto puede reconstruirse, como máximo, la jerarquía del
+     * tiempo con tráfico cuando solo cambia la ocupación de las rutas. Los
+     * cambios de estructura o de otros pesos la reconstruyen siempre.
+     *
+     * @param milisegundos Intervalo mínimo (0 reconstruye tras cada cambio).
+     */
+    public void configurarIntervaloJerarquiaTrafico(long milisegundos) {
+        if (milisegundos < 0) {
+            throw new IllegalArgumentException("El intervalo no puede ser negativo");
         }
+        this.intervaloJerarquiaTrafico = TimeUnit.MILLISECONDS.toNanos(milisegundos);
+    }
 
-        distancias.put(origen.getId(), 0.0);
-        colaPrioridad.offer(origen);
+    /**
+     * @param criterio Criterio de ruta.
+     * @return Última jerarquía completada del criterio (puede estar
+     *         desactualizada), o null si aún no hay ninguna.
+     */
+    JerarquiaContraccion obtenerJerarquia(CriterioRuta criterio) {
+        return jerarquias.get(criterio);
+    }
 
-        while (!colaPrioridad.isEmpty()) {
-            Zona actual = colaPrioridad.poll();
+    /** Obtiene el error original de una tarea asíncrona, sin el envoltorio de CompletableFuture. */
+    private static Throwable causa(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
 
-            if (actual.getId().equals(destino.getId())) break;
+    /**
+     * Habilita el cálculo de la centralidad de intermediación en segundo
+     * plano: se lanza de inmediato y, desde entonces, cada vez que se publica
+     * una versión del grafo con estructura o pesos del criterio distintos.
+     * El cálculo se reparte en el pool de tareas de fondo del grafo, el mismo
+     * de las jerarquías; si el grafo cambia mientras tanto, al terminar se
+     * lanza otro, de modo que una ráfaga de cambios produce a lo sumo dos
+     * cálculos.
+     *
+     * @param criterio Criterio que define los caminos mínimos.
+     * @param muestras Máximo de zonas de origen; en grafos mayores el
+     *                 resultado es una estimación por muestreo.
+     */
+    public void habilitarCentralidad(CriterioRuta criterio, int muestras) {
+        if (criterio == null || muestras <= 0) {
+            throw new IllegalArgumentException("Se requieren el criterio y una cantidad de muestras mayor que cero");
+        }
+        this.criterioCentralidad = criterio;
+        this.muestrasCentralidad = muestras;
+        this.pesosCentralidad = null;
+        this.centralidadHabilitada = true;
+        programarCentralidad();
+    }
+
+    /**
+     * Obtiene la última centralidad de intermediación calculada, sin
+     * calcularla: puede corresponder a una versión anterior del grafo
+     * mientras se recalcula en segundo plano (ver {@link ResultadoCentralidad#getVersion()}).
+     * La primera consulta habilita el cálculo con el criterio de tiempo y
+     * el límite de muestras por defecto. Si hay modificaciones sin publicar,
+     * las publica para que se programe el recálculo.
+     *
+     * @return Último resultado, o null si todavía no hay ninguno.
+     */
+    public ResultadoCentralidad obtenerCentralidad() {
+        if (!centralidadHabilitada) {
+            habilitarCentralidad(criterioCentralidad, muestrasCentralidad);
+        }
+        obtenerGrafoCompacto();
+        return centralidad;
+    }
 
-            for (Ruta ruta : obtenerRutasDesde(actual.getId())) {
-                Zona vecino = ruta.getDestino();
-                if (vecino != null) {
-                    double nuevaDistancia = distancias.get(actual.getId()) + ruta.getDistancia();
+    /**
+     * Lanza el cálculo de centralidad sobre la versión publicada si está
+     * habilitado, no hay otro en curso y cambió la estructura o los pesos del
+     * criterio (las copias con tráfico actualizado comparten los demás pesos).
+     */
+    private void programarCentralidad() {
+        if (!centralidadHabilitada) return;
+        GrafoCompacto grafo = grafoCompacto;
+        CriterioRuta criterio = criterioCentralidad;
+        if (grafo.pesos(criterio) == pesosCentralidad || !centralidadEnCalculo.compareAndSet(false, true)) return;
 
-                    if (nuevaDistancia < distancias.get(vecino.getId())) {
-                        distancias.put(vecino.getId(), nuevaDistancia);
-                        predecesores.put(vecino.getId(), actual);
-                        colaPrioridad.offer(vecino);
+        int muestras = muestrasCentralidad;
+        CompletableFuture
+                .supplyAsync(() -> CentralidadIntermediacion.calcular(grafo, criterio, muestras), SEGUNDO_PLANO)
+                .whenComplete((resultado, error) -> {
+                    if (resultado != null) {
+                        centralidad = resultado;
+                        pesosCentralidad = grafo.pesos(criterio);
+                    } else {
+                        log.error("Error calculando la centralidad de intermediación", causa(error));
                     }
-                }
-            }
+                    centralidadEnCalculo.set(false);
+                    if (resultado != null) programarCentralidad();
+                });
+    }
+
+    /**
+     * Reemplaza la caché de caminos mínimos del grafo.
+     *
+     * @param cacheRutas Nueva caché, o null para deshabilitarla.
+     */
+    public void configurarCacheRutas(CacheRutas cacheRutas) {
+        this.cacheRutas = cacheRutas;
+    }
+
+    /**
+     * Obtiene la caché de caminos mínimos (para consultar sus contadores).
+     *
+     * @return Caché actual o null si está deshabilitada.
+     */
+    public CacheRutas getCacheRutas() {
+        return cacheRutas;
+    }
+
+    /**
+     * Reemplaza la caché de isócronas del grafo.
+     *
+     * @param cacheIsocronas Nueva caché, o null para deshabilitarla.
+     */
+    public void configurarCacheIsocronas(CacheIsocronas cacheIsocronas) {
+        this.cacheIsocronas = cacheIsocronas;
+    }
+
+    /**
+     * Obtiene la caché de isócronas (para consultar sus contadores).
+     *
+     * @return Caché actual o null si está deshabilitada.
+     */
+    public CacheIsocronas getCacheIsocronas() {
+        return cacheIsocronas;
+    }
+
+    /**
+     * Calcula la isócrona de una zona: las zonas alcanzables desde ella
+     * dentro del presupuesto de tiempo, con su tiempo de llegada. La búsqueda
+     * se detiene al agotar el presupuesto, así que su costo depende del
+     * tamaño de la región alcanzada y no del grafo. No usa el monitor del
+     * grafo.
+     *
+     * @param idOrigen ID de la zona de origen (por ejemplo, una base de operaciones).
+     * @param presupuesto Tiempo máximo, en las unidades de las rutas.
+     * @param criterio {@link CriterioRuta#TIEMPO} o {@link CriterioRuta#TIEMPO_TRAFICO}.
+     * @return Isócrona, o null si el origen no está en el grafo.
+     */
+    public Isocrona calcularIsocrona(String idOrigen, double presupuesto, CriterioRuta criterio) {
+        validarIsocrona(presupuesto, criterio);
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        int origen = grafo.indice(idOrigen);
+        return origen >= 0 ? isocrona(grafo, origen, presupuesto, criterio) : null;
+    }
+
+    /**
+     * Calcula en paralelo, sobre el pool común de ForkJoin, las isócronas de
+     * todas las bases de operaciones activas del grafo.
+     *
+     * @param presupuesto Tiempo máximo, en las unidades de las rutas.
+     * @param criterio {@link CriterioRuta#TIEMPO} o {@link CriterioRuta#TIEMPO_TRAFICO}.
+     * @return Isócrona de cada base, por ID de la base.
+     */
+    public Map<String, Isocrona> calcularIsocronasBases(double presupuesto, CriterioRuta criterio) {
+        validarIsocrona(presupuesto, criterio);
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        List<Nodo> nodos = grafo.getNodos();
+        List<Isocrona> isocronas = IntStream.range(0, nodos.size())
+                .filter(v -> nodos.get(v).getTipo() == Nodo.TipoNodo.BASE_OPERACIONES && nodos.get(v).isActivo())
+                .parallel()
+                .mapToObj(v -> isocrona(grafo, v, presupuesto, criterio))
+                .toList();
+
+        Map<String, Isocrona> resultado = new LinkedHashMap<>();
+        for (Isocrona isocrona : isocronas) {
+            resultado.put(isocrona.getOrigen(), isocrona);
+        }
+        return resultado;
+    }
+
+    private static void validarIsocrona(double presupuesto, CriterioRuta criterio) {
+        if (criterio != CriterioRuta.TIEMPO && criterio != CriterioRuta.TIEMPO_TRAFICO) {
+            throw new IllegalArgumentException("Las isócronas se calculan con TIEMPO o TIEMPO_TRAFICO");
+        }
+        if (!(presupuesto >= 0.0) || Double.isInfinite(presupuesto)) {
+            throw new IllegalArgumentException("El presupuesto de tiempo no puede ser negativo");
+        }
+    }
+
+    /**
+     * Obtiene la isócrona de la caché o la calcula con el límite de su
+     * cubeta de presupuesto, la guarda y la recorta al presupuesto pedido.
+     */
+    private Isocrona isocrona(GrafoCompacto grafo, int origen, double presupuesto, CriterioRuta criterio) {
+        String id = grafo.id(origen);
+        CacheIsocronas cache = cacheIsocronas;
+        if (cache != null) {
+            Isocrona guardada = cache.obtener(id, criterio, presupuesto, grafo.getVersionPesos(criterio));
+            if (guardada != null) return guardada;
+        }
+
+        double limite = cache != null ? Math.max(presupuesto, cache.limiteCubeta(presupuesto)) : presupuesto;
+        EspacioBusqueda espacio = EspacioBusqueda.delHilo();
+        int[] alcanzados = BuscadorCaminos.dijkstraAcotado(grafo, grafo.pesos(criterio), origen, limite, espacio);
+        String[] zonas = new String[alcanzados.length];
+        double[] tiempos = new double[alcanzados.length];
+        for (int i = 0; i < alcanzados.length; i++) {
+            zonas[i] = grafo.id(alcanzados[i]);
+            tiempos[i] = espacio.distancia(alcanzados[i]);
+        }
+
+        Isocrona calculada = new Isocrona(id, criterio, limite, grafo.getVersionPesos(criterio),
+                zonas, tiempos, alcanzados.length);
+        if (cache == null) return calculada;
+        cache.guardar(calculada);
+        return calculada.recortar(presupuesto);
+    }
+
+    /**
+     * Configura la cantidad de puntos de referencia (landmarks) usados por
+     * {@link AlgoritmoRuta#LANDMARKS}. Más puntos dan cotas más ajustadas a
+     * costa de memoria (dos distancias por punto y nodo) y de preprocesamiento.
+     * Las tablas existentes se descartan y se recalculan en la próxima consulta.
+     *
+     * @param cantidad Cantidad de puntos de referencia (mayor que cero).
+     */
+    public synchronized void configurarPuntosReferencia(int cantidad) {
+        if (cantidad <= 0) {
+            throw new IllegalArgumentException("La cantidad de puntos de referencia debe ser mayor que cero");
+        }
+        synchronized (puntosReferencia) {
+            this.cantidadPuntosReferencia = cantidad;
+            puntosReferencia.clear();
+        }
+    }
+
+    /**
+     * Obtiene las tablas de puntos de referencia del criterio para la versión
+     * del grafo indicada. Si ya existían para una versión anterior y desde
+     * entonces solo se agregaron rutas, se actualizan de forma incremental;
+     * si aún no existían, cambió el peso de alguna ruta o el grafo tenía
+     * menos nodos que puntos pedidos, se eligen los puntos y se calculan
+     * desde cero.
+     *
+     * No usa el monitor del grafo, así que no espera a las modificaciones;
+     * solo se serializa el cálculo de las tablas.
+     *
+     * @return Tablas para esa versión, o null si las vigentes ya corresponden
+     *         a una versión posterior (la consulta se resuelve sin ellas).
+     */
+    private PuntosReferencia obtenerPuntosReferencia(CriterioRuta criterio, GrafoCompacto grafo) {
+        long versionPesos = grafo.getVersionPesos(criterio);
+        PuntosReferencia tablas = puntosReferencia.get(criterio);
+        if (tablas != null && tablas.getVersion() == versionPesos) return tablas;
+
+        synchronized (puntosReferencia) {
+            tablas = puntosReferencia.get(criterio);
+            if (tablas != null && tablas.getVersion() == versionPesos) return tablas;
+            if (tablas != null && tablas.getVersion() > versionPesos) return null;
+
+            long invalidacion = versionInvalidacionPuntos.get(criterio.ordinal());
+            boolean incremental = tablas != null
+                    && tablas.getVersion() >= invalidacion && invalidacion <= versionPesos
+                    && tablas.getNumeroPuntos() >= Math.min(cantidadPuntosReferencia, grafo.getNumeroNodos());
+            tablas = incremental
+                    ? tablas.actualizar(grafo, grafo.getRutas(), grafo.getIndices())
+                    : PuntosReferencia.construir(grafo, criterio, cantidadPuntosReferencia, grafo.getRutas().size());
+            puntosReferencia.put(criterio, tablas);
+            return tablas;
         }
+    }
+
+    /**
+     * Calcula el camino de costo mínimo entre dos zonas con el criterio y el
+     * algoritmo indicados. Solo se consideran rutas activas.
+     *
+     * Con {@link AlgoritmoRuta#A_ESTRELLA} se usa como heurística la distancia
+     * de gran círculo entre las coordenadas de las zonas; si alguna zona no
+     * tiene coordenadas se utiliza Dijkstra. {@link AlgoritmoRuta#LANDMARKS}
+     * usa A* con las cotas de los puntos de referencia, válidas para cualquier
+     * criterio. {@link AlgoritmoRuta#BIDIRECCIONAL}
+     * busca a la vez desde el origen y desde el destino, lo que reduce la
+     * cantidad de nodos explorados en consultas punto a punto.
+     * {@link AlgoritmoRuta#CONTRACCION} usa la jerarquía de contracción del
+     * criterio si corresponde a la versión actual de sus pesos; si no existe o
+     * quedó desactualizada, programa su reconstrucción y responde con la
+     * búsqueda bidireccional para no devolver caminos obsoletos.
+     *
+     * Los resultados se guardan en la {@link CacheRutas} del grafo, indexados
+     * por origen, destino y criterio (todos los algoritmos devuelven un camino
+     * de costo mínimo). Cualquier modificación del grafo invalida los caminos
+     * de los criterios cuyos pesos cambió.
+     *
+     * @param origen Zona origen.
+     * @param destino Zona destino.
+     * @param criterio Criterio que define el peso de cada ruta.
+     * @param algoritmo Algoritmo de búsqueda.
+     * @return Camino de costo mínimo o null si el destino no es alcanzable.
+     */
+    @Override
+    public Camino calcularRuta(Zona origen, Zona destino, CriterioRuta criterio, AlgoritmoRuta algoritmo) {
+        if (origen == null || destino == null || criterio == null) return null;
+
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        CacheRutas cache = cacheRutas;
+        if (cache == null) {
+            return buscarCamino(grafo, origen, destino, criterio, algoritmo);
+        }
+
+        long versionPesos = grafo.getVersionPesos(criterio);
+        CacheRutas.Entrada entrada = cache.obtener(origen.getId(), destino.getId(), criterio, versionPesos);
+        if (entrada != null) return entrada.getCamino();
 
-        List<Zona> ruta = new ArrayList<>();
-        Zona actual = destino;
+        Camino camino = buscarCamino(grafo, origen, destino, criterio, algoritmo);
+        cache.guardar(origen.getId(), destino.getId(), criterio, versionPesos, camino);
+        return camino;
+    }
+
+    /**
+     * Ejecuta la búsqueda de {@link #calcularRuta} sobre la representación
+     * compacta indicada, sin consultar la caché.
+     */
+    private Camino buscarCamino(GrafoCompacto grafo, Zona origen, Zona destino, CriterioRuta criterio,
+                                AlgoritmoRuta algoritmo) {
+        int indiceOrigen = grafo.indice(origen.getId());
+        int indiceDestino = grafo.indice(destino.getId());
+        if (indiceOrigen < 0 || indiceDestino < 0 || indiceOrigen == indiceDestino) return null;
+
+        EspacioBusqueda espacio = EspacioBusqueda.delHilo();
+        if (algoritmo == AlgoritmoRuta.CONTRACCION) {
+            JerarquiaContraccion jerarquia = jerarquias.get(criterio);
+            if (jerarquia != null && jerarquia.getVersionPesos() == grafo.getVersionPesos(criterio)) {
+                return jerarquia.calcularCamino(indiceOrigen, indiceDestino, espacio, EspacioBusqueda.delHiloInverso());
+            }
+            programarJerarquias(grafo);
+            algoritmo = AlgoritmoRuta.BIDIRECCIONAL;
+        }
 
-        while (actual != null) {
-            ruta.add(0, actual);
-            actual = predecesores.get(actual.getId());
+        if (algoritmo == AlgoritmoRuta.BIDIRECCIONAL) {
+            EspacioBusqueda inverso = EspacioBusqueda.delHiloInverso();
+            int encuentro = BuscadorCaminos.bidireccional(grafo, grafo.pesos(criterio),
+                    indiceOrigen, indiceDestino, espacio, inverso);
+            return BuscadorCaminos.reconstruirBidireccional(grafo, espacio, inverso,
+                    indiceOrigen, encuentro, indiceDestino);
         }
 
-        return ruta.get(0).getId().equals(origen.getId()) ? ruta : new ArrayList<>();
+        PuntosReferencia puntos = algoritmo == AlgoritmoRuta.LANDMARKS ? obtenerPuntosReferencia(criterio, grafo) : null;
+        if (algoritmo == AlgoritmoRuta.LANDMARKS && puntos == null) algoritmo = AlgoritmoRuta.DIJKSTRA;
+
+        boolean encontrado = switch (algoritmo == null ? AlgoritmoRuta.DIJKSTRA : algoritmo) {
+            case A_ESTRELLA -> grafo.admiteHeuristicaGeografica(criterio)
+                    ? BuscadorCaminos.aEstrella(grafo, grafo.pesos(criterio),
+                            (v, t) -> grafo.cotaGeografica(criterio, v, t), indiceOrigen, indiceDestino, espacio)
+                    : BuscadorCaminos.dijkstra(grafo, grafo.pesos(criterio), indiceOrigen, indiceDestino, espacio);
+            case LANDMARKS -> BuscadorCaminos.aEstrella(grafo, grafo.pesos(criterio),
+                    puntos, indiceOrigen, indiceDestino, espacio);
+            case DIJKSTRA, BIDIRECCIONAL, CONTRACCION -> BuscadorCaminos.dijkstra(grafo, grafo.pesos(criterio), indiceOrigen, indiceDestino, espacio);
+        };
+        return encontrado ? BuscadorCaminos.reconstruir(grafo, espacio, indiceOrigen, indiceDestino) : null;
     }
 
     /**
-     * Calcula todas las rutas posibles entre dos zonas usando búsqueda DFS.
+     * Obtiene las rutas que forman los caminos alternativos entre dos zonas.
+     *
+     * Para no enumerar una cantidad exponencial de caminos, se limita a los
+     * {@link #MAXIMO_RUTAS_ALTERNATIVAS} caminos simples más cortos por
+     * distancia (ver {@link #calcularRutasAlternativas}) y devuelve sus tramos
+     * concatenados, en orden de costo.
      *
      * @param origen Zona origen.
      * @param destino Zona destino.
-     * @return Lista de rutas que forman todos los caminos posibles.
+     * @return Lista de rutas que forman los caminos alternativos.
      */
     @Override
     public List<Ruta> calcularTodasLasRutas(Zona origen, Zona destino) {
-        List<Ruta> todasLasRutas = new ArrayList<>();
-        Set<String> visitados = new HashSet<>();
-        List<Zona> rutaActual = new ArrayList<>();
+        return calcularRutasAlternativas(origen, destino, MAXIMO_RUTAS_ALTERNATIVAS, CriterioRuta.DISTANCIA)
+                .flatMap(camino -> camino.getTramos().stream())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Obtiene los {@code k} caminos simples (sin zonas repetidas) de menor
+     * costo entre dos zonas, en orden creciente de costo (algoritmo de Yen).
+     *
+     * El flujo es perezoso: cada camino se calcula al consumirlo, de modo que
+     * quien solo necesita los primeros (por ejemplo, para paginar) no paga por
+     * los demás. Se calcula sobre la versión del grafo vigente al invocar el
+     * método.
+     *
+     * @param origen Zona origen.
+     * @param destino Zona destino.
+     * @param k Cantidad máxima de caminos (mayor que cero).
+     * @param criterio Criterio que define el costo de cada ruta.
+     * @return Flujo de a lo sumo k caminos distintos; vacío si el destino no es alcanzable.
+     */
+    @Override
+    public Stream<Camino> calcularRutasAlternativas(Zona origen, Zona destino, int k, CriterioRuta criterio) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("La cantidad de rutas alternativas debe ser mayor que cero");
+        }
+        if (origen == null || destino == null || criterio == null) return Stream.empty();
+
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        int indiceOrigen = grafo.indice(origen.getId());
+        int indiceDestino = grafo.indice(destino.getId());
+        if (indiceOrigen < 0 || indiceDestino < 0 || indiceOrigen == indiceDestino) return Stream.empty();
+
+        CaminosAlternativos caminos = new CaminosAlternativos(grafo, grafo.pesos(criterio), indiceOrigen, indiceDestino, k);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(caminos,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT), false);
+    }
+
+    /**
+     * Obtiene el camino más rápido según el estado actual de las vías: el
+     * peso de cada ruta es su tiempo ajustado por congestión y riesgo
+     * ({@link Ruta#calcularTiempoConTrafico()}). Los pesos se leen de un
+     * arreglo compacto que se refresca en bloque cuando cambia la ocupación
+     * de alguna ruta.
+     *
+     * @param origen Zona origen.
+     * @param destino Zona destino.
+     * @return Camino más rápido con tráfico o null si no existe.
+     */
+    public Camino calcularRutaConTrafico(Zona origen, Zona destino) {
+        return calcularRuta(origen, destino, CriterioRuta.TIEMPO_TRAFICO, AlgoritmoRuta.DIJKSTRA);
+    }
+
+    /**
+     * Obtiene el camino más rápido con tráfico saliendo a la hora indicada.
+     * Si hay un perfil de congestión configurado, el tiempo de cada ruta se
+     * multiplica por el factor de la franja en la que se recorre, de modo que
+     * las rutas que se congestionarán más tarde cuestan más; el tiempo
+     * estimado del camino devuelto es la duración esperada del viaje. Sin
+     * perfil equivale a {@link #calcularRutaConTrafico(Zona, Zona)}.
+     *
+     * @param origen Zona origen.
+     * @param destino Zona destino.
+     * @param horaSalida Instante de salida en horas desde el inicio del perfil (por ejemplo, 7.5 = 7:30).
+     * @return Camino más rápido para esa hora de salida o null si no existe.
+     */
+    public Camino calcularRutaConTrafico(Zona origen, Zona destino, double horaSalida) {
+        PerfilCongestion perfil = perfilCongestion;
+        if (perfil == null) return calcularRutaConTrafico(origen, destino);
+        if (origen == null || destino == null) return null;
+
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        int indiceOrigen = grafo.indice(origen.getId());
+        int indiceDestino = grafo.indice(destino.getId());
+        if (indiceOrigen < 0 || indiceDestino < 0 || indiceOrigen == indiceDestino) return null;
+
+        EspacioBusqueda espacio = EspacioBusqueda.delHilo();
+        if (!BuscadorCaminos.dijkstraDependienteTiempo(grafo, grafo.pesos(CriterioRuta.TIEMPO_TRAFICO), perfil,
+                horaSalida, indiceOrigen, indiceDestino, espacio)) {
+            return null;
+        }
+        Camino camino = BuscadorCaminos.reconstruir(grafo, espacio, indiceOrigen, indiceDestino);
+        camino.setTiempoEstimado(espacio.distancia(indiceDestino));
+        return camino;
+    }
+
+    /**
+     * Configura el perfil de congestión por hora de salida usado por
+     * {@link #calcularRutaConTrafico(Zona, Zona, double)}.
+     *
+     * @param perfilCongestion Perfil a usar, o null para ignorar la hora de salida.
+     */
+    public void configurarPerfilCongestion(PerfilCongestion perfilCongestion) {
+        this.perfilCongestion = perfilCongestion;
+    }
+
+    /** @return Perfil de congestión configurado, o null si no hay. */
+    public PerfilCongestion getPerfilCongestion() {
+        return perfilCongestion;
+    }
+
+    /**
+     * Calcula el frente de Pareto de caminos entre dos zonas considerando a la
+     * vez distancia, tiempo estimado y riesgo acumulado: cada camino devuelto
+     * es mejor que los demás en al menos un criterio, lo que permite elegir,
+     * por ejemplo, entre la ruta más rápida y la más segura con una sola
+     * consulta. Solo se consideran rutas activas.
+     *
+     * @param origen Zona origen.
+     * @param destino Zona destino.
+     * @return Caminos no dominados ordenados por distancia; vacía si no hay camino.
+     */
+    public List<Camino> calcularRutasPareto(Zona origen, Zona destino) {
+        if (origen == null || destino == null) return new ArrayList<>();
+
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        int indiceOrigen = grafo.indice(origen.getId());
+        int indiceDestino = grafo.indice(destino.getId());
+        if (indiceOrigen < 0 || indiceDestino < 0 || indiceOrigen == indiceDestino) return new ArrayList<>();
 
-        dfsTodasLasRutas(origen, destino, visitados, rutaActual, todasLasRutas);
-        return todasLasRutas;
+        CriterioRuta[] criterios = {CriterioRuta.DISTANCIA, CriterioRuta.TIEMPO, CriterioRuta.RIESGO};
+        return new BusquedaPareto(grafo, criterios, limiteEtiquetasPareto).calcular(indiceOrigen, indiceDestino);
     }
 
     /**
-     * Búsqueda en profundidad para generar todas las rutas posibles.
+     * Obtiene la instalación del tipo indicado (hospital, refugio, etc.) más
+     * cercana por carretera a una zona, usando la distancia como criterio.
+     *
+     * @param zona Zona desde la que se parte.
+     * @param tipo Tipo de instalación buscada.
+     * @return Instalación más cercana o null si la zona no alcanza ninguna.
+     */
+    public InstalacionCercana obtenerInstalacionMasCercana(Zona zona, Nodo.TipoNodo tipo) {
+        return obtenerInstalacionMasCercana(zona, tipo, CriterioRuta.DISTANCIA);
+    }
+
+    /**
+     * Obtiene la instalación activa del tipo indicado más cercana a una zona
+     * según el criterio.
+     *
+     * La primera consulta para un tipo y criterio construye un índice con una
+     * única búsqueda hacia atrás desde todas las instalaciones de ese tipo;
+     * desde entonces cada consulta es O(1). Las instalaciones y rutas nuevas
+     * se incorporan de forma incremental al publicar cada instantánea, así
+     * que las consultas leen la vista publicada del índice sin bloquearse.
+     *
+     * @param zona Zona desde la que se parte.
+     * @param tipo Tipo de instalación buscada.
+     * @param criterio Criterio a minimizar.
+     * @return Instalación más cercana o null si la zona no alcanza ninguna.
+     */
+    public InstalacionCercana obtenerInstalacionMasCercana(Zona zona, Nodo.TipoNodo tipo, CriterioRuta criterio) {
+        if (zona == null || tipo == null || criterio == null) return null;
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        IndiceInstalaciones indice = indicesInstalaciones.getOrDefault(tipo, Map.of()).get(criterio);
+        IndiceInstalaciones.Vista vista = indice != null ? indice.getVista() : null;
+        if (vista == null || vista.getGrafo().getVersion() < grafo.getVersion()) {
+            vista = sincronizarInstalaciones(tipo, criterio);
+        }
+
+        int nodo = vista.getGrafo().indice(zona.getId());
+        if (nodo < 0) return null;
+        int instalacion = vista.instalacion(nodo);
+        if (instalacion < 0) return null;
+        return new InstalacionCercana(vista.getGrafo().getNodos().get(instalacion), vista.costo(nodo), criterio,
+                vista.rutaSiguiente(nodo));
+    }
+
+    /** Crea o sincroniza el índice de instalaciones del tipo y criterio con la versión actual. */
+    private synchronized IndiceInstalaciones.Vista sincronizarInstalaciones(Nodo.TipoNodo tipo, CriterioRuta criterio) {
+        IndiceInstalaciones indice = indicesInstalaciones
+                .computeIfAbsent(tipo, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(criterio, c -> new IndiceInstalaciones(tipo, c));
+        return indice.sincronizar(grafoVigente());
+    }
+
+    /**
+     * Calcula la matriz de costos mínimos entre cada zona origen y cada zona
+     * destino según el criterio indicado, por ejemplo, entre todas las zonas
+     * críticas y todos los refugios.
+     *
+     * En lugar de una consulta por par, se hace una búsqueda de uno a varios
+     * por cada zona del lado más pequeño: hacia adelante desde cada origen, o
+     * hacia atrás (sobre la adyacencia inversa) desde cada destino si hay
+     * menos destinos que orígenes. Cada búsqueda se detiene al alcanzar todas
+     * las zonas del otro lado, y las búsquedas se reparten entre los núcleos
+     * disponibles.
+     *
+     * @param origenes Zonas origen (filas de la matriz).
+     * @param destinos Zonas destino (columnas de la matriz).
+     * @param criterio Criterio a minimizar.
+     * @return Matriz de costos; infinito donde no hay camino o la zona no está en el grafo.
+     */
+    public MatrizCostos calcularMatrizCostos(List<Zona> origenes, List<Zona> destinos, CriterioRuta criterio) {
+        if (origenes == null || destinos == null || criterio == null) {
+            throw new IllegalArgumentException("Se requieren los orígenes, los destinos y el criterio");
+        }
+
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        double[] pesos = grafo.pesos(criterio);
+        int columnas = destinos.size();
+        int[] indicesOrigen = indicesDe(grafo, origenes);
+        int[] indicesDestino = indicesDe(grafo, destinos);
+
+        double[] costos = new double[origenes.size() * columnas];
+        Arrays.fill(costos, Double.POSITIVE_INFINITY);
+
+        boolean haciaAtras = destinos.size() < origenes.size();
+        int[] fuentes = haciaAtras ? indicesDestino : indicesOrigen;
+        int[] objetivos = haciaAtras ? indicesOrigen : indicesDestino;
+
+        boolean[] esObjetivo = new boolean[grafo.getNumeroNodos()];
+        int cantidad = 0;
+        for (int objetivo : objetivos) {
+            if (objetivo >= 0 && !esObjetivo[objetivo]) {
+                esObjetivo[objetivo] = true;
+                cantidad++;
+            }
+        }
+        int cantidadObjetivos = cantidad;
+        if (cantidadObjetivos == 0) {
+            return new MatrizCostos(idsDe(origenes), idsDe(destinos), criterio, costos, grafo.getVersion());
+        }
+
+        IntStream.range(0, fuentes.length).parallel().forEach(i -> {
+            if (fuentes[i] < 0) return;
+            EspacioBusqueda espacio = EspacioBusqueda.delHilo();
+            if (haciaAtras) {
+                BuscadorCaminos.dijkstraInverso(grafo, pesos, fuentes[i], esObjetivo, cantidadObjetivos, espacio);
+            } else {
+                BuscadorCaminos.dijkstraVariosDestinos(grafo, pesos, fuentes[i], esObjetivo, cantidadObjetivos, espacio);
+            }
+            for (int j = 0; j < objetivos.length; j++) {
+                if (objetivos[j] < 0) continue;
+                int posicion = haciaAtras ? j * columnas + i : i * columnas + j;
+                costos[posicion] = espacio.distancia(objetivos[j]);
+            }
+        });
+
+        return new MatrizCostos(idsDe(origenes), idsDe(destinos), criterio, costos, grafo.getVersion());
+    }
+
+    /**
+     * Resuelve un lote de consultas de rutas. Las consultas se agrupan por
+     * origen y criterio, y cada grupo se responde con una sola búsqueda desde
+     * su origen, que se detiene al asentar todos sus destinos. Las consultas
+     * con resultado en la {@link CacheRutas} no se buscan, y los caminos
+     * calculados se guardan en ella.
+     *
+     * Cada grupo corre en su propio hilo virtual. Como las búsquedas usan
+     * CPU, a lo sumo tantas como núcleos corren a la vez, cada una con un
+     * espacio de trabajo del conjunto fijo del grafo, compartido por todos
+     * los lotes y que crece una sola vez al tamaño de la instantánea; los
+     * demás grupos esperan su turno sin ocupar hilos de plataforma, igual
+     * que los que están entregando resultados.
+     *
+     * Las consultas triviales ({@link ConsultaRuta#esTrivial()}, origen igual
+     * al destino) no se buscan: se entregan con camino null, como en
+     * {@link #calcularRuta}, y el consumidor debe tratarlas como un camino
+     * vacío de costo 0 si la zona existe.
+     *
+     * Cada consulta se entrega a {@code alResolver} en cuanto termina su
+     * grupo, desde el hilo del grupo, así que el consumidor debe admitir
+     * llamadas concurrentes. Si lanza una excepción (por ejemplo, porque el
+     * cliente cerró la conexión), se cancelan los grupos pendientes y la
+     * excepción se propaga. Si se interrumpe el hilo que espera el lote,
+     * también se cancelan los grupos pendientes. Al retornar ya no hay
+     * entregas en curso.
+     *
+     * @param consultas Consultas del lote.
+     * @param alResolver Recibe cada consulta con su camino (null si es
+     *                   trivial, no hay camino o alguna zona no está en el grafo).
+     * @throws CancellationException Si el hilo se interrumpió antes de
+     *         resolver todo el lote (conserva la marca de interrupción).
      */
-    private void dfsTodasLasRutas(
-            Zona actual,
-            Zona destino,
-            Set<String> visitados,
-            List<Zona> rutaActual,
-            List<Ruta> todasLasRutas) {
+    public void resolverConsultasEnLote(List<ConsultaRuta> consultas, BiConsumer<ConsultaRuta, Camino> alResolver) {
+        if (consultas == null || alResolver == null) {
+            throw new IllegalArgumentException("Se requieren las consultas y el consumidor de resultados");
+        }
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        Map<CriterioRuta, Map<String, List<ConsultaRuta>>> grupos = new EnumMap<>(CriterioRuta.class);
+        for (ConsultaRuta consulta : consultas) {
+            grupos.computeIfAbsent(consulta.getCriterio(), c -> new LinkedHashMap<>())
+                    .computeIfAbsent(consulta.getOrigen(), o -> new ArrayList<>())
+                    .add(consulta);
+        }
 
-        if (actual.getId().equals(destino.getId())) {
-            for (int i = 0; i < rutaActual.size() - 1; i++) {
-                String idOrigen = rutaActual.get(i).getId();
-                String idDestino = rutaActual.get(i + 1).getId();
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<Void> terminados = new ExecutorCompletionService<>(hilos);
+            List<Future<Void>> tareas = new ArrayList<>();
+            for (Map<String, List<ConsultaRuta>> porOrigen : grupos.values()) {
+                for (List<ConsultaRuta> grupo : porOrigen.values()) {
+                    tareas.add(terminados.submit(() -> {
+                        resolverGrupo(grafo, grupo, alResolver);
+                        return null;
+                    }));
+                }
+            }
+            try {
+                for (int i = 0; i < tareas.size(); i++) terminados.take().get();
+            } catch (ExecutionException e) {
+                tareas.forEach(tarea -> tarea.cancel(true));
+                if (e.getCause() instanceof RuntimeException causa) throw causa;
+                if (e.getCause() instanceof Error causa) throw causa;
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                tareas.forEach(tarea -> tarea.cancel(true));
+                Thread.currentThread().interrupt();
+                CancellationException cancelacion = new CancellationException("Lote de consultas interrumpido");
+                cancelacion.initCause(e);
+                throw cancelacion;
+            }
+        }
+    }
 
-                Ruta ruta = obtenerRutasDesde(idOrigen).stream()
-                        .filter(r -> r.getDestino().getId().equals(idDestino))
-                        .findFirst()
-                        .orElse(null);
+    /**
+     * Resuelve las consultas de un mismo origen y criterio con una búsqueda
+     * (salvo las que estén en la caché) y las entrega en su orden, después
+     * de devolver el espacio de trabajo.
+     */
+    private void resolverGrupo(GrafoCompacto grafo, List<ConsultaRuta> grupo,
+                               BiConsumer<ConsultaRuta, Camino> alResolver) throws InterruptedException {
+        CriterioRuta criterio = grupo.get(0).getCriterio();
+        String idOrigen = grupo.get(0).getOrigen();
+        int origen = grafo.indice(idOrigen);
+        CacheRutas cache = cacheRutas;
 
-                if (ruta != null) {
-                    todasLasRutas.add(ruta);
+        Camino[] caminos = new Camino[grupo.size()];
+        int[] destinos = new int[grupo.size()];
+        boolean[] esObjetivo = null;
+        int cantidadObjetivos = 0;
+        for (int i = 0; i < grupo.size(); i++) {
+            ConsultaRuta consulta = grupo.get(i);
+            int destino = grafo.indice(consulta.getDestino());
+            destinos[i] = -1;
+            // Las zonas ausentes y las consultas triviales se entregan con camino null, sin buscar
+            if (origen < 0 || destino < 0 || origen == destino) continue;
+            if (cache != null) {
+                CacheRutas.Entrada entrada = cache.obtener(idOrigen, consulta.getDestino(), criterio,
+                        grafo.getVersionPesos(criterio));
+                if (entrada != null) {
+                    caminos[i] = entrada.getCamino();
+                    continue;
                 }
             }
-            return;
+            destinos[i] = destino;
+            if (esObjetivo == null) esObjetivo = new boolean[grafo.getNumeroNodos()];
+            if (!esObjetivo[destino]) {
+                esObjetivo[destino] = true;
+                cantidadObjetivos++;
+            }
         }
 
-        visitados.add(actual.getId());
-        rutaActual.add(actual);
+        if (cantidadObjetivos > 0) {
+            EspacioBusqueda espacio = espaciosLote.take();
+            try {
+                BuscadorCaminos.dijkstraVariosDestinos(grafo, grafo.pesos(criterio), origen, esObjetivo,
+                        cantidadObjetivos, espacio);
+                for (int i = 0; i < grupo.size(); i++) {
+                    if (destinos[i] < 0) continue;
+                    caminos[i] = BuscadorCaminos.reconstruir(grafo, espacio, origen, destinos[i]);
+                    if (cache != null) {
+                        cache.guardar(idOrigen, grupo.get(i).getDestino(), criterio,
+                                grafo.getVersionPesos(criterio), caminos[i]);
+                    }
+                }
+            } finally {
+                espaciosLote.add(espacio);
+            }
+        }
+
+        for (int i = 0; i < grupo.size(); i++) {
+            alResolver.accept(grupo.get(i), caminos[i]);
+        }
+    }
 
-        for (Ruta ruta : obtenerRutasDesde(actual.getId())) {
-            Zona vecino = ruta.getDestino();
-            if (vecino != null && !visitados.contains(vecino.getId())) {
-                dfsTodasLasRutas(vecino, destino, visitados, rutaActual, todasLasRutas);
+    /**
+     * Calcula el flujo máximo de evacuación desde un conjunto de zonas origen
+     * hacia un conjunto de zonas destino (por ejemplo, las zonas afectadas y
+     * los refugios), usando la capacidad de cada ruta activa como límite de
+     * personas por unidad de tiempo. Todos los orígenes se unen a una
+     * superfuente y todos los destinos a un supersumidero.
+     *
+     * Además del valor del flujo, devuelve el flujo por ruta y el corte
+     * mínimo: las rutas que limitan la evacuación.
+     *
+     * @param origenes Zonas desde las que se evacúa.
+     * @param destinos Zonas hacia las que se evacúa.
+     * @param soloCapacidadDisponible true para usar la capacidad libre de cada
+     *                                ruta; false para su capacidad máxima.
+     * @return Resultado del flujo; con flujo cero si no hay camino.
+     */
+    public ResultadoFlujo calcularFlujoMaximo(Collection<Zona> origenes, Collection<Zona> destinos,
+                                              boolean soloCapacidadDisponible) {
+        if (origenes == null || destinos == null) {
+            throw new IllegalArgumentException("Se requieren las zonas origen y destino");
+        }
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        int[] indicesOrigen = indicesDe(grafo, new ArrayList<>(origenes));
+        int[] indicesDestino = indicesDe(grafo, new ArrayList<>(destinos));
+        Set<Integer> conjuntoDestinos = new HashSet<>();
+        for (int destino : indicesDestino) {
+            if (destino >= 0) conjuntoDestinos.add(destino);
+        }
+        for (int origen : indicesOrigen) {
+            if (conjuntoDestinos.contains(origen)) {
+                throw new IllegalArgumentException("Una zona no puede ser origen y destino a la vez: " + grafo.id(origen));
             }
         }
 
-        visitados.remove(actual.getId());
-        rutaActual.remove(rutaActual.size() - 1);
+        int[] capacidades = new int[grafo.getNumeroAristas()];
+        for (int e = 0; e < capacidades.length; e++) {
+            Ruta ruta = grafo.ruta(e);
+            capacidades[e] = soloCapacidadDisponible ? ruta.obtenerCapacidadDisponible() : ruta.getCapacidadMaxima();
+        }
+
+        FlujoMaximo flujo = new FlujoMaximo(grafo, capacidades,
+                Arrays.stream(indicesOrigen).filter(i -> i >= 0).toArray(),
+                conjuntoDestinos.stream().mapToInt(Integer::intValue).toArray());
+        long valor = flujo.calcular();
+        return new ResultadoFlujo(valor, flujo.flujosPorRuta(), flujo.corteMinimo());
+    }
+
+    /**
+     * Planifica en lote evacuaciones simultáneas con el peso de riesgo por
+     * defecto.
+     *
+     * @see #planificarEvacuaciones(List, double)
+     */
+    public List<PlanEvacuacion> planificarEvacuaciones(List<Evacuacion> evacuaciones) {
+        return planificarEvacuaciones(evacuaciones, PlanificadorEvacuaciones.PESO_RIESGO_POR_DEFECTO);
+    }
+
+    /**
+     * Planifica en lote evacuaciones simultáneas que comparten la capacidad
+     * disponible de las rutas. En orden de prioridad, cada evacuación recibe
+     * el flujo de costo mínimo (tiempo estimado ponderado por nivel de
+     * riesgo) sobre la capacidad que dejaron las anteriores, repartido en uno
+     * o varios caminos; las personas que no caben quedan sin asignar.
+     *
+     * Si el grafo no cambió desde la planificación anterior, se conservan los
+     * planes del prefijo de evacuaciones que no cambió y solo se calculan los
+     * siguientes.
+     *
+     * @param evacuaciones Evacuaciones de mayor a menor prioridad; los
+     *                     extremos se toman de sus zonas origen y destino o,
+     *                     en su defecto, de su ruta.
+     * @param pesoRiesgo Peso del nivel de riesgo frente al tiempo (0 = solo tiempo).
+     * @return Un plan por evacuación, en el mismo orden.
+     */
+    public synchronized List<PlanEvacuacion> planificarEvacuaciones(List<Evacuacion> evacuaciones, double pesoRiesgo) {
+        if (evacuaciones == null) {
+            throw new IllegalArgumentException("Se requieren las evacuaciones a planificar");
+        }
+        if (pesoRiesgo < 0 || Double.isNaN(pesoRiesgo)) {
+            throw new IllegalArgumentException("El peso del riesgo no puede ser negativo");
+        }
+        int[][] extremos = extremosDe(evacuaciones);
+        return planificadorEvacuaciones.planificar(grafoVigente(), evacuaciones, extremos[0], extremos[1], pesoRiesgo);
+    }
+
+    /**
+     * Programa salidas escalonadas para evacuaciones simultáneas de modo que
+     * cada una despeje su zona lo antes posible sin congestionar las rutas:
+     * en lugar de liberar a todos a la vez, por cada camino sale en cada paso
+     * solo la cantidad de personas que las rutas absorben.
+     *
+     * Equivale a un flujo más rápido en la red expandida en el tiempo (cada
+     * ruta con su tiempo de recorrido y su capacidad por paso), resuelto sin
+     * expandir la red, por lo que el horizonte no afecta el costo.
+     *
+     * @param evacuaciones Evacuaciones de mayor a menor prioridad; las
+     *                     anteriores reservan capacidad antes que las siguientes.
+     * @param minutosPorPaso Resolución del horario en minutos.
+     * @param horasHorizonte Horizonte del horario en horas.
+     * @return Un horario por evacuación, en el mismo orden.
+     */
+    public synchronized List<HorarioEvacuacion> programarSalidas(List<Evacuacion> evacuaciones,
+                                                                 int minutosPorPaso, int horasHorizonte) {
+        if (evacuaciones == null) {
+            throw new IllegalArgumentException("Se requieren las evacuaciones a programar");
+        }
+        if (minutosPorPaso <= 0 || horasHorizonte <= 0) {
+            throw new IllegalArgumentException("La resolución y el horizonte deben ser positivos");
+        }
+        int[][] extremos = extremosDe(evacuaciones);
+        return ProgramadorSalidas.programar(grafoVigente(), evacuaciones, extremos[0], extremos[1],
+                minutosPorPaso, horasHorizonte * 60 / minutosPorPaso);
+    }
+
+    /**
+     * @return Índices de los nodos origen y destino de cada evacuación (-1 si
+     *         no está en el grafo), tomados de sus zonas o, en su defecto, de su ruta.
+     */
+    private int[][] extremosDe(List<Evacuacion> evacuaciones) {
+        int[] origenes = new int[evacuaciones.size()];
+        int[] destinos = new int[evacuaciones.size()];
+        for (int i = 0; i < origenes.length; i++) {
+            Evacuacion evacuacion = evacuaciones.get(i);
+            Ruta ruta = evacuacion.getRuta();
+            origenes[i] = indiceDe(evacuacion.getZonaOrigen() != null ? evacuacion.getZonaOrigen()
+                    : ruta != null && ruta.getOrigen() != null ? ruta.getOrigen().getId() : null);
+            destinos[i] = indiceDe(evacuacion.getZonaDestino() != null ? evacuacion.getZonaDestino()
+                    : ruta != null && ruta.getDestino() != null ? ruta.getDestino().getId() : null);
+        }
+        return new int[][]{origenes, destinos};
+    }
+
+    /** @return Índice del nodo en el grafo compacto, o -1 si no existe. */
+    private int indiceDe(String id) {
+        Integer indice = id != null ? indices.get(id) : null;
+        return indice != null ? indice : -1;
+    }
+
+    /** @return Índice de cada zona en el grafo compacto, o -1 si no es nodo de esa versión. */
+    private static int[] indicesDe(GrafoCompacto grafo, List<Zona> zonas) {
+        int[] resultado = new int[zonas.size()];
+        for (int i = 0; i < resultado.length; i++) {
+            Zona zona = zonas.get(i);
+            resultado[i] = zona != null ? grafo.indice(zona.getId()) : -1;
+        }
+        return resultado;
+    }
+
+    private static List<String> idsDe(List<Zona> zonas) {
+        return zonas.stream().map(zona -> zona != null ? zona.getId() : "").collect(Collectors.toList());
     }
 
     /**
-     * Obtiene la ruta más rápida según el tiempo estimado.
+     * Configura el máximo de etiquetas (caminos parciales no dominados) que
+     * conserva cada zona en {@link #calcularRutasPareto}. Un límite menor
+     * acota el tiempo de la consulta a costa de un frente posiblemente
+     * incompleto.
+     *
+     * @param limite Máximo de etiquetas por zona (mayor que cero).
+     */
+    public void configurarLimiteEtiquetasPareto(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("El límite de etiquetas debe ser mayor que cero");
+        }
+        this.limiteEtiquetasPareto = limite;
+    }
+
+    /**
+     * Obtiene el camino más rápido entre dos zonas usando el tiempo estimado
+     * de cada ruta como peso.
+     *
+     * @param origen Zona origen.
+     * @param destino Zona destino.
+     * @return Camino completo (posiblemente de varios tramos) o null si no existe.
      */
     @Override
-    public Ruta calcularRutaMasRapida(Zona origen, Zona destino) {
-        List<Ruta> rutas = calcularTodasLasRutas(origen, destino);
-        return rutas.stream()
-                .min(Comparator.comparingDouble(Ruta::getTiempoEstimado))
-                .orElse(null);
+    public Camino calcularRutaMasRapida(Zona origen, Zona destino) {
+        return calcularRuta(origen, destino, CriterioRuta.TIEMPO, AlgoritmoRuta.DIJKSTRA);
     }
 
     /**
-     * Obtiene la ruta más segura (menor nivel de riesgo).
+     * Obtiene el camino más seguro entre dos zonas, minimizando el riesgo
+     * acumulado (suma del nivel de riesgo de cada ruta).
+     *
+     * @param origen Zona origen.
+     * @param destino Zona destino.
+     * @return Camino completo (posiblemente de varios tramos) o null si no existe.
      */
     @Override
-    public Ruta calcularRutaMasSegura(Zona origen, Zona destino) {
-        List<Ruta> rutas = calcularTodasLasRutas(origen, destino);
-        return rutas.stream()
-                .min(Comparator.comparingDouble(Ruta::getNivelRiesgo))
-                .orElse(null);
+    public Camino calcularRutaMasSegura(Zona origen, Zona destino) {
+        return calcularRuta(origen, destino, CriterioRuta.RIESGO, AlgoritmoRuta.DIJKSTRA);
     }
 
     /**
@@ -298,7 +1694,7 @@ public class GrafoDirigido implements ICalcularRuta {
      */
     public void simularRutas() {
         System.out.println("=== SIMULACIÓN DE RUTAS ===");
-        for (Ruta ruta : aristas) {
+        for (Ruta ruta : obtenerGrafoCompacto().getRutas()) {
             System.out.println("Ruta: " + ruta.getOrigen().getNombre() +
                     " -> " + ruta.getDestino().getNombre() +
                     " (Distancia: " + ruta.getDistancia() + ")");
@@ -311,6 +1707,9 @@ public class GrafoDirigido implements ICalcularRuta {
      * @return Cadena detallada con información del grafo.
      */
     public String generarEstadisticas() {
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        List<Nodo> nodos = grafo.getNodos();
+        List<Ruta> aristas = grafo.getRutas();
         StringBuilder stats = new StringBuilder();
         stats.append("=== ESTADÍSTICAS DEL GRAFO DIRIGIDO ===\n");
         stats.append("Total de nodos: ").append(nodos.size()).append("\n");
@@ -325,28 +1724,29 @@ public class GrafoDirigido implements ICalcularRuta {
         return stats.toString();
     }
 
-    /** @return Lista de nodos del grafo. */
+    /** @return Lista de nodos de la versión publicada del grafo. */
     public List<Nodo> getNodos() {
-        return new ArrayList<>(nodos);
+        return new ArrayList<>(obtenerGrafoCompacto().getNodos());
     }
 
-    /** @return Lista de aristas del grafo. */
+    /** @return Lista de aristas de la versión publicada del grafo. */
     public List<Ruta> getAristas() {
-        return new ArrayList<>(aristas);
+        return new ArrayList<>(obtenerGrafoCompacto().getRutas());
     }
 
-    /** @return Cantidad de nodos del grafo. */
+    /** @return Cantidad de nodos de la versión publicada del grafo. */
     public int getNumeroNodos() {
-        return nodos.size();
+        return obtenerGrafoCompacto().getNumeroNodos();
     }
 
-    /** @return Cantidad de aristas del grafo. */
+    /** @return Cantidad de aristas (activas o no) de la versión publicada del grafo. */
     public int getNumeroAristas() {
-        return aristas.size();
+        return obtenerGrafoCompacto().getRutas().size();
     }
 
     @Override
     public String toString() {
-        return String.format("GrafoDirigido{nodos=%d, aristas=%d}", nodos.size(), aristas.size());
+        GrafoCompacto grafo = obtenerGrafoCompacto();
+        return String.format("GrafoDirigido{nodos=%d, aristas=%d}", grafo.getNumeroNodos(), grafo.getRutas().size());
     }
 }
@@ -0,0 +1,125 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Model.Evacuacion;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Horario de salidas escalonadas de una evacuación: por cada camino, cuántas
+ * personas salen en cada paso de tiempo y durante qué intervalo, de modo que
+ * todas lleguen al destino lo antes posible sin congestionar las rutas.
+ */
+public final class HorarioEvacuacion {
+
+    /**
+     * Ola de salida por un camino: desde el paso 0 hasta el final sale
+     * el mismo número de personas en cada paso (en el último pueden salir
+     * menos).
+     */
+    public static final class OlaSalida {
+
+        private final Camino camino;
+        private final int pasosRecorrido;
+        private final int pasoFinal;
+        private final int personasPorPaso;
+        private final int personasUltimoPaso;
+        private final int minutosPorPaso;
+
+        OlaSalida(Camino camino, int pasosRecorrido, int pasoFinal,
+                  int personasPorPaso, int personasUltimoPaso, int minutosPorPaso) {
+            this.camino = camino;
+            this.pasosRecorrido = pasosRecorrido;
+            this.pasoFinal = pasoFinal;
+            this.personasPorPaso = personasPorPaso;
+            this.personasUltimoPaso = personasUltimoPaso;
+            this.minutosPorPaso = minutosPorPaso;
+        }
+
+        public Camino getCamino() {
+            return camino;
+        }
+
+        /** @return Duración del recorrido del camino, en pasos. */
+        public int getPasosRecorrido() {
+            return pasosRecorrido;
+        }
+
+        /** @return Último paso en que salen personas por este camino (las olas comienzan en el paso 0). */
+        public int getPasoFinal() {
+            return pasoFinal;
+        }
+
+        public int getPersonasPorPaso() {
+            return personasPorPaso;
+        }
+
+        public int getPersonasUltimoPaso() {
+            return personasUltimoPaso;
+        }
+
+        /** @return Minuto de la última salida, contado desde el inicio del horario. */
+        public int getMinutoFinal() {
+            return pasoFinal * minutosPorPaso;
+        }
+
+        public int getTotalPersonas() {
+            return pasoFinal * personasPorPaso + personasUltimoPaso;
+        }
+    }
+
+    private final Evacuacion evacuacion;
+    private final int minutosPorPaso;
+    private final int pasosDespeje;
+    private final List<OlaSalida> olas;
+    private final int personasProgramadas;
+    private final int demanda;
+
+    HorarioEvacuacion(Evacuacion evacuacion, int minutosPorPaso, int pasosDespeje,
+                      List<OlaSalida> olas, int demanda) {
+        this.evacuacion = evacuacion;
+        this.minutosPorPaso = minutosPorPaso;
+        this.pasosDespeje = pasosDespeje;
+        this.olas = Collections.unmodifiableList(olas);
+        this.personasProgramadas = olas.stream().mapToInt(OlaSalida::getTotalPersonas).sum();
+        this.demanda = demanda;
+    }
+
+    public Evacuacion getEvacuacion() {
+        return evacuacion;
+    }
+
+    public int getMinutosPorPaso() {
+        return minutosPorPaso;
+    }
+
+    /** @return Paso en que llega la última persona programada (0 si no hay olas). */
+    public int getPasosDespeje() {
+        return pasosDespeje;
+    }
+
+    /** @return Minutos hasta que llega la última persona programada. */
+    public int getMinutosDespeje() {
+        return pasosDespeje * minutosPorPaso;
+    }
+
+    /** @return Olas de salida, de la de más personas por paso a la de menos. */
+    public List<OlaSalida> getOlas() {
+        return olas;
+    }
+
+    public int getPersonasProgramadas() {
+        return personasProgramadas;
+    }
+
+    /** @return Personas que no alcanzan a llegar dentro del horizonte. */
+    public int getPersonasSinProgramar() {
+        return demanda - personasProgramadas;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HorarioEvacuacion{evacuacion='%s', programadas=%d, sinProgramar=%d, olas=%d, despeje=%d min}",
+                evacuacion.getId(), personasProgramadas, getPersonasSinProgramar(), olas.size(), getMinutosDespeje());
+    }
+}
@@ -0,0 +1,426 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Índice de alcanzabilidad entre nodos del grafo (considerando solo rutas
+ * activas).
+ *
+ * Descompone el grafo en componentes fuertemente conexas (Tarjan iterativo)
+ * y las condensa en un grafo acíclico (DAG). Tarjan numera las componentes
+ * en orden topológico inverso: toda arista del DAG va de una componente a
+ * otra de número menor. Sobre el DAG se calcula la clausura transitiva como
+ * un conjunto de bits por componente, con lo que "¿B es alcanzable desde A?"
+ * se responde en O(1). Si hay demasiadas componentes para la clausura
+ * ({@link #LIMITE_COMPONENTES_CIERRE}), se responde con un recorrido del DAG
+ * podado por el orden topológico.
+ *
+ * Cada instancia corresponde a una instantánea del grafo y no se modifica
+ * una vez construida, así que se consulta desde cualquier hilo sin
+ * sincronización. Si la versión siguiente solo agregó nodos y rutas,
+ * {@link #actualizar(GrafoCompacto)} produce el índice nuevo a partir del
+ * anterior: una ruta que no cierra un ciclo entre componentes solo une
+ * conjuntos de bits, y solo se copian las filas de la clausura que cambian.
+ * Si cierra un ciclo, las componentes se fusionan y el índice se reconstruye,
+ * al igual que si se desactiva una ruta.
+ */
+final class IndiceAlcanzabilidad {
+
+    /** Máximo de componentes para mantener la clausura transitiva (8 MB de bits) */
+    static final int LIMITE_COMPONENTES_CIERRE = 8192;
+
+    /** Cantidad de rutas nuevas a partir de la cual conviene reconstruir */
+    private static final int LIMITE_CAMBIOS_INCREMENTALES = 1024;
+
+    /** Versión del grafo a la que corresponde el índice */
+    private final long version;
+
+    /** Cantidad de rutas de la lista del grafo ya incorporadas */
+    private final int rutasIncorporadas;
+
+    /** Nodos de la instantánea, en el orden de sus índices */
+    private final List<Nodo> nodos;
+
+    /** Componente de cada nodo */
+    private int[] componente;
+
+    private int numeroComponentes;
+
+    /** Clausura transitiva: bits de las componentes alcanzables desde cada una (null si no se usa) */
+    private long[][] alcanzables;
+
+    /** Filas de la clausura propias de la instancia, que pueden modificarse mientras se actualiza */
+    private boolean[] filasPropias;
+
+    /** DAG de componentes en formato CSR (solo sin clausura) */
+    private int[] inicioSucesores;
+    private int[] sucesores;
+
+    private IndiceAlcanzabilidad(GrafoCompacto grafo) {
+        this.version = grafo.getVersion();
+        this.rutasIncorporadas = grafo.getRutas().size();
+        this.nodos = grafo.getNodos();
+    }
+
+    /**
+     * Calcula las componentes, el DAG y la clausura de una instantánea.
+     *
+     * @param grafo Representación compacta del grafo.
+     * @return Índice de esa versión.
+     */
+    static IndiceAlcanzabilidad construir(GrafoCompacto grafo) {
+        IndiceAlcanzabilidad indice = new IndiceAlcanzabilidad(grafo);
+        indice.calcularComponentes(grafo);
+        int[][] dag = indice.condensar(grafo);
+        if (indice.numeroComponentes <= LIMITE_COMPONENTES_CIERRE) {
+            indice.calcularClausura(dag[0], dag[1]);
+        } else {
+            indice.inicioSucesores = dag[0];
+            indice.sucesores = dag[1];
+        }
+        return indice;
+    }
+
+    /**
+     * Produce el índice de una versión posterior del grafo a la que solo se
+     * le agregaron nodos y rutas (quien llama debe garantizarlo: desactivar o
+     * reactivar una ruta exige {@link #construir(GrafoCompacto)}). Si las
+     * rutas nuevas cierran un ciclo entre componentes, son demasiadas o no
+     * hay clausura, reconstruye. La instancia actual no se modifica.
+     *
+     * @param grafo Representación compacta de la nueva versión.
+     * @return Índice de la nueva versión.
+     */
+    IndiceAlcanzabilidad actualizar(GrafoCompacto grafo) {
+        List<Ruta> nuevas = grafo.getRutas().subList(rutasIncorporadas, grafo.getRutas().size());
+        int n = grafo.getNumeroNodos();
+        if (alcanzables == null || nuevas.size() > LIMITE_CAMBIOS_INCREMENTALES
+                || numeroComponentes + (n - componente.length) > LIMITE_COMPONENTES_CIERRE) {
+            return construir(grafo);
+        }
+
+        IndiceAlcanzabilidad indice = new IndiceAlcanzabilidad(grafo);
+        indice.componente = componente;
+        indice.numeroComponentes = numeroComponentes;
+        indice.alcanzables = alcanzables.clone();
+        indice.filasPropias = new boolean[alcanzables.length];
+        indice.agregarNodos(n);
+        for (Ruta ruta : nuevas) {
+            // Solo cuentan las rutas que la instantánea incluyó como aristas (activas al construirla)
+            int u = grafo.indice(ruta.getOrigen().getId());
+            for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+                if (grafo.ruta(e) == ruta && !indice.agregarArco(u, grafo.destino(e))) return construir(grafo);
+            }
+        }
+        indice.filasPropias = null;
+        return indice;
+    }
+
+    /** @return Versión del grafo a la que corresponde el índice. */
+    long getVersion() {
+        return version;
+    }
+
+    /** @return Nodos de la versión del índice, en el orden de sus índices. */
+    List<Nodo> getNodos() {
+        return nodos;
+    }
+
+    /**
+     * @param origen Índice del nodo origen.
+     * @param destino Índice del nodo destino.
+     * @return true si existe algún camino (de cero o más rutas) de origen a destino.
+     */
+    boolean alcanza(int origen, int destino) {
+        return alcanzaComponente(componente[origen], componente[destino]);
+    }
+
+    /**
+     * @param origen Índice del nodo origen.
+     * @return Marca, por nodo, de los nodos alcanzables desde el origen.
+     */
+    boolean[] alcanzablesDesde(int origen) {
+        boolean[] componentes = componentesAlcanzables(componente[origen]);
+        boolean[] resultado = new boolean[componente.length];
+        for (int v = 0; v < resultado.length; v++) {
+            resultado[v] = componentes[componente[v]];
+        }
+        return resultado;
+    }
+
+    /**
+     * @param destino Índice del nodo destino.
+     * @return Marca, por nodo, de los nodos desde los que se alcanza el destino.
+     */
+    boolean[] alcanzanA(int destino) {
+        int objetivo = componente[destino];
+        boolean[] componentes = new boolean[numeroComponentes];
+        for (int c = 0; c < numeroComponentes; c++) {
+            if (alcanzables != null) {
+                componentes[c] = (alcanzables[c][objetivo >>> 6] & (1L << objetivo)) != 0;
+                continue;
+            }
+            // En orden topológico inverso los sucesores de c ya están resueltos
+            componentes[c] = c == objetivo;
+            for (int i = inicioSucesores[c]; i < inicioSucesores[c + 1] && !componentes[c]; i++) {
+                componentes[c] = componentes[sucesores[i]];
+            }
+        }
+        boolean[] resultado = new boolean[componente.length];
+        for (int v = 0; v < resultado.length; v++) {
+            resultado[v] = componentes[componente[v]];
+        }
+        return resultado;
+    }
+
+    /** @return Componente fuertemente conexa del nodo. */
+    int componente(int nodo) {
+        return componente[nodo];
+    }
+
+    int getNumeroComponentes() {
+        return numeroComponentes;
+    }
+
+    private boolean alcanzaComponente(int origen, int destino) {
+        if (origen == destino) return true;
+        if (alcanzables != null) {
+            return (alcanzables[origen][destino >>> 6] & (1L << destino)) != 0;
+        }
+        // Las aristas del DAG van hacia componentes de número menor: se poda lo que quede por debajo del destino
+        if (destino > origen) return false;
+        boolean[] visitadas = new boolean[numeroComponentes];
+        int[] pila = new int[numeroComponentes];
+        int tope = 0;
+        pila[tope++] = origen;
+        visitadas[origen] = true;
+        while (tope > 0) {
+            int c = pila[--tope];
+            for (int i = inicioSucesores[c]; i < inicioSucesores[c + 1]; i++) {
+                int d = sucesores[i];
+                if (d == destino) return true;
+                if (d > destino && !visitadas[d]) {
+                    visitadas[d] = true;
+                    pila[tope++] = d;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean[] componentesAlcanzables(int origen) {
+        boolean[] resultado = new boolean[numeroComponentes];
+        if (alcanzables != null) {
+            long[] fila = alcanzables[origen];
+            for (int c = 0; c < numeroComponentes; c++) {
+                resultado[c] = (fila[c >>> 6] & (1L << c)) != 0;
+            }
+            return resultado;
+        }
+        int[] pila = new int[numeroComponentes];
+        int tope = 0;
+        pila[tope++] = origen;
+        resultado[origen] = true;
+        while (tope > 0) {
+            int c = pila[--tope];
+            for (int i = inicioSucesores[c]; i < inicioSucesores[c + 1]; i++) {
+                int d = sucesores[i];
+                if (!resultado[d]) {
+                    resultado[d] = true;
+                    pila[tope++] = d;
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /** Agrega como componentes unitarias los nodos nuevos del grafo (con clausura y sin superar el límite). */
+    private void agregarNodos(int numeroNodos) {
+        int anterior = componente.length;
+        if (numeroNodos == anterior) return;
+        componente = Arrays.copyOf(componente, numeroNodos);
+        for (int v = anterior; v < numeroNodos; v++) {
+            componente[v] = numeroComponentes++;
+        }
+        // Cada fila tiene tantas palabras como bits para todas las filas reservadas
+        if (alcanzables.length < numeroComponentes) {
+            int capacidad = Math.min(LIMITE_COMPONENTES_CIERRE, Math.max(numeroComponentes, alcanzables.length * 2));
+            long[][] ampliada = new long[capacidad][];
+            int palabrasCapacidad = palabras(capacidad);
+            for (int c = 0; c < capacidad; c++) {
+                ampliada[c] = c < alcanzables.length
+                        ? Arrays.copyOf(alcanzables[c], palabrasCapacidad)
+                        : new long[palabrasCapacidad];
+            }
+            alcanzables = ampliada;
+            filasPropias = new boolean[capacidad];
+            Arrays.fill(filasPropias, true);
+        }
+        for (int c = numeroComponentes - (numeroNodos - anterior); c < numeroComponentes; c++) {
+            filaPropia(c)[c >>> 6] |= 1L << c;
+        }
+    }
+
+    /**
+     * Incorpora un arco a la clausura, copiando antes cada fila que cambia
+     * (las demás se comparten con el índice anterior).
+     *
+     * @return false si el arco cierra un ciclo entre componentes y el índice
+     *         debe reconstruirse.
+     */
+    private boolean agregarArco(int u, int v) {
+        int cu = componente[u];
+        int cv = componente[v];
+        if (alcanzaComponente(cu, cv)) return true;
+        if (alcanzaComponente(cv, cu)) return false;
+
+        long[] filaDestino = alcanzables[cv];
+        int palabraOrigen = cu >>> 6;
+        long bitOrigen = 1L << cu;
+        for (int c = 0; c < numeroComponentes; c++) {
+            if ((alcanzables[c][palabraOrigen] & bitOrigen) != 0) {
+                long[] fila = filaPropia(c);
+                for (int w = 0; w < filaDestino.length; w++) {
+                    fila[w] |= filaDestino[w];
+                }
+            }
+        }
+        return true;
+    }
+
+    /** @return Fila de la clausura de la componente, copiada si aún se compartía con el índice anterior. */
+    private long[] filaPropia(int c) {
+        if (!filasPropias[c]) {
+            alcanzables[c] = alcanzables[c].clone();
+            filasPropias[c] = true;
+        }
+        return alcanzables[c];
+    }
+
+    /** Algoritmo de Tarjan iterativo (sin recursión, apto para grafos grandes). */
+    private void calcularComponentes(GrafoCompacto grafo) {
+        int n = grafo.getNumeroNodos();
+        componente = new int[n];
+        Arrays.fill(componente, -1);
+        numeroComponentes = 0;
+
+        int[] orden = new int[n];
+        int[] bajo = new int[n];
+        Arrays.fill(orden, -1);
+        boolean[] enPila = new boolean[n];
+        int[] pila = new int[n];
+        int topePila = 0;
+        int[] llamadas = new int[n];
+        int[] siguienteArista = new int[n];
+        int contador = 0;
+
+        for (int raiz = 0; raiz < n; raiz++) {
+            if (orden[raiz] >= 0) continue;
+
+            int topeLlamadas = 0;
+            llamadas[topeLlamadas++] = raiz;
+            orden[raiz] = bajo[raiz] = contador++;
+            siguienteArista[raiz] = grafo.inicioAristas(raiz);
+            pila[topePila++] = raiz;
+            enPila[raiz] = true;
+
+            while (topeLlamadas > 0) {
+                int u = llamadas[topeLlamadas - 1];
+                if (siguienteArista[u] < grafo.finAristas(u)) {
+                    int v = grafo.destino(siguienteArista[u]++);
+                    if (orden[v] < 0) {
+                        orden[v] = bajo[v] = contador++;
+                        siguienteArista[v] = grafo.inicioAristas(v);
+                        pila[topePila++] = v;
+                        enPila[v] = true;
+                        llamadas[topeLlamadas++] = v;
+                    } else if (enPila[v]) {
+                        bajo[u] = Math.min(bajo[u], orden[v]);
+                    }
+                    continue;
+                }
+
+                topeLlamadas--;
+                if (topeLlamadas > 0) {
+                    int padre = llamadas[topeLlamadas - 1];
+                    bajo[padre] = Math.min(bajo[padre], bajo[u]);
+                }
+                if (bajo[u] == orden[u]) {
+                    int w;
+                    do {
+                        w = pila[--topePila];
+                        enPila[w] = false;
+                        componente[w] = numeroComponentes;
+                    } while (w != u);
+                    numeroComponentes++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Construye el DAG de componentes sin arcos repetidos.
+     *
+     * @return Arreglos {inicio, sucesores} en formato CSR.
+     */
+    private int[][] condensar(GrafoCompacto grafo) {
+        int n = grafo.getNumeroNodos();
+        int[] grado = new int[numeroComponentes + 1];
+        for (int u = 0; u < n; u++) {
+            for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+                if (componente[u] != componente[grafo.destino(e)]) grado[componente[u] + 1]++;
+            }
+        }
+        for (int c = 0; c < numeroComponentes; c++) {
+            grado[c + 1] += grado[c];
+        }
+
+        int[] destinos = new int[grado[numeroComponentes]];
+        int[] siguiente = Arrays.copyOf(grado, numeroComponentes);
+        for (int u = 0; u < n; u++) {
+            for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+                int cv = componente[grafo.destino(e)];
+                if (componente[u] != cv) destinos[siguiente[componente[u]]++] = cv;
+            }
+        }
+
+        // Se eliminan los arcos repetidos de cada componente
+        int[] inicio = new int[numeroComponentes + 1];
+        int[] marca = new int[numeroComponentes];
+        Arrays.fill(marca, -1);
+        int escritos = 0;
+        for (int c = 0; c < numeroComponentes; c++) {
+            inicio[c] = escritos;
+            for (int i = grado[c]; i < grado[c + 1]; i++) {
+                int d = destinos[i];
+                if (marca[d] != c) {
+                    marca[d] = c;
+                    destinos[escritos++] = d;
+                }
+            }
+        }
+        inicio[numeroComponentes] = escritos;
+        return new int[][]{inicio, Arrays.copyOf(destinos, escritos)};
+    }
+
+    /** Calcula la clausura en orden topológico inverso (los sucesores ya están calculados). */
+    private void calcularClausura(int[] inicio, int[] destinos) {
+        int palabras = palabras(numeroComponentes);
+        alcanzables = new long[numeroComponentes][palabras];
+        for (int c = 0; c < numeroComponentes; c++) {
+            long[] fila = alcanzables[c];
+            fila[c >>> 6] |= 1L << c;
+            for (int i = inicio[c]; i < inicio[c + 1]; i++) {
+                long[] filaSucesor = alcanzables[destinos[i]];
+                for (int w = 0; w < palabras; w++) {
+                    fila[w] |= filaSucesor[w];
+                }
+            }
+        }
+    }
+
+    private static int palabras(int bits) {
+        return Math.max(1, (bits + 63) >>> 6);
+    }
+}
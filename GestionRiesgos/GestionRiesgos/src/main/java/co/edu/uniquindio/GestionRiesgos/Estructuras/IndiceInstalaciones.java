@@ -0,0 +1,271 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice de instalación más cercana (diagrama de Voronoi sobre la red) para
+ * un tipo de nodo y un criterio.
+ *
+ * Guarda, para cada nodo del grafo, el costo del camino mínimo hasta la
+ * instalación activa más cercana de ese tipo, cuál es esa instalación y la
+ * primera ruta del camino. Se construye con un único Dijkstra hacia atrás
+ * sembrado en todas las instalaciones a la vez, de modo que cada consulta
+ * posterior es O(1).
+ *
+ * Los cambios se registran y se aplican en la siguiente consulta:
+ * - una instalación nueva, una ruta nueva o una ruta que se abarata solo
+ *   pueden reducir costos, y se propagan desde los nodos afectados;
+ * - una ruta que se encarece solo importa si es la primera ruta del camino
+ *   mínimo de algún nodo (su origen); en ese caso, o si se retira una
+ *   instalación, el índice se reconstruye.
+ *
+ * Los cambios y la sincronización se hacen con el monitor del grafo tomado.
+ * Cada sincronización trabaja sobre copias de los arreglos y publica el
+ * resultado como una {@link Vista} inmutable, que las consultas leen sin
+ * bloquearse.
+ */
+final class IndiceInstalaciones {
+
+    /** Cantidad de rutas modificadas a partir de la cual conviene reconstruir */
+    private static final int LIMITE_CAMBIOS_INCREMENTALES = 4096;
+
+    private static final double INFINITO = Double.POSITIVE_INFINITY;
+
+    private final Nodo.TipoNodo tipo;
+    private final CriterioRuta criterio;
+
+    /** Costo desde cada nodo hasta su instalación más cercana */
+    private double[] costos = new double[0];
+
+    /** Instalación más cercana de cada nodo (-1 si no alcanza ninguna) */
+    private int[] instalaciones = new int[0];
+
+    /** Primera ruta del camino mínimo hacia la instalación (null en las instalaciones) */
+    private Ruta[] rutasSiguientes = new Ruta[0];
+
+    /** Rutas agregadas o modificadas desde la última sincronización */
+    private final List<Ruta> rutasPendientes = new ArrayList<>();
+
+    /** Índices de los nodos que pasaron a ser instalaciones */
+    private final List<Integer> instalacionesPendientes = new ArrayList<>();
+
+    private boolean requiereReconstruccion = true;
+
+    /** Última vista publicada (null si aún no hay o quedó desactualizada) */
+    private volatile Vista vista;
+
+    IndiceInstalaciones(Nodo.TipoNodo tipo, CriterioRuta criterio) {
+        this.tipo = tipo;
+        this.criterio = criterio;
+    }
+
+    /** Registra una ruta agregada al grafo o cuyo peso o estado cambió. */
+    void rutaModificada(Ruta ruta) {
+        if (requiereReconstruccion) return;
+        if (rutasPendientes.size() >= LIMITE_CAMBIOS_INCREMENTALES) {
+            requiereReconstruccion = true;
+            rutasPendientes.clear();
+            instalacionesPendientes.clear();
+        } else {
+            rutasPendientes.add(ruta);
+        }
+    }
+
+    /**
+     * Registra que cambió el tipo o el estado de un nodo.
+     *
+     * @param indice Índice del nodo en el grafo compacto.
+     * @param nodo Nodo modificado (o agregado).
+     */
+    void nodoModificado(int indice, Nodo nodo) {
+        // Un cambio de tipo o estado no cambia la versión del grafo: la vista deja de servir
+        vista = null;
+        if (requiereReconstruccion) return;
+        if (esInstalacion(nodo)) {
+            instalacionesPendientes.add(indice);
+        } else if (instalacionesPendientes.remove(Integer.valueOf(indice))
+                || (indice < instalaciones.length && instalaciones[indice] == indice)) {
+            // Retirar una instalación puede aumentar costos: no admite actualización incremental
+            requiereReconstruccion = true;
+            rutasPendientes.clear();
+            instalacionesPendientes.clear();
+        }
+    }
+
+    /**
+     * Aplica los cambios pendientes para que el índice corresponda al grafo
+     * y publica la vista resultante.
+     *
+     * @param grafo Representación compacta actual.
+     * @return Vista publicada.
+     */
+    Vista sincronizar(GrafoCompacto grafo) {
+        if (requiereReconstruccion || requiereReconstruccionPorRutas(grafo.getIndices())) {
+            reconstruir(grafo, grafo.getNodos());
+        } else if (!rutasPendientes.isEmpty() || !instalacionesPendientes.isEmpty()
+                || costos.length != grafo.getNumeroNodos()) {
+            actualizar(grafo, grafo.getIndices());
+        }
+        Vista sincronizada = new Vista(grafo, costos, instalaciones, rutasSiguientes);
+        vista = sincronizada;
+        return sincronizada;
+    }
+
+    /** @return Última vista publicada, o null si no hay una vigente. */
+    Vista getVista() {
+        return vista;
+    }
+
+    /** Propaga los cambios pendientes desde los nodos afectados, sobre copias de los arreglos. */
+    private void actualizar(GrafoCompacto grafo, Map<String, Integer> indices) {
+        extender(grafo.getNumeroNodos());
+        MonticuloIndexado monticulo = new MonticuloIndexado(costos.length);
+
+        for (int indice : instalacionesPendientes) {
+            if (instalaciones[indice] != indice) {
+                asignar(indice, 0.0, indice, null);
+                monticulo.insertarODisminuir(indice, 0.0);
+            }
+        }
+        for (Ruta ruta : rutasPendientes) {
+            int u = indices.get(ruta.getOrigen().getId());
+            int v = indices.get(ruta.getDestino().getId());
+            double candidato = costos[v] + pesoActual(ruta);
+            if (candidato < costos[u]) {
+                asignar(u, candidato, instalaciones[v], ruta);
+                monticulo.insertarODisminuir(u, candidato);
+            }
+        }
+        rutasPendientes.clear();
+        instalacionesPendientes.clear();
+
+        propagar(grafo, monticulo);
+    }
+
+    /**
+     * Una ruta que se encareció (o se desactivó) invalida el índice solo si
+     * es la primera ruta del camino mínimo de su origen.
+     */
+    private boolean requiereReconstruccionPorRutas(Map<String, Integer> indices) {
+        for (Ruta ruta : rutasPendientes) {
+            int u = indices.get(ruta.getOrigen().getId());
+            if (u < rutasSiguientes.length && rutasSiguientes[u] == ruta) {
+                int v = indices.get(ruta.getDestino().getId());
+                if (costos[v] + pesoActual(ruta) > costos[u]) return true;
+            }
+        }
+        return false;
+    }
+
+    /** Recalcula el índice con un Dijkstra hacia atrás desde todas las instalaciones. */
+    private void reconstruir(GrafoCompacto grafo, List<Nodo> nodos) {
+        int n = grafo.getNumeroNodos();
+        costos = new double[n];
+        instalaciones = new int[n];
+        rutasSiguientes = new Ruta[n];
+        Arrays.fill(costos, INFINITO);
+        Arrays.fill(instalaciones, -1);
+
+        MonticuloIndexado monticulo = new MonticuloIndexado(n);
+        for (int i = 0; i < n; i++) {
+            if (esInstalacion(nodos.get(i))) {
+                asignar(i, 0.0, i, null);
+                monticulo.insertarODisminuir(i, 0.0);
+            }
+        }
+        propagar(grafo, monticulo);
+
+        rutasPendientes.clear();
+        instalacionesPendientes.clear();
+        requiereReconstruccion = false;
+    }
+
+    /** Propaga las reducciones de costo hacia atrás por las aristas entrantes. */
+    private void propagar(GrafoCompacto grafo, MonticuloIndexado monticulo) {
+        double[] pesos = grafo.pesos(criterio);
+        while (!monticulo.estaVacio()) {
+            int u = monticulo.extraerMinimo();
+            double costoU = costos[u];
+            for (int p = grafo.inicioEntrantes(u), fin = grafo.finEntrantes(u); p < fin; p++) {
+                int e = grafo.aristaEntrante(p);
+                int v = grafo.origen(e);
+                double candidato = costoU + pesos[e];
+                if (candidato < costos[v]) {
+                    asignar(v, candidato, instalaciones[u], grafo.ruta(e));
+                    monticulo.insertarODisminuir(v, candidato);
+                }
+            }
+        }
+    }
+
+    private void asignar(int nodo, double costo, int instalacion, Ruta rutaSiguiente) {
+        costos[nodo] = costo;
+        instalaciones[nodo] = instalacion;
+        rutasSiguientes[nodo] = rutaSiguiente;
+    }
+
+    /**
+     * Copia los arreglos (la vista publicada conserva los anteriores) y los
+     * amplía a {@code n} nodos; los nodos nuevos no alcanzan ninguna instalación.
+     */
+    private void extender(int n) {
+        int anterior = costos.length;
+        costos = Arrays.copyOf(costos, n);
+        instalaciones = Arrays.copyOf(instalaciones, n);
+        rutasSiguientes = Arrays.copyOf(rutasSiguientes, n);
+        Arrays.fill(costos, anterior, n, INFINITO);
+        Arrays.fill(instalaciones, anterior, n, -1);
+    }
+
+    private double pesoActual(Ruta ruta) {
+        return ruta.isActiva() ? GrafoCompacto.peso(ruta, criterio) : INFINITO;
+    }
+
+    private boolean esInstalacion(Nodo nodo) {
+        return nodo != null && nodo.isActivo() && nodo.getTipo() == tipo;
+    }
+
+    /**
+     * Resultado inmutable del índice para una instantánea del grafo. Sus
+     * arreglos no se modifican después de publicarla.
+     */
+    static final class Vista {
+
+        private final GrafoCompacto grafo;
+        private final double[] costos;
+        private final int[] instalaciones;
+        private final Ruta[] rutasSiguientes;
+
+        private Vista(GrafoCompacto grafo, double[] costos, int[] instalaciones, Ruta[] rutasSiguientes) {
+            this.grafo = grafo;
+            this.costos = costos;
+            this.instalaciones = instalaciones;
+            this.rutasSiguientes = rutasSiguientes;
+        }
+
+        /** @return Instantánea del grafo a la que corresponde la vista. */
+        GrafoCompacto getGrafo() {
+            return grafo;
+        }
+
+        /** @return Costo hasta la instalación más cercana, o infinito si no alcanza ninguna. */
+        double costo(int nodo) {
+            return costos[nodo];
+        }
+
+        /** @return Índice de la instalación más cercana, o -1 si no alcanza ninguna. */
+        int instalacion(int nodo) {
+            return instalaciones[nodo];
+        }
+
+        /** @return Primera ruta del camino hacia la instalación, o null si el nodo es una instalación. */
+        Ruta rutaSiguiente(int nodo) {
+            return rutasSiguientes[nodo];
+        }
+    }
+}
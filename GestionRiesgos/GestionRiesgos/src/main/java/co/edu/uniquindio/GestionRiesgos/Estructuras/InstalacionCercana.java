@@ -0,0 +1,48 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+
+/**
+ * Resultado de la búsqueda de la instalación más cercana a una zona: la
+ * instalación, el costo del camino mínimo hasta ella y la primera ruta a
+ * tomar.
+ */
+public final class InstalacionCercana {
+
+    private final Nodo instalacion;
+    private final double costo;
+    private final CriterioRuta criterio;
+    private final Ruta primerTramo;
+
+    InstalacionCercana(Nodo instalacion, double costo, CriterioRuta criterio, Ruta primerTramo) {
+        this.instalacion = instalacion;
+        this.costo = costo;
+        this.criterio = criterio;
+        this.primerTramo = primerTramo;
+    }
+
+    /** @return Nodo de la instalación más cercana. */
+    public Nodo getInstalacion() {
+        return instalacion;
+    }
+
+    /** @return Costo del camino mínimo hasta la instalación según el criterio. */
+    public double getCosto() {
+        return costo;
+    }
+
+    public CriterioRuta getCriterio() {
+        return criterio;
+    }
+
+    /** @return Primera ruta del camino hacia la instalación, o null si la zona es la instalación. */
+    public Ruta getPrimerTramo() {
+        return primerTramo;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("InstalacionCercana{instalacion='%s', costo=%.2f, criterio=%s}",
+                instalacion.getId(), costo, criterio);
+    }
+}
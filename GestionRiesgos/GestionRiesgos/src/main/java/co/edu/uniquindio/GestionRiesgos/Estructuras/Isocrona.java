@@ -0,0 +1,108 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Isócrona de una zona: las zonas alcanzables desde ella dentro de un
+ * presupuesto de tiempo, con el tiempo de llegada a cada una, en orden de
+ * llegada (la primera es el propio origen, con tiempo 0).
+ *
+ * Las isócronas de un mismo origen con presupuestos menores comparten los
+ * arreglos de la de mayor presupuesto (ver {@link #recortar(double)}).
+ */
+public final class Isocrona {
+
+    private final String origen;
+    private final CriterioRuta criterio;
+    private final double presupuesto;
+    private final long version;
+
+    /** Zonas y tiempos de llegada en orden creciente de tiempo; solo valen los primeros {@code cantidad} */
+    private final String[] zonas;
+    private final double[] tiempos;
+    private final int cantidad;
+
+    Isocrona(String origen, CriterioRuta criterio, double presupuesto, long version,
+             String[] zonas, double[] tiempos, int cantidad) {
+        this.origen = origen;
+        this.criterio = criterio;
+        this.presupuesto = presupuesto;
+        this.version = version;
+        this.zonas = zonas;
+        this.tiempos = tiempos;
+        this.cantidad = cantidad;
+    }
+
+    /**
+     * Obtiene la isócrona de un presupuesto menor, sin volver a buscar: son
+     * las zonas cuyo tiempo de llegada no lo supera.
+     *
+     * @param presupuestoMenor Presupuesto no mayor que el de esta isócrona.
+     * @return Isócrona del mismo origen que comparte los arreglos de esta.
+     */
+    Isocrona recortar(double presupuestoMenor) {
+        int hasta = cantidad;
+        while (hasta > 0 && tiempos[hasta - 1] > presupuestoMenor) hasta--;
+        return new Isocrona(origen, criterio, presupuestoMenor, version, zonas, tiempos, hasta);
+    }
+
+    /** @return ID de la zona de origen. */
+    public String getOrigen() {
+        return origen;
+    }
+
+    /** @return Criterio de tiempo usado (tiempo estimado o con tráfico). */
+    public CriterioRuta getCriterio() {
+        return criterio;
+    }
+
+    /** @return Presupuesto de tiempo, en las unidades de las rutas. */
+    public double getPresupuesto() {
+        return presupuesto;
+    }
+
+    /** @return Versión de los pesos del criterio sobre la que se calculó. */
+    public long getVersion() {
+        return version;
+    }
+
+    /** @return Cantidad de zonas alcanzables (incluido el origen). */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /** @return IDs de las zonas alcanzables, en orden de llegada. */
+    public List<String> getZonas() {
+        return Collections.unmodifiableList(Arrays.asList(zonas).subList(0, cantidad));
+    }
+
+    /** @return Tiempo de llegada a cada zona alcanzable, en orden de llegada. */
+    public Map<String, Double> getTiemposLlegada() {
+        Map<String, Double> llegadas = new LinkedHashMap<>();
+        for (int i = 0; i < cantidad; i++) llegadas.put(zonas[i], tiempos[i]);
+        return llegadas;
+    }
+
+    /**
+     * @param idZona ID de la zona.
+     * @return Tiempo de llegada, o infinito si no se alcanza dentro del presupuesto.
+     */
+    public double getTiempoLlegada(String idZona) {
+        for (int i = 0; i < cantidad; i++) {
+            if (zonas[i].equals(idZona)) return tiempos[i];
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Isocrona{origen=%s, criterio=%s, presupuesto=%.2f, zonas=%d, version=%d}",
+                origen, criterio, presupuesto, cantidad, version);
+    }
+}
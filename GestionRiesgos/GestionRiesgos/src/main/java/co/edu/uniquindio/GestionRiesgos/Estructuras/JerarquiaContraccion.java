@@ -0,0 +1,503 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Jerarquía de contracción (Contraction Hierarchy) construida sobre un
+ * {@link GrafoCompacto} para un {@link CriterioRuta} concreto.
+ *
+ * Durante el preprocesamiento los nodos se contraen uno a uno en orden de
+ * importancia; al contraer {@code v} se agrega un atajo {@code u → x} por cada
+ * par de vecinos cuyo camino mínimo pasa por {@code v} (comprobado con una
+ * búsqueda de testigo acotada). Cada nodo recibe así un rango.
+ *
+ * Las consultas ejecutan una búsqueda bidireccional que solo sube de rango en
+ * ambas direcciones, por lo que exploran una fracción muy pequeña del grafo.
+ * Los atajos guardan las dos aristas que reemplazan, lo que permite
+ * desempaquetar el resultado en las rutas originales.
+ *
+ * La instancia es inmutable una vez construida y puede consultarse desde
+ * varios hilos a la vez.
+ */
+final class JerarquiaContraccion {
+
+    /** Máximo de nodos asentados en cada búsqueda de testigo */
+    private static final int LIMITE_TESTIGO = 500;
+
+    /** Grafo a partir del cual se construyó la jerarquía */
+    private final GrafoCompacto grafo;
+
+    /** Criterio de peso de la jerarquía */
+    private final CriterioRuta criterio;
+
+    /** Nodo origen de cada arista de la jerarquía */
+    private final int[] desde;
+
+    /** Nodo destino de cada arista de la jerarquía */
+    private final int[] hasta;
+
+    /** Arista original de cada arista de la jerarquía (-1 en los atajos) */
+    private final int[] aristaOriginal;
+
+    /** Primera arista reemplazada por cada atajo */
+    private final int[] primerHijo;
+
+    /** Segunda arista reemplazada por cada atajo */
+    private final int[] segundoHijo;
+
+    /** Cantidad de atajos agregados */
+    private final int numeroAtajos;
+
+    /** Grafo hacia arriba (búsqueda desde el origen), en formato CSR */
+    private final int[] inicioSubida;
+    private final int[] vecinoSubida;
+    private final int[] aristaSubida;
+    private final double[] pesoSubida;
+
+    /** Grafo hacia arriba invertido (búsqueda desde el destino), en formato CSR */
+    private final int[] inicioBajada;
+    private final int[] vecinoBajada;
+    private final int[] aristaBajada;
+    private final double[] pesoBajada;
+
+    private JerarquiaContraccion(Constructor c) {
+        this.grafo = c.grafo;
+        this.criterio = c.criterio;
+        this.desde = Arrays.copyOf(c.desde, c.numeroAristas);
+        this.hasta = Arrays.copyOf(c.hasta, c.numeroAristas);
+        this.aristaOriginal = Arrays.copyOf(c.original, c.numeroAristas);
+        this.primerHijo = Arrays.copyOf(c.hijoA, c.numeroAristas);
+        this.segundoHijo = Arrays.copyOf(c.hijoB, c.numeroAristas);
+        this.numeroAtajos = c.numeroAristas - c.aristasIniciales;
+
+        int n = grafo.getNumeroNodos();
+        this.inicioSubida = new int[n + 1];
+        this.inicioBajada = new int[n + 1];
+        int subidas = 0;
+        for (int e = 0; e < c.numeroAristas; e++) {
+            if (c.rango[c.desde[e]] < c.rango[c.hasta[e]]) {
+                inicioSubida[c.desde[e] + 1]++;
+                subidas++;
+            } else {
+                inicioBajada[c.hasta[e] + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            inicioSubida[i + 1] += inicioSubida[i];
+            inicioBajada[i + 1] += inicioBajada[i];
+        }
+
+        this.vecinoSubida = new int[subidas];
+        this.aristaSubida = new int[subidas];
+        this.pesoSubida = new double[subidas];
+        int bajadas = c.numeroAristas - subidas;
+        this.vecinoBajada = new int[bajadas];
+        this.aristaBajada = new int[bajadas];
+        this.pesoBajada = new double[bajadas];
+
+        int[] siguienteSubida = Arrays.copyOf(inicioSubida, n);
+        int[] siguienteBajada = Arrays.copyOf(inicioBajada, n);
+        for (int e = 0; e < c.numeroAristas; e++) {
+            int u = c.desde[e];
+            int v = c.hasta[e];
+            if (c.rango[u] < c.rango[v]) {
+                int p = siguienteSubida[u]++;
+                vecinoSubida[p] = v;
+                aristaSubida[p] = e;
+                pesoSubida[p] = c.peso[e];
+            } else {
+                int p = siguienteBajada[v]++;
+                vecinoBajada[p] = u;
+                aristaBajada[p] = e;
+                pesoBajada[p] = c.peso[e];
+            }
+        }
+    }
+
+    /**
+     * Construye la jerarquía de contracción del grafo para el criterio dado.
+     * El cálculo inicial de prioridades se reparte entre todos los núcleos.
+     *
+     * @param grafo Grafo compacto de origen.
+     * @param criterio Criterio de peso.
+     * @return Jerarquía construida.
+     */
+    static JerarquiaContraccion construir(GrafoCompacto grafo, CriterioRuta criterio) {
+        Constructor constructor = new Constructor(grafo, criterio);
+        constructor.contraer();
+        return new JerarquiaContraccion(constructor);
+    }
+
+    /**
+     * Calcula el camino mínimo con una búsqueda bidireccional que solo
+     * asciende en la jerarquía. Cada lado deja de expandirse cuando su clave
+     * mínima alcanza el mejor costo de encuentro conocido.
+     *
+     * @param origen Índice del nodo origen.
+     * @param destino Índice del nodo destino.
+     * @param adelante Espacio de trabajo de la búsqueda desde el origen.
+     * @param atras Espacio de trabajo de la búsqueda desde el destino.
+     * @return Camino desempaquetado en rutas originales, o null si no existe.
+     */
+    Camino calcularCamino(int origen, int destino, EspacioBusqueda adelante, EspacioBusqueda atras) {
+        if (origen == destino) return null;
+
+        int n = grafo.getNumeroNodos();
+        adelante.reiniciar(n);
+        atras.reiniciar(n);
+        MonticuloIndexado colaAdelante = adelante.monticulo();
+        MonticuloIndexado colaAtras = atras.monticulo();
+
+        adelante.actualizar(origen, 0.0, -1);
+        colaAdelante.insertarODisminuir(origen, 0.0);
+        atras.actualizar(destino, 0.0, -1);
+        colaAtras.insertarODisminuir(destino, 0.0);
+
+        double mejor = Double.POSITIVE_INFINITY;
+        int encuentro = -1;
+
+        while (true) {
+            boolean avanzaAdelante = !colaAdelante.estaVacio() && colaAdelante.claveMinima() < mejor;
+            boolean avanzaAtras = !colaAtras.estaVacio() && colaAtras.claveMinima() < mejor;
+            if (!avanzaAdelante && !avanzaAtras) break;
+
+            boolean haciaAdelante = avanzaAdelante
+                    && (!avanzaAtras || colaAdelante.claveMinima() <= colaAtras.claveMinima());
+            EspacioBusqueda espacio = haciaAdelante ? adelante : atras;
+            EspacioBusqueda otro = haciaAdelante ? atras : adelante;
+            int[] inicio = haciaAdelante ? inicioSubida : inicioBajada;
+            int[] vecinos = haciaAdelante ? vecinoSubida : vecinoBajada;
+            int[] aristas = haciaAdelante ? aristaSubida : aristaBajada;
+            double[] pesos = haciaAdelante ? pesoSubida : pesoBajada;
+
+            int u = espacio.monticulo().extraerMinimo();
+            espacio.asentar(u);
+            double distanciaU = espacio.distancia(u);
+
+            double total = distanciaU + otro.distancia(u);
+            if (total < mejor) {
+                mejor = total;
+                encuentro = u;
+            }
+
+            for (int p = inicio[u], fin = inicio[u + 1]; p < fin; p++) {
+                int v = vecinos[p];
+                double nuevaDistancia = distanciaU + pesos[p];
+                if (nuevaDistancia < espacio.distancia(v)) {
+                    espacio.actualizar(v, nuevaDistancia, aristas[p]);
+                    espacio.monticulo().insertarODisminuir(v, nuevaDistancia);
+                }
+            }
+        }
+
+        if (encuentro < 0) return null;
+
+        List<Integer> aristasJerarquia = new ArrayList<>();
+        for (int v = encuentro; v != origen; ) {
+            int e = adelante.aristaPredecesora(v);
+            aristasJerarquia.add(0, e);
+            v = desde[e];
+        }
+        for (int v = encuentro; v != destino; ) {
+            int e = atras.aristaPredecesora(v);
+            aristasJerarquia.add(e);
+            v = hasta[e];
+        }
+
+        List<Ruta> tramos = new ArrayList<>();
+        for (int e : aristasJerarquia) {
+            desempaquetar(e, tramos);
+        }
+        return new Camino(tramos);
+    }
+
+    /** Expande una arista de la jerarquía en las rutas originales que representa. */
+    private void desempaquetar(int arista, List<Ruta> tramos) {
+        int[] pila = new int[16];
+        int tope = 0;
+        pila[tope++] = arista;
+        while (tope > 0) {
+            int e = pila[--tope];
+            if (aristaOriginal[e] >= 0) {
+                tramos.add(grafo.ruta(aristaOriginal[e]));
+            } else {
+                if (tope + 2 > pila.length) pila = Arrays.copyOf(pila, pila.length * 2);
+                pila[tope++] = segundoHijo[e];
+                pila[tope++] = primerHijo[e];
+            }
+        }
+    }
+
+    /** @return Versión de los pesos del criterio con la que se construyó la jerarquía. */
+    long getVersionPesos() {
+        return grafo.getVersionPesos(criterio);
+    }
+
+    /** @return Criterio de la jerarquía. */
+    CriterioRuta getCriterio() {
+        return criterio;
+    }
+
+    /** @return Cantidad de atajos agregados durante la contracción. */
+    int getNumeroAtajos() {
+        return numeroAtajos;
+    }
+
+    /**
+     * Estado mutable del preprocesamiento: grafo dinámico con listas de
+     * adyacencia por nodo, aristas (originales y atajos) y orden de contracción.
+     */
+    private static final class Constructor {
+
+        private final GrafoCompacto grafo;
+        private final CriterioRuta criterio;
+        private final int n;
+
+        /** Aristas de la jerarquía (crecen con los atajos) */
+        private int[] desde;
+        private int[] hasta;
+        private double[] peso;
+        private int[] original;
+        private int[] hijoA;
+        private int[] hijoB;
+        private int numeroAristas;
+        private final int aristasIniciales;
+
+        /** Listas de adyacencia dinámicas (IDs de arista) */
+        private final int[][] salientes;
+        private final int[] cantidadSalientes;
+        private final int[][] entrantes;
+        private final int[] cantidadEntrantes;
+
+        private final boolean[] contraido;
+        private final int[] vecinosContraidos;
+        private final int[] rango;
+
+        /** Búsqueda de testigo del hilo que ejecuta la contracción */
+        private final BusquedaTestigo testigo;
+
+        Constructor(GrafoCompacto grafo, CriterioRuta criterio) {
+            this.grafo = grafo;
+            this.criterio = criterio;
+            this.n = grafo.getNumeroNodos();
+            int m = grafo.getNumeroAristas();
+            double[] pesos = grafo.pesos(criterio);
+
+            int capacidad = Math.max(16, m * 2);
+            desde = new int[capacidad];
+            hasta = new int[capacidad];
+            peso = new double[capacidad];
+            original = new int[capacidad];
+            hijoA = new int[capacidad];
+            hijoB = new int[capacidad];
+
+            salientes = new int[n][];
+            cantidadSalientes = new int[n];
+            entrantes = new int[n][];
+            cantidadEntrantes = new int[n];
+            contraido = new boolean[n];
+            vecinosContraidos = new int[n];
+            rango = new int[n];
+            testigo = new BusquedaTestigo(n);
+
+            // Se conserva solo la arista de menor peso entre cada par de nodos
+            Map<Long, Integer> mejorPorPar = new HashMap<>();
+            for (int e = 0; e < m; e++) {
+                int u = grafo.origen(e);
+                int v = grafo.destino(e);
+                if (u == v) continue;
+                long par = ((long) u << 32) | v;
+                Integer actual = mejorPorPar.get(par);
+                if (actual == null) {
+                    mejorPorPar.put(par, agregarArista(u, v, pesos[e], e, -1, -1));
+                } else if (pesos[e] < peso[actual]) {
+                    peso[actual] = pesos[e];
+                    original[actual] = e;
+                }
+            }
+            aristasIniciales = numeroAristas;
+        }
+
+        /** Contrae todos los nodos en orden de prioridad (diferencia de aristas con actualización perezosa). */
+        void contraer() {
+            ThreadLocal<BusquedaTestigo> testigos = ThreadLocal.withInitial(() -> new BusquedaTestigo(n));
+            double[] prioridades = new double[n];
+            IntStream.range(0, n).parallel()
+                    .forEach(v -> prioridades[v] = calcularPrioridad(v, testigos.get()));
+
+            MonticuloIndexado cola = new MonticuloIndexado(n);
+            cola.reiniciar(n);
+            for (int v = 0; v < n; v++) {
+                cola.insertarODisminuir(v, prioridades[v]);
+            }
+
+            int siguienteRango = 0;
+            while (!cola.estaVacio()) {
+                int v = cola.extraerMinimo();
+                double prioridad = calcularPrioridad(v, testigo);
+                if (!cola.estaVacio() && prioridad > cola.claveMinima()) {
+                    cola.insertarODisminuir(v, prioridad);
+                    continue;
+                }
+                contraerNodo(v, false, testigo);
+                contraido[v] = true;
+                rango[v] = siguienteRango++;
+            }
+        }
+
+        /** Prioridad de contracción: atajos necesarios menos aristas eliminadas, más vecinos ya contraídos. */
+        private double calcularPrioridad(int v, BusquedaTestigo busqueda) {
+            int atajos = contraerNodo(v, true, busqueda);
+            int eliminadas = 0;
+            for (int i = 0; i < cantidadSalientes[v]; i++) {
+                if (!contraido[hasta[salientes[v][i]]]) eliminadas++;
+            }
+            for (int i = 0; i < cantidadEntrantes[v]; i++) {
+                if (!contraido[desde[entrantes[v][i]]]) eliminadas++;
+            }
+            return atajos - eliminadas + vecinosContraidos[v];
+        }
+
+        /**
+         * Contrae (o simula la contracción de) un nodo: por cada vecino de
+         * entrada {@code u} busca testigos que eviten {@code v} y agrega un
+         * atajo hacia cada vecino de salida que no tenga uno.
+         *
+         * @return Cantidad de atajos necesarios.
+         */
+        private int contraerNodo(int v, boolean simular, BusquedaTestigo busqueda) {
+            int atajos = 0;
+            int cantidadEntrada = cantidadEntrantes[v];
+            int cantidadSalida = cantidadSalientes[v];
+
+            for (int i = 0; i < cantidadEntrada; i++) {
+                int entrada = entrantes[v][i];
+                int u = desde[entrada];
+                if (contraido[u]) continue;
+
+                double maximo = 0.0;
+                boolean hayDestinos = false;
+                for (int j = 0; j < cantidadSalida; j++) {
+                    int salida = salientes[v][j];
+                    int x = hasta[salida];
+                    if (contraido[x] || x == u) continue;
+                    hayDestinos = true;
+                    maximo = Math.max(maximo, peso[salida]);
+                }
+                if (!hayDestinos) continue;
+
+                busqueda.buscar(this, u, v, peso[entrada] + maximo);
+
+                for (int j = 0; j < cantidadSalida; j++) {
+                    int salida = salientes[v][j];
+                    int x = hasta[salida];
+                    if (contraido[x] || x == u) continue;
+
+                    double costo = peso[entrada] + peso[salida];
+                    if (busqueda.distancia(x) > costo) {
+                        atajos++;
+                        if (!simular) {
+                            agregarArista(u, x, costo, -1, entrada, salida);
+                        }
+                    }
+                }
+            }
+
+            if (!simular) {
+                for (int j = 0; j < cantidadSalida; j++) vecinosContraidos[hasta[salientes[v][j]]]++;
+                for (int i = 0; i < cantidadEntrada; i++) vecinosContraidos[desde[entrantes[v][i]]]++;
+            }
+            return atajos;
+        }
+
+        private int agregarArista(int u, int v, double w, int aristaOriginal, int a, int b) {
+            if (numeroAristas == desde.length) {
+                int capacidad = desde.length * 2;
+                desde = Arrays.copyOf(desde, capacidad);
+                hasta = Arrays.copyOf(hasta, capacidad);
+                peso = Arrays.copyOf(peso, capacidad);
+                original = Arrays.copyOf(original, capacidad);
+                hijoA = Arrays.copyOf(hijoA, capacidad);
+                hijoB = Arrays.copyOf(hijoB, capacidad);
+            }
+            int e = numeroAristas++;
+            desde[e] = u;
+            hasta[e] = v;
+            peso[e] = w;
+            original[e] = aristaOriginal;
+            hijoA[e] = a;
+            hijoB[e] = b;
+
+            salientes[u] = agregar(salientes[u], cantidadSalientes[u]++, e);
+            entrantes[v] = agregar(entrantes[v], cantidadEntrantes[v]++, e);
+            return e;
+        }
+
+        private static int[] agregar(int[] lista, int posicion, int valor) {
+            if (lista == null) lista = new int[4];
+            else if (posicion == lista.length) lista = Arrays.copyOf(lista, lista.length * 2);
+            lista[posicion] = valor;
+            return lista;
+        }
+    }
+
+    /**
+     * Búsqueda de testigo: Dijkstra acotado sobre los nodos no contraídos que
+     * evita el nodo que se está contrayendo. Reutiliza sus arreglos mediante
+     * marcas de generación.
+     */
+    private static final class BusquedaTestigo {
+
+        private final double[] distancias;
+        private final int[] marcas;
+        private final MonticuloIndexado cola;
+        private int generacion;
+
+        BusquedaTestigo(int n) {
+            this.distancias = new double[Math.max(1, n)];
+            this.marcas = new int[Math.max(1, n)];
+            this.cola = new MonticuloIndexado(n);
+        }
+
+        void buscar(Constructor c, int origen, int excluido, double limite) {
+            if (++generacion == Integer.MAX_VALUE) {
+                Arrays.fill(marcas, 0);
+                generacion = 1;
+            }
+            cola.reiniciar(c.n);
+            marcas[origen] = generacion;
+            distancias[origen] = 0.0;
+            cola.insertarODisminuir(origen, 0.0);
+
+            int asentados = 0;
+            while (!cola.estaVacio() && asentados++ < LIMITE_TESTIGO) {
+                if (cola.claveMinima() > limite) break;
+                int u = cola.extraerMinimo();
+                double distanciaU = distancias[u];
+
+                for (int i = 0; i < c.cantidadSalientes[u]; i++) {
+                    int e = c.salientes[u][i];
+                    int v = c.hasta[e];
+                    if (v == excluido || c.contraido[v]) continue;
+                    double nuevaDistancia = distanciaU + c.peso[e];
+                    if (nuevaDistancia < distancia(v)) {
+                        marcas[v] = generacion;
+                        distancias[v] = nuevaDistancia;
+                        cola.insertarODisminuir(v, nuevaDistancia);
+                    }
+                }
+            }
+        }
+
+        double distancia(int v) {
+            return marcas[v] == generacion ? distancias[v] : Double.POSITIVE_INFINITY;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+
+import java.util.List;
+
+/**
+ * Matriz densa de costos de camino mínimo entre un conjunto de zonas origen
+ * (filas) y un conjunto de zonas destino (columnas), según un criterio.
+ *
+ * Los valores se guardan en un único arreglo primitivo por filas. Un costo
+ * infinito indica que el destino no es alcanzable desde el origen. La matriz
+ * es inmutable y corresponde a una versión del grafo.
+ */
+public final class MatrizCostos {
+
+    private final List<String> idsOrigen;
+    private final List<String> idsDestino;
+    private final CriterioRuta criterio;
+
+    /** Costos por filas: el costo de (i, j) está en i * columnas + j */
+    private final double[] costos;
+
+    /** Versión del grafo sobre la que se calculó */
+    private final long version;
+
+    MatrizCostos(List<String> idsOrigen, List<String> idsDestino, CriterioRuta criterio,
+                 double[] costos, long version) {
+        this.idsOrigen = List.copyOf(idsOrigen);
+        this.idsDestino = List.copyOf(idsDestino);
+        this.criterio = criterio;
+        this.costos = costos;
+        this.version = version;
+    }
+
+    /**
+     * @param fila Posición del origen.
+     * @param columna Posición del destino.
+     * @return Costo mínimo, o infinito si no hay camino.
+     */
+    public double costo(int fila, int columna) {
+        if (fila < 0 || fila >= getFilas() || columna < 0 || columna >= getColumnas()) {
+            throw new IndexOutOfBoundsException("Posición fuera de la matriz: (" + fila + ", " + columna + ")");
+        }
+        return costos[fila * idsDestino.size() + columna];
+    }
+
+    /**
+     * @param fila Posición del origen.
+     * @return Copia de los costos desde ese origen a cada destino.
+     */
+    public double[] fila(int fila) {
+        double[] resultado = new double[getColumnas()];
+        System.arraycopy(costos, fila * getColumnas(), resultado, 0, resultado.length);
+        return resultado;
+    }
+
+    /** @return Copia de la matriz como arreglo bidimensional. */
+    public double[][] comoArreglo() {
+        double[][] resultado = new double[getFilas()][];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = fila(i);
+        }
+        return resultado;
+    }
+
+    public List<String> getIdsOrigen() {
+        return idsOrigen;
+    }
+
+    public List<String> getIdsDestino() {
+        return idsDestino;
+    }
+
+    public CriterioRuta getCriterio() {
+        return criterio;
+    }
+
+    public int getFilas() {
+        return idsOrigen.size();
+    }
+
+    public int getColumnas() {
+        return idsDestino.size();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MatrizCostos{%dx%d, criterio=%s, version=%d}",
+                getFilas(), getColumnas(), criterio, version);
+    }
+}
@@ -0,0 +1,182 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import java.util.Arrays;
+
+/**
+ * Montículo d-ario indexado de mínimos sobre nodos enteros, usado como cola de
+ * prioridad en las búsquedas de caminos mínimos.
+ *
+ * A diferencia de {@link java.util.PriorityQueue}, cada nodo aparece a lo sumo
+ * una vez y su clave puede disminuirse en O(log_d n) (decrease-key), por lo que
+ * no se acumulan entradas obsoletas. Las claves se guardan en un arreglo
+ * primitivo alineado con las posiciones del montículo.
+ *
+ * Para poder reutilizar la instancia entre búsquedas sin limpiar sus arreglos,
+ * la posición de cada nodo se valida con una marca de generación: al llamar a
+ * {@link #reiniciar(int)} todas las posiciones anteriores quedan invalidadas
+ * en O(1).
+ */
+final class MonticuloIndexado {
+
+    /** Aridad del montículo (4 reduce la altura y mejora la localidad de caché) */
+    private static final int ARIDAD = 4;
+
+    /** Nodos almacenados por posición */
+    private int[] nodos;
+
+    /** Claves almacenadas por posición */
+    private double[] claves;
+
+    /** Posición de cada nodo en el montículo (válida solo si la marca coincide) */
+    private int[] posiciones;
+
+    /** Generación en la que se registró la posición de cada nodo */
+    private int[] marcas;
+
+    /** Generación actual */
+    private int generacion;
+
+    /** Cantidad de elementos en el montículo */
+    private int tamano;
+
+    /**
+     * Crea un montículo con capacidad para la cantidad de nodos indicada.
+     *
+     * @param capacidad Cantidad máxima de nodos distintos.
+     */
+    MonticuloIndexado(int capacidad) {
+        int c = Math.max(1, capacidad);
+        this.nodos = new int[c];
+        this.claves = new double[c];
+        this.posiciones = new int[c];
+        this.marcas = new int[c];
+        this.generacion = 1;
+    }
+
+    /**
+     * Vacía el montículo y asegura capacidad para {@code capacidad} nodos.
+     *
+     * @param capacidad Cantidad de nodos del grafo a recorrer.
+     */
+    void reiniciar(int capacidad) {
+        if (capacidad > posiciones.length) {
+            int c = Math.max(capacidad, posiciones.length * 2);
+            nodos = new int[c];
+            claves = new double[c];
+            posiciones = new int[c];
+            marcas = new int[c];
+            generacion = 0;
+        }
+        tamano = 0;
+        if (++generacion == Integer.MAX_VALUE) {
+            Arrays.fill(marcas, 0);
+            generacion = 1;
+        }
+    }
+
+    /** @return true si el montículo no tiene elementos. */
+    boolean estaVacio() {
+        return tamano == 0;
+    }
+
+    /** @return Cantidad de elementos en el montículo. */
+    int tamano() {
+        return tamano;
+    }
+
+    /**
+     * Indica si el nodo está actualmente en el montículo.
+     *
+     * @param nodo Índice del nodo.
+     * @return true si el nodo está pendiente de extraer.
+     */
+    boolean contiene(int nodo) {
+        return marcas[nodo] == generacion && posiciones[nodo] >= 0;
+    }
+
+    /** @return Clave mínima (el montículo no debe estar vacío). */
+    double claveMinima() {
+        return claves[0];
+    }
+
+    /** @return Nodo con la clave mínima (el montículo no debe estar vacío). */
+    int nodoMinimo() {
+        return nodos[0];
+    }
+
+    /**
+     * Inserta el nodo con la clave dada o disminuye su clave si ya estaba
+     * presente con una clave mayor. Si ya fue extraído en esta generación,
+     * se vuelve a insertar.
+     *
+     * @param nodo Índice del nodo.
+     * @param clave Nueva clave.
+     */
+    void insertarODisminuir(int nodo, double clave) {
+        if (contiene(nodo)) {
+            int pos = posiciones[nodo];
+            if (clave < claves[pos]) {
+                subir(pos, nodo, clave);
+            }
+            return;
+        }
+        marcas[nodo] = generacion;
+        subir(tamano++, nodo, clave);
+    }
+
+    /**
+     * Extrae el nodo con la clave mínima.
+     *
+     * @return Índice del nodo extraído (el montículo no debe estar vacío).
+     */
+    int extraerMinimo() {
+        int minimo = nodos[0];
+        posiciones[minimo] = -1;
+        int ultimo = --tamano;
+        if (ultimo > 0) {
+            bajar(0, nodos[ultimo], claves[ultimo]);
+        }
+        return minimo;
+    }
+
+    /** Coloca (nodo, clave) en la posición dada y lo hace subir mientras sea menor que su padre. */
+    private void subir(int pos, int nodo, double clave) {
+        while (pos > 0) {
+            int padre = (pos - 1) / ARIDAD;
+            if (claves[padre] <= clave) break;
+            mover(padre, pos);
+            pos = padre;
+        }
+        colocar(pos, nodo, clave);
+    }
+
+    /** Coloca (nodo, clave) en la posición dada y lo hace bajar mientras algún hijo sea menor. */
+    private void bajar(int pos, int nodo, double clave) {
+        while (true) {
+            int primerHijo = pos * ARIDAD + 1;
+            if (primerHijo >= tamano) break;
+
+            int menor = primerHijo;
+            int fin = Math.min(primerHijo + ARIDAD, tamano);
+            for (int h = primerHijo + 1; h < fin; h++) {
+                if (claves[h] < claves[menor]) menor = h;
+            }
+            if (claves[menor] >= clave) break;
+            mover(menor, pos);
+            pos = menor;
+        }
+        colocar(pos, nodo, clave);
+    }
+
+    private void mover(int desde, int hacia) {
+        nodos[hacia] = nodos[desde];
+        claves[hacia] = claves[desde];
+        posiciones[nodos[hacia]] = hacia;
+    }
+
+    private void colocar(int pos, int nodo, double clave) {
+        nodos[pos] = nodo;
+        claves[pos] = clave;
+        posiciones[nodo] = pos;
+    }
+}
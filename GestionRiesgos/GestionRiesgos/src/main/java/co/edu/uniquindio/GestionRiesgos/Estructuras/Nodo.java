@@ -2,7 +2,9 @@ package co.edu.uniquindio.GestionRiesgos.Estructuras;
 
 import co.edu.uniquindio.GestionRiesgos.Enums.NivelUrgencia;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Clase que representa un nodo en el grafo dirigido del sistema de gestión de desastres.
@@ -41,6 +43,12 @@ public class Nodo {
     /** Estado de actividad del nodo */
     private boolean activo;
 
+    /**
+     * Acciones a ejecutar cuando cambia el tipo o el estado de actividad del
+     * nodo; los setters las recorren desde cualquier hilo
+     */
+    private final transient List<Runnable> observadores = new CopyOnWriteArrayList<>();
+
     // ==============================
     //            ENUMS
     // ==============================
@@ -180,6 +188,34 @@ public class Nodo {
         }
     }
 
+    /**
+     * Registra una acción que se ejecuta cada vez que cambia el tipo o el
+     * estado de actividad del nodo, por ejemplo, para que el grafo actualice
+     * sus índices de instalaciones.
+     *
+     * @param observador Acción a ejecutar tras el cambio.
+     */
+    void agregarObservador(Runnable observador) {
+        observadores.add(observador);
+    }
+
+    /**
+     * Retira una acción registrada con {@link #agregarObservador(Runnable)},
+     * por ejemplo, cuando se descarta el grafo que la registró.
+     *
+     * @param observador Acción a retirar.
+     */
+    void quitarObservador(Runnable observador) {
+        observadores.remove(observador);
+    }
+
+    /** Avisa a los observadores que cambió el tipo o el estado del nodo. */
+    private void notificarCambio() {
+        for (Runnable observador : observadores) {
+            observador.run();
+        }
+    }
+
     // ==============================
     //            GETTERS & SETTERS
     // ==============================
@@ -209,10 +245,20 @@ public class Nodo {
     }
 
     public TipoNodo getTipo() { return tipo; }
-    public void setTipo(TipoNodo tipo) { this.tipo = tipo; }
+    public void setTipo(TipoNodo tipo) {
+        if (tipo != this.tipo) {
+            this.tipo = tipo;
+            notificarCambio();
+        }
+    }
 
     public boolean isActivo() { return activo; }
-    public void setActivo(boolean activo) { this.activo = activo; }
+    public void setActivo(boolean activo) {
+        if (activo != this.activo) {
+            this.activo = activo;
+            notificarCambio();
+        }
+    }
 
     // ==============================
     //            OVERRIDE
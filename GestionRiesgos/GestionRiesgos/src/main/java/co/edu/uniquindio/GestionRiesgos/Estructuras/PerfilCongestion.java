@@ -0,0 +1,111 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import java.util.Arrays;
+
+/**
+ * Perfil de congestión según la hora de salida, usado para calcular rutas
+ * dependientes del tiempo.
+ *
+ * El día (o el período que se defina) se divide en franjas de igual duración,
+ * cada una con un factor que multiplica el tiempo de recorrido: 1.0 es tráfico
+ * normal y 1.5 significa que recorrer una ruta toma un 50 % más. El perfil se
+ * repite cíclicamente.
+ *
+ * Dentro de una ruta la velocidad cambia al cruzar el límite de una franja
+ * (modelo de velocidades por franjas), de modo que salir más tarde nunca
+ * permite llegar antes (propiedad FIFO). Esto garantiza que Dijkstra sobre
+ * los tiempos de llegada encuentre el camino más rápido.
+ *
+ * Las unidades de tiempo son las mismas que las de {@link Ruta#getTiempoEstimado()}
+ * (horas).
+ */
+public class PerfilCongestion {
+
+    /** Duración de cada franja */
+    private final double duracionFranja;
+
+    /** Factor multiplicador del tiempo de recorrido en cada franja */
+    private final double[] factores;
+
+    /**
+     * Crea un perfil con franjas de la duración indicada.
+     *
+     * @param duracionFranja Duración de cada franja (mayor que cero).
+     * @param factores Factor de cada franja, en orden (todos mayores que cero).
+     */
+    public PerfilCongestion(double duracionFranja, double... factores) {
+        if (duracionFranja <= 0) {
+            throw new IllegalArgumentException("La duración de la franja debe ser mayor que cero");
+        }
+        if (factores == null || factores.length == 0) {
+            throw new IllegalArgumentException("El perfil requiere al menos un factor");
+        }
+        for (double factor : factores) {
+            if (!(factor > 0) || Double.isInfinite(factor)) {
+                throw new IllegalArgumentException("Los factores de congestión deben ser positivos");
+            }
+        }
+        this.duracionFranja = duracionFranja;
+        this.factores = factores.clone();
+    }
+
+    /**
+     * Crea un perfil diario de 24 franjas de una hora.
+     *
+     * @param factoresPorHora Factor de cada hora del día (24 valores).
+     * @return Perfil diario.
+     */
+    public static PerfilCongestion porHora(double... factoresPorHora) {
+        if (factoresPorHora == null || factoresPorHora.length != 24) {
+            throw new IllegalArgumentException("Se requieren 24 factores, uno por hora");
+        }
+        return new PerfilCongestion(1.0, factoresPorHora);
+    }
+
+    /**
+     * Calcula el instante de llegada al recorrer una ruta que, sin congestión,
+     * toma {@code tiempoBase}, saliendo en el instante {@code salida}.
+     *
+     * @param salida Instante de salida (desde el inicio del perfil).
+     * @param tiempoBase Tiempo de recorrido sin congestión.
+     * @return Instante de llegada.
+     */
+    public double tiempoLlegada(double salida, double tiempoBase) {
+        double periodo = duracionFranja * factores.length;
+        double posicion = salida % periodo;
+        if (posicion < 0) posicion += periodo;
+
+        int franja = Math.min((int) (posicion / duracionFranja), factores.length - 1);
+        double instante = salida;
+        double finFranja = salida - posicion + (franja + 1) * duracionFranja;
+        double restante = tiempoBase;
+
+        while (true) {
+            double factor = factores[franja];
+            double disponible = Math.max(0.0, finFranja - instante) / factor;
+            if (restante <= disponible) {
+                return instante + restante * factor;
+            }
+            restante -= disponible;
+            instante = finFranja;
+            franja = (franja + 1) % factores.length;
+            finFranja = instante + duracionFranja;
+        }
+    }
+
+    /** @return Duración de cada franja. */
+    public double getDuracionFranja() {
+        return duracionFranja;
+    }
+
+    /** @return Copia de los factores por franja. */
+    public double[] getFactores() {
+        return factores.clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PerfilCongestion{duracionFranja=%.2f, factores=%s}",
+                duracionFranja, Arrays.toString(factores));
+    }
+}
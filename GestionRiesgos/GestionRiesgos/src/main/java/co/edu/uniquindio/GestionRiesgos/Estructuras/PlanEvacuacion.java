@@ -0,0 +1,104 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Model.Evacuacion;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Plan de una evacuación dentro de una planificación en lote: cómo se
+ * reparten sus personas entre uno o varios caminos sin exceder la capacidad
+ * de las rutas compartidas con las demás evacuaciones.
+ */
+public final class PlanEvacuacion {
+
+    /** Parte de la evacuación asignada a un camino. */
+    public static final class Asignacion {
+
+        private final Camino camino;
+        private final int personas;
+
+        Asignacion(Camino camino, int personas) {
+            this.camino = camino;
+            this.personas = personas;
+        }
+
+        public Camino getCamino() {
+            return camino;
+        }
+
+        public int getPersonas() {
+            return personas;
+        }
+    }
+
+    private final Evacuacion evacuacion;
+    private final int origen;
+    private final int destino;
+    private final int demanda;
+    private final List<Asignacion> asignaciones;
+    private final int personasAsignadas;
+    private final double costoTotal;
+
+    /** Aristas del grafo compacto de cada asignación, para replanificar sin recalcular */
+    private final List<FlujoCostoMinimo.Envio> envios;
+
+    PlanEvacuacion(Evacuacion evacuacion, int origen, int destino, int demanda,
+                   List<Asignacion> asignaciones, double costoTotal, List<FlujoCostoMinimo.Envio> envios) {
+        this.evacuacion = evacuacion;
+        this.origen = origen;
+        this.destino = destino;
+        this.demanda = demanda;
+        this.asignaciones = Collections.unmodifiableList(asignaciones);
+        this.personasAsignadas = asignaciones.stream().mapToInt(Asignacion::getPersonas).sum();
+        this.costoTotal = costoTotal;
+        this.envios = envios;
+    }
+
+    /**
+     * @return true si el plan sigue valiendo para la evacuación con esos
+     *         extremos en el mismo grafo (misma demanda, mismo origen y destino).
+     */
+    boolean corresponde(Evacuacion evacuacion, int origen, int destino, int demanda) {
+        return this.evacuacion == evacuacion && this.origen == origen
+                && this.destino == destino && this.demanda == demanda;
+    }
+
+    List<FlujoCostoMinimo.Envio> getEnvios() {
+        return envios;
+    }
+
+    public Evacuacion getEvacuacion() {
+        return evacuacion;
+    }
+
+    /** @return Caminos asignados, de mayor a menor cantidad de personas. */
+    public List<Asignacion> getAsignaciones() {
+        return asignaciones;
+    }
+
+    public int getPersonasAsignadas() {
+        return personasAsignadas;
+    }
+
+    /** @return Personas que no caben en la capacidad restante de la red. */
+    public int getPersonasSinAsignar() {
+        return demanda - personasAsignadas;
+    }
+
+    /** @return Suma de personas por costo de su camino (tiempo ponderado por riesgo). */
+    public double getCostoTotal() {
+        return costoTotal;
+    }
+
+    /** @return Camino con más personas asignadas, o null si no se asignó ninguna. */
+    public Camino getCaminoPrincipal() {
+        return asignaciones.isEmpty() ? null : asignaciones.get(0).getCamino();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PlanEvacuacion{evacuacion='%s', asignadas=%d, sinAsignar=%d, caminos=%d, costo=%.2f}",
+                evacuacion.getId(), personasAsignadas, getPersonasSinAsignar(), asignaciones.size(), costoTotal);
+    }
+}
@@ -0,0 +1,107 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Model.Evacuacion;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Planificación en lote de evacuaciones simultáneas sobre la capacidad
+ * disponible de las rutas.
+ *
+ * Las evacuaciones se atienden en orden de prioridad y cada una recibe el
+ * flujo de costo mínimo ({@link FlujoCostoMinimo}) sobre la capacidad que
+ * dejaron las anteriores, repartida en tantos caminos como haga falta. El
+ * costo por persona de una ruta es su tiempo estimado ponderado por su
+ * nivel de riesgo: {@code tiempo * (1 + pesoRiesgo * riesgo)}.
+ *
+ * Es incremental: si el grafo no cambió, los planes de las evacuaciones
+ * iniciales que siguen iguales y en el mismo orden se conservan y solo se
+ * recalculan las siguientes. Una evacuación nueva de menor prioridad que
+ * las existentes cuesta un único cálculo de flujo.
+ *
+ * No es seguro para uso concurrente; el grafo sincroniza el acceso.
+ */
+final class PlanificadorEvacuaciones {
+
+    /** Peso por defecto del nivel de riesgo frente al tiempo */
+    static final double PESO_RIESGO_POR_DEFECTO = 1.0;
+
+    /** Versión del grafo compacto del último plan */
+    private long version = -1;
+
+    private double pesoRiesgo = Double.NaN;
+
+    private List<PlanEvacuacion> planes = new ArrayList<>();
+
+    /**
+     * Planifica las evacuaciones en el orden dado (de mayor a menor prioridad).
+     *
+     * @param grafo Grafo compacto actual.
+     * @param evacuaciones Evacuaciones a planificar.
+     * @param origenes Índice del nodo origen de cada evacuación (-1 si no está en el grafo).
+     * @param destinos Índice del nodo destino de cada evacuación (-1 si no está en el grafo).
+     * @param pesoRiesgo Peso del nivel de riesgo frente al tiempo (no negativo).
+     * @return Un plan por evacuación, en el mismo orden.
+     */
+    List<PlanEvacuacion> planificar(GrafoCompacto grafo, List<Evacuacion> evacuaciones,
+                                    int[] origenes, int[] destinos, double pesoRiesgo) {
+        int reutilizables = 0;
+        if (grafo.getVersion() == version && pesoRiesgo == this.pesoRiesgo) {
+            while (reutilizables < planes.size() && reutilizables < evacuaciones.size()
+                    && planes.get(reutilizables).corresponde(evacuaciones.get(reutilizables),
+                    origenes[reutilizables], destinos[reutilizables], demanda(evacuaciones.get(reutilizables)))) {
+                reutilizables++;
+            }
+        }
+
+        long[] disponible = new long[grafo.getNumeroAristas()];
+        double[] costos = new double[grafo.getNumeroAristas()];
+        for (int e = 0; e < disponible.length; e++) {
+            Ruta ruta = grafo.ruta(e);
+            disponible[e] = ruta.obtenerCapacidadDisponible();
+            costos[e] = ruta.getTiempoEstimado() * (1.0 + pesoRiesgo * ruta.getNivelRiesgo());
+        }
+
+        List<PlanEvacuacion> resultado = new ArrayList<>(planes.subList(0, reutilizables));
+        for (PlanEvacuacion plan : resultado) {
+            for (FlujoCostoMinimo.Envio envio : plan.getEnvios()) {
+                for (int e : envio.aristas) disponible[e] -= envio.cantidad;
+            }
+        }
+
+        FlujoCostoMinimo flujo = new FlujoCostoMinimo(grafo, disponible, costos);
+        for (int i = reutilizables; i < evacuaciones.size(); i++) {
+            Evacuacion evacuacion = evacuaciones.get(i);
+            int demanda = demanda(evacuacion);
+            List<FlujoCostoMinimo.Envio> envios = origenes[i] >= 0 && destinos[i] >= 0
+                    ? flujo.enviar(origenes[i], destinos[i], demanda)
+                    : new ArrayList<>();
+            envios.sort(Comparator.comparingLong((FlujoCostoMinimo.Envio envio) -> envio.cantidad).reversed());
+
+            List<PlanEvacuacion.Asignacion> asignaciones = new ArrayList<>();
+            double costoTotal = 0.0;
+            for (FlujoCostoMinimo.Envio envio : envios) {
+                List<Ruta> tramos = new ArrayList<>(envio.aristas.length);
+                for (int e : envio.aristas) {
+                    tramos.add(grafo.ruta(e));
+                    costoTotal += envio.cantidad * costos[e];
+                }
+                asignaciones.add(new PlanEvacuacion.Asignacion(new Camino(tramos), (int) envio.cantidad));
+            }
+            resultado.add(new PlanEvacuacion(evacuacion, origenes[i], destinos[i], demanda,
+                    asignaciones, costoTotal, envios));
+        }
+
+        this.version = grafo.getVersion();
+        this.pesoRiesgo = pesoRiesgo;
+        this.planes = resultado;
+        return new ArrayList<>(resultado);
+    }
+
+    /** @return Personas de la evacuación que aún faltan por evacuar. */
+    private static int demanda(Evacuacion evacuacion) {
+        return Math.max(0, evacuacion.getPersonasAEvacuar() - evacuacion.getPersonasEvacuadas());
+    }
+}
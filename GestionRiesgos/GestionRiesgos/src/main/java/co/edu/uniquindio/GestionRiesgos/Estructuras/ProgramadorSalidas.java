@@ -0,0 +1,133 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Model.Evacuacion;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Programa las salidas escalonadas de evacuaciones simultáneas para que cada
+ * una termine lo antes posible (flujo más rápido) sin congestionar las rutas.
+ *
+ * El tiempo se discretiza en pasos. Cada ruta tarda un número entero de pasos
+ * y admite, por paso, tantas personas como caben sin superar el umbral de
+ * congestión de {@link Ruta#estaCongestionada()} (80 % de ocupación)
+ * repartidas a lo largo de su recorrido.
+ *
+ * En lugar de construir la red expandida en el tiempo (una copia del grafo
+ * por paso), se usa el teorema de Ford y Fulkerson: el flujo máximo en T pasos
+ * entre un origen y un destino se obtiene repitiendo en el tiempo un flujo
+ * estático de costo mínimo (costo = pasos de recorrido), enviando por cada
+ * camino P su flujo en cada paso de 0 a T - τ(P). Los caminos más cortos
+ * sucesivos llegan en orden creciente de τ, así que se agregan mientras
+ * reduzcan el tiempo de despeje mínimo que cubre la demanda. El costo no
+ * depende del horizonte: 24 horas a 5 minutos (288 pasos) cuestan lo mismo
+ * que una hora.
+ *
+ * Las evacuaciones se programan en orden de prioridad y cada una reserva su
+ * flujo por paso durante todo el horizonte, de modo que las siguientes solo
+ * usan la capacidad restante.
+ */
+final class ProgramadorSalidas {
+
+    /** Fracción de la capacidad de una ruta que puede ocuparse sin congestionarla */
+    private static final double OCUPACION_MAXIMA = 0.8;
+
+    private ProgramadorSalidas() {
+    }
+
+    /**
+     * @param grafo Grafo compacto actual.
+     * @param evacuaciones Evacuaciones de mayor a menor prioridad.
+     * @param origenes Índice del nodo origen de cada evacuación (-1 si no está en el grafo).
+     * @param destinos Índice del nodo destino de cada evacuación (-1 si no está en el grafo).
+     * @param minutosPorPaso Duración de un paso de tiempo.
+     * @param pasosHorizonte Cantidad de pasos del horizonte de programación.
+     * @return Un horario por evacuación, en el mismo orden.
+     */
+    static List<HorarioEvacuacion> programar(GrafoCompacto grafo, List<Evacuacion> evacuaciones,
+                                             int[] origenes, int[] destinos,
+                                             int minutosPorPaso, int pasosHorizonte) {
+        long[] porPaso = new long[grafo.getNumeroAristas()];
+        double[] pasos = new double[grafo.getNumeroAristas()];
+        for (int e = 0; e < porPaso.length; e++) {
+            Ruta ruta = grafo.ruta(e);
+            pasos[e] = Math.ceil(ruta.getTiempoEstimado() * 60.0 / minutosPorPaso - 1e-9);
+            double admisibles = OCUPACION_MAXIMA * ruta.getCapacidadMaxima() - ruta.getCapacidadActual();
+            porPaso[e] = admisibles > 0 ? (long) (admisibles / Math.max(1.0, pasos[e])) : 0;
+        }
+
+        FlujoCostoMinimo flujo = new FlujoCostoMinimo(grafo, porPaso, pasos);
+        List<HorarioEvacuacion> horarios = new ArrayList<>(evacuaciones.size());
+        for (int i = 0; i < evacuaciones.size(); i++) {
+            Evacuacion evacuacion = evacuaciones.get(i);
+            int demanda = Math.max(0, evacuacion.getPersonasAEvacuar() - evacuacion.getPersonasEvacuadas());
+            List<HorarioEvacuacion.OlaSalida> olas = origenes[i] >= 0 && destinos[i] >= 0 && origenes[i] != destinos[i] && demanda > 0
+                    ? programarEvacuacion(grafo, flujo, pasos, origenes[i], destinos[i], demanda, minutosPorPaso, pasosHorizonte)
+                    : new ArrayList<>();
+            int despeje = olas.stream().mapToInt(ola -> ola.getPasoFinal() + ola.getPasosRecorrido()).max().orElse(0);
+            horarios.add(new HorarioEvacuacion(evacuacion, minutosPorPaso, despeje, olas, demanda));
+        }
+        return horarios;
+    }
+
+    private static List<HorarioEvacuacion.OlaSalida> programarEvacuacion(GrafoCompacto grafo, FlujoCostoMinimo flujo,
+                                                                         double[] pasos, int origen, int destino, long demanda,
+                                                                         int minutosPorPaso, int pasosHorizonte) {
+        // Con flujos f_k por caminos de τ_k pasos, en T pasos llegan sum f_k * (T + 1 - τ_k)
+        flujo.iniciar();
+        long flujoTotal = 0;
+        long sumaRetrasos = 0;
+        long despeje = Long.MAX_VALUE;
+        while (true) {
+            double costo = flujo.buscarCamino(origen, destino);
+            if (costo == Double.POSITIVE_INFINITY) break;
+            long tau = Math.round(costo);
+            // Un camino de τ >= T ya no adelanta el despeje
+            if (tau > pasosHorizonte || tau >= despeje) break;
+            long aumento = flujo.aumentar(origen, destino, demanda);
+            flujoTotal += aumento;
+            sumaRetrasos += aumento * (tau - 1);
+            despeje = Math.max(tau, -Math.floorDiv(-(demanda + sumaRetrasos), flujoTotal));
+        }
+        List<FlujoCostoMinimo.Envio> envios = flujo.confirmar(origen, destino);
+        if (flujoTotal == 0) return new ArrayList<>();
+        long pasoDespeje = Math.min(despeje, pasosHorizonte);
+
+        List<HorarioEvacuacion.OlaSalida> olas = new ArrayList<>();
+        envios.sort(Comparator.comparingLong((FlujoCostoMinimo.Envio envio) -> envio.cantidad).reversed());
+        long sobrante = -demanda;
+        int[] recorridos = new int[envios.size()];
+        for (int k = 0; k < envios.size(); k++) {
+            FlujoCostoMinimo.Envio envio = envios.get(k);
+            double suma = 0;
+            for (int e : envio.aristas) suma += pasos[e];
+            recorridos[k] = (int) Math.round(suma);
+            if (recorridos[k] <= pasoDespeje) sobrante += envio.cantidad * (pasoDespeje - recorridos[k] + 1);
+        }
+
+        // Lo que excede la demanda se descuenta de las últimas salidas, que llegan justo en el paso de despeje
+        for (int k = 0; k < envios.size(); k++) {
+            FlujoCostoMinimo.Envio envio = envios.get(k);
+            if (recorridos[k] > pasoDespeje) continue;
+            int pasoFinal = (int) (pasoDespeje - recorridos[k]);
+            long ultimo = envio.cantidad;
+            if (sobrante > 0) {
+                long recorte = Math.min(sobrante, ultimo);
+                sobrante -= recorte;
+                ultimo -= recorte;
+                if (ultimo == 0) {
+                    if (pasoFinal == 0) continue;
+                    pasoFinal--;
+                    ultimo = envio.cantidad;
+                }
+            }
+            List<Ruta> tramos = new ArrayList<>(envio.aristas.length);
+            for (int e : envio.aristas) tramos.add(grafo.ruta(e));
+            olas.add(new HorarioEvacuacion.OlaSalida(new Camino(tramos), recorridos[k], pasoFinal,
+                    (int) envio.cantidad, (int) ultimo, minutosPorPaso));
+        }
+        return olas;
+    }
+}
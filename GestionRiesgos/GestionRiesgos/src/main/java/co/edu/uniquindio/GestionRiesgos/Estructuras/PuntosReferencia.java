@@ -0,0 +1,268 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Tablas de puntos de referencia (landmarks) para la heurística ALT de A*.
+ *
+ * Para cada punto de referencia L se guardan las distancias d(L, v) y d(v, L)
+ * a todos los nodos según un criterio. Por la desigualdad triangular,
+ * d(v, t) ≥ d(L, t) − d(L, v) y d(v, t) ≥ d(v, L) − d(t, L), por lo que el
+ * máximo de estas diferencias es una cota inferior admisible y consistente
+ * del costo restante. A diferencia de la cota geográfica, no depende de las
+ * coordenadas y sirve para cualquier criterio, incluido el riesgo.
+ *
+ * Los puntos se eligen por selección del punto más lejano: cada nuevo punto es
+ * el nodo más alejado de los ya elegidos, lo que los reparte por la periferia
+ * del grafo, donde las cotas son más ajustadas.
+ *
+ * Las instancias son inmutables. Cuando se agregan rutas, {@link #actualizar}
+ * produce una copia corregida propagando solo las distancias que disminuyen,
+ * sin repetir los recorridos completos.
+ */
+final class PuntosReferencia implements BuscadorCaminos.CotaInferior {
+
+    /** Cantidad de puntos de referencia por defecto */
+    static final int CANTIDAD_POR_DEFECTO = 8;
+
+    /** Margen para absorber errores de redondeo y mantener la cota admisible */
+    private static final double FACTOR_SEGURIDAD = 0.999999;
+
+    private static final double INFINITO = Double.POSITIVE_INFINITY;
+
+    /** Criterio con el que se calcularon las distancias */
+    private final CriterioRuta criterio;
+
+    /** Índices de los nodos elegidos como puntos de referencia */
+    private final int[] puntos;
+
+    /** desde[i][v] = distancia del punto i al nodo v */
+    private final double[][] desde;
+
+    /** hacia[i][v] = distancia del nodo v al punto i */
+    private final double[][] hacia;
+
+    /** Versión de los pesos del criterio a la que corresponden las tablas */
+    private final long version;
+
+    /** Cantidad de rutas de la lista del grafo ya incorporadas a las tablas */
+    private final int rutasIncorporadas;
+
+    private PuntosReferencia(CriterioRuta criterio, int[] puntos, double[][] desde, double[][] hacia,
+                             long version, int rutasIncorporadas) {
+        this.criterio = criterio;
+        this.puntos = puntos;
+        this.desde = desde;
+        this.hacia = hacia;
+        this.version = version;
+        this.rutasIncorporadas = rutasIncorporadas;
+    }
+
+    /**
+     * Elige los puntos de referencia y calcula sus tablas de distancias. Las
+     * distancias hacia adelante se obtienen durante la selección; las
+     * distancias hacia atrás se calculan en paralelo, una por punto.
+     *
+     * @param grafo Grafo compacto.
+     * @param criterio Criterio que define el peso de las rutas.
+     * @param cantidad Cantidad deseada de puntos de referencia.
+     * @param rutasIncorporadas Cantidad de rutas que representa el grafo compacto.
+     * @return Tablas de puntos de referencia.
+     */
+    static PuntosReferencia construir(GrafoCompacto grafo, CriterioRuta criterio, int cantidad,
+                                      int rutasIncorporadas) {
+        int n = grafo.getNumeroNodos();
+        int k = Math.min(cantidad, n);
+        double[] pesos = grafo.pesos(criterio);
+        EspacioBusqueda espacio = EspacioBusqueda.delHilo();
+
+        int[] puntos = new int[k];
+        double[][] desde = new double[k][];
+        double[] cercania = new double[n];
+        Arrays.fill(cercania, INFINITO);
+
+        // El primer punto es el nodo más lejano a un nodo arbitrario
+        double[] inicial = k > 0 ? distanciasDesde(grafo, pesos, 0, espacio) : cercania;
+        int candidato = masLejano(inicial, inicial);
+
+        for (int i = 0; i < k; i++) {
+            puntos[i] = candidato;
+            desde[i] = distanciasDesde(grafo, pesos, candidato, espacio);
+            for (int v = 0; v < n; v++) {
+                cercania[v] = Math.min(cercania[v], desde[i][v]);
+            }
+            cercania[candidato] = -1.0;
+            candidato = masLejano(cercania, inicial);
+        }
+
+        double[][] hacia = new double[k][];
+        IntStream.range(0, k).parallel()
+                .forEach(i -> hacia[i] = distanciasHacia(grafo, pesos, puntos[i], EspacioBusqueda.delHilo()));
+
+        return new PuntosReferencia(criterio, puntos, desde, hacia, grafo.getVersionPesos(criterio), rutasIncorporadas);
+    }
+
+    /**
+     * Produce tablas válidas para una versión posterior del grafo a la que
+     * solo se le agregaron nodos y rutas. Las nuevas rutas solo pueden acortar
+     * distancias, así que basta con relajarlas y propagar las mejoras (hacia
+     * adelante por las aristas salientes y hacia atrás por las entrantes).
+     *
+     * @param grafo Grafo compacto de la nueva versión.
+     * @param rutas Lista completa de rutas del grafo (solo crece).
+     * @param indices Índice de cada ID de nodo.
+     * @return Nuevas tablas; la instancia actual no se modifica.
+     */
+    PuntosReferencia actualizar(GrafoCompacto grafo, List<Ruta> rutas, Map<String, Integer> indices) {
+        int n = grafo.getNumeroNodos();
+        List<Ruta> nuevas = rutas.subList(rutasIncorporadas, rutas.size());
+        if (nuevas.isEmpty() && (puntos.length == 0 || n == desde[0].length)) {
+            // Solo cambiaron pesos de otros criterios: las tablas siguen siendo válidas
+            return new PuntosReferencia(criterio, puntos, desde, hacia, grafo.getVersionPesos(criterio), rutasIncorporadas);
+        }
+
+        double[][] nuevasDesde = new double[puntos.length][];
+        double[][] nuevasHacia = new double[puntos.length][];
+        IntStream.range(0, 2 * puntos.length).parallel().forEach(tarea -> {
+            int i = tarea / 2;
+            boolean haciaAdelante = tarea % 2 == 0;
+            double[] tabla = extender(haciaAdelante ? desde[i] : hacia[i], n);
+            propagar(grafo, criterio, nuevas, indices, tabla, haciaAdelante);
+            if (haciaAdelante) {
+                nuevasDesde[i] = tabla;
+            } else {
+                nuevasHacia[i] = tabla;
+            }
+        });
+
+        return new PuntosReferencia(criterio, puntos, nuevasDesde, nuevasHacia, grafo.getVersionPesos(criterio), rutas.size());
+    }
+
+    /**
+     * Cota inferior del costo de ir de {@code nodo} a {@code destino}. Es
+     * infinita si las tablas prueban que el destino no es alcanzable.
+     */
+    @Override
+    public double estimar(int nodo, int destino) {
+        double cota = 0.0;
+        for (int i = 0; i < puntos.length; i++) {
+            double[] d = desde[i];
+            double[] h = hacia[i];
+
+            // d(L, t) − d(L, v): si L llega a v pero no a t, v tampoco llega a t
+            if (d[nodo] != INFINITO) {
+                if (d[destino] == INFINITO) return INFINITO;
+                cota = Math.max(cota, d[destino] - d[nodo]);
+            }
+            // d(v, L) − d(t, L): si t llega a L pero v no, v no llega a t
+            if (h[destino] != INFINITO) {
+                if (h[nodo] == INFINITO) return INFINITO;
+                cota = Math.max(cota, h[nodo] - h[destino]);
+            }
+        }
+        return cota * FACTOR_SEGURIDAD;
+    }
+
+    /**
+     * Relaja las rutas nuevas sobre la tabla y propaga las distancias que
+     * mejoran con un recorrido tipo Dijkstra sembrado en los nodos afectados.
+     */
+    private static void propagar(GrafoCompacto grafo, CriterioRuta criterio, List<Ruta> nuevas,
+                                 Map<String, Integer> indices, double[] tabla, boolean haciaAdelante) {
+        double[] pesos = grafo.pesos(criterio);
+        MonticuloIndexado monticulo = new MonticuloIndexado(tabla.length);
+
+        for (Ruta ruta : nuevas) {
+            if (!ruta.isActiva()) continue;
+            int u = indices.get(ruta.getOrigen().getId());
+            int v = indices.get(ruta.getDestino().getId());
+            double peso = GrafoCompacto.peso(ruta, criterio);
+            int desdeNodo = haciaAdelante ? u : v;
+            int hastaNodo = haciaAdelante ? v : u;
+            double candidata = tabla[desdeNodo] + peso;
+            if (candidata < tabla[hastaNodo]) {
+                tabla[hastaNodo] = candidata;
+                monticulo.insertarODisminuir(hastaNodo, candidata);
+            }
+        }
+
+        while (!monticulo.estaVacio()) {
+            int u = monticulo.extraerMinimo();
+            double distanciaU = tabla[u];
+            if (haciaAdelante) {
+                for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+                    relajar(monticulo, tabla, grafo.destino(e), distanciaU + pesos[e]);
+                }
+            } else {
+                for (int p = grafo.inicioEntrantes(u), fin = grafo.finEntrantes(u); p < fin; p++) {
+                    int e = grafo.aristaEntrante(p);
+                    relajar(monticulo, tabla, grafo.origen(e), distanciaU + pesos[e]);
+                }
+            }
+        }
+    }
+
+    private static void relajar(MonticuloIndexado monticulo, double[] tabla, int v, double candidata) {
+        if (candidata < tabla[v]) {
+            tabla[v] = candidata;
+            monticulo.insertarODisminuir(v, candidata);
+        }
+    }
+
+    /** Copia la tabla ampliándola a {@code n} nodos; los nodos nuevos quedan a distancia infinita. */
+    private static double[] extender(double[] tabla, int n) {
+        double[] copia = Arrays.copyOf(tabla, n);
+        Arrays.fill(copia, tabla.length, n, INFINITO);
+        return copia;
+    }
+
+    /** Índice del nodo con mayor valor (los inalcanzables primero), desempatando por el más lejano al inicio. */
+    private static int masLejano(double[] valores, double[] desempate) {
+        int mejor = 0;
+        for (int v = 1; v < valores.length; v++) {
+            if (valores[v] > valores[mejor]
+                    || (valores[v] == valores[mejor] && desempate[v] > desempate[mejor])) {
+                mejor = v;
+            }
+        }
+        return mejor;
+    }
+
+    private static double[] distanciasDesde(GrafoCompacto grafo, double[] pesos, int origen, EspacioBusqueda espacio) {
+        BuscadorCaminos.dijkstra(grafo, pesos, origen, -1, espacio);
+        return copiarDistancias(espacio, grafo.getNumeroNodos());
+    }
+
+    private static double[] distanciasHacia(GrafoCompacto grafo, double[] pesos, int destino, EspacioBusqueda espacio) {
+        BuscadorCaminos.dijkstraInverso(grafo, pesos, destino, espacio);
+        return copiarDistancias(espacio, grafo.getNumeroNodos());
+    }
+
+    private static double[] copiarDistancias(EspacioBusqueda espacio, int n) {
+        double[] distancias = new double[n];
+        for (int v = 0; v < n; v++) {
+            distancias[v] = espacio.distancia(v);
+        }
+        return distancias;
+    }
+
+    /** @return Versión de los pesos del criterio a la que corresponden las tablas. */
+    long getVersion() {
+        return version;
+    }
+
+    /** @return Cantidad de puntos de referencia. */
+    int getNumeroPuntos() {
+        return puntos.length;
+    }
+
+    /** @return Criterio con el que se calcularon las distancias. */
+    CriterioRuta getCriterio() {
+        return criterio;
+    }
+}
@@ -0,0 +1,117 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Centralidad de intermediación de las rutas y zonas de una versión del
+ * grafo: cuántos caminos mínimos entre pares de zonas pasan por cada una.
+ * Las rutas con mayor centralidad son las que más recorridos afectaría su
+ * cierre (por ejemplo, la caída de un puente).
+ */
+public final class ResultadoCentralidad {
+
+    /** Centralidad de una ruta. */
+    public static final class RutaCritica {
+
+        private final Ruta ruta;
+        private final double centralidad;
+
+        RutaCritica(Ruta ruta, double centralidad) {
+            this.ruta = ruta;
+            this.centralidad = centralidad;
+        }
+
+        public Ruta getRuta() {
+            return ruta;
+        }
+
+        public double getCentralidad() {
+            return centralidad;
+        }
+    }
+
+    /** Centralidad de una zona (nodo del grafo). */
+    public static final class ZonaCritica {
+
+        private final Nodo nodo;
+        private final double centralidad;
+
+        ZonaCritica(Nodo nodo, double centralidad) {
+            this.nodo = nodo;
+            this.centralidad = centralidad;
+        }
+
+        public Nodo getNodo() {
+            return nodo;
+        }
+
+        public double getCentralidad() {
+            return centralidad;
+        }
+    }
+
+    private final CriterioRuta criterio;
+    private final long version;
+    private final int fuentes;
+    private final boolean exacto;
+    private final List<RutaCritica> rutas;
+    private final List<ZonaCritica> zonas;
+
+    ResultadoCentralidad(CriterioRuta criterio, long version, int fuentes, boolean exacto,
+                         List<RutaCritica> rutas, List<ZonaCritica> zonas) {
+        rutas.sort(Comparator.comparingDouble(RutaCritica::getCentralidad).reversed());
+        zonas.sort(Comparator.comparingDouble(ZonaCritica::getCentralidad).reversed());
+        this.criterio = criterio;
+        this.version = version;
+        this.fuentes = fuentes;
+        this.exacto = exacto;
+        this.rutas = Collections.unmodifiableList(rutas);
+        this.zonas = Collections.unmodifiableList(zonas);
+    }
+
+    /** @return Criterio que define los caminos mínimos. */
+    public CriterioRuta getCriterio() {
+        return criterio;
+    }
+
+    /** @return Versión del grafo sobre la que se calculó. */
+    public long getVersion() {
+        return version;
+    }
+
+    /** @return Cantidad de zonas usadas como origen de los caminos. */
+    public int getFuentes() {
+        return fuentes;
+    }
+
+    /** @return true si se usaron todas las zonas como origen; false si es una estimación por muestreo. */
+    public boolean esExacto() {
+        return exacto;
+    }
+
+    /**
+     * @param k Cantidad máxima de rutas.
+     * @return Las k rutas de mayor centralidad, de mayor a menor.
+     */
+    public List<RutaCritica> getRutasCriticas(int k) {
+        return rutas.subList(0, Math.max(0, Math.min(k, rutas.size())));
+    }
+
+    /**
+     * @param k Cantidad máxima de zonas.
+     * @return Las k zonas de mayor centralidad, de mayor a menor.
+     */
+    public List<ZonaCritica> getZonasCriticas(int k) {
+        return zonas.subList(0, Math.max(0, Math.min(k, zonas.size())));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResultadoCentralidad{criterio=%s, version=%d, fuentes=%d, exacto=%b, rutas=%d, zonas=%d}",
+                criterio, version, fuentes, exacto, rutas.size(), zonas.size());
+    }
+}
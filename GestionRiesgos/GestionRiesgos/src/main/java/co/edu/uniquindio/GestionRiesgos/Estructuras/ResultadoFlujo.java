@@ -0,0 +1,48 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de un cálculo de flujo máximo de evacuación: cuántas personas
+ * por unidad de tiempo pueden salir de las zonas origen hacia las zonas
+ * destino, por qué rutas, y cuáles son los cuellos de botella.
+ */
+public final class ResultadoFlujo {
+
+    private final long flujoMaximo;
+    private final Map<Ruta, Long> flujosPorRuta;
+    private final List<Ruta> corteMinimo;
+
+    ResultadoFlujo(long flujoMaximo, Map<Ruta, Long> flujosPorRuta, List<Ruta> corteMinimo) {
+        this.flujoMaximo = flujoMaximo;
+        this.flujosPorRuta = Collections.unmodifiableMap(flujosPorRuta);
+        this.corteMinimo = Collections.unmodifiableList(corteMinimo);
+    }
+
+    /** @return Flujo máximo total (personas por unidad de tiempo). */
+    public long getFlujoMaximo() {
+        return flujoMaximo;
+    }
+
+    /** @return Flujo asignado a cada ruta que transporta personas. */
+    public Map<Ruta, Long> getFlujosPorRuta() {
+        return flujosPorRuta;
+    }
+
+    /**
+     * @return Rutas del corte mínimo: van saturadas y su capacidad suma el
+     *         flujo máximo, así que ampliar cualquiera de ellas es la única
+     *         forma de aumentar la evacuación.
+     */
+    public List<Ruta> getCorteMinimo() {
+        return corteMinimo;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResultadoFlujo{flujoMaximo=%d, rutasConFlujo=%d, rutasCorte=%d}",
+                flujoMaximo, flujosPorRuta.size(), corteMinimo.size());
+    }
+}
@@ -0,0 +1,126 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Puntos únicos de falla de la red vial en una versión del grafo: rutas y
+ * zonas cuyo cierre rompe la conectividad mutua dentro de un grupo de zonas
+ * (componente fuertemente conexa), y qué zonas quedan aisladas en cada caso.
+ */
+public final class ResultadoVulnerabilidad {
+
+    /**
+     * Ruta crítica (puente fuerte): al desactivarla, parte de su componente
+     * deja de ser alcanzable desde la zona de referencia de la componente, o
+     * deja de poder llegar a ella.
+     */
+    public static final class PuenteCritico {
+
+        private final Ruta ruta;
+        private final String zonaReferencia;
+        private final List<String> zonasSinAcceso;
+        private final List<String> zonasSinSalida;
+
+        PuenteCritico(Ruta ruta, String zonaReferencia, String[] preordenDirecto, int inicioDirecto, int finDirecto,
+                      String[] preordenInverso, int inicioInverso, int finInverso) {
+            this.ruta = ruta;
+            this.zonaReferencia = zonaReferencia;
+            // Vistas sobre el preorden del árbol de dominadores, que comparten los puentes de la componente
+            this.zonasSinAcceso = Collections.unmodifiableList(Arrays.asList(preordenDirecto).subList(inicioDirecto, finDirecto));
+            this.zonasSinSalida = Collections.unmodifiableList(Arrays.asList(preordenInverso).subList(inicioInverso, finInverso));
+        }
+
+        public Ruta getRuta() {
+            return ruta;
+        }
+
+        /** @return Zona de referencia de la componente (la de más rutas) respecto de la cual se mide el aislamiento. */
+        public String getZonaReferencia() {
+            return zonaReferencia;
+        }
+
+        /** @return IDs de las zonas a las que ya no se podría llegar desde la zona de referencia. */
+        public List<String> getZonasSinAcceso() {
+            return zonasSinAcceso;
+        }
+
+        /** @return IDs de las zonas desde las que ya no se podría llegar a la zona de referencia. */
+        public List<String> getZonasSinSalida() {
+            return zonasSinSalida;
+        }
+
+        /** @return Mayor de las dos cantidades de zonas aisladas. */
+        public int getImpacto() {
+            return Math.max(zonasSinAcceso.size(), zonasSinSalida.size());
+        }
+    }
+
+    private final long version;
+    private final int numeroComponentes;
+    private final List<PuenteCritico> puentes;
+    private final List<String> puntosArticulacion;
+
+    /** Estado del cálculo, para reutilizar las componentes que no cambian en la versión siguiente */
+    private final AnalisisVulnerabilidad.Estado estado;
+
+    ResultadoVulnerabilidad(long version, int numeroComponentes, List<PuenteCritico> puentes,
+                            List<String> puntosArticulacion, AnalisisVulnerabilidad.Estado estado) {
+        puentes.sort(Comparator.comparingInt(PuenteCritico::getImpacto).reversed());
+        this.version = version;
+        this.numeroComponentes = numeroComponentes;
+        this.puentes = Collections.unmodifiableList(puentes);
+        this.puntosArticulacion = Collections.unmodifiableList(puntosArticulacion);
+        this.estado = estado;
+    }
+
+    AnalisisVulnerabilidad.Estado getEstado() {
+        return estado;
+    }
+
+    /** @return Versión de la estructura analizada; el resultado vale mientras no cambie. */
+    long getVersionEstructura() {
+        return estado.versionEstructura;
+    }
+
+    /** @return Versión del grafo analizada. */
+    public long getVersion() {
+        return version;
+    }
+
+    /** @return Cantidad de componentes fuertemente conexas de rutas activas. */
+    public int getNumeroComponentes() {
+        return numeroComponentes;
+    }
+
+    /** @return Rutas críticas, de mayor a menor cantidad de zonas aisladas. */
+    public List<PuenteCritico> getPuentes() {
+        return puentes;
+    }
+
+    /**
+     * Obtiene el efecto de cerrar una ruta.
+     *
+     * @param idRuta ID de la ruta.
+     * @return Puente crítico correspondiente, o null si cerrarla no aísla ninguna zona.
+     */
+    public PuenteCritico getPuente(String idRuta) {
+        for (PuenteCritico puente : puentes) {
+            if (puente.getRuta().getId().equals(idRuta)) return puente;
+        }
+        return null;
+    }
+
+    /** @return IDs de las zonas cuyo cierre rompe la conectividad mutua de su componente. */
+    public List<String> getPuntosArticulacion() {
+        return puntosArticulacion;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResultadoVulnerabilidad{version=%d, componentes=%d, puentes=%d, puntosArticulacion=%d}",
+                version, numeroComponentes, puentes.size(), puntosArticulacion.size());
+    }
+}
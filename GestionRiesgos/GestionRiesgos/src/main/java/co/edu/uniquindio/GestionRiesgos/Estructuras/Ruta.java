@@ -4,7 +4,9 @@ package co.edu.uniquindio.GestionRiesgos.Estructuras;
 import co.edu.uniquindio.GestionRiesgos.Enums.TipoRuta;
 import co.edu.uniquindio.GestionRiesgos.Model.Zona;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Clase que representa una ruta entre dos zonas en el grafo dirigido del sistema de gestión de desastres.
@@ -49,6 +51,15 @@ public class Ruta {
     /** Descripción adicional de la ruta */
     private String descripcion;
 
+    /**
+     * Acciones a ejecutar cuando cambia un atributo que afecta el costo de la
+     * ruta; los setters las recorren desde cualquier hilo
+     */
+    private final transient List<Runnable> observadores = new CopyOnWriteArrayList<>();
+
+    /** Acciones a ejecutar cuando cambia la ocupación o la capacidad de la ruta */
+    private final transient List<Runnable> observadoresOcupacion = new CopyOnWriteArrayList<>();
+
     // ==============================
     //          CONSTRUCTORES
     // ==============================
@@ -83,6 +94,26 @@ public class Ruta {
         this.tipo = tipo;
     }
 
+    /**
+     * Constructor que copia los atributos de otra ruta, sin sus observadores.
+     * Permite a las subclases inicializarse sin invocar métodos sobrescribibles.
+     *
+     * @param otra Ruta cuyos atributos se copian
+     */
+    protected Ruta(Ruta otra) {
+        this.id = otra.id;
+        this.origen = otra.origen;
+        this.destino = otra.destino;
+        this.distancia = otra.distancia;
+        this.tiempoEstimado = otra.tiempoEstimado;
+        this.tipo = otra.tipo;
+        this.activa = otra.activa;
+        this.capacidadMaxima = otra.capacidadMaxima;
+        this.capacidadActual = otra.capacidadActual;
+        this.nivelRiesgo = otra.nivelRiesgo;
+        this.descripcion = otra.descripcion;
+    }
+
     // ==============================
     //          MÉTODOS PRINCIPALES
     // ==============================
@@ -162,7 +193,10 @@ public class Ruta {
      */
     public boolean actualizarCapacidad(int nuevaCapacidad) {
         if (nuevaCapacidad >= 0 && nuevaCapacidad <= capacidadMaxima) {
-            this.capacidadActual = nuevaCapacidad;
+            if (nuevaCapacidad != this.capacidadActual) {
+                this.capacidadActual = nuevaCapacidad;
+                notificarOcupacion();
+            }
             return true;
         }
         return false;
@@ -177,6 +211,7 @@ public class Ruta {
     public boolean incrementarCapacidad(int incremento) {
         if (incremento > 0 && capacidadActual + incremento <= capacidadMaxima) {
             this.capacidadActual += incremento;
+            notificarOcupacion();
             return true;
         }
         return false;
@@ -191,6 +226,7 @@ public class Ruta {
     public boolean decrementarCapacidad(int decremento) {
         if (decremento > 0 && capacidadActual - decremento >= 0) {
             this.capacidadActual -= decremento;
+            notificarOcupacion();
             return true;
         }
         return false;
@@ -217,6 +253,53 @@ public class Ruta {
         return Math.max(1, prioridad);
     }
 
+    /**
+     * Registra una acción que se ejecuta cada vez que cambia la distancia, el
+     * tiempo estimado, el nivel de riesgo o el estado activo de la ruta. El
+     * grafo la usa para invalidar sus cálculos precalculados.
+     *
+     * @param observador Acción a ejecutar tras el cambio.
+     */
+    void agregarObservador(Runnable observador) {
+        observadores.add(observador);
+    }
+
+    /**
+     * Registra una acción que se ejecuta cada vez que cambia la capacidad
+     * ocupada o la capacidad máxima de la ruta, es decir, su congestión.
+     *
+     * @param observador Acción a ejecutar tras el cambio.
+     */
+    void agregarObservadorOcupacion(Runnable observador) {
+        observadoresOcupacion.add(observador);
+    }
+
+    /**
+     * Retira una acción registrada con {@link #agregarObservador(Runnable)} o
+     * {@link #agregarObservadorOcupacion(Runnable)}, por ejemplo, cuando se
+     * descarta el grafo que la registró.
+     *
+     * @param observador Acción a retirar.
+     */
+    void quitarObservador(Runnable observador) {
+        observadores.remove(observador);
+        observadoresOcupacion.remove(observador);
+    }
+
+    /** Avisa a los observadores de ocupación que cambió la congestión. */
+    private void notificarOcupacion() {
+        for (Runnable observador : observadoresOcupacion) {
+            observador.run();
+        }
+    }
+
+    /** Avisa a los observadores que cambió un atributo que afecta el costo. */
+    private void notificarCambio() {
+        for (Runnable observador : observadores) {
+            observador.run();
+        }
+    }
+
     // ==============================
     //            GETTERS & SETTERS
     // ==============================
@@ -231,25 +314,60 @@ public class Ruta {
     public void setDestino(Zona destino) { this.destino = destino; }
 
     public double getDistancia() { return distancia; }
-    public void setDistancia(double distancia) { this.distancia = Math.max(0, distancia); }
+    public void setDistancia(double distancia) {
+        double nueva = Math.max(0, distancia);
+        if (nueva != this.distancia) {
+            this.distancia = nueva;
+            notificarCambio();
+        }
+    }
 
     public double getTiempoEstimado() { return tiempoEstimado; }
-    public void setTiempoEstimado(double tiempoEstimado) { this.tiempoEstimado = Math.max(0, tiempoEstimado); }
+    public void setTiempoEstimado(double tiempoEstimado) {
+        double nuevo = Math.max(0, tiempoEstimado);
+        if (nuevo != this.tiempoEstimado) {
+            this.tiempoEstimado = nuevo;
+            notificarCambio();
+        }
+    }
 
     public TipoRuta getTipo() { return tipo; }
     public void setTipo(TipoRuta tipo) { this.tipo = tipo; }
 
     public boolean isActiva() { return activa; }
-    public void setActiva(boolean activa) { this.activa = activa; }
+    public void setActiva(boolean activa) {
+        if (activa != this.activa) {
+            this.activa = activa;
+            notificarCambio();
+        }
+    }
 
     public int getCapacidadMaxima() { return capacidadMaxima; }
-    public void setCapacidadMaxima(int capacidadMaxima) { this.capacidadMaxima = Math.max(0, capacidadMaxima); }
+    public void setCapacidadMaxima(int capacidadMaxima) {
+        int nueva = Math.max(0, capacidadMaxima);
+        if (nueva != this.capacidadMaxima) {
+            this.capacidadMaxima = nueva;
+            notificarOcupacion();
+        }
+    }
 
     public int getCapacidadActual() { return capacidadActual; }
-    public void setCapacidadActual(int capacidadActual) { this.capacidadActual = Math.max(0, Math.min(capacidadActual, capacidadMaxima)); }
+    public void setCapacidadActual(int capacidadActual) {
+        int nueva = Math.max(0, Math.min(capacidadActual, capacidadMaxima));
+        if (nueva != this.capacidadActual) {
+            this.capacidadActual = nueva;
+            notificarOcupacion();
+        }
+    }
 
     public double getNivelRiesgo() { return nivelRiesgo; }
-    public void setNivelRiesgo(double nivelRiesgo) { this.nivelRiesgo = Math.max(0.0, Math.min(1.0, nivelRiesgo)); }
+    public void setNivelRiesgo(double nivelRiesgo) {
+        double nuevo = Math.max(0.0, Math.min(1.0, nivelRiesgo));
+        if (nuevo != this.nivelRiesgo) {
+            this.nivelRiesgo = nuevo;
+            notificarCambio();
+        }
+    }
 
     public String getDescripcion() { return descripcion; }
     public void setDescripcion(String descripcion) { this.descripcion = descripcion; }
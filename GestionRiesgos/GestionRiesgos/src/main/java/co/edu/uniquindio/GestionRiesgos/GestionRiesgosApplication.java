@@ -2,6 +2,9 @@ package co.edu.uniquindio.GestionRiesgos;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+
+import co.edu.uniquindio.GestionRiesgos.Model.SistemaGestionDesastres;
 
 /**
  * Clase principal de la aplicación de gestión de riesgos.
@@ -21,5 +24,18 @@ public class GestionRiesgosApplication {
     public static void main(String[] args) {
         SpringApplication.run(GestionRiesgosApplication.class, args);
     }
+
+    /**
+     * Sistema de gestión de desastres compartido por los controladores y
+     * servicios de la aplicación.
+     *
+     * @return sistema inicializado, sin datos cargados.
+     */
+    @Bean
+    public SistemaGestionDesastres sistemaGestionDesastres() {
+        SistemaGestionDesastres sistema = new SistemaGestionDesastres();
+        sistema.inicializarSistema();
+        return sistema;
+    }
 }
 
@@ -1,10 +1,13 @@
 package co.edu.uniquindio.GestionRiesgos.Interfaces;
 
+import co.edu.uniquindio.GestionRiesgos.Enums.AlgoritmoRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
 import co.edu.uniquindio.GestionRiesgos.Interfaces.ICalcularRuta;
 import co.edu.uniquindio.GestionRiesgos.Model.Zona;
 import co.edu.uniquindio.GestionRiesgos.Estructuras.Ruta;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interfaz para calcular rutas en el sistema de gestión de desastres
@@ -21,20 +24,34 @@ public interface ICalcularRuta {
     List<Zona> calcularRutaMasCorta(Zona origen, Zona destino);
 
     /**
-     * Calcula todas las rutas posibles entre dos zonas
+     * Calcula las rutas que forman los caminos posibles entre dos zonas.
+     * Las implementaciones pueden acotar la cantidad de caminos considerados
      *
      * @param origen Zona de origen
      * @param destino Zona de destino
-     * @return Lista de todas las rutas posibles
+     * @return Lista de las rutas de los caminos considerados
      */
     List<Ruta> calcularTodasLasRutas(Zona origen, Zona destino);
 
+    /**
+     * Calcula los k caminos sin ciclos de menor costo entre dos zonas según
+     * un criterio, en orden creciente de costo. Cada camino se calcula a
+     * medida que se consume el flujo
+     *
+     * @param origen Zona de origen
+     * @param destino Zona de destino
+     * @param k Cantidad máxima de caminos
+     * @param criterio Atributo de la ruta que se minimiza
+     * @return Flujo perezoso de a lo sumo k caminos distintos
+     */
+    Stream<? extends Ruta> calcularRutasAlternativas(Zona origen, Zona destino, int k, CriterioRuta criterio);
+
     /**
      * Calcula la ruta más rápida considerando el tiempo
      *
      * @param origen Zona de origen
      * @param destino Zona de destino
-     * @return Ruta más rápida
+     * @return Ruta más rápida; puede ser un camino de varios tramos, o null si no existe
      */
     Ruta calcularRutaMasRapida(Zona origen, Zona destino);
 
@@ -43,10 +60,22 @@ public interface ICalcularRuta {
      *
      * @param origen Zona de origen
      * @param destino Zona de destino
-     * @return Ruta más segura
+     * @return Ruta más segura; puede ser un camino de varios tramos, o null si no existe
      */
     Ruta calcularRutaMasSegura(Zona origen, Zona destino);
 
+    /**
+     * Calcula la ruta de costo mínimo entre dos zonas según un criterio,
+     * usando el algoritmo de búsqueda indicado
+     *
+     * @param origen Zona de origen
+     * @param destino Zona de destino
+     * @param criterio Atributo de la ruta que se minimiza
+     * @param algoritmo Algoritmo de búsqueda a utilizar
+     * @return Ruta de costo mínimo (posiblemente de varios tramos), o null si no existe
+     */
+    Ruta calcularRuta(Zona origen, Zona destino, CriterioRuta criterio, AlgoritmoRuta algoritmo);
+
     /**
      * Verifica si existe una ruta entre dos zonas
      *
@@ -1,6 +1,9 @@
 package co.edu.uniquindio.GestionRiesgos.Model;
 
 
+import co.edu.uniquindio.GestionRiesgos.Enums.AlgoritmoRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.MotorRutas;
 import co.edu.uniquindio.GestionRiesgos.Enums.NivelUrgencia;
 import co.edu.uniquindio.GestionRiesgos.Enums.TipoRecurso;
 import co.edu.uniquindio.GestionRiesgos.Enums.TipoRuta;
@@ -8,12 +11,21 @@ import co.edu.uniquindio.GestionRiesgos.Estructuras.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Clase central del sistema de gestión de desastres naturales.
  * Gestiona todas las entidades principales del sistema.
  */
 public class SistemaGestionDesastres {
+
+    /**
+     * Máximo de caminos alternativos que se calculan por consulta (desplazamiento
+     * más tamaño de página): cada camino de Yen cuesta varias búsquedas.
+     */
+    public static final int MAXIMO_RUTAS_ALTERNATIVAS = 100;
+
     private List<Usuario> usuarios;
     private List<Recurso> recursos;
     private List<Evacuacion> evacuaciones;
@@ -21,6 +33,10 @@ public class SistemaGestionDesastres {
     private List<Zona> zonas;
     private List<EquipoRescate> equipos;
     private GrafoDirigido grafoDirigido;
+    /** Motor de delta-stepping sobre el mismo grafo, para consultas de uno a todos */
+    private CalculadorRutasParalelo calculadorParalelo;
+    /** Motor seleccionado para las rutas óptimas entre dos zonas */
+    private volatile MotorRutas motorRutas = MotorRutas.GRAFO;
     private ColaPrioridad colaPrioridad;
     private MapaRecursos mapaRecursos;
     private ArbolDistribucion arbolDistribucion;
@@ -29,23 +45,37 @@ public class SistemaGestionDesastres {
         this.usuarios = new ArrayList<>();
         this.recursos = new ArrayList<>();
         this.evacuaciones = new ArrayList<>();
-        this.rutas = new ArrayList<>();
-        this.zonas = new ArrayList<>();
+        // Las consultas de rutas las recorren mientras otras peticiones agregan elementos
+        this.rutas = new CopyOnWriteArrayList<>();
+        this.zonas = new CopyOnWriteArrayList<>();
         this.equipos = new ArrayList<>();
-        this.grafoDirigido = new GrafoDirigido();
+        this.grafoDirigido = crearGrafo();
+        this.calculadorParalelo = new CalculadorRutasParalelo(grafoDirigido);
         this.colaPrioridad = new ColaPrioridad();
         this.mapaRecursos = new MapaRecursos();
         this.arbolDistribucion = new ArbolDistribucion();
     }
     
+    /**
+     * Crea el grafo del sistema con las jerarquías de contracción habilitadas,
+     * para que las consultas de rutas punto a punto las aprovechen.
+     */
+    private static GrafoDirigido crearGrafo() {
+        GrafoDirigido grafo = new GrafoDirigido();
+        grafo.habilitarJerarquiasContraccion();
+        return grafo;
+    }
+
     /**
      * Inicializa el sistema con datos básicos
      */
     public void inicializarSistema() {
         System.out.println("Inicializando Sistema de Gestión de Desastres...");
         
-        // Inicializar estructuras de datos
-        grafoDirigido = new GrafoDirigido();
+        // Inicializar estructuras de datos; el grafo anterior deja de observar sus rutas
+        if (grafoDirigido != null) grafoDirigido.desconectar();
+        grafoDirigido = crearGrafo();
+        calculadorParalelo = new CalculadorRutasParalelo(grafoDirigido);
         colaPrioridad = new ColaPrioridad();
         mapaRecursos = new MapaRecursos();
         arbolDistribucion = new ArbolDistribucion();
@@ -126,6 +156,15 @@ public class SistemaGestionDesastres {
         return false;
     }
     
+    /**
+     * Ejecuta un conjunto de altas o cambios de rutas como una sola versión
+     * del grafo (por ejemplo, una carga masiva), de modo que la instantánea
+     * que usan las consultas se reconstruya una única vez.
+     */
+    public void ejecutarEnLote(Runnable cambios) {
+        grafoDirigido.ejecutarEnLote(cambios);
+    }
+
     /**
      * Agrega una zona al sistema
      */
@@ -195,7 +234,9 @@ public class SistemaGestionDesastres {
         Zona o = zonas.stream().filter(z -> z.getId().equals(idOrigen)).findFirst().orElse(null);
         Zona d = zonas.stream().filter(z -> z.getId().equals(idDestino)).findFirst().orElse(null);
         if (o == null || d == null) return java.util.List.of();
-        return grafoDirigido.calcularRutaMasCorta(o, d);
+        if (o.getId().equals(d.getId())) return java.util.List.of(d);
+        Camino camino = calcularRutaOptima(o, d, CriterioRuta.DISTANCIA);
+        return camino != null ? camino.getZonas() : java.util.List.of();
     }
 
     /**
@@ -205,7 +246,170 @@ public class SistemaGestionDesastres {
         Zona o = zonas.stream().filter(z -> z.getId().equals(idOrigen)).findFirst().orElse(null);
         Zona d = zonas.stream().filter(z -> z.getId().equals(idDestino)).findFirst().orElse(null);
         if (o == null || d == null) return null;
-        return grafoDirigido.calcularRutaMasRapida(o, d);
+        return calcularRutaOptima(o, d, CriterioRuta.TIEMPO);
+    }
+
+    /**
+     * Retorna el camino de menor costo entre dos zonas según el criterio,
+     * calculado con el motor seleccionado. Es el único punto por el que pasan
+     * las rutas óptimas del sistema, de modo que el motor configurado se
+     * aplica igual a todas ellas.
+     */
+    public Camino calcularRutaOptima(Zona origen, Zona destino, CriterioRuta criterio) {
+        return motorRutas == MotorRutas.PARALELO
+                ? calculadorParalelo.calcularRuta(origen, destino, criterio, AlgoritmoRuta.DIJKSTRA)
+                : grafoDirigido.calcularRuta(origen, destino, criterio, AlgoritmoRuta.CONTRACCION);
+    }
+
+    /**
+     * Retorna el costo mínimo desde una zona hasta cada zona alcanzable (por
+     * ejemplo, el tiempo desde el epicentro), con delta-stepping paralelo.
+     *
+     * @return Costo por ID de zona (incluye el origen con costo 0); vacío si
+     *         la zona no existe o no pertenece al grafo.
+     */
+    public Map<String, Double> calcularCostosDesde(String idOrigen, CriterioRuta criterio) {
+        Zona o = buscarZona(idOrigen);
+        if (o == null) return Map.of();
+        return calculadorParalelo.calcularCostosDesde(o, criterio);
+    }
+
+    /**
+     * Selecciona el motor de las rutas óptimas entre dos zonas: el grafo,
+     * con jerarquías de contracción, o delta-stepping paralelo, pensado para
+     * grafos muy grandes.
+     */
+    public void configurarMotorRutas(MotorRutas motor) {
+        if (motor == null) throw new IllegalArgumentException("Se requiere el motor de rutas");
+        this.motorRutas = motor;
+    }
+
+    public MotorRutas getMotorRutas() {
+        return motorRutas;
+    }
+
+    /**
+     * Retorna la ruta más rápida entre dos zonas según la ocupación actual
+     * de las vías. Si se indica una hora de salida y el grafo tiene un perfil
+     * de congestión, el tiempo de cada tramo depende de la hora en que se
+     * recorre.
+     */
+    public Camino calcularRutaMasRapidaConTrafico(String idOrigen, String idDestino, Double horaSalida) {
+        Zona o = zonas.stream().filter(z -> z.getId().equals(idOrigen)).findFirst().orElse(null);
+        Zona d = zonas.stream().filter(z -> z.getId().equals(idDestino)).findFirst().orElse(null);
+        if (o == null || d == null) return null;
+        return horaSalida != null
+                ? grafoDirigido.calcularRutaConTrafico(o, d, horaSalida)
+                : grafoDirigido.calcularRutaConTrafico(o, d);
+    }
+
+    /**
+     * Retorna los caminos no dominados entre dos zonas considerando a la vez
+     * distancia, tiempo y riesgo (frente de Pareto).
+     */
+    public List<Camino> calcularRutasPareto(String idOrigen, String idDestino) {
+        Zona o = zonas.stream().filter(z -> z.getId().equals(idOrigen)).findFirst().orElse(null);
+        Zona d = zonas.stream().filter(z -> z.getId().equals(idDestino)).findFirst().orElse(null);
+        if (o == null || d == null) return List.of();
+        return grafoDirigido.calcularRutasPareto(o, d);
+    }
+
+    /**
+     * Retorna una página de los caminos alternativos de menor costo entre dos
+     * zonas: los caminos número desde+1 a desde+k, en orden de costo.
+     *
+     * @throws IllegalArgumentException Si k no es positivo, desde es negativo
+     *         o desde+k supera {@link #MAXIMO_RUTAS_ALTERNATIVAS}.
+     */
+    public List<Camino> calcularRutasAlternativas(String idOrigen, String idDestino, int desde, int k,
+                                                  CriterioRuta criterio) {
+        if (k <= 0) throw new IllegalArgumentException("La cantidad de rutas alternativas debe ser mayor que cero");
+        if (desde < 0) throw new IllegalArgumentException("El desplazamiento no puede ser negativo");
+        if ((long) desde + k > MAXIMO_RUTAS_ALTERNATIVAS) {
+            throw new IllegalArgumentException("Solo se pueden consultar los primeros "
+                    + MAXIMO_RUTAS_ALTERNATIVAS + " caminos alternativos");
+        }
+        Zona o = zonas.stream().filter(z -> z.getId().equals(idOrigen)).findFirst().orElse(null);
+        Zona d = zonas.stream().filter(z -> z.getId().equals(idDestino)).findFirst().orElse(null);
+        if (o == null || d == null) return List.of();
+        return grafoDirigido.calcularRutasAlternativas(o, d, desde + k, criterio)
+                .skip(desde)
+                .toList();
+    }
+
+    /**
+     * Retorna la matriz de costos mínimos entre cada zona origen y cada zona
+     * destino (por ejemplo, zonas críticas contra refugios) en una sola
+     * operación, en lugar de una consulta por par.
+     */
+    public MatrizCostos calcularMatrizCostos(List<String> idsOrigen, List<String> idsDestino, CriterioRuta criterio) {
+        if (idsOrigen == null || idsDestino == null || idsOrigen.isEmpty() || idsDestino.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos una zona origen y una zona destino");
+        }
+        return grafoDirigido.calcularMatrizCostos(zonasPorId(idsOrigen), zonasPorId(idsDestino), criterio);
+    }
+
+    /**
+     * Retorna cuántas personas por unidad de tiempo pueden salir de las zonas
+     * origen hacia las zonas destino según la capacidad de las rutas, junto
+     * con las rutas que limitan la evacuación.
+     */
+    public ResultadoFlujo calcularFlujoEvacuacion(List<String> idsOrigen, List<String> idsDestino,
+                                                  boolean soloCapacidadDisponible) {
+        if (idsOrigen == null || idsDestino == null || idsOrigen.isEmpty() || idsDestino.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos una zona origen y una zona destino");
+        }
+        return grafoDirigido.calcularFlujoMaximo(zonasPorId(idsOrigen), zonasPorId(idsDestino), soloCapacidadDisponible);
+    }
+
+    /**
+     * Planifica en lote las evacuaciones pendientes de la cola (planificadas
+     * o en progreso con personas por evacuar) para que no saturen las mismas
+     * rutas: en orden de prioridad, cada una se reparte entre los caminos de
+     * menor tiempo y riesgo que aún tienen capacidad.
+     *
+     * @param pesoRiesgo Peso del nivel de riesgo frente al tiempo, o null para el valor por defecto.
+     */
+    public List<PlanEvacuacion> planificarEvacuacionesPendientes(Double pesoRiesgo) {
+        if (grafoDirigido == null || colaPrioridad == null) return new ArrayList<>();
+        List<Evacuacion> pendientes = evacuacionesPendientesEnOrden();
+        return pesoRiesgo != null
+                ? grafoDirigido.planificarEvacuaciones(pendientes, pesoRiesgo)
+                : grafoDirigido.planificarEvacuaciones(pendientes);
+    }
+
+    /**
+     * Retorna el horario de salidas escalonadas de las evacuaciones
+     * pendientes: cuántas personas liberar por cada camino en cada intervalo
+     * para despejar las zonas lo antes posible sin congestionar las rutas.
+     *
+     * @param minutosPorPaso Resolución del horario, o null para 5 minutos.
+     * @param horasHorizonte Horizonte del horario, o null para 24 horas.
+     */
+    public List<HorarioEvacuacion> programarSalidasEvacuaciones(Integer minutosPorPaso, Integer horasHorizonte) {
+        if (grafoDirigido == null || colaPrioridad == null) return new ArrayList<>();
+        return grafoDirigido.programarSalidas(evacuacionesPendientesEnOrden(),
+                minutosPorPaso != null ? minutosPorPaso : 5,
+                horasHorizonte != null ? horasHorizonte : 24);
+    }
+
+    /** Evacuaciones planificadas o en progreso con personas por evacuar, por prioridad. */
+    private List<Evacuacion> evacuacionesPendientesEnOrden() {
+        return colaPrioridad.obtenerEvacuacionesEnOrden().stream()
+                .filter(ev -> ev.getEstado() == Evacuacion.EstadoEvacuacion.PLANIFICADA
+                        || ev.getEstado() == Evacuacion.EstadoEvacuacion.EN_PROGRESO)
+                .filter(ev -> ev.getPersonasAEvacuar() > ev.getPersonasEvacuadas())
+                .toList();
+    }
+
+    private List<Zona> zonasPorId(List<String> ids) {
+        List<Zona> resultado = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Zona zona = buscarZona(id);
+            if (zona == null) throw new IllegalArgumentException("Zona no encontrada: " + id);
+            resultado.add(zona);
+        }
+        return resultado;
     }
 
 
@@ -261,7 +465,7 @@ public class SistemaGestionDesastres {
         Zona o = zonas.stream().filter(z -> z.getId().equals(idOrigen)).findFirst().orElse(null);
         Zona d = zonas.stream().filter(z -> z.getId().equals(idDestino)).findFirst().orElse(null);
         if (o == null || d == null) return null;
-        return grafoDirigido.calcularRutaMasSegura(o, d);
+        return calcularRutaOptima(o, d, CriterioRuta.RIESGO);
     }
     /**
      * Asigna (mueve) una cantidad de un recurso a una zona.
@@ -310,7 +514,7 @@ public class SistemaGestionDesastres {
     }
     /**
      * Planea una evacuación entre dos zonas:
-     * - Usa la ruta más rápida si existe; si no, registra origen/destino sin ruta.
+     * - Usa la ruta más rápida con el tráfico actual si existe; si no, registra origen/destino sin ruta.
      * - Encola la evacuación en la Cola de Prioridad.
      */
     public Evacuacion planificarEvacuacionEntreZonas(
@@ -325,7 +529,7 @@ public class SistemaGestionDesastres {
         Zona destino = buscarZona(idZonaDestino);
         if (origen == null || destino == null || personasAEvacuar <= 0) return null;
 
-        Ruta rutaElegida = calcularRutaMasRapida(idZonaOrigen, idZonaDestino);
+        Ruta rutaElegida = calcularRutaMasRapidaConTrafico(idZonaOrigen, idZonaDestino, null);
 
         Evacuacion ev = new Evacuacion();
         ev.setId(idEvac);
@@ -466,6 +670,17 @@ public class SistemaGestionDesastres {
         return grafoDirigido.obtenerNodo(id);
     }
 
+    /**
+     * Retorna la instalación del tipo indicado (hospital, refugio, centro de
+     * ayuda, base de operaciones) más cercana por carretera a la zona.
+     */
+    public InstalacionCercana buscarInstalacionMasCercana(String idZona, Nodo.TipoNodo tipo, CriterioRuta criterio) {
+        if (grafoDirigido == null) return null;
+        Zona zona = buscarZona(idZona);
+        if (zona == null) return null;
+        return grafoDirigido.obtenerInstalacionMasCercana(zona, tipo, criterio);
+    }
+
     public List<Ruta> obtenerRutasDesdeGrafo(String idOrigen) {
         if (grafoDirigido == null || idOrigen == null) return new ArrayList<>();
         return grafoDirigido.obtenerRutasDesde(idOrigen);
@@ -481,6 +696,102 @@ public class SistemaGestionDesastres {
         return grafoDirigido.existeRuta(idOrigen, idDestino);
     }
 
+    public boolean esAlcanzableEnGrafo(String idOrigen, String idDestino) {
+        if (grafoDirigido == null || idOrigen == null || idDestino == null) return false;
+        return grafoDirigido.esAlcanzable(idOrigen, idDestino);
+    }
+
+    /**
+     * Retorna las zonas aisladas respecto a una zona: las que no se pueden
+     * alcanzar desde ella o, si {@code haciaLaZona} es true, las que no
+     * tienen ningún camino hacia ella.
+     */
+    public List<String> obtenerZonasInalcanzables(String idZona, boolean haciaLaZona) {
+        if (grafoDirigido == null || idZona == null) return new ArrayList<>();
+        return haciaLaZona
+                ? grafoDirigido.obtenerQueNoAlcanzan(idZona)
+                : grafoDirigido.obtenerInalcanzablesDesde(idZona);
+    }
+
+    /**
+     * Retorna la última centralidad de intermediación calculada en segundo
+     * plano (rutas y zonas por las que pasan más caminos mínimos), sin
+     * esperar a que se recalcule. La primera llamada habilita el cálculo.
+     *
+     * @return Último resultado, o null si el primer cálculo aún no termina.
+     */
+    public ResultadoCentralidad obtenerCentralidad() {
+        if (grafoDirigido == null) return null;
+        return grafoDirigido.obtenerCentralidad();
+    }
+
+    /**
+     * Analiza las rutas y zonas cuyo cierre dejaría zonas aisladas (puntos
+     * únicos de falla de la red vial).
+     *
+     * @return Puentes y puntos de articulación fuertes, o null si no hay grafo.
+     */
+    public ResultadoVulnerabilidad analizarVulnerabilidad() {
+        if (grafoDirigido == null) return null;
+        return grafoDirigido.analizarVulnerabilidad();
+    }
+
+    public java.util.Map<String, Object> obtenerEstadisticasCacheRutas() {
+        if (grafoDirigido == null || grafoDirigido.getCacheRutas() == null) return new java.util.HashMap<>();
+        return grafoDirigido.getCacheRutas().obtenerEstadisticas();
+    }
+
+    /**
+     * Resuelve un lote de consultas de rutas agrupadas por origen, en
+     * paralelo; cada resultado se entrega en cuanto está listo, posiblemente
+     * desde otro hilo.
+     *
+     * @param consultas Consultas del lote.
+     * @param alResolver Recibe cada consulta con su camino (null si no existe).
+     * @throws java.util.concurrent.CancellationException Si el hilo se
+     *         interrumpió antes de resolver todo el lote.
+     */
+    public void resolverConsultasEnLote(List<ConsultaRuta> consultas,
+                                        java.util.function.BiConsumer<ConsultaRuta, Camino> alResolver) {
+        if (grafoDirigido == null) {
+            consultas.forEach(consulta -> alResolver.accept(consulta, null));
+            return;
+        }
+        grafoDirigido.resolverConsultasEnLote(consultas, alResolver);
+    }
+
+    /**
+     * Calcula las zonas alcanzables desde una zona dentro de un tiempo.
+     *
+     * @param idZona ID de la zona de origen.
+     * @param presupuesto Tiempo máximo, en las unidades de las rutas (horas).
+     * @param conTrafico true para usar el tiempo ajustado por tráfico.
+     * @return Isócrona, o null si la zona no está en el grafo.
+     */
+    public Isocrona calcularIsocrona(String idZona, double presupuesto, boolean conTrafico) {
+        if (grafoDirigido == null || idZona == null) return null;
+        return grafoDirigido.calcularIsocrona(idZona, presupuesto,
+                conTrafico ? CriterioRuta.TIEMPO_TRAFICO : CriterioRuta.TIEMPO);
+    }
+
+    /**
+     * Calcula en paralelo las isócronas de todas las bases de operaciones.
+     *
+     * @param presupuesto Tiempo máximo, en las unidades de las rutas (horas).
+     * @param conTrafico true para usar el tiempo ajustado por tráfico.
+     * @return Isócrona de cada base, por ID.
+     */
+    public java.util.Map<String, Isocrona> calcularIsocronasBases(double presupuesto, boolean conTrafico) {
+        if (grafoDirigido == null) return new java.util.LinkedHashMap<>();
+        return grafoDirigido.calcularIsocronasBases(presupuesto,
+                conTrafico ? CriterioRuta.TIEMPO_TRAFICO : CriterioRuta.TIEMPO);
+    }
+
+    public java.util.Map<String, Object> obtenerEstadisticasCacheIsocronas() {
+        if (grafoDirigido == null || grafoDirigido.getCacheIsocronas() == null) return new java.util.HashMap<>();
+        return grafoDirigido.getCacheIsocronas().obtenerEstadisticas();
+    }
+
     // ColaPrioridad
     public Evacuacion verSiguienteEvacuacionCola() {
         if (colaPrioridad == null) return null;
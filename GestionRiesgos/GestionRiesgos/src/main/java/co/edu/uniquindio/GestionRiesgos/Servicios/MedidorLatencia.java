@@ -0,0 +1,106 @@
+package co.edu.uniquindio.GestionRiesgos.Servicios;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencia de las consultas de un criterio de ruta: cantidad, promedio,
+ * máximo y percentiles aproximados, junto con cuántas se respondieron desde
+ * la caché, cuántas se rechazaron por saturación y cuántas vencieron su plazo.
+ *
+ * Los percentiles se obtienen de un histograma de cubetas logarítmicas (la
+ * cubeta i cubre latencias menores que 2^i microsegundos), por lo que su
+ * error es a lo sumo el doble del valor real. Registrar una consulta no
+ * bloquea: todos los contadores son atómicos.
+ */
+public class MedidorLatencia {
+
+    /** Cantidad de cubetas del histograma; la última acumula las latencias mayores */
+    private static final int CUBETAS = 40;
+
+    private final LongAdder consultas = new LongAdder();
+    private final LongAdder aciertosCache = new LongAdder();
+    private final LongAdder rechazadas = new LongAdder();
+    private final LongAdder vencidas = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maximoNanos = new LongAccumulator(Math::max, 0L);
+    private final AtomicLongArray histograma = new AtomicLongArray(CUBETAS);
+
+    /**
+     * Registra la latencia de una consulta, cualquiera sea su resultado.
+     *
+     * @param nanos Tiempo transcurrido desde que llegó la consulta.
+     */
+    public void registrar(long nanos) {
+        consultas.increment();
+        totalNanos.add(nanos);
+        maximoNanos.accumulate(nanos);
+        histograma.incrementAndGet(cubeta(nanos));
+    }
+
+    public void registrarAciertoCache() {
+        aciertosCache.increment();
+    }
+
+    public void registrarRechazo() {
+        rechazadas.increment();
+    }
+
+    public void registrarVencimiento() {
+        vencidas.increment();
+    }
+
+    /** Cubeta de una latencia: 0 para menos de 1 µs, i para [2^(i-1), 2^i) µs */
+    private static int cubeta(long nanos) {
+        long micros = nanos / 1000;
+        return Math.min(CUBETAS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    /**
+     * Calcula un percentil de las latencias registradas.
+     *
+     * @param fraccion Percentil como fracción (0.95 para el p95).
+     * @return Cota superior de la cubeta que contiene el percentil, en
+     *         milisegundos (sin superar el máximo observado), o 0 si no hay consultas.
+     */
+    public double percentil(double fraccion) {
+        long[] conteos = new long[CUBETAS];
+        long total = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            conteos[i] = histograma.get(i);
+            total += conteos[i];
+        }
+        if (total == 0) return 0.0;
+
+        long objetivo = Math.max(1, (long) Math.ceil(fraccion * total));
+        long acumulado = 0;
+        int i = 0;
+        while (i < CUBETAS - 1 && (acumulado += conteos[i]) < objetivo) i++;
+        double cotaMs = (1L << i) / 1000.0;
+        return Math.min(cotaMs, maximoNanos.get() / 1_000_000.0);
+    }
+
+    /**
+     * Obtiene los contadores y las latencias en milisegundos.
+     *
+     * @return Mapa con consultas, aciertos de caché, rechazadas, vencidas,
+     *         promedio, máximo y percentiles 50, 95 y 99.
+     */
+    public Map<String, Object> obtenerEstadisticas() {
+        Map<String, Object> estadisticas = new HashMap<>();
+        long cantidad = consultas.sum();
+        estadisticas.put("consultas", cantidad);
+        estadisticas.put("aciertosCache", aciertosCache.sum());
+        estadisticas.put("rechazadas", rechazadas.sum());
+        estadisticas.put("vencidas", vencidas.sum());
+        estadisticas.put("promedioMs", cantidad == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / cantidad);
+        estadisticas.put("maximoMs", maximoNanos.get() / 1_000_000.0);
+        estadisticas.put("p50Ms", percentil(0.50));
+        estadisticas.put("p95Ms", percentil(0.95));
+        estadisticas.put("p99Ms", percentil(0.99));
+        return estadisticas;
+    }
+}
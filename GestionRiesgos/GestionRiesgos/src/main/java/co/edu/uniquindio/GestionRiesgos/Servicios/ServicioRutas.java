@@ -0,0 +1,219 @@
+package co.edu.uniquindio.GestionRiesgos.Servicios;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Estructuras.CacheRutas;
+import co.edu.uniquindio.GestionRiesgos.Estructuras.Camino;
+import co.edu.uniquindio.GestionRiesgos.Estructuras.GrafoDirigido;
+import co.edu.uniquindio.GestionRiesgos.Model.SistemaGestionDesastres;
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Servicio de cálculo de rutas óptimas (más corta, más rápida y más segura)
+ * entre dos zonas.
+ *
+ * Las búsquedas se ejecutan en un pool propio de tamaño fijo con una cola
+ * acotada, separado de los hilos que atienden las peticiones: cuando el pool
+ * está saturado la consulta se rechaza de inmediato en lugar de acumularse,
+ * y los demás endpoints siguen respondiendo. Cada consulta tiene un plazo
+ * máximo, contado desde su llegada (incluye la espera en la cola).
+ *
+ * Los resultados se guardan en la {@link CacheRutas} del grafo, indexados
+ * por la versión de pesos de la instantánea que se buscó; la caché se
+ * consulta en el hilo de la petición antes de usar el pool. Las consultas
+ * iguales que llegan mientras otra se calcula esperan ese mismo cálculo, y
+ * cada una recibe su propia copia del camino.
+ * La latencia se mide por criterio con un {@link MedidorLatencia}.
+ */
+@Service
+public class ServicioRutas {
+
+    private final ThreadPoolExecutor ejecutor;
+    private final long plazoNanos;
+
+    /** Sistema cuyas zonas y grafo se consultan */
+    private final SistemaGestionDesastres sistema;
+
+    /** Medidor de cada criterio; se llena en el constructor y luego solo se lee */
+    private final Map<CriterioRuta, MedidorLatencia> latencias = new EnumMap<>(CriterioRuta.class);
+
+    /** Cálculos en curso, para que las consultas repetidas no se calculen dos veces */
+    private final ConcurrentHashMap<Clave, CompletableFuture<Camino>> enCurso = new ConcurrentHashMap<>();
+
+    /**
+     * @param sistema Sistema de gestión de desastres.
+     * @param hilos Hilos del pool de búsqueda; 0 usa la mitad de los procesadores.
+     * @param capacidadCola Consultas que pueden esperar en cola antes de rechazarse.
+     * @param plazoMilisegundos Tiempo máximo de respuesta de cada consulta.
+     */
+    public ServicioRutas(SistemaGestionDesastres sistema,
+                         @Value("${rutas.servicio.hilos:0}") int hilos,
+                         @Value("${rutas.servicio.cola:64}") int capacidadCola,
+                         @Value("${rutas.servicio.plazo-ms:2000}") long plazoMilisegundos) {
+        if (hilos < 0 || capacidadCola <= 0 || plazoMilisegundos <= 0) {
+            throw new IllegalArgumentException("Configuración inválida del servicio de rutas");
+        }
+        int tamano = hilos > 0 ? hilos : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger numero = new AtomicInteger();
+        this.ejecutor = new ThreadPoolExecutor(tamano, tamano, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "rutas-" + numero.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.plazoNanos = TimeUnit.MILLISECONDS.toNanos(plazoMilisegundos);
+        this.sistema = Objects.requireNonNull(sistema, "sistema");
+        for (CriterioRuta criterio : CriterioRuta.values()) {
+            latencias.put(criterio, new MedidorLatencia());
+        }
+    }
+
+    /**
+     * Calcula el camino de menor costo entre dos zonas según un criterio.
+     *
+     * Si vence el plazo, el cálculo no se interrumpe: termina en el pool y
+     * deja su resultado en la caché del grafo para la siguiente consulta.
+     *
+     * @param idOrigen ID de la zona origen.
+     * @param idDestino ID de la zona destino.
+     * @param criterio Criterio a minimizar.
+     * @return Camino encontrado, o null si el destino no es alcanzable.
+     * @throws IllegalArgumentException Si alguna zona no existe.
+     * @throws RejectedExecutionException Si el pool y su cola están llenos.
+     * @throws TimeoutException Si la respuesta no estuvo lista dentro del plazo.
+     */
+    public Camino calcularRuta(String idOrigen, String idDestino, CriterioRuta criterio) throws TimeoutException {
+        long inicio = System.nanoTime();
+        MedidorLatencia medidor = latencias.get(Objects.requireNonNull(criterio, "criterio"));
+        try {
+            Zona origen = sistema.buscarZona(idOrigen);
+            Zona destino = sistema.buscarZona(idDestino);
+            if (origen == null) throw new IllegalArgumentException("Zona origen no encontrada: " + idOrigen);
+            if (destino == null) throw new IllegalArgumentException("Zona destino no encontrada: " + idDestino);
+
+            GrafoDirigido grafo = sistema.getGrafoDirigido();
+            CacheRutas cache = grafo.getCacheRutas();
+            long version = grafo.obtenerGrafoCompacto().getVersionPesos(criterio);
+            CacheRutas.Entrada entrada = cache != null ? cache.obtener(idOrigen, idDestino, criterio, version) : null;
+            if (entrada != null) {
+                medidor.registrarAciertoCache();
+                return entrada.getCamino();
+            }
+
+            Clave clave = new Clave(idOrigen, idDestino, criterio, version);
+            CompletableFuture<Camino> calculo;
+            try {
+                // El motor guarda el resultado en la caché del grafo con la versión que buscó
+                calculo = enCurso.computeIfAbsent(clave, k -> CompletableFuture.supplyAsync(
+                        () -> sistema.calcularRutaOptima(origen, destino, criterio), ejecutor));
+            } catch (RejectedExecutionException e) {
+                medidor.registrarRechazo();
+                throw e;
+            }
+            CompletableFuture<Camino> futuro = calculo;
+            futuro.whenComplete((camino, error) -> enCurso.remove(clave, futuro));
+
+            try {
+                Camino camino = futuro.get(plazoNanos - (System.nanoTime() - inicio), TimeUnit.NANOSECONDS);
+                return camino != null ? new Camino(camino.getTramos()) : null;
+            } catch (TimeoutException e) {
+                medidor.registrarVencimiento();
+                throw e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Consulta de ruta interrumpida", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException causa) throw causa;
+                throw new IllegalStateException(e.getCause());
+            }
+        } finally {
+            medidor.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Obtiene el estado del pool, los contadores de la caché del grafo y la
+     * latencia de cada criterio.
+     *
+     * @return Mapa con hilos, activos, enCola, capacidadCola, plazoMs,
+     *         completadas, cache y latencias (por nombre de criterio).
+     */
+    public Map<String, Object> obtenerEstadisticas() {
+        Map<String, Object> estadisticas = new HashMap<>();
+        estadisticas.put("hilos", ejecutor.getMaximumPoolSize());
+        estadisticas.put("activos", ejecutor.getActiveCount());
+        estadisticas.put("enCola", ejecutor.getQueue().size());
+        estadisticas.put("capacidadCola", ejecutor.getQueue().size() + ejecutor.getQueue().remainingCapacity());
+        estadisticas.put("plazoMs", TimeUnit.NANOSECONDS.toMillis(plazoNanos));
+        estadisticas.put("completadas", ejecutor.getCompletedTaskCount());
+        estadisticas.put("cache", sistema.obtenerEstadisticasCacheRutas());
+        Map<String, Object> porCriterio = new HashMap<>();
+        latencias.forEach((criterio, medidor) -> porCriterio.put(criterio.name(), medidor.obtenerEstadisticas()));
+        estadisticas.put("latencias", porCriterio);
+        return estadisticas;
+    }
+
+    /**
+     * @param criterio Criterio de ruta.
+     * @return Medidor de latencia del criterio.
+     */
+    public MedidorLatencia getLatencia(CriterioRuta criterio) {
+        return latencias.get(criterio);
+    }
+
+    /** Detiene el pool al cerrar la aplicación. */
+    @PreDestroy
+    public void detener() {
+        ejecutor.shutdownNow();
+    }
+
+    /**
+     * Clave de un cálculo en curso: origen, destino, criterio y versión de sus pesos.
+     */
+    private static final class Clave {
+        private final String origen;
+        private final String destino;
+        private final CriterioRuta criterio;
+        private final long version;
+
+        private Clave(String origen, String destino, CriterioRuta criterio, long version) {
+            this.origen = origen;
+            this.destino = destino;
+            this.criterio = criterio;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Clave otra)) return false;
+            return criterio == otra.criterio && version == otra.version
+                    && origen.equals(otra.origen) && destino.equals(otra.destino);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(origen, destino, criterio, version);
+        }
+    }
+}
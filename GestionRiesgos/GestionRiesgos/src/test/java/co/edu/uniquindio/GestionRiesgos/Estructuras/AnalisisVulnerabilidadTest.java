@@ -0,0 +1,218 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del análisis de puentes y puntos de articulación fuertes contra
+ * la definición: quitar la ruta o la zona y volver a calcular las
+ * componentes fuertemente conexas.
+ */
+class AnalisisVulnerabilidadTest {
+
+    @Test
+    void coincideConQuitarCadaRutaYCadaZona() {
+        for (int semilla = 0; semilla < 60; semilla++) {
+            Random azar = new Random(semilla);
+            int n = 6 + azar.nextInt(7);
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, n, 2 * n + azar.nextInt(2 * n), false);
+            compararConFuerzaBruta(aleatorio, aleatorio.grafo.analizarVulnerabilidad(), "semilla " + semilla);
+        }
+    }
+
+    @Test
+    void componentesReutilizadasCoincidenConUnCalculoCompleto() {
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(21, 40, 70, false);
+        GrafoDirigido grafo = aleatorio.grafo;
+        Random azar = new Random(21);
+        ResultadoVulnerabilidad anterior = grafo.analizarVulnerabilidad();
+        boolean huboReutilizacion = false;
+
+        for (int i = 0; i < 40; i++) {
+            GrafosAleatorios.agregarRuta(grafo, azar, aleatorio.zonas, "N" + i, false);
+            ResultadoVulnerabilidad incremental = grafo.analizarVulnerabilidad();
+            ResultadoVulnerabilidad completo = AnalisisVulnerabilidad.calcular(grafo.obtenerGrafoCompacto(), null);
+            String caso = "ruta nueva " + i;
+            assertEquals(completo.getNumeroComponentes(), incremental.getNumeroComponentes(), caso);
+            assertEquals(resumen(completo), resumen(incremental), caso);
+            assertEquals(new TreeSet<>(completo.getPuntosArticulacion()), new TreeSet<>(incremental.getPuntosArticulacion()), caso);
+
+            Set<AnalisisVulnerabilidad.Componente> previas = Collections.newSetFromMap(new IdentityHashMap<>());
+            previas.addAll(Arrays.asList(anterior.getEstado().componentes));
+            for (AnalisisVulnerabilidad.Componente componente : incremental.getEstado().componentes) {
+                if (componente != null && previas.contains(componente)) huboReutilizacion = true;
+            }
+            anterior = incremental;
+        }
+        assertTrue(huboReutilizacion, "Ninguna componente se reutilizó entre versiones");
+    }
+
+    @Test
+    void cambiosDeOcupacionNoRepitenElAnalisis() {
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(11, 20, 60, false);
+        GrafoDirigido grafo = aleatorio.grafo;
+        ResultadoVulnerabilidad resultado = grafo.analizarVulnerabilidad();
+
+        Ruta ruta = grafo.getAristas().get(0);
+        ruta.setCapacidadMaxima(10);
+        ruta.setCapacidadActual(9);
+        GrafoCompacto ocupado = grafo.obtenerGrafoCompacto();
+        assertEquals(resultado.getVersionEstructura(), ocupado.getVersionEstructura());
+        assertSame(resultado, grafo.analizarVulnerabilidad());
+
+        // Un cambio de estructura sí lo invalida
+        ruta.setActiva(!ruta.isActiva());
+        assertNotSame(resultado, grafo.analizarVulnerabilidad());
+    }
+
+    private static void compararConFuerzaBruta(GrafosAleatorios aleatorio, ResultadoVulnerabilidad resultado, String caso) {
+        int n = aleatorio.zonas.size();
+        List<Ruta> rutas = aleatorio.grafo.getAristas();
+        int[] componente = componentes(aleatorio, null, -1);
+        int[] tamanos = new int[n];
+        for (int c : componente) tamanos[c]++;
+        Set<String> nodos = new HashSet<>();
+        for (Ruta ruta : rutas) {
+            nodos.add(ruta.getOrigen().getId());
+            nodos.add(ruta.getDestino().getId());
+        }
+        int cantidad = 0;
+        for (Zona zona : aleatorio.zonas) {
+            int v = aleatorio.indice(zona);
+            if (nodos.contains(zona.getId()) && componente[v] == v) cantidad++;
+        }
+        assertEquals(cantidad, resultado.getNumeroComponentes(), caso);
+
+        // Una ruta interna es puente si sin ella su componente deja de ser fuertemente conexa
+        Set<String> puentes = new TreeSet<>();
+        for (Ruta ruta : rutas) {
+            int u = aleatorio.indice(ruta.getOrigen());
+            int v = aleatorio.indice(ruta.getDestino());
+            if (!ruta.isActiva() || componente[u] != componente[v]) continue;
+            if (seParte(componentes(aleatorio, ruta, -1), componente, componente[u], -1)) puentes.add(ruta.getId());
+        }
+        Set<String> obtenidos = new TreeSet<>();
+        for (ResultadoVulnerabilidad.PuenteCritico puente : resultado.getPuentes()) {
+            obtenidos.add(puente.getRuta().getId());
+            verificarAislados(aleatorio, puente, componente, caso);
+        }
+        assertEquals(puentes, obtenidos, caso);
+
+        // Una zona es punto de articulación si su componente sin ella deja de ser fuertemente conexa
+        Set<String> articulaciones = new TreeSet<>();
+        for (int v = 0; v < n; v++) {
+            if (tamanos[componente[v]] < 2) continue;
+            if (seParte(componentes(aleatorio, null, v), componente, componente[v], v)) {
+                articulaciones.add(aleatorio.zonas.get(v).getId());
+            }
+        }
+        assertEquals(articulaciones, new TreeSet<>(resultado.getPuntosArticulacion()), caso);
+    }
+
+    /** Verifica las zonas que quedan sin acceso y sin salida respecto de la zona de referencia. */
+    private static void verificarAislados(GrafosAleatorios aleatorio, ResultadoVulnerabilidad.PuenteCritico puente,
+                                          int[] componente, String caso) {
+        int referencia = aleatorio.indice(aleatorio.zonas.stream()
+                .filter(z -> z.getId().equals(puente.getZonaReferencia())).findFirst().orElseThrow());
+        boolean[][] alcanza = alcanzabilidad(aleatorio, puente.getRuta(), -1);
+        Set<String> sinAcceso = new TreeSet<>();
+        Set<String> sinSalida = new TreeSet<>();
+        for (int v = 0; v < componente.length; v++) {
+            if (componente[v] != componente[referencia]) continue;
+            if (!alcanza[referencia][v]) sinAcceso.add(aleatorio.zonas.get(v).getId());
+            if (!alcanza[v][referencia]) sinSalida.add(aleatorio.zonas.get(v).getId());
+        }
+        String ruta = caso + ", ruta " + puente.getRuta().getId();
+        assertEquals(sinAcceso, new TreeSet<>(puente.getZonasSinAcceso()), ruta);
+        assertEquals(sinSalida, new TreeSet<>(puente.getZonasSinSalida()), ruta);
+    }
+
+    /** @return true si los nodos de la componente {@code c} (salvo el excluido) ya no están todos juntos. */
+    private static boolean seParte(int[] despues, int[] antes, int c, int excluido) {
+        int representante = -1;
+        for (int v = 0; v < antes.length; v++) {
+            if (antes[v] != c || v == excluido) continue;
+            if (representante < 0) representante = despues[v];
+            else if (despues[v] != representante) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Componentes fuertemente conexas por alcanzabilidad mutua, sin la ruta o
+     * la zona indicadas.
+     *
+     * @return Para cada zona, el menor índice de su componente.
+     */
+    private static int[] componentes(GrafosAleatorios aleatorio, Ruta sinRuta, int sinZona) {
+        int n = aleatorio.zonas.size();
+        boolean[][] alcanza = alcanzabilidad(aleatorio, sinRuta, sinZona);
+        int[] componente = new int[n];
+        for (int v = 0; v < n; v++) {
+            componente[v] = v;
+            for (int u = 0; u < v; u++) {
+                if (alcanza[u][v] && alcanza[v][u]) {
+                    componente[v] = componente[u];
+                    break;
+                }
+            }
+        }
+        return componente;
+    }
+
+    private static boolean[][] alcanzabilidad(GrafosAleatorios aleatorio, Ruta sinRuta, int sinZona) {
+        int n = aleatorio.zonas.size();
+        Map<Integer, List<Integer>> adyacentes = new HashMap<>();
+        for (Ruta ruta : aleatorio.grafo.getAristas()) {
+            int u = aleatorio.indice(ruta.getOrigen());
+            int v = aleatorio.indice(ruta.getDestino());
+            if (!ruta.isActiva() || ruta == sinRuta || u == sinZona || v == sinZona) continue;
+            adyacentes.computeIfAbsent(u, k -> new ArrayList<>()).add(v);
+        }
+        boolean[][] alcanza = new boolean[n][n];
+        for (int s = 0; s < n; s++) {
+            if (s == sinZona) continue;
+            Deque<Integer> cola = new ArrayDeque<>(List.of(s));
+            alcanza[s][s] = true;
+            while (!cola.isEmpty()) {
+                int u = cola.poll();
+                for (int v : adyacentes.getOrDefault(u, List.of())) {
+                    if (!alcanza[s][v]) {
+                        alcanza[s][v] = true;
+                        cola.add(v);
+                    }
+                }
+            }
+        }
+        return alcanza;
+    }
+
+    /** @return Cada puente con sus zonas aisladas, en un orden comparable. */
+    private static Set<String> resumen(ResultadoVulnerabilidad resultado) {
+        Set<String> resumen = new TreeSet<>();
+        for (ResultadoVulnerabilidad.PuenteCritico puente : resultado.getPuentes()) {
+            resumen.add(puente.getRuta().getId() + " " + new TreeSet<>(puente.getZonasSinAcceso())
+                    + " " + new TreeSet<>(puente.getZonasSinSalida()));
+        }
+        return resumen;
+    }
+}
@@ -0,0 +1,157 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.AlgoritmoRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.NivelUrgencia;
+import co.edu.uniquindio.GestionRiesgos.Enums.TipoRuta;
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static co.edu.uniquindio.GestionRiesgos.Estructuras.GrafosAleatorios.TOLERANCIA;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Pruebas de Dijkstra y de la búsqueda bidireccional sobre grafos aleatorios:
+ * Dijkstra contra Bellman-Ford y la búsqueda bidireccional contra Dijkstra.
+ */
+class BuscadorCaminosTest {
+
+    @Test
+    void dijkstraCoincideConBellmanFord() {
+        for (long semilla = 1; semilla <= 5; semilla++) {
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 30, 90, semilla % 2 == 0);
+            for (CriterioRuta criterio : CriterioRuta.values()) {
+                for (Zona origen : aleatorio.zonas) {
+                    double[] referencia = aleatorio.bellmanFord(aleatorio.indice(origen), criterio);
+                    for (Zona destino : aleatorio.zonas) {
+                        if (origen == destino) continue;
+                        Camino camino = aleatorio.grafo.calcularRuta(origen, destino, criterio, AlgoritmoRuta.DIJKSTRA);
+                        double esperado = referencia[aleatorio.indice(destino)];
+                        if (esperado == Double.POSITIVE_INFINITY) {
+                            assertNull(camino);
+                            continue;
+                        }
+                        assertNotNull(camino);
+                        GrafosAleatorios.verificarCamino(camino, origen, destino);
+                        assertEquals(esperado, GrafosAleatorios.costo(camino, criterio), TOLERANCIA);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void bidireccionalDevuelveLosMismosCaminosQueDijkstra() {
+        for (long semilla = 1; semilla <= 5; semilla++) {
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 40, 120, false);
+            for (CriterioRuta criterio : CriterioRuta.values()) {
+                for (Zona origen : aleatorio.zonas) {
+                    for (Zona destino : aleatorio.zonas) {
+                        if (origen == destino) continue;
+                        Camino esperado = aleatorio.grafo.calcularRuta(origen, destino, criterio, AlgoritmoRuta.DIJKSTRA);
+                        Camino obtenido = aleatorio.grafo.calcularRuta(origen, destino, criterio, AlgoritmoRuta.BIDIRECCIONAL);
+                        assertEquals(GrafosAleatorios.ids(esperado), GrafosAleatorios.ids(obtenido),
+                                "Semilla " + semilla + ", " + criterio + ": " + origen.getId() + " -> " + destino.getId());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void bidireccionalConEmpatesYPesosCeroIgualaElCosto() {
+        for (long semilla = 1; semilla <= 5; semilla++) {
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 40, 120, true);
+            for (CriterioRuta criterio : CriterioRuta.values()) {
+                for (Zona origen : aleatorio.zonas) {
+                    for (Zona destino : aleatorio.zonas) {
+                        if (origen == destino) continue;
+                        Camino esperado = aleatorio.grafo.calcularRuta(origen, destino, criterio, AlgoritmoRuta.DIJKSTRA);
+                        Camino obtenido = aleatorio.grafo.calcularRuta(origen, destino, criterio, AlgoritmoRuta.BIDIRECCIONAL);
+                        if (esperado == null) {
+                            assertNull(obtenido);
+                            continue;
+                        }
+                        assertNotNull(obtenido);
+                        GrafosAleatorios.verificarCamino(obtenido, origen, destino);
+                        assertEquals(GrafosAleatorios.costo(esperado, criterio),
+                                GrafosAleatorios.costo(obtenido, criterio), TOLERANCIA);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void bidireccionalSeEncuentraSobreRutasDePesoCero() {
+        // Las dos búsquedas llegan con la misma clave a los extremos de una cadena de peso cero
+        Map<String, Zona> zonas = new HashMap<>();
+        GrafoDirigido grafo = new GrafoDirigido();
+        grafo.configurarCacheRutas(null);
+        conectar(grafo, zonas, "OA", "O", "A", 1.0);
+        conectar(grafo, zonas, "AB", "A", "B", 0.0);
+        conectar(grafo, zonas, "BC", "B", "C", 0.0);
+        conectar(grafo, zonas, "CB", "C", "B", 0.0);
+        conectar(grafo, zonas, "CD", "C", "D", 1.0);
+        conectar(grafo, zonas, "OE", "O", "E", 1.0);
+        conectar(grafo, zonas, "ED", "E", "D", 1.5);
+        Camino camino = grafo.calcularRuta(zonas.get("O"), zonas.get("D"), CriterioRuta.DISTANCIA, AlgoritmoRuta.BIDIRECCIONAL);
+        assertEquals(List.of("OA", "AB", "BC", "CD"), GrafosAleatorios.ids(camino));
+
+        // Con todo en cero, la condición de parada se cumple con igualdad y el camino sigue siendo válido
+        GrafoDirigido ceros = new GrafoDirigido();
+        ceros.configurarCacheRutas(null);
+        zonas.clear();
+        conectar(ceros, zonas, "OA", "O", "A", 0.0);
+        conectar(ceros, zonas, "AO", "A", "O", 0.0);
+        conectar(ceros, zonas, "AD", "A", "D", 0.0);
+        conectar(ceros, zonas, "OD", "O", "D", 0.0);
+        conectar(ceros, zonas, "DA", "D", "A", 0.0);
+        camino = ceros.calcularRuta(zonas.get("O"), zonas.get("D"), CriterioRuta.DISTANCIA, AlgoritmoRuta.BIDIRECCIONAL);
+        assertNotNull(camino);
+        GrafosAleatorios.verificarCamino(camino, zonas.get("O"), zonas.get("D"));
+        assertEquals(0.0, GrafosAleatorios.costo(camino, CriterioRuta.DISTANCIA));
+    }
+
+    @Test
+    void bidireccionalConMayoriaDeRutasDePesoCeroIgualaABellmanFord() {
+        for (long semilla = 1; semilla <= 20; semilla++) {
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 25, 60, true);
+            Random azar = new Random(semilla);
+            for (Ruta ruta : aleatorio.grafo.getAristas()) {
+                ruta.setDistancia(azar.nextInt(10) < 7 ? 0.0 : 1 + azar.nextInt(3));
+            }
+            for (Zona origen : aleatorio.zonas) {
+                double[] referencia = aleatorio.bellmanFord(aleatorio.indice(origen), CriterioRuta.DISTANCIA);
+                for (Zona destino : aleatorio.zonas) {
+                    if (origen == destino) continue;
+                    Camino camino = aleatorio.grafo.calcularRuta(origen, destino, CriterioRuta.DISTANCIA,
+                            AlgoritmoRuta.BIDIRECCIONAL);
+                    double esperado = referencia[aleatorio.indice(destino)];
+                    String caso = "Semilla " + semilla + ": " + origen.getId() + " -> " + destino.getId();
+                    if (esperado == Double.POSITIVE_INFINITY) {
+                        assertNull(camino, caso);
+                        continue;
+                    }
+                    assertNotNull(camino, caso);
+                    GrafosAleatorios.verificarCamino(camino, origen, destino);
+                    assertEquals(esperado, GrafosAleatorios.costo(camino, CriterioRuta.DISTANCIA), TOLERANCIA, caso);
+                }
+            }
+        }
+    }
+
+    private static void conectar(GrafoDirigido grafo, Map<String, Zona> zonas, String id, String origen, String destino,
+                                 double distancia) {
+        Zona desde = zonas.computeIfAbsent(origen, z -> new Zona(z, "Zona " + z, NivelUrgencia.MEDIA));
+        Zona hasta = zonas.computeIfAbsent(destino, z -> new Zona(z, "Zona " + z, NivelUrgencia.MEDIA));
+        grafo.agregarArista(new Ruta(id, desde, hasta, distancia, 1.0, TipoRuta.TERRESTRE));
+    }
+}
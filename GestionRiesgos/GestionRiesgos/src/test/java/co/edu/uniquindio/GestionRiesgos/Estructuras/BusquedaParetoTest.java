@@ -0,0 +1,231 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.AlgoritmoRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.NivelUrgencia;
+import co.edu.uniquindio.GestionRiesgos.Enums.TipoRuta;
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static co.edu.uniquindio.GestionRiesgos.Estructuras.GrafosAleatorios.TOLERANCIA;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del frente de Pareto contra la enumeración exhaustiva de los
+ * caminos simples y contra Dijkstra por cada criterio.
+ */
+class BusquedaParetoTest {
+
+    private static final CriterioRuta[] CRITERIOS = {CriterioRuta.DISTANCIA, CriterioRuta.TIEMPO, CriterioRuta.RIESGO};
+
+    private static final Comparator<double[]> LEXICOGRAFICO = (a, b) -> {
+        for (int i = 0; i < a.length; i++) {
+            int comparacion = Double.compare(a[i], b[i]);
+            if (comparacion != 0) return comparacion;
+        }
+        return 0;
+    };
+
+    @Test
+    void elFrenteCoincideConLaEnumeracionExhaustiva() {
+        for (long semilla = 1; semilla <= 20; semilla++) {
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 8, 22, semilla % 2 == 0);
+            aleatorio.grafo.configurarLimiteEtiquetasPareto(Integer.MAX_VALUE);
+            for (Zona origen : aleatorio.zonas) {
+                for (Zona destino : aleatorio.zonas) {
+                    if (origen == destino) continue;
+                    String contexto = "Semilla " + semilla + ": " + origen.getId() + " -> " + destino.getId();
+
+                    List<double[]> esperado = frente(costosSimples(aleatorio, origen, destino));
+                    List<double[]> obtenido = new ArrayList<>();
+                    for (Camino camino : aleatorio.grafo.calcularRutasPareto(origen, destino)) {
+                        GrafosAleatorios.verificarCamino(camino, origen, destino);
+                        obtenido.add(costos(camino));
+                    }
+                    obtenido.sort(LEXICOGRAFICO);
+
+                    assertEquals(esperado.size(), obtenido.size(), contexto);
+                    for (int i = 0; i < esperado.size(); i++) {
+                        assertArrayEquals(esperado.get(i), obtenido.get(i), 1e-6, contexto);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void losExtremosDelFrenteIgualanADijkstra() {
+        for (long semilla = 1; semilla <= 3; semilla++) {
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 30, 80, semilla % 2 == 0);
+            for (Zona origen : aleatorio.zonas) {
+                for (Zona destino : aleatorio.zonas) {
+                    if (origen == destino) continue;
+                    List<Camino> frente = aleatorio.grafo.calcularRutasPareto(origen, destino);
+                    for (int c = 0; c < CRITERIOS.length; c++) {
+                        Camino minimo = aleatorio.grafo.calcularRuta(origen, destino, CRITERIOS[c], AlgoritmoRuta.DIJKSTRA);
+                        if (minimo == null) {
+                            assertTrue(frente.isEmpty());
+                            continue;
+                        }
+                        CriterioRuta criterio = CRITERIOS[c];
+                        double mejor = frente.stream()
+                                .mapToDouble(camino -> GrafosAleatorios.costo(camino, criterio))
+                                .min().orElse(Double.POSITIVE_INFINITY);
+                        assertEquals(GrafosAleatorios.costo(minimo, criterio), mejor, TOLERANCIA,
+                                "Semilla " + semilla + ", " + criterio + ": " + origen.getId() + " -> " + destino.getId());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void alAlcanzarElLimiteDeEtiquetasElFrenteQuedaIncompletoPeroValido() {
+        // Escalera de etapas con dos rutas cada una, (distancia 1, tiempo 2) y (2, 1): todo camino es óptimo de Pareto
+        int etapas = 8;
+        GrafoDirigido grafo = new GrafoDirigido();
+        grafo.configurarCacheRutas(null);
+        List<Zona> zonas = new ArrayList<>();
+        for (int i = 0; i <= etapas; i++) zonas.add(new Zona("Z" + i, "Zona " + i, NivelUrgencia.MEDIA));
+        for (int i = 0; i < etapas; i++) {
+            grafo.agregarArista(new Ruta("C" + i, zonas.get(i), zonas.get(i + 1), 1.0, 2.0, TipoRuta.TERRESTRE));
+            grafo.agregarArista(new Ruta("R" + i, zonas.get(i), zonas.get(i + 1), 2.0, 1.0, TipoRuta.TERRESTRE));
+        }
+        Zona origen = zonas.get(0);
+        Zona destino = zonas.get(etapas);
+
+        grafo.configurarLimiteEtiquetasPareto(Integer.MAX_VALUE);
+        List<Camino> completo = grafo.calcularRutasPareto(origen, destino);
+        assertEquals(etapas + 1, completo.size());
+
+        for (int limite = 1; limite <= etapas; limite++) {
+            grafo.configurarLimiteEtiquetasPareto(limite);
+            List<Camino> frente = grafo.calcularRutasPareto(origen, destino);
+            String contexto = "Límite " + limite;
+            assertFalse(frente.isEmpty(), contexto);
+            assertTrue(frente.size() <= limite, contexto);
+            verificarNoDominados(frente, origen, destino, contexto);
+        }
+    }
+
+    @Test
+    void conUnLimiteBajoLosCaminosSiguenSiendoValidosYNoDominados() {
+        for (long semilla = 1; semilla <= 10; semilla++) {
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 30, 120, semilla % 2 == 0);
+            for (int limite = 1; limite <= 3; limite++) {
+                aleatorio.grafo.configurarLimiteEtiquetasPareto(limite);
+                for (Zona origen : aleatorio.zonas) {
+                    for (Zona destino : aleatorio.zonas) {
+                        if (origen == destino) continue;
+                        String contexto = "Semilla " + semilla + ", límite " + limite + ": "
+                                + origen.getId() + " -> " + destino.getId();
+                        List<Camino> frente = aleatorio.grafo.calcularRutasPareto(origen, destino);
+                        // Toda zona alcanzable conserva al menos una etiqueta: el frente solo es vacío sin camino
+                        boolean alcanzable = aleatorio.grafo.calcularRuta(origen, destino, CriterioRuta.DISTANCIA,
+                                AlgoritmoRuta.DIJKSTRA) != null;
+                        assertEquals(alcanzable, !frente.isEmpty(), contexto);
+                        assertTrue(frente.size() <= limite, contexto);
+                        verificarNoDominados(frente, origen, destino, contexto);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Verifica que cada camino sea válido y que ninguno iguale o domine a otro. */
+    private static void verificarNoDominados(List<Camino> frente, Zona origen, Zona destino, String contexto) {
+        List<double[]> vectores = new ArrayList<>();
+        for (Camino camino : frente) {
+            GrafosAleatorios.verificarCamino(camino, origen, destino);
+            assertTrue(GrafosAleatorios.esSimple(camino), contexto);
+            vectores.add(costos(camino));
+        }
+        for (double[] a : vectores) {
+            for (double[] b : vectores) {
+                if (a == b) continue;
+                assertFalse(domina(a, b) || iguales(a, b), contexto);
+            }
+        }
+    }
+
+    private static double[] costos(Camino camino) {
+        double[] costos = new double[CRITERIOS.length];
+        for (int c = 0; c < CRITERIOS.length; c++) {
+            costos[c] = GrafosAleatorios.costo(camino, CRITERIOS[c]);
+        }
+        return costos;
+    }
+
+    /** Vectores no dominados (sin repetidos), en orden lexicográfico. */
+    private static List<double[]> frente(List<double[]> vectores) {
+        List<double[]> frente = new ArrayList<>();
+        for (double[] candidato : vectores) {
+            boolean dominado = false;
+            for (double[] otro : vectores) {
+                if (otro != candidato && domina(otro, candidato)) {
+                    dominado = true;
+                    break;
+                }
+            }
+            if (dominado) continue;
+            if (frente.stream().noneMatch(v -> iguales(v, candidato))) frente.add(candidato);
+        }
+        frente.sort(LEXICOGRAFICO);
+        return frente;
+    }
+
+    /** @return true si {@code a} es igual o mejor en todo y estrictamente mejor en algo. */
+    private static boolean domina(double[] a, double[] b) {
+        boolean mejor = false;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] > b[i] + 1e-9) return false;
+            if (a[i] < b[i] - 1e-9) mejor = true;
+        }
+        return mejor;
+    }
+
+    private static boolean iguales(double[] a, double[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (Math.abs(a[i] - b[i]) > 1e-9) return false;
+        }
+        return true;
+    }
+
+    /** Vectores de costo de todos los caminos simples por rutas activas. */
+    private static List<double[]> costosSimples(GrafosAleatorios aleatorio, Zona origen, Zona destino) {
+        List<double[]> vectores = new ArrayList<>();
+        boolean[] visitadas = new boolean[aleatorio.zonas.size()];
+        visitadas[aleatorio.indice(origen)] = true;
+        enumerar(aleatorio, origen, destino, new double[CRITERIOS.length], visitadas, vectores);
+        return vectores;
+    }
+
+    private static void enumerar(GrafosAleatorios aleatorio, Zona actual, Zona destino, double[] costo,
+                                 boolean[] visitadas, List<double[]> vectores) {
+        for (Ruta ruta : aleatorio.grafo.getAristas()) {
+            if (!ruta.isActiva() || !ruta.getOrigen().getId().equals(actual.getId())) continue;
+            Zona siguiente = ruta.getDestino();
+            int indice = aleatorio.indice(siguiente);
+            if (visitadas[indice]) continue;
+
+            double[] nuevoCosto = costo.clone();
+            for (int c = 0; c < CRITERIOS.length; c++) {
+                nuevoCosto[c] += GrafoCompacto.peso(ruta, CRITERIOS[c]);
+            }
+            if (siguiente.getId().equals(destino.getId())) {
+                vectores.add(nuevoCosto);
+                continue;
+            }
+            visitadas[indice] = true;
+            enumerar(aleatorio, siguiente, destino, nuevoCosto, visitadas, vectores);
+            visitadas[indice] = false;
+        }
+    }
+}
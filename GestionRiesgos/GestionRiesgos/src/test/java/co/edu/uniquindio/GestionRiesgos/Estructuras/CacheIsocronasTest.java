@@ -0,0 +1,95 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Pruebas de la agrupación de presupuestos en cubetas de la caché de
+ * isócronas, en particular de los presupuestos y tiempos de llegada que
+ * caen justo en un límite.
+ */
+class CacheIsocronasTest {
+
+    @Test
+    void limiteExactoNoPasaALaCubetaSiguiente() {
+        CacheIsocronas cache = new CacheIsocronas(8, CacheIsocronas.ANCHO_CUBETA_POR_DEFECTO);
+        assertEquals(30.0 / 60.0, cache.limiteCubeta(30.0 / 60.0), 1e-12);
+        assertEquals(30.0 / 60.0, cache.limiteCubeta(28.0 / 60.0), 1e-12);
+        assertEquals(35.0 / 60.0, cache.limiteCubeta(30.5 / 60.0), 1e-12);
+        assertEquals(0.0, cache.limiteCubeta(0.0), 1e-12);
+    }
+
+    @Test
+    void presupuestosDeUnaCubetaCompartenEntradaEIncluyenLosLimites() {
+        for (int semilla = 0; semilla < 20; semilla++) {
+            // Tiempos enteros y cubetas de una hora: llegadas y límites coinciden exactamente
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 12, 30, true);
+            GrafoDirigido grafo = aleatorio.grafo;
+            CacheIsocronas cache = new CacheIsocronas(256, 1.0);
+            grafo.configurarCacheIsocronas(cache);
+
+            List<Double> presupuestos = new ArrayList<>();
+            for (int medios = 0; medios <= 16; medios++) presupuestos.add(medios / 2.0);
+            Collections.shuffle(presupuestos, new Random(semilla));
+
+            for (Zona zona : aleatorio.zonas) {
+                if (grafo.obtenerNodo(zona.getId()) == null) continue;
+                double[] esperados = aleatorio.bellmanFord(aleatorio.indice(zona), CriterioRuta.TIEMPO);
+                for (double presupuesto : presupuestos) {
+                    Isocrona isocrona = grafo.calcularIsocrona(zona.getId(), presupuesto, CriterioRuta.TIEMPO);
+                    assertNotNull(isocrona);
+                    Map<String, Double> alcanzables = new HashMap<>();
+                    for (Zona destino : aleatorio.zonas) {
+                        double tiempo = esperados[aleatorio.indice(destino)];
+                        if (tiempo <= presupuesto) alcanzables.put(destino.getId(), tiempo);
+                    }
+                    String caso = "semilla " + semilla + ", origen " + zona.getId() + ", presupuesto " + presupuesto;
+                    assertEquals(presupuesto, isocrona.getPresupuesto(), caso);
+                    assertEquals(alcanzables, isocrona.getTiemposLlegada(), caso);
+                }
+            }
+            // Nueve cubetas por origen: la del 0 y ocho con dos presupuestos (el límite y su mitad)
+            int nodos = grafo.obtenerGrafoCompacto().getNumeroNodos();
+            assertEquals(9L * nodos, cache.getFallos());
+            assertEquals(8L * nodos, cache.getAciertos());
+            assertEquals(9 * nodos, cache.getTamano());
+        }
+    }
+
+    @Test
+    void cambioDeTiemposInvalidaLasEntradas() {
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(3, 12, 30, true);
+        GrafoDirigido grafo = aleatorio.grafo;
+        CacheIsocronas cache = new CacheIsocronas(64, 1.0);
+        grafo.configurarCacheIsocronas(cache);
+
+        for (Ruta ruta : grafo.getAristas()) {
+            if (!ruta.isActiva()) continue;
+            String origen = ruta.getOrigen().getId();
+            String destino = ruta.getDestino().getId();
+            ruta.setTiempoEstimado(3.0);
+            if (grafo.calcularIsocrona(origen, 4.0, CriterioRuta.TIEMPO).getTiempoLlegada(destino) == 0.0) continue;
+
+            // La misma cubeta con los pesos nuevos no devuelve la isócrona guardada
+            long aciertos = cache.getAciertos();
+            ruta.setTiempoEstimado(0.0);
+            Isocrona isocrona = grafo.calcularIsocrona(origen, 3.5, CriterioRuta.TIEMPO);
+            assertEquals(aciertos, cache.getAciertos());
+            assertEquals(0.0, isocrona.getTiempoLlegada(destino));
+            return;
+        }
+        fail("Ninguna ruta sirve para la prueba");
+    }
+}
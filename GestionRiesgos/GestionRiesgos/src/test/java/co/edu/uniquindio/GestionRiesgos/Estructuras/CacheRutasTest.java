@@ -0,0 +1,79 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.AlgoritmoRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.NivelUrgencia;
+import co.edu.uniquindio.GestionRiesgos.Enums.TipoRuta;
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Pruebas del aislamiento de los caminos devueltos y de las versiones de la caché.
+ */
+class CacheRutasTest {
+
+    private static Camino camino() {
+        Zona a = new Zona("A", "Zona A", NivelUrgencia.MEDIA);
+        Zona b = new Zona("B", "Zona B", NivelUrgencia.MEDIA);
+        return new Camino(List.of(new Ruta("R1", a, b, 5.0, 10.0, TipoRuta.TERRESTRE)));
+    }
+
+    @Test
+    void cadaConsultaRecibeUnCaminoPropio() {
+        CacheRutas cache = new CacheRutas(4);
+        Camino original = camino();
+        cache.guardar("A", "B", CriterioRuta.DISTANCIA, 1, original);
+        original.setDistancia(99.0);
+
+        Camino primero = cache.obtener("A", "B", CriterioRuta.DISTANCIA, 1).getCamino();
+        primero.setDistancia(42.0);
+        Camino segundo = cache.obtener("A", "B", CriterioRuta.DISTANCIA, 1).getCamino();
+
+        assertNotSame(primero, segundo);
+        assertEquals(5.0, segundo.getDistancia());
+    }
+
+    @Test
+    void unaConsultaConVersionAnteriorNoInvalidaLasEntradas() {
+        CacheRutas cache = new CacheRutas(4);
+        cache.guardar("A", "B", CriterioRuta.DISTANCIA, 2, camino());
+
+        assertNull(cache.obtener("A", "B", CriterioRuta.DISTANCIA, 1));
+        assertNotNull(cache.obtener("A", "B", CriterioRuta.DISTANCIA, 2));
+        assertEquals(0, cache.getInvalidaciones());
+
+        assertNull(cache.obtener("A", "B", CriterioRuta.DISTANCIA, 3));
+        assertEquals(1, cache.getInvalidaciones());
+    }
+
+    @Test
+    void unCambioDeOcupacionSoloInvalidaElTiempoConTrafico() {
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(3, 20, 60, false);
+        CacheRutas cache = new CacheRutas(CacheRutas.CAPACIDAD_POR_DEFECTO);
+        aleatorio.grafo.configurarCacheRutas(cache);
+        Zona origen = aleatorio.zonas.get(0);
+        Zona destino = aleatorio.zonas.get(1);
+        aleatorio.grafo.calcularRuta(origen, destino, CriterioRuta.DISTANCIA, AlgoritmoRuta.DIJKSTRA);
+        aleatorio.grafo.calcularRuta(origen, destino, CriterioRuta.TIEMPO_TRAFICO, AlgoritmoRuta.DIJKSTRA);
+
+        Ruta ruta = aleatorio.grafo.getAristas().get(0);
+        ruta.setCapacidadActual(ruta.getCapacidadMaxima());
+
+        long aciertos = cache.getAciertos();
+        aleatorio.grafo.calcularRuta(origen, destino, CriterioRuta.DISTANCIA, AlgoritmoRuta.DIJKSTRA);
+        assertEquals(aciertos + 1, cache.getAciertos());
+
+        Camino conTrafico = aleatorio.grafo.calcularRuta(origen, destino, CriterioRuta.TIEMPO_TRAFICO, AlgoritmoRuta.DIJKSTRA);
+        assertEquals(aciertos + 1, cache.getAciertos());
+        aleatorio.grafo.configurarCacheRutas(null);
+        assertEquals(GrafosAleatorios.ids(aleatorio.grafo.calcularRuta(origen, destino, CriterioRuta.TIEMPO_TRAFICO,
+                AlgoritmoRuta.DIJKSTRA)), GrafosAleatorios.ids(conTrafico));
+    }
+}
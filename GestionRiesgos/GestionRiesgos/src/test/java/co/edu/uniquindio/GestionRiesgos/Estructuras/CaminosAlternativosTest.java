@@ -0,0 +1,151 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.NivelUrgencia;
+import co.edu.uniquindio.GestionRiesgos.Enums.TipoRuta;
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static co.edu.uniquindio.GestionRiesgos.Estructuras.GrafosAleatorios.TOLERANCIA;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del algoritmo de Yen contra la enumeración exhaustiva de los
+ * caminos simples en grafos aleatorios pequeños.
+ */
+class CaminosAlternativosTest {
+
+    private static final int K = 12;
+
+    @Test
+    void losCostosCoincidenConLaEnumeracionExhaustiva() {
+        for (long semilla = 1; semilla <= 20; semilla++) {
+            boolean pesosEnteros = semilla % 2 == 0;
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 8, 22, pesosEnteros);
+            for (CriterioRuta criterio : CriterioRuta.values()) {
+                for (Zona origen : aleatorio.zonas) {
+                    for (Zona destino : aleatorio.zonas) {
+                        if (origen == destino) continue;
+                        String contexto = "Semilla " + semilla + ", " + criterio + ": "
+                                + origen.getId() + " -> " + destino.getId();
+
+                        List<Double> esperados = costosSimples(aleatorio, origen, destino, criterio);
+                        List<Camino> caminos = aleatorio.grafo
+                                .calcularRutasAlternativas(origen, destino, K, criterio).toList();
+
+                        assertEquals(Math.min(K, esperados.size()), caminos.size(), contexto);
+                        Set<List<String>> distintos = new HashSet<>();
+                        for (int i = 0; i < caminos.size(); i++) {
+                            Camino camino = caminos.get(i);
+                            GrafosAleatorios.verificarCamino(camino, origen, destino);
+                            assertTrue(GrafosAleatorios.esSimple(camino), contexto);
+                            assertTrue(distintos.add(GrafosAleatorios.ids(camino)), contexto);
+                            assertEquals(esperados.get(i), GrafosAleatorios.costo(camino, criterio), TOLERANCIA, contexto);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void conMasCaminosPedidosQueExistentesDevuelveTodosYSeAgota() {
+        Map<String, Zona> zonas = new HashMap<>();
+        GrafoDirigido grafo = new GrafoDirigido();
+        grafo.configurarCacheRutas(null);
+        conectar(grafo, zonas, "OA", "O", "A", 1.0);
+        conectar(grafo, zonas, "AD", "A", "D", 1.0);
+        conectar(grafo, zonas, "OB", "O", "B", 2.0);
+        conectar(grafo, zonas, "BD", "B", "D", 2.0);
+        conectar(grafo, zonas, "AB", "A", "B", 1.0);
+        conectar(grafo, zonas, "BA", "B", "A", 1.0);
+        conectar(grafo, zonas, "OD1", "O", "D", 5.0);
+        conectar(grafo, zonas, "OD2", "O", "D", 6.0);
+        // Ciclos por el origen y el destino que no deben producir caminos con zonas repetidas
+        conectar(grafo, zonas, "DO", "D", "O", 1.0);
+        conectar(grafo, zonas, "EO", "E", "O", 1.0);
+        Set<List<String>> existentes = Set.of(List.of("OA", "AD"), List.of("OA", "AB", "BD"), List.of("OB", "BD"),
+                List.of("OB", "BA", "AD"), List.of("OD1"), List.of("OD2"));
+        List<Double> costos = List.of(2.0, 4.0, 4.0, 4.0, 5.0, 6.0);
+
+        for (int k : new int[]{existentes.size(), existentes.size() + 1, 100, Integer.MAX_VALUE}) {
+            List<Camino> caminos = grafo.calcularRutasAlternativas(zonas.get("O"), zonas.get("D"), k, CriterioRuta.DISTANCIA)
+                    .toList();
+            Set<List<String>> obtenidos = new HashSet<>();
+            caminos.forEach(camino -> obtenidos.add(GrafosAleatorios.ids(camino)));
+            assertEquals(existentes, obtenidos, "k = " + k);
+            assertEquals(costos, caminos.stream().map(c -> GrafosAleatorios.costo(c, CriterioRuta.DISTANCIA)).toList(),
+                    "k = " + k);
+        }
+
+        // Agotados los caminos, el iterador queda vacío y no entrega ninguno más
+        GrafoCompacto compacto = grafo.obtenerGrafoCompacto();
+        CaminosAlternativos iterador = new CaminosAlternativos(compacto, compacto.pesos(CriterioRuta.DISTANCIA),
+                compacto.indice("O"), compacto.indice("D"), Integer.MAX_VALUE);
+        for (int i = 0; i < existentes.size(); i++) iterador.next();
+        assertFalse(iterador.hasNext());
+        assertFalse(iterador.hasNext());
+        assertThrows(NoSuchElementException.class, iterador::next);
+
+        // Sin ningún camino, el flujo es vacío aunque se pidan todos
+        assertEquals(0, grafo.calcularRutasAlternativas(zonas.get("O"), zonas.get("E"), Integer.MAX_VALUE,
+                CriterioRuta.DISTANCIA).count());
+    }
+
+    @Test
+    void rechazaUnaCantidadNoPositiva() {
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(1, 8, 22, false);
+        Zona origen = aleatorio.zonas.get(0);
+        Zona destino = aleatorio.zonas.get(1);
+        assertThrows(IllegalArgumentException.class,
+                () -> aleatorio.grafo.calcularRutasAlternativas(origen, destino, 0, CriterioRuta.DISTANCIA));
+    }
+
+    private static void conectar(GrafoDirigido grafo, Map<String, Zona> zonas, String id, String origen, String destino,
+                                 double distancia) {
+        Zona desde = zonas.computeIfAbsent(origen, z -> new Zona(z, "Zona " + z, NivelUrgencia.MEDIA));
+        Zona hasta = zonas.computeIfAbsent(destino, z -> new Zona(z, "Zona " + z, NivelUrgencia.MEDIA));
+        grafo.agregarArista(new Ruta(id, desde, hasta, distancia, 1.0, TipoRuta.TERRESTRE));
+    }
+
+    /** Costos de todos los caminos simples por rutas activas, en orden creciente. */
+    private static List<Double> costosSimples(GrafosAleatorios aleatorio, Zona origen, Zona destino,
+                                              CriterioRuta criterio) {
+        List<Double> costos = new ArrayList<>();
+        boolean[] visitadas = new boolean[aleatorio.zonas.size()];
+        visitadas[aleatorio.indice(origen)] = true;
+        enumerar(aleatorio, origen, destino, criterio, 0.0, visitadas, costos);
+        costos.sort(null);
+        return costos;
+    }
+
+    private static void enumerar(GrafosAleatorios aleatorio, Zona actual, Zona destino, CriterioRuta criterio,
+                                 double costo, boolean[] visitadas, List<Double> costos) {
+        for (Ruta ruta : aleatorio.grafo.getAristas()) {
+            if (!ruta.isActiva() || !ruta.getOrigen().getId().equals(actual.getId())) continue;
+            Zona siguiente = ruta.getDestino();
+            int indice = aleatorio.indice(siguiente);
+            if (visitadas[indice]) continue;
+
+            double nuevoCosto = costo + GrafoCompacto.peso(ruta, criterio);
+            if (siguiente.getId().equals(destino.getId())) {
+                costos.add(nuevoCosto);
+                continue;
+            }
+            visitadas[indice] = true;
+            enumerar(aleatorio, siguiente, destino, criterio, nuevoCosto, visitadas, costos);
+            visitadas[indice] = false;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de la centralidad de intermediación (Brandes) contra el conteo
+ * ingenuo de todos los caminos mínimos de cada par en grafos pequeños.
+ */
+class CentralidadIntermediacionTest {
+
+    @Test
+    void brandesCoincideConElConteoDeCaminosDeCadaPar() {
+        for (int semilla = 0; semilla < 60; semilla++) {
+            Random azar = new Random(semilla);
+            int n = 4 + azar.nextInt(5);
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, n, n + azar.nextInt(2 * n), true);
+            // Pesos enteros positivos: hay empates, y los caminos mínimos son simples
+            for (Ruta ruta : aleatorio.grafo.getAristas()) {
+                ruta.setDistancia(1 + azar.nextInt(3));
+            }
+            GrafoCompacto grafo = aleatorio.grafo.obtenerGrafoCompacto();
+
+            double[] porNodo = new double[grafo.getNumeroNodos()];
+            double[] porArista = new double[grafo.getNumeroAristas()];
+            for (int s = 0; s < grafo.getNumeroNodos(); s++) {
+                for (int t = 0; t < grafo.getNumeroNodos(); t++) {
+                    if (s != t) contarPar(grafo, s, t, porNodo, porArista);
+                }
+            }
+
+            ResultadoCentralidad resultado = CentralidadIntermediacion.calcular(grafo, CriterioRuta.DISTANCIA,
+                    CentralidadIntermediacion.MUESTRAS_POR_DEFECTO);
+            assertTrue(resultado.esExacto());
+            Map<Ruta, Double> rutas = new IdentityHashMap<>();
+            resultado.getRutasCriticas(Integer.MAX_VALUE).forEach(r -> rutas.put(r.getRuta(), r.getCentralidad()));
+            Map<Nodo, Double> zonas = new IdentityHashMap<>();
+            resultado.getZonasCriticas(Integer.MAX_VALUE).forEach(z -> zonas.put(z.getNodo(), z.getCentralidad()));
+
+            String caso = "semilla " + semilla;
+            for (int e = 0; e < porArista.length; e++) {
+                assertEquals(porArista[e], rutas.getOrDefault(grafo.ruta(e), 0.0), 1e-9, caso + ", ruta " + grafo.ruta(e).getId());
+            }
+            for (int v = 0; v < porNodo.length; v++) {
+                assertEquals(porNodo[v], zonas.getOrDefault(grafo.getNodos().get(v), 0.0), 1e-9, caso + ", zona " + grafo.id(v));
+            }
+        }
+    }
+
+    /**
+     * Enumera todos los caminos simples de s a t, se queda con los de costo
+     * mínimo y suma a cada arista y a cada zona intermedia la fracción de
+     * ellos que la usa.
+     */
+    private static void contarPar(GrafoCompacto grafo, int s, int t, double[] porNodo, double[] porArista) {
+        double[] pesos = grafo.pesos(CriterioRuta.DISTANCIA);
+        Conteo conteo = new Conteo(grafo.getNumeroNodos(), grafo.getNumeroAristas());
+        boolean[] enCamino = new boolean[grafo.getNumeroNodos()];
+        int[] aristas = new int[grafo.getNumeroNodos()];
+        enCamino[s] = true;
+        enumerar(grafo, pesos, s, t, 0.0, 0, aristas, enCamino, conteo);
+        if (conteo.caminos == 0) return;
+        for (int e = 0; e < porArista.length; e++) porArista[e] += conteo.porArista[e] / conteo.caminos;
+        for (int v = 0; v < porNodo.length; v++) {
+            if (v != s && v != t) porNodo[v] += conteo.porNodo[v] / conteo.caminos;
+        }
+    }
+
+    private static void enumerar(GrafoCompacto grafo, double[] pesos, int u, int t, double costo, int largo,
+                                 int[] aristas, boolean[] enCamino, Conteo conteo) {
+        if (u == t) {
+            if (costo < conteo.costo) conteo.reiniciar(costo);
+            if (costo == conteo.costo) {
+                conteo.caminos++;
+                for (int i = 0; i < largo; i++) {
+                    conteo.porArista[aristas[i]]++;
+                    conteo.porNodo[grafo.destino(aristas[i])]++;
+                }
+            }
+            return;
+        }
+        for (int e = grafo.inicioAristas(u), fin = grafo.finAristas(u); e < fin; e++) {
+            int v = grafo.destino(e);
+            if (enCamino[v]) continue;
+            enCamino[v] = true;
+            aristas[largo] = e;
+            enumerar(grafo, pesos, v, t, costo + pesos[e], largo + 1, aristas, enCamino, conteo);
+            enCamino[v] = false;
+        }
+    }
+
+    /** Caminos de costo mínimo hallados hasta el momento para un par. */
+    private static final class Conteo {
+        double costo = Double.POSITIVE_INFINITY;
+        double caminos;
+        final double[] porNodo;
+        final double[] porArista;
+
+        Conteo(int n, int m) {
+            porNodo = new double[n];
+            porArista = new double[m];
+        }
+
+        void reiniciar(double costo) {
+            this.costo = costo;
+            caminos = 0;
+            Arrays.fill(porNodo, 0.0);
+            Arrays.fill(porArista, 0.0);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
+/**
+ * Medición de delta-stepping contra Dijkstra secuencial en consultas de uno
+ * a todos sobre un grafo aleatorio grande. No es una prueba (Surefire no la
+ * ejecuta): se lanza a mano tras compilar las pruebas, por ejemplo
+ *
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     co.edu.uniquindio.GestionRiesgos.Estructuras.DeltaSteppingBenchmark 200000 1000000
+ * </pre>
+ *
+ * Argumentos opcionales: cantidad de zonas, cantidad de rutas, orígenes por
+ * medición y semilla. Imprime la mediana por consulta de Dijkstra y de
+ * delta-stepping con varios múltiplos del ancho de cubeta por defecto.
+ */
+public final class DeltaSteppingBenchmark {
+
+    /** Múltiplos del ancho por defecto que se miden */
+    private static final double[] FACTORES_ANCHO = {0.25, 1.0, 4.0, 16.0};
+
+    /** Repeticiones descartadas para que el compilador JIT se estabilice */
+    private static final int CALENTAMIENTO = 3;
+
+    /** Repeticiones medidas */
+    private static final int REPETICIONES = 7;
+
+    private DeltaSteppingBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int zonas = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int rutas = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        int origenes = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        long semilla = args.length > 3 ? Long.parseLong(args[3]) : 1L;
+
+        long inicio = System.nanoTime();
+        GrafoCompacto grafo = GrafosAleatorios.generar(semilla, zonas, rutas, false).grafo.obtenerGrafoCompacto();
+        System.out.printf("Grafo: %d nodos, %d aristas activas (%.0f ms)%n",
+                grafo.getNumeroNodos(), grafo.getNumeroAristas(), (System.nanoTime() - inicio) / 1e6);
+        System.out.printf("Paralelismo del pool común: %d%n", ForkJoinPool.getCommonPoolParallelism());
+
+        Random azar = new Random(semilla);
+        int[] muestra = azar.ints(origenes, 0, grafo.getNumeroNodos()).toArray();
+        double[] pesos = grafo.pesos(CriterioRuta.TIEMPO);
+        double anchoPorDefecto = DeltaStepping.anchoPorDefecto(pesos);
+
+        EspacioBusqueda espacio = EspacioBusqueda.crear();
+        double dijkstra = medir(muestra, origen -> BuscadorCaminos.dijkstra(grafo, pesos, origen, -1, espacio));
+        System.out.printf("Dijkstra secuencial:       %8.2f ms/consulta%n", dijkstra);
+
+        for (double factor : FACTORES_ANCHO) {
+            double ancho = anchoPorDefecto * factor;
+            double delta = medir(muestra, origen -> DeltaStepping.calcular(grafo, pesos, origen, -1, ancho));
+            System.out.printf("Delta-stepping Δ=%-9.4g %8.2f ms/consulta (x%.2f)%n", ancho, delta, dijkstra / delta);
+        }
+    }
+
+    /** @return Mediana, en milisegundos por consulta, de las repeticiones medidas. */
+    private static double medir(int[] origenes, IntConsumer consulta) {
+        double[] tiempos = new double[REPETICIONES];
+        for (int r = -CALENTAMIENTO; r < REPETICIONES; r++) {
+            long inicio = System.nanoTime();
+            for (int origen : origenes) {
+                consulta.accept(origen);
+            }
+            if (r >= 0) tiempos[r] = (System.nanoTime() - inicio) / 1e6 / origenes.length;
+        }
+        Arrays.sort(tiempos);
+        return tiempos[REPETICIONES / 2];
+    }
+}
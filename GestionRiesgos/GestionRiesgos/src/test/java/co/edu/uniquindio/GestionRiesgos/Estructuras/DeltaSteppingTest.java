@@ -0,0 +1,187 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.NivelUrgencia;
+import co.edu.uniquindio.GestionRiesgos.Enums.TipoRuta;
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static co.edu.uniquindio.GestionRiesgos.Estructuras.GrafosAleatorios.TOLERANCIA;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Pruebas de delta-stepping contra Dijkstra sobre grafos aleatorios, con
+ * pesos cero y anchos de cubeta extremos (casi Dijkstra y casi Bellman-Ford).
+ */
+class DeltaSteppingTest {
+
+    private static final double[] ANCHOS_EXTREMOS = {1e-6, 1e9};
+
+    @Test
+    void calculaLasMismasDistanciasQueDijkstra() {
+        for (long semilla = 1; semilla <= 6; semilla++) {
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 40, 140, semilla % 2 == 0);
+            GrafoCompacto grafo = aleatorio.grafo.obtenerGrafoCompacto();
+            for (CriterioRuta criterio : CriterioRuta.values()) {
+                double[] pesos = grafo.pesos(criterio);
+                for (double ancho : anchos(pesos)) {
+                    for (int origen = 0; origen < grafo.getNumeroNodos(); origen++) {
+                        double[] esperadas = dijkstra(grafo, pesos, origen);
+                        double[] obtenidas = DeltaStepping.calcular(grafo, pesos, origen, -1, ancho);
+                        for (int v = 0; v < esperadas.length; v++) {
+                            verificarDistancia(esperadas[v], obtenidas[v],
+                                    "Semilla " + semilla + ", " + criterio + ", Δ=" + ancho + ": " + origen + " -> " + v);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void conDestinoDevuelveUnCaminoMinimo() {
+        for (long semilla = 1; semilla <= 4; semilla++) {
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 30, 100, semilla % 2 == 1);
+            GrafoCompacto grafo = aleatorio.grafo.obtenerGrafoCompacto();
+            for (CriterioRuta criterio : CriterioRuta.values()) {
+                double[] pesos = grafo.pesos(criterio);
+                for (double ancho : anchos(pesos)) {
+                    for (int origen = 0; origen < grafo.getNumeroNodos(); origen++) {
+                        double[] esperadas = dijkstra(grafo, pesos, origen);
+                        for (int destino = 0; destino < grafo.getNumeroNodos(); destino++) {
+                            if (destino == origen) continue;
+                            double[] distancias = DeltaStepping.calcular(grafo, pesos, origen, destino, ancho);
+                            Camino camino = DeltaStepping.reconstruir(grafo, pesos, distancias, origen, destino);
+                            if (esperadas[destino] == Double.POSITIVE_INFINITY) {
+                                assertNull(camino);
+                                continue;
+                            }
+                            assertNotNull(camino);
+                            GrafosAleatorios.verificarCamino(camino, grafo.zona(origen), grafo.zona(destino));
+                            verificarDistancia(esperadas[destino], GrafosAleatorios.costo(camino, criterio),
+                                    "Semilla " + semilla + ", " + criterio + ", Δ=" + ancho + ": " + origen + " -> " + destino);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void espacioReutilizadoQuedaEnReposoEntreConsultas() {
+        // El mismo espacio atiende grafos de distinto tamaño y consultas seguidas, sin arrastrar distancias
+        DeltaStepping.Espacio espacio = DeltaStepping.Espacio.delHilo();
+        for (long semilla = 1; semilla <= 4; semilla++) {
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, (int) (20 * semilla), (int) (70 * semilla), true);
+            GrafoCompacto grafo = aleatorio.grafo.obtenerGrafoCompacto();
+            double[] pesos = grafo.pesos(CriterioRuta.DISTANCIA);
+            for (int origen = 0; origen < grafo.getNumeroNodos(); origen++) {
+                double[] esperadas = dijkstra(grafo, pesos, origen);
+                for (int destino = 0; destino < grafo.getNumeroNodos(); destino++) {
+                    Camino camino = DeltaStepping.calcularCamino(grafo, pesos, origen, destino,
+                            DeltaStepping.anchoPorDefecto(pesos), espacio);
+                    if (destino == origen || esperadas[destino] == Double.POSITIVE_INFINITY) {
+                        assertNull(camino);
+                        continue;
+                    }
+                    GrafosAleatorios.verificarCamino(camino, grafo.zona(origen), grafo.zona(destino));
+                    verificarDistancia(esperadas[destino], GrafosAleatorios.costo(camino, CriterioRuta.DISTANCIA),
+                            "Semilla " + semilla + ": " + origen + " -> " + destino);
+                }
+            }
+        }
+    }
+
+    @Test
+    void frentesGrandesSeRelajanEnParalelo() {
+        // Con Δ enorme casi todo el grafo cae en la primera cubeta y el frente se reparte en tareas
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(9, 12000, 60000, true);
+        GrafoCompacto grafo = aleatorio.grafo.obtenerGrafoCompacto();
+        double[] pesos = grafo.pesos(CriterioRuta.TIEMPO);
+        for (int origen = 0; origen < 3; origen++) {
+            double[] esperadas = dijkstra(grafo, pesos, origen);
+            for (double ancho : anchos(pesos)) {
+                double[] obtenidas = DeltaStepping.calcular(grafo, pesos, origen, -1, ancho);
+                for (int v = 0; v < esperadas.length; v++) {
+                    verificarDistancia(esperadas[v], obtenidas[v], "Δ=" + ancho + ": " + origen + " -> " + v);
+                }
+            }
+        }
+    }
+
+    @Test
+    void destinoEnLaPrimeraCubetaCortaLaBusquedaSinPerderElMejorCamino() {
+        // Con Δ = 10 el destino cae en la cubeta 0, alcanzado primero por la ruta directa y luego por una más corta
+        Map<String, Zona> zonas = new HashMap<>();
+        GrafoDirigido grafoDirigido = new GrafoDirigido();
+        conectar(grafoDirigido, zonas, "OT", "O", "T", 5.0);
+        conectar(grafoDirigido, zonas, "OA", "O", "A", 1.0);
+        conectar(grafoDirigido, zonas, "AB", "A", "B", 1.0);
+        conectar(grafoDirigido, zonas, "BT", "B", "T", 1.0);
+        conectar(grafoDirigido, zonas, "AC", "A", "C", 0.0);
+        conectar(grafoDirigido, zonas, "CT", "C", "T", 1.5);
+        // Una zona lejana, en la cubeta 100, y otra detrás de ella
+        conectar(grafoDirigido, zonas, "OF", "O", "F", 1000.0);
+        conectar(grafoDirigido, zonas, "FG", "F", "G", 1.0);
+        GrafoCompacto grafo = grafoDirigido.obtenerGrafoCompacto();
+        double[] pesos = grafo.pesos(CriterioRuta.DISTANCIA);
+        int origen = grafo.indice("O");
+        int destino = grafo.indice("T");
+        int lejana = grafo.indice("G");
+
+        double[] distancias = DeltaStepping.calcular(grafo, pesos, origen, destino, 10.0);
+        assertEquals(2.5, distancias[destino]);
+        // La búsqueda terminó sin vaciar la cubeta de la zona lejana
+        assertEquals(Double.POSITIVE_INFINITY, distancias[lejana]);
+        assertEquals(List.of("OA", "AC", "CT"),
+                GrafosAleatorios.ids(DeltaStepping.reconstruir(grafo, pesos, distancias, origen, destino)));
+        assertEquals(1001.0, DeltaStepping.calcular(grafo, pesos, origen, -1, 10.0)[lejana]);
+
+        // Con el espacio reutilizado, la consulta cortada no deja rastros para la siguiente
+        DeltaStepping.Espacio espacio = DeltaStepping.Espacio.delHilo();
+        Camino corto = DeltaStepping.calcularCamino(grafo, pesos, origen, destino, 10.0, espacio);
+        assertEquals(List.of("OA", "AC", "CT"), GrafosAleatorios.ids(corto));
+        Camino largo = DeltaStepping.calcularCamino(grafo, pesos, origen, lejana, 10.0, espacio);
+        assertEquals(List.of("OF", "FG"), GrafosAleatorios.ids(largo));
+        assertEquals(List.of("OA", "AC", "CT"),
+                GrafosAleatorios.ids(DeltaStepping.calcularCamino(grafo, pesos, origen, destino, 10.0, espacio)));
+    }
+
+    private static void conectar(GrafoDirigido grafo, Map<String, Zona> zonas, String id, String origen, String destino,
+                                 double distancia) {
+        Zona desde = zonas.computeIfAbsent(origen, z -> new Zona(z, "Zona " + z, NivelUrgencia.MEDIA));
+        Zona hasta = zonas.computeIfAbsent(destino, z -> new Zona(z, "Zona " + z, NivelUrgencia.MEDIA));
+        grafo.agregarArista(new Ruta(id, desde, hasta, distancia, 1.0, TipoRuta.TERRESTRE));
+    }
+
+    /** @return Ancho por defecto y anchos extremos para los pesos. */
+    private static double[] anchos(double[] pesos) {
+        return new double[]{DeltaStepping.anchoPorDefecto(pesos), ANCHOS_EXTREMOS[0], ANCHOS_EXTREMOS[1]};
+    }
+
+    /** @return Distancia desde el origen a cada nodo con Dijkstra; infinito si no es alcanzable. */
+    private static double[] dijkstra(GrafoCompacto grafo, double[] pesos, int origen) {
+        EspacioBusqueda espacio = EspacioBusqueda.crear();
+        BuscadorCaminos.dijkstra(grafo, pesos, origen, -1, espacio);
+        double[] distancias = new double[grafo.getNumeroNodos()];
+        for (int v = 0; v < distancias.length; v++) {
+            distancias[v] = espacio.distancia(v);
+        }
+        return distancias;
+    }
+
+    /** Las sumas pueden acumularse en otro orden: se compara con tolerancia relativa. */
+    private static void verificarDistancia(double esperada, double obtenida, String mensaje) {
+        if (esperada == Double.POSITIVE_INFINITY) {
+            assertEquals(esperada, obtenida, mensaje);
+        } else {
+            assertEquals(esperada, obtenida, TOLERANCIA * Math.max(1.0, esperada), mensaje);
+        }
+    }
+}
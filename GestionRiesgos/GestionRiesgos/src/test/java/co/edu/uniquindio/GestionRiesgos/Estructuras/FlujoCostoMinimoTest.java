@@ -0,0 +1,111 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del flujo de costo mínimo contra la enumeración exhaustiva de
+ * todos los flujos enteros en instancias diminutas.
+ */
+class FlujoCostoMinimoTest {
+
+    @Test
+    void demandasSucesivasCoincidenConLaEnumeracionExhaustiva() {
+        for (int semilla = 0; semilla < 120; semilla++) {
+            Random azar = new Random(semilla);
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 5, 5 + azar.nextInt(4), true);
+            GrafoCompacto grafo = aleatorio.grafo.obtenerGrafoCompacto();
+            int n = grafo.getNumeroNodos();
+            int m = grafo.getNumeroAristas();
+            if (n < 2) continue;
+
+            long[] disponible = new long[m];
+            double[] costos = new double[m];
+            for (int e = 0; e < m; e++) {
+                disponible[e] = azar.nextInt(4);
+                costos[e] = azar.nextInt(5);
+            }
+            FlujoCostoMinimo flujo = new FlujoCostoMinimo(grafo, disponible, costos);
+
+            // Cada demanda es óptima sobre la capacidad que dejó la anterior
+            for (int demanda = 0; demanda < 2; demanda++) {
+                int origen = azar.nextInt(n);
+                int destino = (origen + 1 + azar.nextInt(n - 1)) % n;
+                long cantidad = 1 + azar.nextInt(5);
+                String caso = "semilla " + semilla + ", demanda " + demanda;
+
+                long[] antes = disponible.clone();
+                double[] esperado = optimoExhaustivo(grafo, antes, costos, origen, destino, cantidad);
+                List<FlujoCostoMinimo.Envio> envios = flujo.enviar(origen, destino, cantidad);
+
+                long enviado = 0;
+                double costo = 0.0;
+                long[] usado = new long[m];
+                for (FlujoCostoMinimo.Envio envio : envios) {
+                    assertTrue(envio.cantidad > 0, caso);
+                    assertEquals(origen, grafo.origen(envio.aristas[0]), caso);
+                    assertEquals(destino, grafo.destino(envio.aristas[envio.aristas.length - 1]), caso);
+                    for (int i = 0; i < envio.aristas.length; i++) {
+                        int e = envio.aristas[i];
+                        if (i > 0) assertEquals(grafo.destino(envio.aristas[i - 1]), grafo.origen(e), caso);
+                        usado[e] += envio.cantidad;
+                        costo += envio.cantidad * costos[e];
+                    }
+                    enviado += envio.cantidad;
+                }
+                assertEquals((long) esperado[0], enviado, caso);
+                assertEquals(esperado[1], costo, GrafosAleatorios.TOLERANCIA, caso);
+                for (int e = 0; e < m; e++) {
+                    assertTrue(usado[e] <= antes[e], caso);
+                    assertEquals(antes[e] - usado[e], disponible[e], caso);
+                }
+            }
+        }
+    }
+
+    /**
+     * Prueba todas las asignaciones enteras de flujo por arista y se queda
+     * con la de mayor valor (hasta la demanda) y, entre ellas, la de menor costo.
+     *
+     * @return {valor, costo} del óptimo.
+     */
+    private static double[] optimoExhaustivo(GrafoCompacto grafo, long[] capacidades, double[] costos,
+                                             int origen, int destino, long demanda) {
+        double[] mejor = {0, 0.0};
+        enumerar(grafo, capacidades, costos, origen, destino, demanda, 0, new long[grafo.getNumeroAristas()], mejor);
+        return mejor;
+    }
+
+    private static void enumerar(GrafoCompacto grafo, long[] capacidades, double[] costos, int origen, int destino,
+                                 long demanda, int arista, long[] flujo, double[] mejor) {
+        if (arista == flujo.length) {
+            long[] balance = new long[grafo.getNumeroNodos()];
+            double costo = 0.0;
+            for (int e = 0; e < flujo.length; e++) {
+                balance[grafo.origen(e)] += flujo[e];
+                balance[grafo.destino(e)] -= flujo[e];
+                costo += flujo[e] * costos[e];
+            }
+            for (int v = 0; v < balance.length; v++) {
+                if (v != origen && v != destino && balance[v] != 0) return;
+            }
+            long valor = balance[origen];
+            if (valor < 0 || valor > demanda) return;
+            if (valor > mejor[0] || (valor == mejor[0] && costo < mejor[1])) {
+                mejor[0] = valor;
+                mejor[1] = costo;
+            }
+            return;
+        }
+        for (long f = 0; f <= capacidades[arista]; f++) {
+            flujo[arista] = f;
+            enumerar(grafo, capacidades, costos, origen, destino, demanda, arista + 1, flujo, mejor);
+        }
+        flujo[arista] = 0;
+    }
+}
@@ -0,0 +1,94 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del flujo máximo de evacuación contra el corte mínimo calculado
+ * por fuerza bruta (todas las particiones de las zonas) en grafos pequeños.
+ */
+class FlujoMaximoTest {
+
+    @Test
+    void flujoMaximoCoincideConElCorteMinimoPorFuerzaBruta() {
+        for (int semilla = 0; semilla < 150; semilla++) {
+            Random azar = new Random(semilla);
+            int n = 4 + azar.nextInt(5);
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, n, n + azar.nextInt(2 * n), true);
+            for (Ruta ruta : aleatorio.grafo.getAristas()) {
+                ruta.setCapacidadMaxima(azar.nextInt(10));
+            }
+
+            // Orígenes y destinos disjuntos: una o dos zonas de cada lado
+            int origenes = 0;
+            int destinos = 0;
+            for (int i = 0; i < n; i++) {
+                int lado = azar.nextInt(4);
+                if (lado == 0 && Integer.bitCount(origenes) < 2) origenes |= 1 << i;
+                else if (lado == 1 && Integer.bitCount(destinos) < 2) destinos |= 1 << i;
+            }
+            if (origenes == 0) origenes = 1;
+            if (destinos == 0) destinos = 1 << (n - 1);
+            destinos &= ~origenes;
+            if (destinos == 0) continue;
+
+            ResultadoFlujo resultado = aleatorio.grafo.calcularFlujoMaximo(
+                    zonas(aleatorio, origenes), zonas(aleatorio, destinos), false);
+            String caso = "semilla " + semilla;
+            assertEquals(corteMinimo(aleatorio, origenes, destinos), resultado.getFlujoMaximo(), caso);
+
+            long capacidadCorte = 0;
+            for (Ruta ruta : resultado.getCorteMinimo()) capacidadCorte += ruta.getCapacidadMaxima();
+            assertEquals(resultado.getFlujoMaximo(), capacidadCorte, caso);
+            verificarFlujo(aleatorio, resultado, origenes, destinos, caso);
+        }
+    }
+
+    /** Capacidad del menor corte que separa los orígenes de los destinos, probando cada partición. */
+    private static long corteMinimo(GrafosAleatorios aleatorio, int origenes, int destinos) {
+        int n = aleatorio.zonas.size();
+        long mejor = Long.MAX_VALUE;
+        for (int lado = 0; lado < 1 << n; lado++) {
+            if ((lado & origenes) != origenes || (lado & destinos) != 0) continue;
+            long capacidad = 0;
+            for (Ruta ruta : aleatorio.grafo.getAristas()) {
+                if (!ruta.isActiva()) continue;
+                boolean salida = (lado >> aleatorio.indice(ruta.getOrigen()) & 1) == 1;
+                boolean llegada = (lado >> aleatorio.indice(ruta.getDestino()) & 1) == 1;
+                if (salida && !llegada) capacidad += ruta.getCapacidadMaxima();
+            }
+            mejor = Math.min(mejor, capacidad);
+        }
+        return mejor;
+    }
+
+    /** Verifica capacidades, conservación en las zonas intermedias y el valor neto que sale de los orígenes. */
+    private static void verificarFlujo(GrafosAleatorios aleatorio, ResultadoFlujo resultado,
+                                       int origenes, int destinos, String caso) {
+        long[] balance = new long[aleatorio.zonas.size()];
+        for (Map.Entry<Ruta, Long> entrada : resultado.getFlujosPorRuta().entrySet()) {
+            Ruta ruta = entrada.getKey();
+            long flujo = entrada.getValue();
+            assertTrue(ruta.isActiva() && flujo > 0 && flujo <= ruta.getCapacidadMaxima(), caso);
+            balance[aleatorio.indice(ruta.getOrigen())] += flujo;
+            balance[aleatorio.indice(ruta.getDestino())] -= flujo;
+        }
+        long salida = 0;
+        for (int i = 0; i < balance.length; i++) {
+            if ((origenes >> i & 1) == 1) salida += balance[i];
+            else if ((destinos >> i & 1) == 0) assertEquals(0, balance[i], caso);
+        }
+        assertEquals(resultado.getFlujoMaximo(), salida, caso);
+    }
+
+    private static List<Zona> zonas(GrafosAleatorios aleatorio, int conjunto) {
+        return aleatorio.zonas.stream().filter(z -> (conjunto >> aleatorio.indice(z) & 1) == 1).toList();
+    }
+}
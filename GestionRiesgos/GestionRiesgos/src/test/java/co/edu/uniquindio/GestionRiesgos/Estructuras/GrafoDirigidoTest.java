@@ -0,0 +1,265 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.AlgoritmoRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.NivelUrgencia;
+import co.edu.uniquindio.GestionRiesgos.Enums.TipoRuta;
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de la publicación de instantáneas del grafo y de las consultas
+ * que se responden sobre ellas.
+ */
+class GrafoDirigidoTest {
+
+    @Test
+    void variasModificacionesSueltasSePublicanEnUnaSolaInstantanea() {
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(1, 10, 20, false);
+        GrafoCompacto anterior = aleatorio.grafo.obtenerGrafoCompacto();
+
+        Random azar = new Random(1);
+        for (int i = 0; i < 5; i++) {
+            GrafosAleatorios.agregarRuta(aleatorio.grafo, azar, aleatorio.zonas, "N" + i, false);
+        }
+
+        GrafoCompacto publicado = aleatorio.grafo.obtenerGrafoCompacto();
+        assertEquals(anterior.getVersion() + 5, publicado.getVersion());
+        assertEquals(25, publicado.getRutas().size());
+        assertSame(publicado, aleatorio.grafo.obtenerGrafoCompacto());
+    }
+
+    @Test
+    void ocupacionSinCambiosNoPublicaOtraInstantanea() {
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(2, 10, 20, false);
+        Ruta ruta = aleatorio.grafo.getAristas().get(0);
+        ruta.setCapacidadMaxima(100);
+        ruta.setCapacidadActual(90);
+        GrafoCompacto anterior = aleatorio.grafo.obtenerGrafoCompacto();
+
+        // Valores iguales no cambian la congestión ni publican otra instantánea
+        ruta.setCapacidadMaxima(100);
+        ruta.setCapacidadActual(90);
+        ruta.actualizarCapacidad(90);
+        assertSame(anterior, aleatorio.grafo.obtenerGrafoCompacto());
+
+        // Un valor que al acotarse queda igual tampoco
+        ruta.setCapacidadActual(0);
+        ruta.setCapacidadActual(-5);
+        ruta.setCapacidadMaxima(-3);
+        ruta.setCapacidadMaxima(0);
+        assertEquals(anterior.getVersion() + 2, aleatorio.grafo.obtenerGrafoCompacto().getVersion());
+        assertEquals(anterior.getVersionPesos(CriterioRuta.TIEMPO),
+                aleatorio.grafo.obtenerGrafoCompacto().getVersionPesos(CriterioRuta.TIEMPO));
+    }
+
+    @Test
+    void grafoDesconectadoDejaDeObservarSusRutas() {
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(6, 10, 20, false);
+        GrafoDirigido descartado = aleatorio.grafo;
+        GrafoDirigido nuevo = new GrafoDirigido();
+        descartado.getAristas().forEach(nuevo::agregarArista);
+        GrafoCompacto anterior = descartado.obtenerGrafoCompacto();
+        long versionNuevo = nuevo.obtenerGrafoCompacto().getVersion();
+
+        descartado.desconectar();
+        Ruta ruta = descartado.getAristas().get(0);
+        ruta.setNivelRiesgo(ruta.getNivelRiesgo() == 1.0 ? 0.0 : 1.0);
+        ruta.setCapacidadMaxima(ruta.getCapacidadMaxima() + 1);
+        descartado.obtenerNodo(ruta.getOrigen().getId()).setTipo(Nodo.TipoNodo.REFUGIO);
+
+        assertSame(anterior, descartado.obtenerGrafoCompacto());
+        assertEquals(versionNuevo + 2, nuevo.obtenerGrafoCompacto().getVersion());
+    }
+
+    @Test
+    void alcanzabilidadCoincideConUnRecorridoEnAnchura() {
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(5, 30, 20, false);
+        Random azar = new Random(5);
+        List<Ruta> agregadas = new ArrayList<>();
+
+        // Las rutas nuevas actualizan el índice de forma incremental
+        for (int i = 0; i < 40; i++) {
+            agregadas.add(GrafosAleatorios.agregarRuta(aleatorio.grafo, azar, aleatorio.zonas, "N" + i, false));
+            compararConRecorrido(aleatorio.grafo);
+        }
+
+        // Desactivar y reactivar rutas obliga a reconstruirlo
+        for (int i = 0; i < 10; i++) {
+            Ruta ruta = agregadas.get(azar.nextInt(agregadas.size()));
+            ruta.setActiva(!ruta.isActiva());
+            compararConRecorrido(aleatorio.grafo);
+        }
+    }
+
+    @Test
+    void instalacionMasCercanaReflejaLosCambiosDeTipo() {
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(7, 25, 70, false);
+        GrafoDirigido grafo = aleatorio.grafo;
+        Zona hospital = aleatorio.zonas.stream().filter(z -> grafo.obtenerNodo(z.getId()) != null).findFirst().orElseThrow();
+
+        grafo.obtenerNodo(hospital.getId()).setTipo(Nodo.TipoNodo.HOSPITAL);
+        for (Zona zona : aleatorio.zonas) {
+            if (zona == hospital || grafo.obtenerNodo(zona.getId()) == null) continue;
+            Camino camino = grafo.calcularRuta(zona, hospital, CriterioRuta.DISTANCIA, AlgoritmoRuta.DIJKSTRA);
+            InstalacionCercana cercana = grafo.obtenerInstalacionMasCercana(zona, Nodo.TipoNodo.HOSPITAL);
+            if (camino == null || camino.getTramos().isEmpty()) {
+                assertNull(cercana, zona.getId());
+            } else {
+                assertSame(grafo.obtenerNodo(hospital.getId()), cercana.getInstalacion());
+                assertEquals(GrafosAleatorios.costo(camino, CriterioRuta.DISTANCIA), cercana.getCosto(),
+                        GrafosAleatorios.TOLERANCIA, zona.getId());
+            }
+        }
+
+        // Retirar la instalación no cambia la versión del grafo, pero sí la respuesta
+        grafo.obtenerNodo(hospital.getId()).setTipo(Nodo.TipoNodo.CIUDAD);
+        for (Zona zona : aleatorio.zonas) {
+            assertNull(grafo.obtenerInstalacionMasCercana(zona, Nodo.TipoNodo.HOSPITAL), zona.getId());
+        }
+    }
+
+    @Test
+    void rutaMasSeguraMinimizaElRiesgoAcumulado() {
+        GrafoDirigido grafo = new GrafoDirigido();
+        Zona[] zonas = new Zona[4];
+        for (int i = 0; i < zonas.length; i++) {
+            zonas[i] = new Zona("Z" + i, "Zona " + i, NivelUrgencia.MEDIA);
+        }
+        Ruta directa = agregarConRiesgo(grafo, "DIRECTA", zonas[0], zonas[3], 0.6);
+        for (int i = 0; i < 3; i++) {
+            agregarConRiesgo(grafo, "T" + i, zonas[i], zonas[i + 1], 0.3);
+        }
+
+        // La directa suma menos riesgo aunque su tramo más riesgoso supere al de la otra
+        Camino camino = grafo.calcularRutaMasSegura(zonas[0], zonas[3]);
+        assertEquals(List.of("DIRECTA"), camino.getTramos().stream().map(Ruta::getId).toList());
+        assertEquals(0.6, camino.getRiesgoAcumulado(), GrafosAleatorios.TOLERANCIA);
+        assertEquals(0.6, camino.getNivelRiesgo(), GrafosAleatorios.TOLERANCIA);
+
+        directa.setNivelRiesgo(1.0);
+        camino = grafo.calcularRutaMasSegura(zonas[0], zonas[3]);
+        assertEquals(3, camino.getTramos().size());
+        assertEquals(0.9, camino.getRiesgoAcumulado(), GrafosAleatorios.TOLERANCIA);
+        assertEquals(0.3, camino.getNivelRiesgo(), GrafosAleatorios.TOLERANCIA);
+    }
+
+    private static Ruta agregarConRiesgo(GrafoDirigido grafo, String id, Zona origen, Zona destino, double riesgo) {
+        Ruta ruta = new Ruta(id, origen, destino, 1.0, 1.0, TipoRuta.TERRESTRE);
+        ruta.setNivelRiesgo(riesgo);
+        grafo.agregarArista(ruta);
+        return ruta;
+    }
+
+    @Test
+    void rutasDesdeUnNodoNoSonModificables() {
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(3, 10, 20, false);
+        Ruta ruta = aleatorio.grafo.getAristas().get(0);
+
+        List<Ruta> salientes = aleatorio.grafo.obtenerRutasDesde(ruta.getOrigen().getId());
+        assertThrows(UnsupportedOperationException.class, () -> salientes.add(ruta));
+        assertThrows(UnsupportedOperationException.class, () -> aleatorio.grafo.obtenerRutasDesde("X").add(ruta));
+    }
+
+    @Test
+    void loteCoincideConLasConsultasSueltasYEntregaLasTriviales() {
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(4, 20, 60, false);
+        aleatorio.grafo.configurarCacheRutas(null);
+        List<ConsultaRuta> consultas = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            consultas.add(new ConsultaRuta(i, "Z" + (i % 4), "Z" + i, CriterioRuta.TIEMPO));
+        }
+
+        // Dos lotes seguidos reutilizan los mismos espacios de trabajo del grafo
+        for (int repeticion = 0; repeticion < 2; repeticion++) {
+            Map<Integer, Camino> resultados = new ConcurrentHashMap<>();
+            Set<Integer> entregadas = ConcurrentHashMap.newKeySet();
+            aleatorio.grafo.resolverConsultasEnLote(consultas, (consulta, camino) -> {
+                assertTrue(entregadas.add(consulta.getIndice()));
+                if (camino != null) resultados.put(consulta.getIndice(), camino);
+            });
+            assertEquals(consultas.size(), entregadas.size());
+            for (ConsultaRuta consulta : consultas) {
+                Zona origen = aleatorio.zonas.get(Integer.parseInt(consulta.getOrigen().substring(1)));
+                Zona destino = aleatorio.zonas.get(Integer.parseInt(consulta.getDestino().substring(1)));
+                Camino esperado = aleatorio.grafo.calcularRuta(origen, destino, CriterioRuta.TIEMPO, AlgoritmoRuta.DIJKSTRA);
+                assertEquals(GrafosAleatorios.ids(esperado), GrafosAleatorios.ids(resultados.get(consulta.getIndice())));
+                if (consulta.esTrivial()) assertNull(resultados.get(consulta.getIndice()));
+            }
+        }
+    }
+
+    @Test
+    void loteInterrumpidoSeCancelaYConservaLaInterrupcion() {
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(4, 20, 60, false);
+        List<ConsultaRuta> consultas = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            consultas.add(new ConsultaRuta(i, "Z" + i, "Z" + (19 - i), CriterioRuta.TIEMPO));
+        }
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class,
+                    () -> aleatorio.grafo.resolverConsultasEnLote(consultas, (consulta, camino) -> { }));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    /** Compara las consultas de alcanzabilidad con recorridos en anchura sobre las rutas activas. */
+    private static void compararConRecorrido(GrafoDirigido grafo) {
+        int componentes = 0;
+        Set<String> contados = new HashSet<>();
+        for (Nodo origen : grafo.getNodos()) {
+            Set<String> alcanzados = recorrer(grafo, origen.getId());
+            List<String> inalcanzables = new ArrayList<>();
+            for (Nodo destino : grafo.getNodos()) {
+                boolean esperado = alcanzados.contains(destino.getId());
+                assertEquals(esperado, grafo.esAlcanzable(origen.getId(), destino.getId()),
+                        origen.getId() + " -> " + destino.getId());
+                if (!esperado) inalcanzables.add(destino.getId());
+            }
+            assertEquals(inalcanzables, grafo.obtenerInalcanzablesDesde(origen.getId()), origen.getId());
+
+            // Cada componente fuertemente conexa se cuenta por el primero de sus nodos
+            if (contados.add(origen.getId())) {
+                componentes++;
+                for (String id : alcanzados) {
+                    if (recorrer(grafo, id).contains(origen.getId())) contados.add(id);
+                }
+            }
+        }
+        assertEquals(componentes, grafo.contarComponentesFuertementeConexas());
+    }
+
+    private static Set<String> recorrer(GrafoDirigido grafo, String origen) {
+        Set<String> visitados = new HashSet<>(List.of(origen));
+        Deque<String> cola = new ArrayDeque<>(visitados);
+        while (!cola.isEmpty()) {
+            for (Ruta ruta : grafo.obtenerRutasDesde(cola.poll())) {
+                if (ruta.isActiva() && visitados.add(ruta.getDestino().getId())) {
+                    cola.add(ruta.getDestino().getId());
+                }
+            }
+        }
+        return visitados;
+    }
+}
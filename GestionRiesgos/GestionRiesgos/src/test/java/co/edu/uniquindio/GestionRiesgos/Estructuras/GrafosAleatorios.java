@@ -0,0 +1,152 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.NivelUrgencia;
+import co.edu.uniquindio.GestionRiesgos.Enums.TipoRuta;
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Grafos aleatorios reproducibles (por semilla) y utilidades de referencia
+ * para comparar los algoritmos de rutas con una búsqueda exhaustiva.
+ *
+ * Con pesos continuos casi nunca hay empates, así que el camino mínimo es
+ * único y los algoritmos deben devolver exactamente los mismos tramos. Con
+ * pesos enteros pequeños hay empates y rutas de peso cero; en ese caso solo
+ * se compara el costo.
+ */
+final class GrafosAleatorios {
+
+    /** Tolerancia para comparar costos acumulados */
+    static final double TOLERANCIA = 1e-9;
+
+    final GrafoDirigido grafo;
+    final List<Zona> zonas;
+
+    private GrafosAleatorios(GrafoDirigido grafo, List<Zona> zonas) {
+        this.grafo = grafo;
+        this.zonas = zonas;
+    }
+
+    /**
+     * Genera un grafo con las zonas alrededor de un punto (para que A* tenga
+     * coordenadas) y rutas entre pares al azar; alrededor de una de cada
+     * diez rutas queda inactiva. La caché de rutas se deshabilita para que
+     * cada consulta ejecute su algoritmo.
+     *
+     * @param semilla Semilla del generador.
+     * @param nodos Cantidad de zonas.
+     * @param rutas Cantidad de rutas.
+     * @param pesosEnteros true para pesos enteros entre 0 y 4 (empates y pesos cero).
+     */
+    static GrafosAleatorios generar(long semilla, int nodos, int rutas, boolean pesosEnteros) {
+        Random azar = new Random(semilla);
+        GrafoDirigido grafo = new GrafoDirigido();
+        grafo.configurarCacheRutas(null);
+        grafo.configurarCacheIsocronas(null);
+
+        List<Zona> zonas = new ArrayList<>();
+        for (int i = 0; i < nodos; i++) {
+            Zona zona = new Zona("Z" + i, "Zona " + i, NivelUrgencia.MEDIA);
+            zona.setCoordenadaX(4.5 + azar.nextDouble() * 0.5);
+            zona.setCoordenadaY(-75.7 + azar.nextDouble() * 0.5);
+            zonas.add(zona);
+        }
+
+        grafo.ejecutarEnLote(() -> {
+            for (int i = 0; i < rutas; i++) {
+                agregarRuta(grafo, azar, zonas, "R" + i, pesosEnteros);
+            }
+        });
+        return new GrafosAleatorios(grafo, zonas);
+    }
+
+    /** Agrega una ruta al azar entre dos zonas distintas. */
+    static Ruta agregarRuta(GrafoDirigido grafo, Random azar, List<Zona> zonas, String id, boolean pesosEnteros) {
+        Zona origen = zonas.get(azar.nextInt(zonas.size()));
+        Zona destino;
+        do {
+            destino = zonas.get(azar.nextInt(zonas.size()));
+        } while (destino == origen);
+
+        Ruta ruta = new Ruta(id, origen, destino,
+                pesosEnteros ? azar.nextInt(5) : 0.5 + azar.nextDouble() * 20.0,
+                pesosEnteros ? azar.nextInt(5) : 0.1 + azar.nextDouble() * 2.0,
+                TipoRuta.TERRESTRE);
+        ruta.setNivelRiesgo(pesosEnteros ? azar.nextInt(3) * 0.5 : azar.nextDouble());
+        ruta.setCapacidadMaxima(100);
+        ruta.setActiva(azar.nextInt(10) != 0);
+        grafo.agregarArista(ruta);
+        return ruta;
+    }
+
+    /** @return Costo de un camino según el criterio (suma de los pesos de sus tramos). */
+    static double costo(Camino camino, CriterioRuta criterio) {
+        double costo = 0.0;
+        for (Ruta tramo : camino.getTramos()) {
+            costo += GrafoCompacto.peso(tramo, criterio);
+        }
+        return costo;
+    }
+
+    /**
+     * Costo mínimo desde una zona hasta cada zona con Bellman-Ford sobre las
+     * rutas activas, como referencia independiente de los algoritmos del grafo.
+     *
+     * @return Costo por índice de zona; infinito si no es alcanzable.
+     */
+    double[] bellmanFord(int origen, CriterioRuta criterio) {
+        double[] distancias = new double[zonas.size()];
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+        distancias[origen] = 0.0;
+        List<Ruta> rutas = grafo.getAristas();
+        for (int ronda = 0; ronda < zonas.size(); ronda++) {
+            boolean cambio = false;
+            for (Ruta ruta : rutas) {
+                if (!ruta.isActiva()) continue;
+                int u = indice(ruta.getOrigen());
+                int v = indice(ruta.getDestino());
+                double candidato = distancias[u] + GrafoCompacto.peso(ruta, criterio);
+                if (candidato < distancias[v]) {
+                    distancias[v] = candidato;
+                    cambio = true;
+                }
+            }
+            if (!cambio) break;
+        }
+        return distancias;
+    }
+
+    /** Verifica que el camino vaya de origen a destino por rutas activas consecutivas. */
+    static void verificarCamino(Camino camino, Zona origen, Zona destino) {
+        List<Ruta> tramos = camino.getTramos();
+        assertEquals(origen.getId(), tramos.get(0).getOrigen().getId());
+        assertEquals(destino.getId(), tramos.get(tramos.size() - 1).getDestino().getId());
+        for (int i = 0; i < tramos.size(); i++) {
+            Ruta tramo = tramos.get(i);
+            assertTrue(tramo.isActiva(), "El camino usa la ruta inactiva " + tramo.getId());
+            if (i > 0) assertEquals(tramos.get(i - 1).getDestino().getId(), tramo.getOrigen().getId());
+        }
+    }
+
+    /** @return true si el camino no repite zonas. */
+    static boolean esSimple(Camino camino) {
+        return camino.getZonas().stream().map(Zona::getId).distinct().count() == camino.getZonas().size();
+    }
+
+    /** @return IDs de los tramos de un camino, o null si no hay camino. */
+    static List<String> ids(Camino camino) {
+        return camino == null ? null : camino.getTramos().stream().map(Ruta::getId).toList();
+    }
+
+    int indice(Zona zona) {
+        return Integer.parseInt(zona.getId().substring(1));
+    }
+}
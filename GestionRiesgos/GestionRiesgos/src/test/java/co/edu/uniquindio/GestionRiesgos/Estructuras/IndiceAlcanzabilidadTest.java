@@ -0,0 +1,136 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.NivelUrgencia;
+import co.edu.uniquindio.GestionRiesgos.Enums.TipoRuta;
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del índice de alcanzabilidad: la actualización incremental tras
+ * agregar rutas (y zonas nuevas) debe coincidir con reconstruirlo y con un
+ * recorrido del grafo.
+ */
+class IndiceAlcanzabilidadTest {
+
+    @Test
+    void actualizarCoincideConReconstruirYConUnRecorrido() {
+        for (int semilla = 0; semilla < 20; semilla++) {
+            Random azar = new Random(semilla);
+            // Pocas rutas para las zonas: muchas aparecen por primera vez con las rutas nuevas
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 30, 15, azar.nextBoolean());
+            GrafoDirigido grafo = aleatorio.grafo;
+            IndiceAlcanzabilidad indice = IndiceAlcanzabilidad.construir(grafo.obtenerGrafoCompacto());
+
+            for (int i = 0; i < 40; i++) {
+                GrafosAleatorios.agregarRuta(grafo, azar, aleatorio.zonas, "N" + i, true);
+                GrafoCompacto compacto = grafo.obtenerGrafoCompacto();
+                indice = indice.actualizar(compacto);
+                String caso = "semilla " + semilla + ", ruta nueva " + i;
+                assertEquals(compacto.getVersion(), indice.getVersion(), caso);
+                comparar(compacto, indice, IndiceAlcanzabilidad.construir(compacto), caso);
+            }
+        }
+    }
+
+    @Test
+    void rutaQueCierraUnaCadenaFusionaTodasSusZonas() {
+        GrafoDirigido grafo = new GrafoDirigido();
+        int largo = 60;
+        List<Zona> zonas = new ArrayList<>();
+        for (int i = 0; i < largo; i++) zonas.add(new Zona("Z" + i, "Zona " + i, NivelUrgencia.MEDIA));
+        grafo.ejecutarEnLote(() -> {
+            for (int i = 0; i + 1 < largo; i++) conectar(grafo, "C" + i, zonas.get(i), zonas.get(i + 1));
+        });
+        GrafoCompacto cadena = grafo.obtenerGrafoCompacto();
+        IndiceAlcanzabilidad anterior = IndiceAlcanzabilidad.construir(cadena);
+        assertEquals(largo, anterior.getNumeroComponentes());
+
+        conectar(grafo, "Cierre", zonas.get(largo - 1), zonas.get(0));
+        GrafoCompacto ciclo = grafo.obtenerGrafoCompacto();
+        IndiceAlcanzabilidad indice = anterior.actualizar(ciclo);
+        assertEquals(1, indice.getNumeroComponentes());
+        comparar(ciclo, indice, IndiceAlcanzabilidad.construir(ciclo), "cadena cerrada");
+
+        // El índice anterior no se modifica
+        assertEquals(largo, anterior.getNumeroComponentes());
+        comparar(cadena, anterior, IndiceAlcanzabilidad.construir(cadena), "cadena abierta");
+    }
+
+    @Test
+    void sinClausuraElRecorridoDelDagCoincideConElDelGrafo() {
+        // Grado medio cercano a uno: casi todas las componentes son unitarias
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(5, 12000, 10000, false);
+        GrafoCompacto compacto = aleatorio.grafo.obtenerGrafoCompacto();
+        IndiceAlcanzabilidad indice = IndiceAlcanzabilidad.construir(compacto);
+        assertTrue(indice.getNumeroComponentes() > IndiceAlcanzabilidad.LIMITE_COMPONENTES_CIERRE);
+
+        Random azar = new Random(5);
+        int n = compacto.getNumeroNodos();
+        for (int i = 0; i < 30; i++) {
+            int nodo = azar.nextInt(n);
+            String caso = "nodo " + compacto.id(nodo);
+            boolean[] desde = recorrer(compacto, nodo, true);
+            assertArrayEquals(desde, indice.alcanzablesDesde(nodo), caso);
+            assertArrayEquals(recorrer(compacto, nodo, false), indice.alcanzanA(nodo), caso);
+            for (int v = 0; v < n; v++) assertEquals(desde[v], indice.alcanza(nodo, v), caso + " -> " + compacto.id(v));
+        }
+    }
+
+    /** Compara el índice con uno reconstruido y con un recorrido en anchura desde cada nodo. */
+    private static void comparar(GrafoCompacto grafo, IndiceAlcanzabilidad indice, IndiceAlcanzabilidad reconstruido,
+                                 String caso) {
+        int n = grafo.getNumeroNodos();
+        assertEquals(grafo.getNodos(), indice.getNodos(), caso);
+        assertEquals(reconstruido.getNumeroComponentes(), indice.getNumeroComponentes(), caso);
+        boolean[][] alcanza = new boolean[n][];
+        for (int u = 0; u < n; u++) alcanza[u] = recorrer(grafo, u, true);
+
+        for (int u = 0; u < n; u++) {
+            String origen = caso + ", " + grafo.id(u);
+            assertArrayEquals(alcanza[u], indice.alcanzablesDesde(u), origen);
+            assertArrayEquals(recorrer(grafo, u, false), indice.alcanzanA(u), origen);
+            for (int v = 0; v < n; v++) {
+                String par = origen + " -> " + grafo.id(v);
+                assertEquals(alcanza[u][v], indice.alcanza(u, v), par);
+                assertEquals(reconstruido.alcanza(u, v), indice.alcanza(u, v), par);
+                boolean juntos = alcanza[u][v] && alcanza[v][u];
+                assertEquals(juntos, indice.componente(u) == indice.componente(v), par);
+            }
+        }
+    }
+
+    /** Recorrido en anchura por las aristas de la instantánea, hacia adelante o hacia atrás. */
+    private static boolean[] recorrer(GrafoCompacto grafo, int inicio, boolean haciaAdelante) {
+        boolean[] visitados = new boolean[grafo.getNumeroNodos()];
+        int[] cola = new int[grafo.getNumeroNodos()];
+        int cabeza = 0;
+        int fin = 0;
+        cola[fin++] = inicio;
+        visitados[inicio] = true;
+        while (cabeza < fin) {
+            int u = cola[cabeza++];
+            int desde = haciaAdelante ? grafo.inicioAristas(u) : grafo.inicioEntrantes(u);
+            int hasta = haciaAdelante ? grafo.finAristas(u) : grafo.finEntrantes(u);
+            for (int i = desde; i < hasta; i++) {
+                int v = haciaAdelante ? grafo.destino(i) : grafo.origen(grafo.aristaEntrante(i));
+                if (!visitados[v]) {
+                    visitados[v] = true;
+                    cola[fin++] = v;
+                }
+            }
+        }
+        return visitados;
+    }
+
+    private static void conectar(GrafoDirigido grafo, String id, Zona origen, Zona destino) {
+        grafo.agregarArista(new Ruta(id, origen, destino, 1.0, 1.0, TipoRuta.TERRESTRE));
+    }
+}
@@ -0,0 +1,139 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del índice de instalación más cercana contra el mínimo, sobre
+ * todas las instalaciones, de Bellman-Ford desde cada zona, mientras se
+ * agregan y retiran instalaciones y se modifican las rutas.
+ */
+class IndiceInstalacionesTest {
+
+    private static final Nodo.TipoNodo TIPO = Nodo.TipoNodo.HOSPITAL;
+
+    private static final CriterioRuta[] CRITERIOS = {
+            CriterioRuta.DISTANCIA, CriterioRuta.TIEMPO, CriterioRuta.TIEMPO_TRAFICO};
+
+    @Test
+    void coincideConBellmanFordTrasCadaCambio() {
+        for (int semilla = 0; semilla < 12; semilla++) {
+            Random azar = new Random(semilla);
+            boolean pesosEnteros = semilla % 2 == 0;
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 25, 40, pesosEnteros);
+            for (int i = 0; i < 3; i++) nodoAlAzar(aleatorio, azar).setTipo(TIPO);
+
+            for (int paso = 0; paso < 50; paso++) {
+                String cambio = cambiar(aleatorio, azar, paso, pesosEnteros);
+                for (CriterioRuta criterio : CRITERIOS) {
+                    comparar(aleatorio, criterio, "semilla " + semilla + ", paso " + paso + " (" + cambio + "), " + criterio);
+                }
+            }
+        }
+    }
+
+    /** Aplica un cambio al azar al grafo o a sus instalaciones. */
+    private static String cambiar(GrafosAleatorios aleatorio, Random azar, int paso, boolean pesosEnteros) {
+        GrafoDirigido grafo = aleatorio.grafo;
+        List<Ruta> rutas = grafo.getAristas();
+        Ruta ruta = rutas.get(azar.nextInt(rutas.size()));
+        switch (azar.nextInt(7)) {
+            case 0 -> {
+                nodoAlAzar(aleatorio, azar).setTipo(TIPO);
+                return "instalación nueva";
+            }
+            case 1 -> {
+                nodoAlAzar(aleatorio, azar).setTipo(Nodo.TipoNodo.CIUDAD);
+                return "instalación retirada";
+            }
+            case 2 -> {
+                Nodo nodo = nodoAlAzar(aleatorio, azar);
+                nodo.setActivo(!nodo.isActivo());
+                return "nodo activado o desactivado";
+            }
+            case 3 -> {
+                // Puede unir zonas que aún no estaban en el grafo
+                GrafosAleatorios.agregarRuta(grafo, azar, aleatorio.zonas, "N" + paso, pesosEnteros);
+                return "ruta nueva";
+            }
+            case 4 -> {
+                ruta.setDistancia(pesosEnteros ? azar.nextInt(5) : 0.5 + azar.nextDouble() * 20.0);
+                ruta.setTiempoEstimado(pesosEnteros ? azar.nextInt(5) : 0.1 + azar.nextDouble() * 2.0);
+                return "pesos de " + ruta.getId();
+            }
+            case 5 -> {
+                ruta.setActiva(!ruta.isActiva());
+                return "estado de " + ruta.getId();
+            }
+            default -> {
+                ruta.setCapacidadActual(azar.nextInt(ruta.getCapacidadMaxima() + 1));
+                return "ocupación de " + ruta.getId();
+            }
+        }
+    }
+
+    private static void comparar(GrafosAleatorios aleatorio, CriterioRuta criterio, String caso) {
+        GrafoDirigido grafo = aleatorio.grafo;
+        int n = aleatorio.zonas.size();
+        double[] esperados = new double[n];
+        Arrays.fill(esperados, Double.POSITIVE_INFINITY);
+        for (Zona zona : aleatorio.zonas) {
+            if (grafo.obtenerNodo(zona.getId()) == null) continue;
+            double[] costos = aleatorio.bellmanFord(aleatorio.indice(zona), criterio);
+            for (Zona instalacion : aleatorio.zonas) {
+                if (esInstalacion(grafo.obtenerNodo(instalacion.getId()))) {
+                    esperados[aleatorio.indice(zona)] = Math.min(esperados[aleatorio.indice(zona)],
+                            costos[aleatorio.indice(instalacion)]);
+                }
+            }
+        }
+
+        for (Zona zona : aleatorio.zonas) {
+            String zonaCaso = caso + ", zona " + zona.getId();
+            double esperado = esperados[aleatorio.indice(zona)];
+            InstalacionCercana cercana = grafo.obtenerInstalacionMasCercana(zona, TIPO, criterio);
+            if (esperado == Double.POSITIVE_INFINITY) {
+                assertNull(cercana, zonaCaso);
+                continue;
+            }
+            assertNotNull(cercana, zonaCaso);
+            assertEquals(criterio, cercana.getCriterio(), zonaCaso);
+            assertEquals(esperado, cercana.getCosto(), GrafosAleatorios.TOLERANCIA, zonaCaso);
+            assertTrue(esInstalacion(cercana.getInstalacion()), zonaCaso);
+
+            // La primera ruta sigue un camino mínimo: su peso más el costo desde su destino da el total
+            Ruta primerTramo = cercana.getPrimerTramo();
+            if (primerTramo == null) {
+                assertSame(grafo.obtenerNodo(zona.getId()), cercana.getInstalacion(), zonaCaso);
+            } else {
+                assertEquals(zona.getId(), primerTramo.getOrigen().getId(), zonaCaso);
+                assertTrue(primerTramo.isActiva(), zonaCaso);
+                assertEquals(esperado, GrafoCompacto.peso(primerTramo, criterio)
+                        + esperados[aleatorio.indice(primerTramo.getDestino())], GrafosAleatorios.TOLERANCIA, zonaCaso);
+            }
+        }
+    }
+
+    private static boolean esInstalacion(Nodo nodo) {
+        return nodo != null && nodo.isActivo() && nodo.getTipo() == TIPO;
+    }
+
+    /** @return Nodo al azar entre las zonas que ya están en el grafo. */
+    private static Nodo nodoAlAzar(GrafosAleatorios aleatorio, Random azar) {
+        while (true) {
+            Nodo nodo = aleatorio.grafo.obtenerNodo(aleatorio.zonas.get(azar.nextInt(aleatorio.zonas.size())).getId());
+            if (nodo != null) return nodo;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.AlgoritmoRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static co.edu.uniquindio.GestionRiesgos.Estructuras.GrafosAleatorios.TOLERANCIA;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Pruebas de las jerarquías de contracción contra Dijkstra sobre grafos
+ * aleatorios.
+ */
+class JerarquiaContraccionTest {
+
+    @Test
+    void devuelveLosMismosCaminosQueDijkstra() {
+        for (long semilla = 1; semilla <= 5; semilla++) {
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 60, 200, false);
+            GrafoCompacto grafo = aleatorio.grafo.obtenerGrafoCompacto();
+            for (CriterioRuta criterio : CriterioRuta.values()) {
+                JerarquiaContraccion jerarquia = JerarquiaContraccion.construir(grafo, criterio);
+                for (Zona origen : aleatorio.zonas) {
+                    for (Zona destino : aleatorio.zonas) {
+                        if (origen == destino) continue;
+                        Camino esperado = aleatorio.grafo.calcularRuta(origen, destino, criterio, AlgoritmoRuta.DIJKSTRA);
+                        Camino obtenido = consultar(jerarquia, grafo, origen, destino);
+                        assertEquals(GrafosAleatorios.ids(esperado), GrafosAleatorios.ids(obtenido),
+                                "Semilla " + semilla + ", " + criterio + ": " + origen.getId() + " -> " + destino.getId());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void conEmpatesYPesosCeroIgualaElCosto() {
+        for (long semilla = 1; semilla <= 5; semilla++) {
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 60, 200, true);
+            GrafoCompacto grafo = aleatorio.grafo.obtenerGrafoCompacto();
+            for (CriterioRuta criterio : CriterioRuta.values()) {
+                JerarquiaContraccion jerarquia = JerarquiaContraccion.construir(grafo, criterio);
+                for (Zona origen : aleatorio.zonas) {
+                    for (Zona destino : aleatorio.zonas) {
+                        if (origen == destino) continue;
+                        Camino esperado = aleatorio.grafo.calcularRuta(origen, destino, criterio, AlgoritmoRuta.DIJKSTRA);
+                        Camino obtenido = consultar(jerarquia, grafo, origen, destino);
+                        if (esperado == null) {
+                            assertNull(obtenido);
+                            continue;
+                        }
+                        assertNotNull(obtenido);
+                        GrafosAleatorios.verificarCamino(obtenido, origen, destino);
+                        assertEquals(GrafosAleatorios.costo(esperado, criterio),
+                                GrafosAleatorios.costo(obtenido, criterio), TOLERANCIA);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void consultaConJerarquiaDesactualizadaNoDevuelveCaminosObsoletos() {
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(7, 40, 120, false);
+        aleatorio.grafo.habilitarJerarquiasContraccion();
+        Random azar = new Random(7);
+        for (int i = 0; i < 20; i++) {
+            GrafosAleatorios.agregarRuta(aleatorio.grafo, azar, aleatorio.zonas, "N" + i, false);
+            for (Zona origen : aleatorio.zonas) {
+                Zona destino = aleatorio.zonas.get(azar.nextInt(aleatorio.zonas.size()));
+                if (origen == destino) continue;
+                Camino esperado = aleatorio.grafo.calcularRuta(origen, destino, CriterioRuta.TIEMPO, AlgoritmoRuta.DIJKSTRA);
+                Camino obtenido = aleatorio.grafo.calcularRuta(origen, destino, CriterioRuta.TIEMPO, AlgoritmoRuta.CONTRACCION);
+                assertEquals(GrafosAleatorios.ids(esperado), GrafosAleatorios.ids(obtenido));
+            }
+        }
+    }
+
+    @Test
+    void mientrasSeReconstruyeNoSeSirveLaJerarquiaDesactualizada() throws InterruptedException {
+        // Grafo grande para que cada reconstrucción tarde, y sin caché para que cada consulta use su algoritmo
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(9, 200, 800, false);
+        GrafoDirigido grafo = aleatorio.grafo;
+        grafo.configurarCacheRutas(null);
+        grafo.habilitarJerarquiasContraccion();
+        esperarJerarquiaVigente(grafo, CriterioRuta.DISTANCIA);
+        Random azar = new Random(9);
+        List<Ruta> rutas = grafo.getAristas();
+        int desactualizadas = 0;
+        int obsoletasDetectables = 0;
+
+        for (int ronda = 0; ronda < 10; ronda++) {
+            for (int i = 0; i < 40; i++) {
+                rutas.get(azar.nextInt(rutas.size())).setDistancia(0.5 + azar.nextDouble() * 20.0);
+            }
+            // Consultas inmediatas: la jerarquía vigente suele ser la de una versión anterior
+            for (int i = 0; i < 30; i++) {
+                Zona origen = aleatorio.zonas.get(azar.nextInt(aleatorio.zonas.size()));
+                Zona destino = aleatorio.zonas.get(azar.nextInt(aleatorio.zonas.size()));
+                if (origen == destino) continue;
+                GrafoCompacto compacto = grafo.obtenerGrafoCompacto();
+                JerarquiaContraccion antes = grafo.obtenerJerarquia(CriterioRuta.DISTANCIA);
+                Camino esperado = grafo.calcularRuta(origen, destino, CriterioRuta.DISTANCIA, AlgoritmoRuta.DIJKSTRA);
+                Camino obtenido = grafo.calcularRuta(origen, destino, CriterioRuta.DISTANCIA, AlgoritmoRuta.CONTRACCION);
+                String caso = "Ronda " + ronda + ": " + origen.getId() + " -> " + destino.getId();
+                assertEquals(GrafosAleatorios.ids(esperado), GrafosAleatorios.ids(obtenido), caso);
+
+                if (antes.getVersionPesos() != compacto.getVersionPesos(CriterioRuta.DISTANCIA)) {
+                    desactualizadas++;
+                    // La jerarquía anterior, consultada directamente, sí puede devolver otro camino
+                    Camino anterior = consultar(antes, compacto, origen, destino);
+                    if (!Objects.equals(GrafosAleatorios.ids(esperado), GrafosAleatorios.ids(anterior))) obsoletasDetectables++;
+                }
+            }
+            // Terminada la reconstrucción, la jerarquía nueva responde igual que Dijkstra
+            esperarJerarquiaVigente(grafo, CriterioRuta.DISTANCIA);
+            JerarquiaContraccion vigente = grafo.obtenerJerarquia(CriterioRuta.DISTANCIA);
+            GrafoCompacto compacto = grafo.obtenerGrafoCompacto();
+            for (int i = 0; i < 10; i++) {
+                Zona origen = aleatorio.zonas.get(azar.nextInt(aleatorio.zonas.size()));
+                Zona destino = aleatorio.zonas.get(azar.nextInt(aleatorio.zonas.size()));
+                if (origen == destino) continue;
+                Camino esperado = grafo.calcularRuta(origen, destino, CriterioRuta.DISTANCIA, AlgoritmoRuta.DIJKSTRA);
+                assertEquals(GrafosAleatorios.ids(esperado), GrafosAleatorios.ids(consultar(vigente, compacto, origen, destino)));
+                assertEquals(GrafosAleatorios.ids(esperado),
+                        GrafosAleatorios.ids(grafo.calcularRuta(origen, destino, CriterioRuta.DISTANCIA, AlgoritmoRuta.CONTRACCION)));
+            }
+        }
+        assertTrue(desactualizadas > 0, "Ninguna consulta encontró la jerarquía desactualizada");
+        assertTrue(obsoletasDetectables > 0, "La jerarquía desactualizada nunca difería de Dijkstra");
+    }
+
+    @Test
+    void cambiosDeOcupacionNoReconstruyenLaJerarquiaConTraficoAntesDelIntervalo() throws InterruptedException {
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(8, 40, 120, false);
+        GrafoDirigido grafo = aleatorio.grafo;
+        grafo.configurarCacheRutas(null);
+        grafo.configurarIntervaloJerarquiaTrafico(3_600_000);
+        grafo.habilitarJerarquiasContraccion();
+        for (CriterioRuta criterio : CriterioRuta.values()) {
+            esperarJerarquiaVigente(grafo, criterio);
+        }
+        JerarquiaContraccion conTrafico = grafo.obtenerJerarquia(CriterioRuta.TIEMPO_TRAFICO);
+        JerarquiaContraccion sinTrafico = grafo.obtenerJerarquia(CriterioRuta.TIEMPO);
+
+        // Congestiona la mitad de las rutas: sus tiempos con tráfico suben un 50 %
+        for (int i = 0; i < grafo.getAristas().size(); i += 2) {
+            Ruta ruta = grafo.getAristas().get(i);
+            ruta.setCapacidadMaxima(10);
+            ruta.setCapacidadActual(9);
+        }
+        for (Zona origen : aleatorio.zonas) {
+            for (Zona destino : aleatorio.zonas) {
+                if (origen == destino) continue;
+                Camino esperado = grafo.calcularRuta(origen, destino, CriterioRuta.TIEMPO_TRAFICO, AlgoritmoRuta.DIJKSTRA);
+                Camino obtenido = grafo.calcularRuta(origen, destino, CriterioRuta.TIEMPO_TRAFICO, AlgoritmoRuta.CONTRACCION);
+                assertEquals(GrafosAleatorios.ids(esperado), GrafosAleatorios.ids(obtenido));
+            }
+        }
+        assertSame(conTrafico, grafo.obtenerJerarquia(CriterioRuta.TIEMPO_TRAFICO));
+        assertSame(sinTrafico, grafo.obtenerJerarquia(CriterioRuta.TIEMPO));
+
+        // Vencido el intervalo, la siguiente consulta programa la reconstrucción
+        grafo.configurarIntervaloJerarquiaTrafico(0);
+        grafo.calcularRuta(aleatorio.zonas.get(0), aleatorio.zonas.get(1), CriterioRuta.TIEMPO_TRAFICO, AlgoritmoRuta.CONTRACCION);
+        esperarJerarquiaVigente(grafo, CriterioRuta.TIEMPO_TRAFICO);
+        assertSame(sinTrafico, grafo.obtenerJerarquia(CriterioRuta.TIEMPO));
+    }
+
+    /** Espera a que la jerarquía del criterio corresponda a la versión vigente de sus pesos. */
+    private static void esperarJerarquiaVigente(GrafoDirigido grafo, CriterioRuta criterio) throws InterruptedException {
+        long limite = System.nanoTime() + 30_000_000_000L;
+        while (System.nanoTime() < limite) {
+            JerarquiaContraccion jerarquia = grafo.obtenerJerarquia(criterio);
+            if (jerarquia != null && jerarquia.getVersionPesos() == grafo.obtenerGrafoCompacto().getVersionPesos(criterio)) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("La jerarquía de " + criterio + " no se actualizó");
+    }
+
+    /** Consulta la jerarquía; las zonas sin rutas no forman parte del grafo compacto. */
+    private static Camino consultar(JerarquiaContraccion jerarquia, GrafoCompacto grafo, Zona origen, Zona destino) {
+        int indiceOrigen = grafo.indice(origen.getId());
+        int indiceDestino = grafo.indice(destino.getId());
+        if (indiceOrigen < 0 || indiceDestino < 0) return null;
+        return jerarquia.calcularCamino(indiceOrigen, indiceDestino, EspacioBusqueda.crear(), EspacioBusqueda.crear());
+    }
+}
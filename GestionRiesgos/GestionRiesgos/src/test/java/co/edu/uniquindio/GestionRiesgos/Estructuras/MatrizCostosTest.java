@@ -0,0 +1,66 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.NivelUrgencia;
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas de la matriz de costos de varios orígenes a varios destinos
+ * contra Bellman-Ford desde cada origen.
+ */
+class MatrizCostosTest {
+
+    @Test
+    void coincideConBellmanFordEnAmbosSentidos() {
+        Zona ausente = new Zona("X", "Fuera del grafo", NivelUrgencia.BAJA);
+        for (int semilla = 0; semilla < 30; semilla++) {
+            Random azar = new Random(semilla);
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 30, 60 + azar.nextInt(60), semilla % 2 == 0);
+
+            // Un lado pequeño y otro grande: alternan la búsqueda hacia adelante y hacia atrás
+            List<Zona> pocas = elegir(aleatorio, azar, 1 + azar.nextInt(4));
+            List<Zona> muchas = elegir(aleatorio, azar, 8 + azar.nextInt(8));
+            muchas.add(ausente);
+            muchas.add(muchas.get(0));
+            for (CriterioRuta criterio : new CriterioRuta[]{CriterioRuta.DISTANCIA, CriterioRuta.TIEMPO}) {
+                comparar(aleatorio, pocas, muchas, criterio, "semilla " + semilla + ", hacia adelante");
+                comparar(aleatorio, muchas, pocas, criterio, "semilla " + semilla + ", hacia atrás");
+            }
+        }
+    }
+
+    private static void comparar(GrafosAleatorios aleatorio, List<Zona> origenes, List<Zona> destinos,
+                                 CriterioRuta criterio, String caso) {
+        MatrizCostos matriz = aleatorio.grafo.calcularMatrizCostos(origenes, destinos, criterio);
+        assertEquals(origenes.size(), matriz.getFilas(), caso);
+        assertEquals(destinos.size(), matriz.getColumnas(), caso);
+        for (int i = 0; i < origenes.size(); i++) {
+            Zona origen = origenes.get(i);
+            double[] esperados = enGrafo(aleatorio, origen) ? aleatorio.bellmanFord(aleatorio.indice(origen), criterio) : null;
+            for (int j = 0; j < destinos.size(); j++) {
+                Zona destino = destinos.get(j);
+                double esperado = esperados != null && enGrafo(aleatorio, destino)
+                        ? esperados[aleatorio.indice(destino)] : Double.POSITIVE_INFINITY;
+                assertEquals(esperado, matriz.costo(i, j), GrafosAleatorios.TOLERANCIA,
+                        caso + ", " + origen.getId() + " -> " + destino.getId());
+            }
+        }
+    }
+
+    private static boolean enGrafo(GrafosAleatorios aleatorio, Zona zona) {
+        return aleatorio.grafo.obtenerNodo(zona.getId()) != null;
+    }
+
+    private static List<Zona> elegir(GrafosAleatorios aleatorio, Random azar, int cantidad) {
+        List<Zona> elegidas = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) elegidas.add(aleatorio.zonas.get(azar.nextInt(aleatorio.zonas.size())));
+        return elegidas;
+    }
+}
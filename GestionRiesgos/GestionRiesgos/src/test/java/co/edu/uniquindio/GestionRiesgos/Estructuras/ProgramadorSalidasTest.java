@@ -0,0 +1,148 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.NivelUrgencia;
+import co.edu.uniquindio.GestionRiesgos.Model.Evacuacion;
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del programador de salidas contra el flujo máximo en la red
+ * expandida en el tiempo construida explícitamente (una copia de las zonas
+ * por paso, con arcos de espera) en grafos pequeños.
+ */
+class ProgramadorSalidasTest {
+
+    private static final int HORIZONTE = 10;
+
+    @Test
+    void despejeCoincideConLaRedExpandidaEnElTiempo() {
+        for (int semilla = 0; semilla < 120; semilla++) {
+            Random azar = new Random(semilla);
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 6, 8 + azar.nextInt(8), true);
+            GrafoDirigido grafo = aleatorio.grafo;
+            for (Ruta ruta : grafo.getAristas()) {
+                ruta.setTiempoEstimado(1 + azar.nextInt(3));
+                ruta.setCapacidadMaxima(azar.nextInt(25));
+                ruta.setCapacidadActual(0);
+            }
+            List<Zona> nodos = aleatorio.zonas.stream().filter(z -> grafo.obtenerNodo(z.getId()) != null).toList();
+            if (nodos.size() < 2) continue;
+            Zona origen = nodos.get(azar.nextInt(nodos.size()));
+            Zona destino;
+            do {
+                destino = nodos.get(azar.nextInt(nodos.size()));
+            } while (destino == origen);
+            int demanda = 1 + azar.nextInt(40);
+
+            Evacuacion evacuacion = new Evacuacion("E" + semilla, "Evacuación", null, NivelUrgencia.ALTA);
+            evacuacion.setZonaOrigen(origen.getId());
+            evacuacion.setZonaDestino(destino.getId());
+            evacuacion.setPersonasAEvacuar(demanda);
+            // Pasos de una hora: cada ruta tarda tantos pasos como horas
+            HorarioEvacuacion horario = grafo.programarSalidas(List.of(evacuacion), 60, HORIZONTE).get(0);
+
+            String caso = "semilla " + semilla;
+            int pasoMinimo = -1;
+            for (int t = 0; t <= HORIZONTE && pasoMinimo < 0; t++) {
+                if (flujoExpandido(aleatorio, origen, destino, t) >= demanda) pasoMinimo = t;
+            }
+            if (pasoMinimo >= 0) {
+                assertEquals(demanda, horario.getPersonasProgramadas(), caso);
+                assertEquals(pasoMinimo, horario.getPasosDespeje(), caso);
+            } else {
+                assertEquals(flujoExpandido(aleatorio, origen, destino, HORIZONTE), horario.getPersonasProgramadas(), caso);
+            }
+            verificarCargas(aleatorio, horario, caso);
+        }
+    }
+
+    /** Personas por paso que admite una ruta sin congestionarse, repartidas en su recorrido. */
+    private static long porPaso(Ruta ruta) {
+        double admisibles = 0.8 * ruta.getCapacidadMaxima() - ruta.getCapacidadActual();
+        return admisibles > 0 ? (long) (admisibles / Math.max(1.0, ruta.getTiempoEstimado())) : 0;
+    }
+
+    /**
+     * Flujo máximo que llega al destino hasta el paso {@code pasos}, con la red
+     * expandida: nodo (zona, t), arcos (u, t) -> (v, t + τ) por cada ruta y
+     * arcos de espera (v, t) -> (v, t + 1). Se resuelve con Edmonds-Karp sobre
+     * una matriz de capacidades.
+     */
+    private static long flujoExpandido(GrafosAleatorios aleatorio, Zona origen, Zona destino, int pasos) {
+        int n = aleatorio.zonas.size();
+        int capas = pasos + 1;
+        int fuente = n * capas;
+        int sumidero = fuente + 1;
+        long infinito = Long.MAX_VALUE / 4;
+        long[][] capacidad = new long[sumidero + 1][sumidero + 1];
+        for (int t = 0; t < capas; t++) {
+            for (int v = 0; v < n && t + 1 < capas; v++) capacidad[v * capas + t][v * capas + t + 1] = infinito;
+            for (Ruta ruta : aleatorio.grafo.getAristas()) {
+                int llegada = t + (int) ruta.getTiempoEstimado();
+                if (!ruta.isActiva() || llegada >= capas) continue;
+                capacidad[aleatorio.indice(ruta.getOrigen()) * capas + t][aleatorio.indice(ruta.getDestino()) * capas + llegada]
+                        += porPaso(ruta);
+            }
+        }
+        capacidad[fuente][aleatorio.indice(origen) * capas] = infinito;
+        capacidad[aleatorio.indice(destino) * capas + pasos][sumidero] = infinito;
+
+        long total = 0;
+        int[] previo = new int[sumidero + 1];
+        while (true) {
+            Arrays.fill(previo, -1);
+            previo[fuente] = fuente;
+            Deque<Integer> cola = new ArrayDeque<>(List.of(fuente));
+            while (!cola.isEmpty() && previo[sumidero] < 0) {
+                int u = cola.poll();
+                for (int v = 0; v <= sumidero; v++) {
+                    if (previo[v] < 0 && capacidad[u][v] > 0) {
+                        previo[v] = u;
+                        cola.add(v);
+                    }
+                }
+            }
+            if (previo[sumidero] < 0) return total;
+            long aumento = infinito;
+            for (int v = sumidero; v != fuente; v = previo[v]) aumento = Math.min(aumento, capacidad[previo[v]][v]);
+            for (int v = sumidero; v != fuente; v = previo[v]) {
+                capacidad[previo[v]][v] -= aumento;
+                capacidad[v][previo[v]] += aumento;
+            }
+            total += aumento;
+        }
+    }
+
+    /** Verifica que ninguna ruta reciba en un paso más personas de las que admite y que todas lleguen a tiempo. */
+    private static void verificarCargas(GrafosAleatorios aleatorio, HorarioEvacuacion horario, String caso) {
+        Map<Ruta, long[]> cargas = new IdentityHashMap<>();
+        for (HorarioEvacuacion.OlaSalida ola : horario.getOlas()) {
+            assertTrue(ola.getPasoFinal() + ola.getPasosRecorrido() <= horario.getPasosDespeje(), caso);
+            for (int salida = 0; salida <= ola.getPasoFinal(); salida++) {
+                int personas = salida == ola.getPasoFinal() ? ola.getPersonasUltimoPaso() : ola.getPersonasPorPaso();
+                int paso = salida;
+                for (Ruta tramo : ola.getCamino().getTramos()) {
+                    cargas.computeIfAbsent(tramo, r -> new long[HORIZONTE + 1])[paso] += personas;
+                    paso += (int) tramo.getTiempoEstimado();
+                }
+                assertEquals(salida + ola.getPasosRecorrido(), paso, caso);
+            }
+        }
+        for (Map.Entry<Ruta, long[]> carga : cargas.entrySet()) {
+            for (long personas : carga.getValue()) {
+                assertTrue(personas <= porPaso(carga.getKey()), caso + ", ruta " + carga.getKey().getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package co.edu.uniquindio.GestionRiesgos.Estructuras;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.AlgoritmoRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.NivelUrgencia;
+import co.edu.uniquindio.GestionRiesgos.Model.Zona;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static co.edu.uniquindio.GestionRiesgos.Estructuras.GrafosAleatorios.TOLERANCIA;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de A* con puntos de referencia (ALT) y con la cota geográfica
+ * contra Dijkstra, incluidas las tablas actualizadas de forma incremental.
+ */
+class PuntosReferenciaTest {
+
+    private static final AlgoritmoRuta[] ALGORITMOS = {AlgoritmoRuta.LANDMARKS, AlgoritmoRuta.A_ESTRELLA};
+
+    @Test
+    void devuelvenLosMismosCaminosQueDijkstra() {
+        for (long semilla = 1; semilla <= 5; semilla++) {
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 50, 180, false);
+            for (CriterioRuta criterio : CriterioRuta.values()) {
+                for (Zona origen : aleatorio.zonas) {
+                    for (Zona destino : aleatorio.zonas) {
+                        if (origen == destino) continue;
+                        Camino esperado = aleatorio.grafo.calcularRuta(origen, destino, criterio, AlgoritmoRuta.DIJKSTRA);
+                        for (AlgoritmoRuta algoritmo : ALGORITMOS) {
+                            Camino obtenido = aleatorio.grafo.calcularRuta(origen, destino, criterio, algoritmo);
+                            assertEquals(GrafosAleatorios.ids(esperado), GrafosAleatorios.ids(obtenido),
+                                    "Semilla " + semilla + ", " + criterio + ", " + algoritmo + ": "
+                                            + origen.getId() + " -> " + destino.getId());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void conEmpatesYPesosCeroIgualanElCosto() {
+        for (long semilla = 1; semilla <= 5; semilla++) {
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 50, 180, true);
+            for (CriterioRuta criterio : CriterioRuta.values()) {
+                for (Zona origen : aleatorio.zonas) {
+                    for (Zona destino : aleatorio.zonas) {
+                        if (origen == destino) continue;
+                        Camino esperado = aleatorio.grafo.calcularRuta(origen, destino, criterio, AlgoritmoRuta.DIJKSTRA);
+                        for (AlgoritmoRuta algoritmo : ALGORITMOS) {
+                            verificarCosto(esperado, aleatorio.grafo.calcularRuta(origen, destino, criterio, algoritmo),
+                                    origen, destino, criterio);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void tablasActualizadasSiguenSiendoExactas() {
+        GrafosAleatorios aleatorio = GrafosAleatorios.generar(11, 40, 60, true);
+        Random azar = new Random(11);
+        List<Ruta> agregadas = new ArrayList<>();
+
+        // Las rutas nuevas se incorporan de forma incremental a las tablas
+        for (int i = 0; i < 60; i++) {
+            agregadas.add(GrafosAleatorios.agregarRuta(aleatorio.grafo, azar, aleatorio.zonas, "N" + i, true));
+            compararConDijkstra(aleatorio, azar);
+        }
+
+        // Desactivar o alargar rutas obliga a reconstruir las tablas
+        for (int i = 0; i < 10; i++) {
+            Ruta ruta = agregadas.get(azar.nextInt(agregadas.size()));
+            if (i % 2 == 0) {
+                ruta.setActiva(!ruta.isActiva());
+            } else {
+                ruta.setDistancia(ruta.getDistancia() + 3);
+            }
+            compararConDijkstra(aleatorio, azar);
+        }
+    }
+
+    @Test
+    void actualizarConZonasNuevasMantieneLaCotaAdmisibleYConsistente() {
+        for (long semilla = 1; semilla <= 10; semilla++) {
+            GrafosAleatorios aleatorio = GrafosAleatorios.generar(semilla, 20, 40, semilla % 2 == 0);
+            // Zonas que aún no tienen rutas: las rutas nuevas las incorporan al grafo
+            for (int i = 20; i < 30; i++) {
+                aleatorio.zonas.add(new Zona("Z" + i, "Zona " + i, NivelUrgencia.MEDIA));
+            }
+            Random azar = new Random(semilla);
+            for (CriterioRuta criterio : new CriterioRuta[]{CriterioRuta.DISTANCIA, CriterioRuta.RIESGO}) {
+                GrafoCompacto grafo = aleatorio.grafo.obtenerGrafoCompacto();
+                PuntosReferencia tablas = PuntosReferencia.construir(grafo, criterio, 4, grafo.getRutas().size());
+                for (int i = 0; i < 25; i++) {
+                    GrafosAleatorios.agregarRuta(aleatorio.grafo, azar, aleatorio.zonas, criterio + "-N" + i, semilla % 2 == 0);
+                    grafo = aleatorio.grafo.obtenerGrafoCompacto();
+                    tablas = tablas.actualizar(grafo, grafo.getRutas(), grafo.getIndices());
+                    assertEquals(grafo.getVersionPesos(criterio), tablas.getVersion());
+                    verificarCota(aleatorio, grafo, tablas, criterio, "Semilla " + semilla + ", " + criterio + ", ruta " + i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifica que la cota no supere el costo real de ningún par (ni lo
+     * declare inalcanzable sin serlo) y que sea consistente en cada arista.
+     */
+    private static void verificarCota(GrafosAleatorios aleatorio, GrafoCompacto grafo, PuntosReferencia tablas,
+                                      CriterioRuta criterio, String caso) {
+        int n = grafo.getNumeroNodos();
+        double[] pesos = grafo.pesos(criterio);
+        for (int v = 0; v < n; v++) {
+            double[] costos = aleatorio.bellmanFord(zona(grafo, v), criterio);
+            for (int t = 0; t < n; t++) {
+                double costo = costos[zona(grafo, t)];
+                double cota = tablas.estimar(v, t);
+                String par = caso + ": " + grafo.id(v) + " -> " + grafo.id(t);
+                if (costo != Double.POSITIVE_INFINITY) assertTrue(cota <= costo + TOLERANCIA, par);
+                for (int e = grafo.inicioAristas(v), fin = grafo.finAristas(v); e < fin; e++) {
+                    assertTrue(cota <= pesos[e] + tablas.estimar(grafo.destino(e), t) + TOLERANCIA, par);
+                }
+            }
+        }
+    }
+
+    /** @return Índice de la zona ("Z<i>") que corresponde a un nodo del grafo compacto. */
+    private static int zona(GrafoCompacto grafo, int nodo) {
+        return Integer.parseInt(grafo.id(nodo).substring(1));
+    }
+
+    /** Compara consultas ALT al azar con Dijkstra en todos los criterios. */
+    private static void compararConDijkstra(GrafosAleatorios aleatorio, Random azar) {
+        for (int i = 0; i < 20; i++) {
+            Zona origen = aleatorio.zonas.get(azar.nextInt(aleatorio.zonas.size()));
+            Zona destino = aleatorio.zonas.get(azar.nextInt(aleatorio.zonas.size()));
+            if (origen == destino) continue;
+            for (CriterioRuta criterio : CriterioRuta.values()) {
+                verificarCosto(aleatorio.grafo.calcularRuta(origen, destino, criterio, AlgoritmoRuta.DIJKSTRA),
+                        aleatorio.grafo.calcularRuta(origen, destino, criterio, AlgoritmoRuta.LANDMARKS),
+                        origen, destino, criterio);
+            }
+        }
+    }
+
+    private static void verificarCosto(Camino esperado, Camino obtenido, Zona origen, Zona destino, CriterioRuta criterio) {
+        if (esperado == null) {
+            assertNull(obtenido);
+            return;
+        }
+        assertNotNull(obtenido, criterio + ": " + origen.getId() + " -> " + destino.getId());
+        GrafosAleatorios.verificarCamino(obtenido, origen, destino);
+        assertEquals(GrafosAleatorios.costo(esperado, criterio), GrafosAleatorios.costo(obtenido, criterio), TOLERANCIA,
+                criterio + ": " + origen.getId() + " -> " + destino.getId());
+    }
+}
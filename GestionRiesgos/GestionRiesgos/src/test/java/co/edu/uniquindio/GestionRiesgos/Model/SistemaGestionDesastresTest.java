@@ -0,0 +1,69 @@
+package co.edu.uniquindio.GestionRiesgos.Model;
+
+import co.edu.uniquindio.GestionRiesgos.Enums.CriterioRuta;
+import co.edu.uniquindio.GestionRiesgos.Enums.MotorRutas;
+import co.edu.uniquindio.GestionRiesgos.Enums.NivelUrgencia;
+import co.edu.uniquindio.GestionRiesgos.Enums.TipoRuta;
+import co.edu.uniquindio.GestionRiesgos.Estructuras.Camino;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pruebas de la validación de parámetros y de la selección del motor de
+ * rutas del sistema.
+ */
+class SistemaGestionDesastresTest {
+
+    @Test
+    void validaLaPaginaDeRutasAlternativas() {
+        SistemaGestionDesastres sistema = new SistemaGestionDesastres();
+        CriterioRuta criterio = CriterioRuta.DISTANCIA;
+
+        assertThrows(IllegalArgumentException.class, () -> sistema.calcularRutasAlternativas("A", "B", 0, 0, criterio));
+        assertThrows(IllegalArgumentException.class, () -> sistema.calcularRutasAlternativas("A", "B", 0, -3, criterio));
+        assertThrows(IllegalArgumentException.class, () -> sistema.calcularRutasAlternativas("A", "B", -1, 5, criterio));
+        assertThrows(IllegalArgumentException.class, () -> sistema.calcularRutasAlternativas("A", "B",
+                SistemaGestionDesastres.MAXIMO_RUTAS_ALTERNATIVAS, 1, criterio));
+        assertThrows(IllegalArgumentException.class, () -> sistema.calcularRutasAlternativas("A", "B",
+                Integer.MAX_VALUE, Integer.MAX_VALUE, criterio));
+        assertDoesNotThrow(() -> sistema.calcularRutasAlternativas("A", "B",
+                SistemaGestionDesastres.MAXIMO_RUTAS_ALTERNATIVAS - 5, 5, criterio));
+    }
+
+    @Test
+    void ambosMotoresDevuelvenCaminosDelMismoCosto() {
+        SistemaGestionDesastres sistema = new SistemaGestionDesastres();
+        for (String id : new String[]{"A", "B", "C", "D"}) {
+            sistema.agregarZona(new Zona(id, "Zona " + id, NivelUrgencia.MEDIA));
+        }
+        sistema.conectarZonas("AB", "A", "B", 4, 1.0, TipoRuta.TERRESTRE);
+        sistema.conectarZonas("BD", "B", "D", 4, 1.0, TipoRuta.TERRESTRE);
+        sistema.conectarZonas("AC", "A", "C", 1, 2.0, TipoRuta.TERRESTRE);
+        sistema.conectarZonas("CD", "C", "D", 2, 2.0, TipoRuta.TERRESTRE);
+
+        Camino porGrafo = sistema.calcularRutaOptima(sistema.buscarZona("A"), sistema.buscarZona("D"), CriterioRuta.DISTANCIA);
+        sistema.configurarMotorRutas(MotorRutas.PARALELO);
+        Camino enParalelo = sistema.calcularRutaOptima(sistema.buscarZona("A"), sistema.buscarZona("D"), CriterioRuta.DISTANCIA);
+        assertEquals(3.0, porGrafo.getDistancia(), 1e-9);
+        assertEquals(porGrafo.getDistancia(), enParalelo.getDistancia(), 1e-9);
+        // Los dos motores comparten la caché del grafo: la segunda consulta es un acierto
+        assertEquals(1, sistema.getGrafoDirigido().getCacheRutas().getAciertos());
+        // Los métodos por ID pasan por el mismo motor que calcularRutaOptima
+        assertEquals(List.of("A", "C", "D"),
+                sistema.calcularRutaMasCorta("A", "D").stream().map(Zona::getId).toList());
+        assertEquals(2, sistema.getGrafoDirigido().getCacheRutas().getAciertos());
+        assertEquals(2.0, sistema.calcularRutaMasRapida("A", "D").getTiempoEstimado(), 1e-9);
+        assertEquals(List.of("A"), sistema.calcularRutaMasCorta("A", "A").stream().map(Zona::getId).toList());
+
+        assertEquals(Map.of("A", 0.0, "B", 1.0, "C", 2.0, "D", 2.0),
+                sistema.calcularCostosDesde("A", CriterioRuta.TIEMPO));
+        assertEquals(Map.of(), sistema.calcularCostosDesde("X", CriterioRuta.TIEMPO));
+        assertThrows(IllegalArgumentException.class, () -> sistema.configurarMotorRutas(null));
+    }
+}